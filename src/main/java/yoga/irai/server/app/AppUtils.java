@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -14,22 +15,32 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Getter;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.convention.MatchingStrategies;
 import org.springframework.security.core.context.SecurityContextHolder;
 import yoga.irai.server.authentication.entity.UserEntity;
 import yoga.irai.server.authentication.entity.UserPrincipalEntity;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.cache.TagSetCache;
+import yoga.irai.server.app.mapper.ResponseMappers;
 import yoga.irai.server.setting.SettingEntity;
 import yoga.irai.server.setting.SettingResponseDto;
 
 public interface AppUtils {
 
-    ModelMapper modelMapper = new ModelMapper();
+    ModelMapper modelMapper = strictModelMapper();
     ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * map source object to target object.
+     * Sort key ordering keyword searches by full-text rank instead of a column.
+     */
+    String RELEVANCE = "relevance";
+
+    /**
+     * map source object to target object. Entities converted per row of a
+     * listing go through the plain mappers of {@link ResponseMappers}, other
+     * pairs through ModelMapper.
      *
      * @param source      the source object
      * @param targetClass the target class type
@@ -39,13 +50,23 @@ public interface AppUtils {
      */
     static <S, T> T map(S source, Class<T> targetClass) {
         try {
-            modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
-            return modelMapper.map(source, targetClass);
+            Function<Object, Object> mapper = Objects.isNull(source)
+                    ? null
+                    : ResponseMappers.find(source.getClass(), targetClass);
+            return Objects.isNull(mapper)
+                    ? modelMapper.map(source, targetClass)
+                    : targetClass.cast(mapper.apply(source));
         } catch (AppException e) {
             throw new AppException(AppUtils.Messages.CONVERT_ENTITY_TO_DTO_FAILED.getMessage());
         }
     }
 
+    private static ModelMapper strictModelMapper() {
+        ModelMapper strict = new ModelMapper();
+        strict.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        return strict;
+    }
+
     static <T extends HasId & HasPrimary> void updateIdsWithPrimary(List<T> items) {
         if (items != null) {
             AtomicInteger seq = new AtomicInteger(0);
@@ -84,7 +105,6 @@ public interface AppUtils {
      */
     static <S, T> void map(S source, T target) {
         try {
-            modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
             modelMapper.map(source, target);
         } catch (Exception e) {
             throw new AppException(AppUtils.Messages.CONVERT_ENTITY_TO_DTO_FAILED.getMessage());
@@ -131,15 +151,82 @@ public interface AppUtils {
         }
     }
 
-    static Float calculateRating(List<Float> ratings, long ratingCount){
-        if (!ratings.isEmpty()) {
-            float sum = 0f;
-            for (Float rating : ratings) {
-                sum += rating;
-            }
-          return  sum / ratingCount;
+    /**
+     * Reads the JSON array of a tags column. A set is parsed once per distinct
+     * column value through {@link TagSetCache} and then shared between rows and
+     * requests, so it cannot be modified.
+     *
+     * @param value the JSON array of the tags, may be null
+     * @return the tags, or null when the value is empty
+     */
+    static Set<String> readTags(String value) throws AppException {
+        if (ObjectUtils.isEmpty(value)) {
+            return null;
+        }
+        return TagSetCache.get(value, raw -> {
+            Set<String> tags = readValue(raw, TagSetCache.TAG_SET);
+            return Objects.isNull(tags) ? null : Collections.unmodifiableSet(tags);
+        });
+    }
+
+    /**
+     * Returns the tag filter of the content searches: a JSON array of the given
+     * tags, sorted, or null when there is no tag to filter by.
+     *
+     * @param tags the tags the content must all carry, may be null
+     * @return the JSON array, or null for no filter
+     */
+    static String toTagFilter(Set<String> tags) {
+        if (ObjectUtils.isEmpty(tags)) {
+            return null;
+        }
+        List<String> filter = tags.stream().filter(StringUtils::isNotBlank).map(String::trim).distinct().sorted()
+                .toList();
+        return filter.isEmpty() ? null : writeValueAsString(filter);
+    }
+
+    /**
+     * Escape character of the name patterns built by {@link #toNamePattern}.
+     */
+    String LIKE_ESCAPE = "\\";
+
+    /**
+     * Partial match of a keyword on a name column, for the keyword filters of
+     * the content repositories: {@code <name column> ILIKE } followed by this.
+     * The pattern is null, and the match false, unless the keyword is a single
+     * word.
+     */
+    String NAME_PATTERN = ":#{T(yoga.irai.server.app.AppUtils).toNamePattern(#keyword)} "
+            + "ESCAPE :#{T(yoga.irai.server.app.AppUtils).LIKE_ESCAPE}";
+
+    /**
+     * Returns the partial name pattern of a keyword search. A single word may be
+     * a word still being typed, which the full-text match does not find, so it
+     * also matches as a substring of the name; a keyword of several words only
+     * uses the full-text match. The LIKE wildcards of the keyword are escaped.
+     *
+     * @param keyword the keyword typed by the user, may be null
+     * @return the substring pattern, or null for no partial match
+     */
+    static String toNamePattern(String keyword) {
+        if (StringUtils.isBlank(keyword) || StringUtils.containsWhitespace(keyword.trim())) {
+            return null;
         }
-        return 0f;
+        String escaped = keyword.trim().replace(LIKE_ESCAPE, LIKE_ESCAPE + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%").replace("_", LIKE_ESCAPE + "_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Returns the star bucket of a rating: the rating rounded half up and kept
+     * within 1 and 5, or 0 for no rating.
+     *
+     * @param rating
+     *            the rating, may be null
+     * @return the star bucket
+     */
+    static int toRatingStar(Float rating) {
+        return Objects.isNull(rating) ? 0 : Math.clamp(Math.round(rating), 1, 5);
     }
 
     static String format(String message, Object... args) {
@@ -258,6 +345,26 @@ public interface AppUtils {
         IN_QUEUE, DONE
     }
 
+    enum MailOutboxStatus {
+        PENDING, SENT, DEAD
+    }
+
+    enum SyncEntityType {
+        PRACTICE, POEM, SHORTS, PROGRAM, SECTION, LESSON, EVENT, NEWS
+    }
+
+    enum ResumeItemType {
+        PRACTICE, LESSON
+    }
+
+    enum SuggestionType {
+        NAME, TAG
+    }
+
+    enum SyncOperation {
+        UPSERT, DELETE
+    }
+
     enum OptionType {
         SINGLE, MULTIPLE
     }
@@ -437,7 +544,12 @@ public interface AppUtils {
         SETTING_MISMATCH("Setting mismatch:{} ,EnumKeys: {}, DBEnumKeys:{}"),
         STORAGE_SYNCED_SUCCESS("Storage synchronized successfully"),
         PROGRAM_USER_NOT_FOUND("Program user not found"),
-        LESSON_USER_NOT_FOUND("Lesson user not found");
+        LESSON_USER_NOT_FOUND("Lesson user not found"),
+        INVALID_CURSOR("Invalid cursor"),
+        INVALID_SYNC_TOKEN("Invalid sync token"),
+        INVALID_FIELDS("Unknown fields: {}"),
+        INVALID_DATE_RANGE("Invalid date range, it must span at most {} days"),
+        UNTAGGED_MODULE("Module {} has no tags");
 
 
         public static final String FCM_TOKEN_ADDED_SUCCESS = "FCM token added successfully";
@@ -0,0 +1,186 @@
+package yoga.irai.server.app.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.version.ContentChangedEvent;
+
+/**
+ * Caches the results of list and search queries that are the same for every
+ * user of the same organizations, for a few seconds, so that a popular listing
+ * or keyword runs once per period instead of once per request. Only the shared
+ * part of a response may be cached; anything specific to the user, such as
+ * progress, is added to a copy after the lookup.
+ * <p>
+ * Concurrent misses of a key wait for a single load. A content change on any
+ * node drops the results of its module and organization, so the period only
+ * bounds the staleness of what changes without a content change, such as
+ * ratings and trending scores. The number of results is bounded; past it, the
+ * oldest results are dropped first.
+ */
+@Service
+@RequiredArgsConstructor
+public class QueryCacheService {
+
+    /**
+     * View of the results converted to mobile responses.
+     */
+    public static final String MOBILE_VIEW = "mobile";
+
+    /**
+     * View of the results read as cards.
+     */
+    public static final String CARD_VIEW = "card";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Time a result is served for, 0 to disable the cache.
+     */
+    @Value("${app.query-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    /**
+     * Maximum number of results kept.
+     */
+    @Value("${app.query-cache.max-entries:1000}")
+    private int maxEntries;
+
+    /**
+     * Identifies a query result.
+     *
+     * @param moduleType
+     *            the module queried
+     * @param view
+     *            the shape of the result, such as cards or mobile responses
+     * @param orgIds
+     *            the organizations queried, null for all organizations
+     * @param status
+     *            the status the content must have, or null
+     * @param keyword
+     *            the search keyword, or null
+     * @param filters
+     *            the other filters of the query, in a fixed order
+     * @param pageable
+     *            the page and sort requested
+     */
+    public record Key(ModuleType moduleType, String view, Set<UUID> orgIds, Enum<?> status, String keyword,
+            List<?> filters, Pageable pageable) {
+
+        public Key {
+            orgIds = Objects.isNull(orgIds) ? null : Set.copyOf(orgIds);
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> value, long loadedAt) {
+    }
+
+    /**
+     * Registers a gauge reporting the number of results kept.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("query.cache.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached result of a query, loading it if absent or expired.
+     * While a result is loaded, other callers of the same key wait for it.
+     *
+     * @param key
+     *            the query
+     * @param loader
+     *            runs the query; a failure is not cached
+     * @param <T>
+     *            the type of the result
+     * @return the result, shared between callers and not to be modified
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        if (ttlMs <= 0) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry loading = new Entry(new CompletableFuture<>(), now);
+        Entry entry = entries.compute(key,
+                (k, current) -> Objects.isNull(current) || now - current.loadedAt() >= ttlMs ? loading : current);
+        if (entry != loading) {
+            meterRegistry.counter("query.cache.requests", "module", key.moduleType().name(), "result", "hit")
+                    .increment();
+            return (T) join(entry.value());
+        }
+        meterRegistry.counter("query.cache.requests", "module", key.moduleType().name(), "result", "miss")
+                .increment();
+        try {
+            T value = loader.get();
+            loading.value().complete(value);
+            evict();
+            return value;
+        } catch (RuntimeException e) {
+            entries.remove(key, loading);
+            loading.value().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the results of the module and organization of a content change.
+     *
+     * @param event
+     *            the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        entries.keySet().removeIf(key -> key.moduleType().equals(event.moduleType())
+                && (Objects.isNull(event.orgId()) || Objects.isNull(key.orgIds())
+                        || key.orgIds().contains(event.orgId())));
+    }
+
+    /**
+     * Returns the number of results kept.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> now - entry.loadedAt() >= ttlMs);
+        int excess = entries.size() - maxEntries;
+        if (excess > 0) {
+            entries.entrySet().stream().sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                    .limit(excess).toList().forEach(entry -> entries.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
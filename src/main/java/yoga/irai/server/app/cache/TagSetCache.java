@@ -0,0 +1,69 @@
+package yoga.irai.server.app.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps the parsed tag sets of the tags columns, keyed by the JSON text of the
+ * column. The content modules share a small tag vocabulary, so most rows of a
+ * listing carry a tag set already seen and their conversion neither parses nor
+ * allocates. The text is the whole key: an edited column is a new key, so no
+ * invalidation is needed, and the sets of content no longer listed are dropped
+ * together with the rest when the maximum is reached.
+ */
+public final class TagSetCache {
+
+    /**
+     * Type the tags columns are read as.
+     */
+    public static final TypeReference<Set<String>> TAG_SET = new TypeReference<>() {
+    };
+
+    /**
+     * Maximum number of tag sets kept.
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    private static final Map<String, Set<String>> SETS = new ConcurrentHashMap<>();
+
+    private TagSetCache() {
+    }
+
+    /**
+     * Returns the tag set of a column value, parsing it on the first request.
+     *
+     * @param value
+     *            the JSON text of the column
+     * @param parser
+     *            parses the text into an unmodifiable set; a failure or a null
+     *            set is not kept
+     * @return the tag set, shared between callers
+     */
+    public static Set<String> get(String value, Function<String, Set<String>> parser) {
+        Set<String> tags = SETS.get(value);
+        if (tags != null) {
+            return tags;
+        }
+        if (SETS.size() >= MAX_ENTRIES) {
+            SETS.clear();
+        }
+        return SETS.computeIfAbsent(value, parser);
+    }
+
+    /**
+     * Returns the number of tag sets kept.
+     */
+    static int size() {
+        return SETS.size();
+    }
+
+    /**
+     * Drops every tag set kept.
+     */
+    static void clear() {
+        SETS.clear();
+    }
+}
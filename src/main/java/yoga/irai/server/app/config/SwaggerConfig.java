@@ -54,8 +54,8 @@ public class SwaggerConfig {
     public GroupedOpenApi portalApi() {
         return GroupedOpenApi.builder().group("portal-api")
                 .pathsToMatch("/auth/**", "/dashboard/portal", "/events/**", "/news/**", "/organization/**",
-                        "/poems/**", "/practice/**", "/program/**", "/setting/**", "/shorts/**", "/storage/**",
-                        "/users/**", "/enquiry/**", "/notification/**")
+                        "/poems/**", "/practice/**", "/program/**", "/search/**", "/setting/**", "/shorts/**",
+                        "/storage/**", "/users/**", "/enquiry/**", "/notification/**")
                 .build();
     }
 
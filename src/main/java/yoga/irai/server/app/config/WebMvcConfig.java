@@ -0,0 +1,26 @@
+package yoga.irai.server.app.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import yoga.irai.server.app.version.ConditionalGetInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    /**
+     * Registers the interceptor answering conditional GETs of the mobile and
+     * setting endpoints.
+     *
+     * @param registry
+     *            the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/mobile/**", "/setting/**");
+    }
+}
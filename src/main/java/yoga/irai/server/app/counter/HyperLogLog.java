@@ -0,0 +1,126 @@
+package yoga.irai.server.app.counter;
+
+import java.util.UUID;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct UUIDs added to it. The
+ * sketch holds 4096 one-byte registers, for a standard error of about 1.6%
+ * whatever the number of values, and two sketches merge into the sketch of the
+ * union of their values by keeping the larger of each register pair.
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 12;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch.
+     */
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes()}.
+     *
+     * @param bytes
+     *            the registers of the sketch
+     * @return the sketch
+     * @throws IllegalArgumentException
+     *             if the bytes are not a sketch of this precision
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Sketch must have " + REGISTERS + " registers: " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value
+     *            the value
+     */
+    public synchronized void add(UUID value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Adds the values of another sketch to this sketch.
+     *
+     * @param other
+     *            the other sketch
+     */
+    public void merge(HyperLogLog other) {
+        byte[] otherRegisters = other.toBytes();
+        synchronized (this) {
+            for (int i = 0; i < REGISTERS; i++) {
+                if (otherRegisters[i] > registers[i]) {
+                    registers[i] = otherRegisters[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added to the sketch, counting
+     * empty registers while most of them are still empty.
+     *
+     * @return the estimated number of distinct values
+     */
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns a copy of the registers of the sketch.
+     *
+     * @return the registers, one byte each
+     */
+    public synchronized byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /**
+     * Spreads the bits of a UUID over a 64-bit hash with the MurmurHash3
+     * finalizer.
+     */
+    private static long hash(UUID value) {
+        return mix(value.getMostSignificantBits() ^ mix(value.getLeastSignificantBits()));
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
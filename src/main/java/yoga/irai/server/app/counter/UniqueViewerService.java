@@ -0,0 +1,180 @@
+package yoga.irai.server.app.counter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.dto.UniqueViewersDto;
+
+/**
+ * Counts the distinct users who viewed a content item, approximately. Views
+ * are added to an in-memory {@link HyperLogLog} sketch per item and UTC day,
+ * which is periodically, and on shutdown, merged into the stored sketch of
+ * that item and day under a row lock. Sketches merge without loss, so every
+ * node can flush its own and a date range is answered by merging one stored
+ * sketch per day. Sketches of days past the viewer sketch retention are purged
+ * by the retention job.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UniqueViewerService {
+
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewerSketchRepository viewerSketchRepository;
+    private final Map<Key, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.viewers.max-range-days:366}")
+    private int maxRangeDays;
+
+    /**
+     * Registers a gauge reporting the number of sketches waiting to be flushed.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("viewers.pending.sketches", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Records a view of an item by a user.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param contentId
+     *            the ID of the item
+     * @param userId
+     *            the ID of the viewer, ignored if null
+     */
+    public void record(ModuleType moduleType, UUID contentId, UUID userId) {
+        if (Objects.isNull(userId)) {
+            return;
+        }
+        pending.compute(new Key(moduleType, contentId, today()), (key, sketch) -> {
+            HyperLogLog current = Objects.isNull(sketch) ? new HyperLogLog() : sketch;
+            current.add(userId);
+            return current;
+        });
+    }
+
+    /**
+     * Estimates the distinct viewers of an item over a date range, including
+     * the views of this node not flushed yet.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param contentId
+     *            the ID of the item
+     * @param from
+     *            the first UTC day, inclusive
+     * @param to
+     *            the last UTC day, inclusive
+     * @return the estimated number of distinct viewers
+     */
+    public UniqueViewersDto getUniqueViewers(ModuleType moduleType, UUID contentId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw AppUtils.Messages.INVALID_DATE_RANGE.getException(maxRangeDays);
+        }
+        HyperLogLog merged = new HyperLogLog();
+        viewerSketchRepository.findAllByModuleTypeAndContentIdAndViewDayBetween(moduleType, contentId, from, to)
+                .forEach(sketch -> merged.merge(HyperLogLog.fromBytes(sketch.getSketch())));
+        pending.forEach((key, sketch) -> {
+            if (key.moduleType().equals(moduleType) && key.contentId().equals(contentId)
+                    && !key.viewDay().isBefore(from) && !key.viewDay().isAfter(to)) {
+                merged.merge(sketch);
+            }
+        });
+        return UniqueViewersDto.builder().contentId(contentId).from(from).to(to).uniqueViewers(merged.estimate())
+                .build();
+    }
+
+    /**
+     * Merges the pending sketches into the stored ones, with one locked read and
+     * one batched save per module and day. Sketches that could not be written
+     * are put back for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.viewers.flush-delay-ms:60000}")
+    public synchronized void flush() {
+        Map<Key, HyperLogLog> taken = new HashMap<>();
+        pending.keySet().forEach(key -> {
+            HyperLogLog sketch = pending.remove(key);
+            if (Objects.nonNull(sketch)) {
+                taken.put(key, sketch);
+            }
+        });
+        taken.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> new Day(entry.getKey().moduleType(), entry.getKey().viewDay()),
+                        Collectors.toMap(entry -> entry.getKey().contentId(), Map.Entry::getValue)))
+                .forEach((day, sketches) -> {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> write(day, sketches));
+                    } catch (DataAccessException | TransactionException e) {
+                        log.warn("Viewer sketches of {} {} items could not be flushed: {}", sketches.size(),
+                                day.moduleType(), e.getMessage());
+                        sketches.forEach((contentId, sketch) -> pending
+                                .computeIfAbsent(new Key(day.moduleType(), contentId, day.viewDay()),
+                                        key -> new HyperLogLog())
+                                .merge(sketch));
+                    }
+                });
+    }
+
+    /**
+     * Flushes the pending sketches before the application stops.
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void write(Day day, Map<UUID, HyperLogLog> sketches) {
+        Map<UUID, ViewerSketchEntity> stored = viewerSketchRepository
+                .findForUpdate(day.moduleType(), day.viewDay(), sketches.keySet()).stream()
+                .collect(Collectors.toMap(ViewerSketchEntity::getContentId, Function.identity()));
+        List<ViewerSketchEntity> changed = new ArrayList<>();
+        sketches.forEach((contentId, sketch) -> {
+            ViewerSketchEntity entity = stored.get(contentId);
+            if (Objects.isNull(entity)) {
+                entity = ViewerSketchEntity.builder().moduleType(day.moduleType()).contentId(contentId)
+                        .viewDay(day.viewDay()).build();
+            } else {
+                sketch.merge(HyperLogLog.fromBytes(entity.getSketch()));
+            }
+            entity.setSketch(sketch.toBytes());
+            changed.add(entity);
+        });
+        viewerSketchRepository.saveAll(changed);
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private record Key(ModuleType moduleType, UUID contentId, LocalDate viewDay) {
+    }
+
+    private record Day(ModuleType moduleType, LocalDate viewDay) {
+    }
+}
@@ -0,0 +1,117 @@
+package yoga.irai.server.app.counter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils.ModuleType;
+
+/**
+ * Write-behind view counters of shorts, news and poems. A view only increments
+ * an in-memory counter of its item; every few seconds the pending increments
+ * are taken out of the map and added to the view columns with one batched
+ * {@code UPDATE ... SET views = views + ?} per module, and whatever is still
+ * pending is flushed on shutdown. The update is relative and leaves the rest
+ * of the row, including its update time, untouched, so concurrent views are
+ * never lost and do not show up as content changes.
+ * <p>
+ * Views of a node that stops without shutting down are lost, which is accepted
+ * for a view count.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCounterService {
+
+    private static final Map<ModuleType, String> UPDATES = new EnumMap<>(Map.of(
+            ModuleType.SHORTS, "UPDATE shorts SET views = COALESCE(views, 0) + ? WHERE shorts_id = ?",
+            ModuleType.NEWS, "UPDATE news SET views = COALESCE(views, 0) + ? WHERE news_id = ?",
+            ModuleType.POEM, "UPDATE poem SET poem_views = COALESCE(poem_views, 0) + ? WHERE poem_id = ?"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a gauge reporting the number of items with pending views.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("views.pending.items", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Records a view of an item.
+     *
+     * @param moduleType
+     *            the module of the item, one of shorts, news and poem
+     * @param id
+     *            the ID of the item
+     */
+    public void increment(ModuleType moduleType, UUID id) {
+        if (!UPDATES.containsKey(moduleType)) {
+            throw new IllegalArgumentException("Module has no view counter: " + moduleType);
+        }
+        pending.merge(new Key(moduleType, id), 1L, Long::sum);
+    }
+
+    /**
+     * Adds the pending views to the database. Each counter is removed from the
+     * map together with its value, so a view racing with the flush either lands
+     * in the removed value or starts a new counter for the next flush. Views that
+     * could not be written are put back for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-delay-ms:5000}")
+    public synchronized void flush() {
+        Map<ModuleType, List<Object[]>> batches = new EnumMap<>(ModuleType.class);
+        for (Key key : pending.keySet()) {
+            Long views = pending.remove(key);
+            if (views != null) {
+                batches.computeIfAbsent(key.moduleType(), moduleType -> new ArrayList<>())
+                        .add(new Object[]{views, key.id()});
+            }
+        }
+        batches.forEach(this::write);
+    }
+
+    /**
+     * Flushes the pending views before the application stops.
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void write(ModuleType moduleType, List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATES.get(moduleType), batch);
+            meterRegistry.counter("views.flushed", "module", moduleType.name())
+                    .increment(batch.stream().mapToLong(row -> (Long) row[0]).sum());
+        } catch (DataAccessException e) {
+            log.warn("Views of {} {} items could not be flushed: {}", batch.size(), moduleType, e.getMessage());
+            batch.forEach(row -> pending.merge(new Key(moduleType, (UUID) row[1]), (Long) row[0], Long::sum));
+        }
+    }
+
+    /**
+     * Returns the number of views of an item not yet flushed.
+     */
+    long getPending(ModuleType moduleType, UUID id) {
+        return pending.getOrDefault(new Key(moduleType, id), 0L);
+    }
+
+    private record Key(ModuleType moduleType, UUID id) {
+    }
+}
@@ -0,0 +1,56 @@
+package yoga.irai.server.app.counter;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * {@link HyperLogLog} sketch of the users who viewed a content item on a given
+ * day. Mostly empty sketches compress well, and Postgres compresses the
+ * registers of any sketch stored out of line.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "viewer_sketch", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_viewer_sketch_module_type_content_id_view_day", columnNames = {"module_type",
+                "content_id", "view_day"})}, indexes = {
+        @Index(name = "idx_viewer_sketch_view_day", columnList = "view_day")})
+public class ViewerSketchEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2295640851390176315L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "viewer_sketch_id", nullable = false)
+    private UUID viewerSketchId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "module_type", nullable = false)
+    private AppUtils.ModuleType moduleType;
+
+    @Column(name = "content_id", nullable = false)
+    private UUID contentId;
+
+    @Column(name = "view_day", nullable = false)
+    private LocalDate viewDay;
+
+    @ToString.Exclude
+    @Column(name = "sketch", columnDefinition = "BYTEA", nullable = false)
+    private byte[] sketch;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", columnDefinition = "TIMESTAMPTZ")
+    private ZonedDateTime updatedAt;
+}
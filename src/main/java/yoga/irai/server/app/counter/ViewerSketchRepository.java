@@ -0,0 +1,68 @@
+package yoga.irai.server.app.counter;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils;
+
+@Repository
+public interface ViewerSketchRepository extends JpaRepository<ViewerSketchEntity, UUID> {
+
+    /**
+     * Finds and locks the sketches of the given items on a day, so that nodes
+     * merging into the same sketches do not overwrite each other.
+     *
+     * @param moduleType
+     *            the module of the items
+     * @param viewDay
+     *            the day of the views
+     * @param contentIds
+     *            the IDs of the items
+     * @return the existing sketches, at most one per item
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT vs FROM ViewerSketchEntity vs WHERE vs.moduleType = :moduleType AND vs.viewDay = :viewDay "
+            + "AND vs.contentId IN :contentIds")
+    List<ViewerSketchEntity> findForUpdate(AppUtils.ModuleType moduleType, LocalDate viewDay,
+            Collection<UUID> contentIds);
+
+    /**
+     * Finds the daily sketches of an item within a date range.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param contentId
+     *            the ID of the item
+     * @param from
+     *            the first day, inclusive
+     * @param to
+     *            the last day, inclusive
+     * @return one sketch per day with views
+     */
+    List<ViewerSketchEntity> findAllByModuleTypeAndContentIdAndViewDayBetween(AppUtils.ModuleType moduleType,
+            UUID contentId, LocalDate from, LocalDate to);
+
+    /**
+     * Deletes up to {@code batchSize} daily sketches of days before the cutoff.
+     *
+     * @param cutoff
+     *            sketches of days before this day are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM viewer_sketch WHERE viewer_sketch_id IN (SELECT viewer_sketch_id FROM viewer_sketch "
+            + "WHERE view_day < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDate cutoff, @Param("batchSize") int batchSize);
+}
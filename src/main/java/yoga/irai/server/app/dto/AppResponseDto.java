@@ -7,6 +7,7 @@ import java.time.ZonedDateTime;
 import java.util.Map;
 import lombok.*;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 @Data
@@ -43,10 +44,19 @@ public class AppResponseDto<T> implements Serializable {
         private long totalElements;
         private String sortBy;
         private String sortDirection;
+        private String nextCursor;
+        private Boolean hasNext;
     }
+
     public static Pageable buildPageable(Page<?> page, String sortBy, Sort.Direction direction) {
         return AppResponseDto.Pageable.builder().pageNumber(page.getNumber()).pageSize(page.getSize())
                 .totalPages(page.getTotalPages()).totalElements(page.getTotalElements()).sortBy(sortBy)
                 .sortDirection(direction.name()).build();
     }
+
+    public static Pageable buildPageable(Slice<?> slice, String nextCursor, String sortBy,
+            Sort.Direction direction) {
+        return AppResponseDto.Pageable.builder().pageSize(slice.getSize()).hasNext(slice.hasNext())
+                .nextCursor(nextCursor).sortBy(sortBy).sortDirection(direction.name()).build();
+    }
 }
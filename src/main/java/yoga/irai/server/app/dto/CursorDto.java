@@ -0,0 +1,77 @@
+package yoga.irai.server.app.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Slice;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Position in a feed sorted by creation time, used for keyset pagination. The
+ * ID breaks ties between rows created at the same instant. Clients only see
+ * the opaque encoded form.
+ *
+ * @param createdAt
+ *            the creation time of the last row of the previous page
+ * @param id
+ *            the ID of the last row of the previous page
+ */
+public record CursorDto(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the cursor into an opaque, URL safe string.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor sent by a client.
+     *
+     * @param cursor
+     *            the encoded cursor, blank for the first page
+     * @return the decoded cursor, or null for the first page
+     */
+    public static CursorDto decode(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new CursorDto(LocalDateTime.parse(StringUtils.substringBefore(decoded, SEPARATOR)),
+                    UUID.fromString(StringUtils.substringAfter(decoded, SEPARATOR)));
+        } catch (RuntimeException e) {
+            throw AppUtils.Messages.INVALID_CURSOR.getException();
+        }
+    }
+
+    /**
+     * Builds the cursor of the page following the given slice.
+     *
+     * @param slice
+     *            the current page
+     * @param createdAt
+     *            extracts the creation time of a row
+     * @param id
+     *            extracts the ID of a row
+     * @return the encoded cursor of the next page, or null if this is the last
+     *         page
+     */
+    public static <T> String next(Slice<T> slice, Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return null;
+        }
+        T last = content.getLast();
+        return new CursorDto(createdAt.apply(last), id.apply(last)).encode();
+    }
+}
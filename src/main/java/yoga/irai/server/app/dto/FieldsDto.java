@@ -0,0 +1,126 @@
+package yoga.irai.server.app.dto;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Sparse field set requested by a client with the {@code fields} parameter of
+ * a list endpoint. The ID of the item is always part of the set, so clients can
+ * still tell items apart.
+ *
+ * @param names
+ *            the names of the requested response fields
+ */
+public record FieldsDto(Set<String> names) {
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * Parses the {@code fields} parameter of a request.
+     *
+     * @param fields
+     *            the comma separated field names, blank for every field
+     * @param dtoClass
+     *            the response DTO of the endpoint
+     * @param idField
+     *            the name of the ID field of the DTO
+     * @return the requested fields, or null if every field is requested
+     */
+    public static FieldsDto parse(String fields, Class<?> dtoClass, String idField) {
+        if (StringUtils.isBlank(fields)) {
+            return null;
+        }
+        Set<String> allowed = Arrays.stream(dtoClass.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers())).map(Field::getName)
+                .collect(Collectors.toSet());
+        Set<String> names = new LinkedHashSet<>();
+        names.add(idField);
+        Arrays.stream(fields.split(SEPARATOR)).map(String::trim).filter(StringUtils::isNotEmpty)
+                .forEach(names::add);
+        Set<String> unknown = names.stream().filter(name -> !allowed.contains(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!unknown.isEmpty()) {
+            throw AppUtils.Messages.INVALID_FIELDS.getException(String.join(SEPARATOR, unknown));
+        }
+        return new FieldsDto(Set.copyOf(names));
+    }
+
+    /**
+     * Checks whether a field is requested.
+     *
+     * @param name
+     *            the name of the field
+     * @return true if the field is part of the response
+     */
+    public boolean has(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * Checks whether any of the given fields is requested.
+     *
+     * @param candidates
+     *            the names of the fields
+     * @return true if at least one of the fields is part of the response
+     */
+    public boolean hasAny(String... candidates) {
+        return Arrays.stream(candidates).anyMatch(names::contains);
+    }
+
+    /**
+     * Checks whether every requested field can be served by a projection.
+     *
+     * @param available
+     *            the fields the projection provides
+     * @return true if the projection is enough for the response
+     */
+    public boolean isWithin(Set<String> available) {
+        return available.containsAll(names);
+    }
+
+    /**
+     * Returns a value only if its field is requested, so that unrequested values
+     * are neither computed nor serialized.
+     *
+     * @param name
+     *            the name of the field
+     * @param value
+     *            supplies the value of the field
+     * @return the value, or null if the field is not requested
+     */
+    public <T> T pick(String name, Supplier<T> value) {
+        return has(name) ? value.get() : null;
+    }
+
+    /**
+     * Clears the unrequested fields of fully mapped DTOs, for requests that a
+     * projection cannot serve. Response DTOs skip empty values, so cleared
+     * fields are left out of the payload.
+     *
+     * @param dtos
+     *            the mapped DTOs
+     * @return the same DTOs
+     */
+    public <T> List<T> retain(List<T> dtos) {
+        dtos.forEach(dto -> {
+            BeanWrapper beanWrapper = new BeanWrapperImpl(dto);
+            Arrays.stream(beanWrapper.getPropertyDescriptors())
+                    .filter(property -> Objects.nonNull(property.getWriteMethod()))
+                    .filter(property -> !property.getPropertyType().isPrimitive())
+                    .filter(property -> !names.contains(property.getName()))
+                    .forEach(property -> beanWrapper.setPropertyValue(property.getName(), null));
+        });
+        return dtos;
+    }
+}
@@ -0,0 +1,32 @@
+package yoga.irai.server.app.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Rating breakdown of a practice or program: the average, the number of
+ * ratings and the number of ratings per star.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogramDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4410982265873146325L;
+
+    private UUID contentId;
+    private Float rating;
+    private Long ratingCount;
+
+    /**
+     * Number of ratings per star, from one star to five stars.
+     */
+    private List<Long> stars;
+}
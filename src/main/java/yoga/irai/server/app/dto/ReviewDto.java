@@ -0,0 +1,29 @@
+package yoga.irai.server.app.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Rating and comment left by a user on a practice or program.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1958347706215293384L;
+
+    private UUID reviewId;
+    private UUID userId;
+    private String userName;
+    private Float rating;
+    private String comment;
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package yoga.irai.server.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * An autocomplete suggestion: a content name, with the module and ID of the
+ * item, or a tag.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SuggestionDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1873265409120437716L;
+
+    private String text;
+    private AppUtils.SuggestionType type;
+    private AppUtils.ModuleType moduleType;
+    private UUID id;
+    private Long popularity;
+}
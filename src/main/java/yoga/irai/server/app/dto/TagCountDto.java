@@ -0,0 +1,23 @@
+package yoga.irai.server.app.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.*;
+
+/**
+ * A tag facet: a tag with the number of items carrying it.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCountDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4410953268715520961L;
+
+    private String tag;
+    private Long count;
+}
@@ -0,0 +1,28 @@
+package yoga.irai.server.app.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Approximate number of distinct users who viewed a content item over a date
+ * range.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueViewersDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 7306521850442907718L;
+
+    private UUID contentId;
+    private LocalDate from;
+    private LocalDate to;
+    private Long uniqueViewers;
+}
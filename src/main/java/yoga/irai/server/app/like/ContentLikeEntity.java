@@ -0,0 +1,50 @@
+package yoga.irai.server.app.like;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Like of a content item by a user. A user likes an item at most once, which
+ * the unique constraint enforces, so the like count of an item is the number of
+ * its rows.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "content_like", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_content_like_module_type_content_id_user_id", columnNames = {"module_type",
+                "content_id", "user_id"})})
+public class ContentLikeEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -5470167316120484395L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "content_like_id", nullable = false)
+    private UUID contentLikeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "module_type", nullable = false)
+    private AppUtils.ModuleType moduleType;
+
+    @Column(name = "content_id", nullable = false)
+    private UUID contentId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", columnDefinition = "TIMESTAMPTZ")
+    private ZonedDateTime createdAt;
+}
@@ -0,0 +1,63 @@
+package yoga.irai.server.app.like;
+
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ContentLikeRepository extends JpaRepository<ContentLikeEntity, UUID> {
+
+    /**
+     * Records the like of a user, unless the user already likes the item.
+     *
+     * @param moduleType
+     *            the module type name
+     * @param contentId
+     *            the ID of the item
+     * @param userId
+     *            the ID of the user
+     * @return 1 if the like was added, 0 if it already existed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO content_like (content_like_id, module_type, content_id, user_id, created_at) "
+            + "VALUES (gen_random_uuid(), :moduleType, :contentId, :userId, now()) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("moduleType") String moduleType, @Param("contentId") UUID contentId,
+            @Param("userId") UUID userId);
+
+    /**
+     * Removes the like of a user.
+     *
+     * @param moduleType
+     *            the module type name
+     * @param contentId
+     *            the ID of the item
+     * @param userId
+     *            the ID of the user
+     * @return 1 if the like was removed, 0 if there was none
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM content_like WHERE module_type = :moduleType AND content_id = :contentId "
+            + "AND user_id = :userId", nativeQuery = true)
+    int deleteIfPresent(@Param("moduleType") String moduleType, @Param("contentId") UUID contentId,
+            @Param("userId") UUID userId);
+
+    /**
+     * Copies the likes recorded on shorts progress rows that are missing from
+     * the like table, such as likes made before the table existed.
+     *
+     * @return the number of likes copied
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO content_like (content_like_id, module_type, content_id, user_id, created_at) "
+            + "SELECT gen_random_uuid(), 'SHORTS', shorts_id, user_id, COALESCE(updated_at, now()) FROM shorts_user "
+            + "WHERE likes = true ON CONFLICT DO NOTHING", nativeQuery = true)
+    int copyShortsUserLikes();
+}
@@ -0,0 +1,202 @@
+package yoga.irai.server.app.like;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.scheduler.SchedulerLockService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
+
+/**
+ * Likes of shorts and news. Each user likes an item at most once: a like is an
+ * insert that does nothing if the row exists and an unlike is a delete, and
+ * the like count of the item is moved by one in the same transaction only when
+ * a row was actually inserted or deleted. Repeated or retried requests
+ * therefore leave the count unchanged and cost a single statement. A changed
+ * count is recorded as a content change of the item's organization, so cached
+ * listings show it.
+ * <p>
+ * A nightly job on the leader node resets the counts that drifted from the
+ * number of like rows, such as after a request failed between the two writes
+ * or raced with an unlike. News likes made before the like table existed have
+ * no rows; the first run keeps them as an offset of each news count, which
+ * the count is then reset to on top of its rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LikeService {
+
+    private static final String LOCK_NAME = "like-reconcile";
+
+    private static final Map<ModuleType, LikeTable> TABLES = new EnumMap<>(Map.of(
+            ModuleType.SHORTS, new LikeTable("shorts", "shorts_id", "org_id", false),
+            ModuleType.NEWS, new LikeTable("news", "news_id", null, true)));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SchedulerLockService schedulerLockService;
+    private final TrendingService trendingService;
+    private final ContentLikeRepository contentLikeRepository;
+    private final ContentVersionService contentVersionService;
+
+    /**
+     * Content table holding the like count of a module.
+     *
+     * @param table
+     *            the table name
+     * @param idColumn
+     *            the primary key column
+     * @param orgColumn
+     *            the organization column, or null for global modules
+     * @param offset
+     *            whether the count also holds likes made before the like table
+     *            existed, kept in {@code likes_offset}
+     */
+    private record LikeTable(String table, String idColumn, String orgColumn, boolean offset) {
+
+        String addLikes() {
+            return "UPDATE " + table + " SET likes = GREATEST(COALESCE(likes, 0) + ?, 0) WHERE " + idColumn
+                    + " = ? RETURNING " + (Objects.isNull(orgColumn) ? "CAST(NULL AS UUID)" : orgColumn);
+        }
+
+        /**
+         * Keeps, once per item, the part of its count not backed by like rows
+         * as its offset. Items created since have an offset of 0.
+         */
+        String backfillOffset(ModuleType moduleType) {
+            return "UPDATE " + table + " t SET likes_offset = GREATEST(COALESCE(t.likes, 0) - c.likes, 0) FROM "
+                    + counts(moduleType) + " WHERE t." + idColumn + " = c.id AND t.likes_offset IS NULL";
+        }
+
+        String reconcile(ModuleType moduleType) {
+            String expected = offset ? "COALESCE(t.likes_offset, 0) + c.likes" : "c.likes";
+            return "UPDATE " + table + " t SET likes = " + expected + " FROM " + counts(moduleType) + " WHERE t."
+                    + idColumn + " = c.id AND t.likes IS DISTINCT FROM " + expected;
+        }
+
+        private String counts(ModuleType moduleType) {
+            return "(SELECT i." + idColumn + " AS id, COUNT(cl.content_like_id) AS likes FROM " + table
+                    + " i LEFT JOIN content_like cl ON cl.module_type = '" + moduleType.name()
+                    + "' AND cl.content_id = i." + idColumn + " GROUP BY i." + idColumn + ") c";
+        }
+    }
+
+    /**
+     * Records that a user likes an item.
+     *
+     * @param moduleType
+     *            the module of the item, shorts or news
+     * @param contentId
+     *            the ID of the item
+     * @param userId
+     *            the ID of the user
+     * @return true if the like was added, false if the user already liked the
+     *         item
+     */
+    @Transactional
+    public boolean like(ModuleType moduleType, UUID contentId, UUID userId) {
+        LikeTable likeTable = getLikeTable(moduleType);
+        boolean changed = contentLikeRepository.insertIfAbsent(moduleType.name(), contentId, userId) > 0;
+        if (changed) {
+            addLikes(moduleType, likeTable, 1, contentId);
+            trendingService.record(moduleType, contentId, TrendingService.Signal.LIKE);
+        }
+        count(moduleType, "like", changed);
+        return changed;
+    }
+
+    /**
+     * Removes the like of a user from an item.
+     *
+     * @param moduleType
+     *            the module of the item, shorts or news
+     * @param contentId
+     *            the ID of the item
+     * @param userId
+     *            the ID of the user
+     * @return true if the like was removed, false if the user did not like the
+     *         item
+     */
+    @Transactional
+    public boolean unlike(ModuleType moduleType, UUID contentId, UUID userId) {
+        LikeTable likeTable = getLikeTable(moduleType);
+        boolean changed = contentLikeRepository.deleteIfPresent(moduleType.name(), contentId, userId) > 0;
+        if (changed) {
+            addLikes(moduleType, likeTable, -1, contentId);
+        }
+        count(moduleType, "unlike", changed);
+        return changed;
+    }
+
+    /**
+     * Resets the like counts that differ from the number of like rows, on the
+     * leader node. Likes kept on shorts progress rows are copied first.
+     */
+    @Scheduled(cron = "${app.likes.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        schedulerLockService.runAsLeader(LOCK_NAME, Duration.ofHours(1), () -> {
+            int copied = contentLikeRepository.copyShortsUserLikes();
+            if (copied > 0) {
+                log.info("Copied {} shorts likes from progress rows", copied);
+            }
+            TABLES.keySet().forEach(this::reconcile);
+        });
+    }
+
+    /**
+     * Resets the like counts of a module that differ from the number of like
+     * rows, plus the offset of the item for modules that keep one.
+     *
+     * @param moduleType
+     *            the module to reconcile
+     * @return the number of items whose count was corrected
+     */
+    int reconcile(ModuleType moduleType) {
+        LikeTable likeTable = getLikeTable(moduleType);
+        if (likeTable.offset()) {
+            int backfilled = jdbcTemplate.update(likeTable.backfillOffset(moduleType));
+            if (backfilled > 0) {
+                log.info("Kept the earlier likes of {} {} items as offsets", backfilled, moduleType);
+            }
+        }
+        int corrected = jdbcTemplate.update(likeTable.reconcile(moduleType));
+        meterRegistry.counter("likes.reconciled", "module", moduleType.name()).increment(corrected);
+        log.info("Like reconciliation corrected {} {} items", corrected, moduleType);
+        return corrected;
+    }
+
+    /**
+     * Moves the like count of an item and records the change of its content.
+     */
+    private void addLikes(ModuleType moduleType, LikeTable likeTable, int delta, UUID contentId) {
+        List<UUID> orgIds = jdbcTemplate.queryForList(likeTable.addLikes(), UUID.class, delta, contentId);
+        if (!orgIds.isEmpty()) {
+            contentVersionService.bump(moduleType, orgIds.getFirst());
+        }
+    }
+
+    private static LikeTable getLikeTable(ModuleType moduleType) {
+        LikeTable likeTable = TABLES.get(moduleType);
+        if (Objects.isNull(likeTable)) {
+            throw new IllegalArgumentException("Module has no likes: " + moduleType);
+        }
+        return likeTable;
+    }
+
+    private void count(ModuleType moduleType, String action, boolean changed) {
+        meterRegistry.counter("likes.requests", "module", moduleType.name(), "action", action, "result",
+                changed ? "changed" : "unchanged").increment();
+    }
+}
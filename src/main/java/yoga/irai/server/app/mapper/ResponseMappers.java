@@ -0,0 +1,458 @@
+package yoga.irai.server.app.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import yoga.irai.server.authentication.dto.UserResponseDto;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.event.EventEntity;
+import yoga.irai.server.event.EventResponseDto;
+import yoga.irai.server.mobile.dto.EventMobileResponseDto;
+import yoga.irai.server.mobile.dto.LessonMobileResponseDto;
+import yoga.irai.server.mobile.dto.NewsMobileResponseDto;
+import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
+import yoga.irai.server.mobile.dto.SectionMobileResponseDto;
+import yoga.irai.server.mobile.dto.ShortsMobileResponseDto;
+import yoga.irai.server.news.NewsEntity;
+import yoga.irai.server.news.NewsResponseDto;
+import yoga.irai.server.organization.OrganizationEntity;
+import yoga.irai.server.organization.OrganizationResponseDto;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemResponseDto;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeResponseDto;
+import yoga.irai.server.practice.category.PracticeCategoryEntity;
+import yoga.irai.server.practice.category.PracticeCategoryResponseDto;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramResponseDto;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionResponseDto;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonResponseDto;
+import yoga.irai.server.shorts.ShortsEntity;
+import yoga.irai.server.shorts.ShortsResponseDto;
+import yoga.irai.server.storage.StorageEntity;
+import yoga.irai.server.storage.StorageResponseDto;
+
+/**
+ * Maps entities to their response DTOs with plain getter and setter calls, for
+ * the pairs converted once per row of a listing. The output is the one of the
+ * strict ModelMapper mapping it replaces: properties of the same name and type
+ * are copied, lists into new lists, and nulls of primitive properties become
+ * zero. Properties that need a conversion, such as tags stored as JSON text
+ * and program flags, are left to the services, which set them after mapping.
+ */
+public final class ResponseMappers {
+
+    private static final Map<Pair, Function<Object, Object>> MAPPERS = Map.ofEntries(
+            mapper(PracticeEntity.class, PracticeResponseDto.class, ResponseMappers::toPracticeResponseDto),
+            mapper(PracticeEntity.class, PracticeMobileResponseDto.class, ResponseMappers::toPracticeMobileResponseDto),
+            mapper(PracticeCategoryEntity.class, PracticeCategoryResponseDto.class,
+                    ResponseMappers::toPracticeCategoryResponseDto),
+            mapper(ProgramEntity.class, ProgramResponseDto.class, ResponseMappers::toProgramResponseDto),
+            mapper(ProgramEntity.class, ProgramMobileResponseDto.class, ResponseMappers::toProgramMobileResponseDto),
+            mapper(SectionEntity.class, SectionResponseDto.class, ResponseMappers::toSectionResponseDto),
+            mapper(SectionEntity.class, SectionMobileResponseDto.class, ResponseMappers::toSectionMobileResponseDto),
+            mapper(LessonEntity.class, LessonResponseDto.class, ResponseMappers::toLessonResponseDto),
+            mapper(LessonEntity.class, LessonMobileResponseDto.class, ResponseMappers::toLessonMobileResponseDto),
+            mapper(PoemEntity.class, PoemResponseDto.class, ResponseMappers::toPoemResponseDto),
+            mapper(PoemEntity.class, PoemMobileResponseDto.class, ResponseMappers::toPoemMobileResponseDto),
+            mapper(ShortsEntity.class, ShortsResponseDto.class, ResponseMappers::toShortsResponseDto),
+            mapper(ShortsEntity.class, ShortsMobileResponseDto.class, ResponseMappers::toShortsMobileResponseDto),
+            mapper(NewsEntity.class, NewsResponseDto.class, ResponseMappers::toNewsResponseDto),
+            mapper(NewsEntity.class, NewsMobileResponseDto.class, ResponseMappers::toNewsMobileResponseDto),
+            mapper(EventEntity.class, EventResponseDto.class, ResponseMappers::toEventResponseDto),
+            mapper(EventEntity.class, EventMobileResponseDto.class, ResponseMappers::toEventMobileResponseDto),
+            mapper(OrganizationEntity.class, OrganizationResponseDto.class, ResponseMappers::toOrganizationResponseDto),
+            mapper(UserEntity.class, UserResponseDto.class, ResponseMappers::toUserResponseDto),
+            mapper(StorageEntity.class, StorageResponseDto.class, ResponseMappers::toStorageResponseDto));
+
+    private record Pair(Class<?> sourceClass, Class<?> targetClass) {
+    }
+
+    private ResponseMappers() {
+    }
+
+    /**
+     * Returns the mapper from a source class to a target class.
+     *
+     * @param sourceClass
+     *            the class of the source object
+     * @param targetClass
+     *            the class of the target object
+     * @return the mapper, or null if the pair has none, as for entity proxies
+     */
+    public static Function<Object, Object> find(Class<?> sourceClass, Class<?> targetClass) {
+        return MAPPERS.get(new Pair(sourceClass, targetClass));
+    }
+
+    private static <S, T> Map.Entry<Pair, Function<Object, Object>> mapper(Class<S> sourceClass, Class<T> targetClass,
+            Function<S, T> function) {
+        return Map.entry(new Pair(sourceClass, targetClass), source -> function.apply(sourceClass.cast(source)));
+    }
+
+    private static <T> List<T> copy(List<T> list) {
+        return Objects.isNull(list) ? null : new ArrayList<>(list);
+    }
+
+    private static PracticeResponseDto toPracticeResponseDto(PracticeEntity entity) {
+        PracticeResponseDto dto = new PracticeResponseDto();
+        dto.setPracticeId(entity.getPracticeId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setPracticeCategoryId(entity.getPracticeCategoryId());
+        dto.setPracticeIconStorageId(entity.getPracticeIconStorageId());
+        dto.setPracticeBannerStorageId(entity.getPracticeBannerStorageId());
+        dto.setPracticeStorageId(entity.getPracticeStorageId());
+        dto.setPracticeStatus(entity.getPracticeStatus());
+        dto.setPracticeIconExternalUrl(entity.getPracticeIconExternalUrl());
+        dto.setPracticeBannerExternalUrl(entity.getPracticeBannerExternalUrl());
+        dto.setPracticeExternalUrl(entity.getPracticeExternalUrl());
+        dto.setPracticeName(entity.getPracticeName());
+        dto.setPracticeDescription(entity.getPracticeDescription());
+        dto.setDuration(entity.getDuration());
+        dto.setRating(Objects.requireNonNullElse(entity.getRating(), 0F));
+        dto.setRatingCount(Objects.requireNonNullElse(entity.getRatingCount(), 0L));
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static PracticeMobileResponseDto toPracticeMobileResponseDto(PracticeEntity entity) {
+        PracticeMobileResponseDto dto = new PracticeMobileResponseDto();
+        dto.setPracticeId(entity.getPracticeId());
+        dto.setPracticeIconExternalUrl(entity.getPracticeIconExternalUrl());
+        dto.setPracticeBannerExternalUrl(entity.getPracticeBannerExternalUrl());
+        dto.setPracticeExternalUrl(entity.getPracticeExternalUrl());
+        dto.setPracticeName(entity.getPracticeName());
+        dto.setPracticeDescription(entity.getPracticeDescription());
+        dto.setDuration(entity.getDuration());
+        dto.setRating(entity.getRating());
+        dto.setRatingCount(entity.getRatingCount());
+        return dto;
+    }
+
+    private static PracticeCategoryResponseDto toPracticeCategoryResponseDto(PracticeCategoryEntity entity) {
+        PracticeCategoryResponseDto dto = new PracticeCategoryResponseDto();
+        dto.setPracticeCategoryId(entity.getPracticeCategoryId());
+        dto.setPracticeCategoryIconStorageId(entity.getPracticeCategoryIconStorageId());
+        dto.setPracticeCategoryStatus(entity.getPracticeCategoryStatus());
+        dto.setPracticeCategoryIconExternalUrl(entity.getPracticeCategoryIconExternalUrl());
+        dto.setPracticeCategoryName(entity.getPracticeCategoryName());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static ProgramResponseDto toProgramResponseDto(ProgramEntity entity) {
+        ProgramResponseDto dto = new ProgramResponseDto();
+        dto.setProgramId(entity.getProgramId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setProgramBannerStorageId(entity.getProgramBannerStorageId());
+        dto.setProgramBannerExternalUrl(entity.getProgramBannerExternalUrl());
+        dto.setProgramName(entity.getProgramName());
+        dto.setProgramDescription(entity.getProgramDescription());
+        dto.setProgramAuthor(entity.getProgramAuthor());
+        dto.setProgramStatus(entity.getProgramStatus());
+        dto.setDuration(entity.getDuration());
+        dto.setNumberOfLessons(entity.getNumberOfLessons());
+        dto.setRating(entity.getRating());
+        dto.setRatingCount(entity.getRatingCount());
+        dto.setComments(entity.getComments());
+        dto.setViews(entity.getViews());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static ProgramMobileResponseDto toProgramMobileResponseDto(ProgramEntity entity) {
+        ProgramMobileResponseDto dto = new ProgramMobileResponseDto();
+        dto.setProgramId(entity.getProgramId());
+        dto.setProgramBannerExternalUrl(entity.getProgramBannerExternalUrl());
+        dto.setProgramName(entity.getProgramName());
+        dto.setProgramDescription(entity.getProgramDescription());
+        dto.setProgramAuthor(entity.getProgramAuthor());
+        dto.setDuration(entity.getDuration());
+        dto.setNumberOfLessons(entity.getNumberOfLessons());
+        dto.setRating(entity.getRating());
+        dto.setRatingCount(entity.getRatingCount());
+        dto.setComments(entity.getComments());
+        dto.setViews(entity.getViews());
+        return dto;
+    }
+
+    private static SectionResponseDto toSectionResponseDto(SectionEntity entity) {
+        SectionResponseDto dto = new SectionResponseDto();
+        dto.setSectionId(entity.getSectionId());
+        dto.setProgramId(entity.getProgramId());
+        dto.setSectionName(entity.getSectionName());
+        dto.setSectionDescription(entity.getSectionDescription());
+        dto.setNumberOfLessons(Objects.requireNonNullElse(entity.getNumberOfLessons(), 0));
+        dto.setSectionOrder(Objects.requireNonNullElse(entity.getSectionOrder(), 0));
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static SectionMobileResponseDto toSectionMobileResponseDto(SectionEntity entity) {
+        SectionMobileResponseDto dto = new SectionMobileResponseDto();
+        dto.setSectionId(entity.getSectionId());
+        dto.setSectionName(entity.getSectionName());
+        dto.setSectionDescription(entity.getSectionDescription());
+        dto.setNumberOfLessons(Objects.requireNonNullElse(entity.getNumberOfLessons(), 0));
+        dto.setSectionOrder(Objects.requireNonNullElse(entity.getSectionOrder(), 0));
+        return dto;
+    }
+
+    private static LessonResponseDto toLessonResponseDto(LessonEntity entity) {
+        LessonResponseDto dto = new LessonResponseDto();
+        dto.setLessonId(entity.getLessonId());
+        dto.setSectionId(entity.getSectionId());
+        dto.setLessonName(entity.getLessonName());
+        dto.setLessonOrder(entity.getLessonOrder());
+        dto.setLessonStorageId(entity.getLessonStorageId());
+        dto.setLessonExternalUrl(entity.getLessonExternalUrl());
+        dto.setDuration(entity.getDuration());
+        dto.setLessonDescription(entity.getLessonDescription());
+        dto.setLessonText(entity.getLessonText());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static LessonMobileResponseDto toLessonMobileResponseDto(LessonEntity entity) {
+        LessonMobileResponseDto dto = new LessonMobileResponseDto();
+        dto.setLessonId(entity.getLessonId());
+        dto.setLessonName(entity.getLessonName());
+        dto.setLessonOrder(entity.getLessonOrder());
+        dto.setLessonExternalUrl(entity.getLessonExternalUrl());
+        dto.setDuration(entity.getDuration());
+        dto.setLessonDescription(entity.getLessonDescription());
+        dto.setLessonText(entity.getLessonText());
+        return dto;
+    }
+
+    private static PoemResponseDto toPoemResponseDto(PoemEntity entity) {
+        PoemResponseDto dto = new PoemResponseDto();
+        dto.setPoemId(entity.getPoemId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setPoemStorageId(entity.getPoemStorageId());
+        dto.setPoemIconStorageId(entity.getPoemIconStorageId());
+        dto.setPoemBannerStorageId(entity.getPoemBannerStorageId());
+        dto.setPoemStatus(entity.getPoemStatus());
+        dto.setPoemExternalUrl(entity.getPoemExternalUrl());
+        dto.setPoemIconExternalUrl(entity.getPoemIconExternalUrl());
+        dto.setPoemBannerExternalUrl(entity.getPoemBannerExternalUrl());
+        dto.setPoemName(entity.getPoemName());
+        dto.setPoemDescription(entity.getPoemDescription());
+        dto.setPoemText(entity.getPoemText());
+        dto.setPoemAuthor(entity.getPoemAuthor());
+        dto.setPoemDuration(entity.getPoemDuration());
+        dto.setPoemViews(entity.getPoemViews());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static PoemMobileResponseDto toPoemMobileResponseDto(PoemEntity entity) {
+        PoemMobileResponseDto dto = new PoemMobileResponseDto();
+        dto.setPoemId(entity.getPoemId());
+        dto.setPoemExternalUrl(entity.getPoemExternalUrl());
+        dto.setPoemIconExternalUrl(entity.getPoemIconExternalUrl());
+        dto.setPoemBannerExternalUrl(entity.getPoemBannerExternalUrl());
+        dto.setPoemName(entity.getPoemName());
+        dto.setPoemDescription(entity.getPoemDescription());
+        dto.setPoemText(entity.getPoemText());
+        dto.setPoemAuthor(entity.getPoemAuthor());
+        dto.setPoemDuration(entity.getPoemDuration());
+        dto.setPoemViews(entity.getPoemViews());
+        return dto;
+    }
+
+    private static ShortsResponseDto toShortsResponseDto(ShortsEntity entity) {
+        ShortsResponseDto dto = new ShortsResponseDto();
+        dto.setShortsId(entity.getShortsId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setShortsStorageId(entity.getShortsStorageId());
+        dto.setShortsBannerStorageId(entity.getShortsBannerStorageId());
+        dto.setShortsStatus(entity.getShortsStatus());
+        dto.setShortsExternalUrl(entity.getShortsExternalUrl());
+        dto.setShortsBannerExternalUrl(entity.getShortsBannerExternalUrl());
+        dto.setShortsName(entity.getShortsName());
+        dto.setShortsDescription(entity.getShortsDescription());
+        dto.setDuration(entity.getDuration());
+        dto.setLikes(entity.getLikes());
+        dto.setViews(entity.getViews());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static ShortsMobileResponseDto toShortsMobileResponseDto(ShortsEntity entity) {
+        ShortsMobileResponseDto dto = new ShortsMobileResponseDto();
+        dto.setShortsId(entity.getShortsId());
+        dto.setShortsExternalUrl(entity.getShortsExternalUrl());
+        dto.setShortsBannerExternalUrl(entity.getShortsBannerExternalUrl());
+        dto.setShortsName(entity.getShortsName());
+        dto.setShortsDescription(entity.getShortsDescription());
+        dto.setDuration(entity.getDuration());
+        dto.setLikes(entity.getLikes());
+        dto.setViews(entity.getViews());
+        return dto;
+    }
+
+    private static NewsResponseDto toNewsResponseDto(NewsEntity entity) {
+        NewsResponseDto dto = new NewsResponseDto();
+        dto.setNewsId(entity.getNewsId());
+        dto.setNewsIconStorageId(entity.getNewsIconStorageId());
+        dto.setNewsBannerStorageId(entity.getNewsBannerStorageId());
+        dto.setNewsIconExternalUrl(entity.getNewsIconExternalUrl());
+        dto.setNewsBannerExternalUrl(entity.getNewsBannerExternalUrl());
+        dto.setNewsStatus(entity.getNewsStatus());
+        dto.setNewsName(entity.getNewsName());
+        dto.setNewsDescription(entity.getNewsDescription());
+        dto.setIsRecommended(entity.getIsRecommended());
+        dto.setLikes(entity.getLikes());
+        dto.setViews(entity.getViews());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static NewsMobileResponseDto toNewsMobileResponseDto(NewsEntity entity) {
+        NewsMobileResponseDto dto = new NewsMobileResponseDto();
+        dto.setNewsId(entity.getNewsId());
+        dto.setNewsIconExternalUrl(entity.getNewsIconExternalUrl());
+        dto.setNewsBannerExternalUrl(entity.getNewsBannerExternalUrl());
+        dto.setNewsName(entity.getNewsName());
+        dto.setNewsDescription(entity.getNewsDescription());
+        dto.setIsRecommended(entity.getIsRecommended());
+        dto.setLikes(entity.getLikes());
+        dto.setViews(entity.getViews());
+        return dto;
+    }
+
+    private static EventResponseDto toEventResponseDto(EventEntity entity) {
+        EventResponseDto dto = new EventResponseDto();
+        dto.setEventId(entity.getEventId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setEventIconStorageId(entity.getEventIconStorageId());
+        dto.setEventBannerStorageId(entity.getEventBannerStorageId());
+        dto.setEventStatus(entity.getEventStatus());
+        dto.setEventIconExternalUrl(entity.getEventIconExternalUrl());
+        dto.setEventBannerExternalUrl(entity.getEventBannerExternalUrl());
+        dto.setEventName(entity.getEventName());
+        dto.setEventDescription(entity.getEventDescription());
+        dto.setEventStartDateTime(entity.getEventStartDateTime());
+        dto.setEventEndDateTime(entity.getEventEndDateTime());
+        dto.setAddresses(copy(entity.getAddresses()));
+        dto.setContacts(copy(entity.getContacts()));
+        dto.setUrls(copy(entity.getUrls()));
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static EventMobileResponseDto toEventMobileResponseDto(EventEntity entity) {
+        EventMobileResponseDto dto = new EventMobileResponseDto();
+        dto.setEventId(entity.getEventId());
+        dto.setEventIconExternalUrl(entity.getEventIconExternalUrl());
+        dto.setEventBannerExternalUrl(entity.getEventBannerExternalUrl());
+        dto.setEventName(entity.getEventName());
+        dto.setEventDescription(entity.getEventDescription());
+        dto.setEventStartDateTime(entity.getEventStartDateTime());
+        dto.setEventEndDateTime(entity.getEventEndDateTime());
+        dto.setAddresses(copy(entity.getAddresses()));
+        dto.setContacts(copy(entity.getContacts()));
+        dto.setUrls(copy(entity.getUrls()));
+        return dto;
+    }
+
+    private static OrganizationResponseDto toOrganizationResponseDto(OrganizationEntity entity) {
+        OrganizationResponseDto dto = new OrganizationResponseDto();
+        dto.setOrgId(entity.getOrgId());
+        dto.setOrgIconStorageId(entity.getOrgIconStorageId());
+        dto.setOrgStatus(entity.getOrgStatus());
+        dto.setOrgName(entity.getOrgName());
+        dto.setOrgRegistrationNumber(entity.getOrgRegistrationNumber());
+        dto.setOrgEmail(entity.getOrgEmail());
+        dto.setOrgDescription(entity.getOrgDescription());
+        dto.setAddresses(copy(entity.getAddresses()));
+        dto.setContacts(copy(entity.getContacts()));
+        dto.setUrls(copy(entity.getUrls()));
+        dto.setBankName(entity.getBankName());
+        dto.setBankAccountNumber(entity.getBankAccountNumber());
+        dto.setBankAccountType(entity.getBankAccountType());
+        dto.setBankIdentifierCode(entity.getBankIdentifierCode());
+        dto.setBankBranch(entity.getBankBranch());
+        dto.setBankAddress(entity.getBankAddress());
+        dto.setBankCurrency(entity.getBankCurrency());
+        dto.setTaxIdentificationNumber(entity.getTaxIdentificationNumber());
+        dto.setPermanentAccountNumber(entity.getPermanentAccountNumber());
+        dto.setGoodsServicesTaxNumber(entity.getGoodsServicesTaxNumber());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+
+    private static UserResponseDto toUserResponseDto(UserEntity entity) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setUserId(entity.getUserId());
+        dto.setOrgId(entity.getOrgId());
+        dto.setUserIconStorageId(entity.getUserIconStorageId());
+        dto.setUserType(entity.getUserType());
+        dto.setUserStatus(entity.getUserStatus());
+        dto.setUserFirstName(entity.getUserFirstName());
+        dto.setUserLastName(entity.getUserLastName());
+        dto.setUserEmail(entity.getUserEmail());
+        dto.setUserMobile(entity.getUserMobile());
+        dto.setEmailVerified(entity.isEmailVerified());
+        dto.setMobileVerified(entity.isMobileVerified());
+        dto.setGender(entity.getGender());
+        dto.setAddresses(copy(entity.getAddresses()));
+        dto.setDateOfBirth(entity.getDateOfBirth());
+        dto.setBloodGroup(entity.getBloodGroup());
+        dto.setUserAoi(entity.getUserAoi());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedBy(entity.getUpdatedBy());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setLastLoginAt(entity.getLastLoginAt());
+        return dto;
+    }
+
+    private static StorageResponseDto toStorageResponseDto(StorageEntity entity) {
+        StorageResponseDto dto = new StorageResponseDto();
+        dto.setStorageId(entity.getStorageId());
+        dto.setContentType(entity.getContentType());
+        dto.setExtension(entity.getExtension());
+        dto.setSize(entity.getSize());
+        dto.setTags(entity.getTags());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedAt(entity.getCreatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,180 @@
+package yoga.irai.server.app.recent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Serves the recently viewed items of a user, most recent first and bounded to
+ * a fixed number of items. Recents are read with a top-N query on the progress
+ * rows of the user, ordered by their last update.
+ * <p>
+ * When enabled, the IDs are also kept in a per-user ring buffer that progress
+ * writes on this node move to the front, so repeated reads skip the query.
+ * Writes handled by other nodes are not seen, which is why buffers expire after
+ * a short time.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecentViewService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.recents.limit:10}")
+    private int limit;
+
+    @Value("${app.recents.buffer.enabled:false}")
+    private boolean bufferEnabled;
+
+    @Value("${app.recents.buffer.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${app.recents.buffer.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<Key, RingBuffer> buffers = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, RingBuffer> eldest) {
+            return size() > maxUsers;
+        }
+    });
+
+    /**
+     * Registers a gauge reporting the number of buffered users.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("recents.buffer.users", buffers, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the IDs of the items recently viewed by a user.
+     *
+     * @param moduleType
+     *            the module of the items
+     * @param userId
+     *            the ID of the user
+     * @param loader
+     *            runs the top-N query for the given page, most recent first
+     * @return the IDs, most recent first
+     */
+    public List<UUID> getRecentIds(AppUtils.ModuleType moduleType, UUID userId,
+            Function<Pageable, List<UUID>> loader) {
+        Pageable top = PageRequest.of(0, limit);
+        if (!bufferEnabled) {
+            return loader.apply(top);
+        }
+        Key key = new Key(moduleType, userId);
+        RingBuffer buffer = buffers.get(key);
+        if (Objects.nonNull(buffer) && !buffer.isExpired(ttlSeconds)) {
+            meterRegistry.counter("recents.buffer.requests", "module", moduleType.name(), "result", "hit")
+                    .increment();
+            return buffer.snapshot();
+        }
+        meterRegistry.counter("recents.buffer.requests", "module", moduleType.name(), "result", "miss").increment();
+        List<UUID> ids = loader.apply(top);
+        buffers.put(key, new RingBuffer(ids, limit));
+        return ids;
+    }
+
+    /**
+     * Records a progress write in the buffer of the user, if the user has one.
+     * An item that is no longer viewed drops the buffer, since the next item to
+     * show is only known to the database.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param userId
+     *            the ID of the user
+     * @param id
+     *            the ID of the item
+     * @param viewed
+     *            whether the item still belongs to the recents of the user
+     */
+    public void record(AppUtils.ModuleType moduleType, UUID userId, UUID id, boolean viewed) {
+        if (!bufferEnabled || Objects.isNull(userId) || Objects.isNull(id)) {
+            return;
+        }
+        Key key = new Key(moduleType, userId);
+        RingBuffer buffer = buffers.get(key);
+        if (Objects.isNull(buffer)) {
+            return;
+        }
+        if (viewed) {
+            buffer.moveToFront(id);
+        } else if (buffer.contains(id)) {
+            buffers.remove(key);
+        }
+    }
+
+    /**
+     * Orders loaded items like their IDs, skipping IDs that were not found.
+     *
+     * @param ids
+     *            the IDs in the wanted order
+     * @param items
+     *            the loaded items, in any order
+     * @param idOf
+     *            extracts the ID of an item
+     * @return the items in the order of their IDs
+     */
+    public static <T> List<T> inOrder(List<UUID> ids, Collection<T> items, Function<T, UUID> idOf) {
+        Map<UUID, T> itemsById = items.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        return ids.stream().map(itemsById::get).filter(Objects::nonNull).toList();
+    }
+
+    private record Key(AppUtils.ModuleType moduleType, UUID userId) {
+    }
+
+    /**
+     * Most recent first list of IDs holding at most a fixed number of entries.
+     */
+    private static final class RingBuffer {
+
+        private final Deque<UUID> ids;
+        private final int capacity;
+        private final long loadedAt = System.nanoTime();
+
+        private RingBuffer(List<UUID> ids, int capacity) {
+            this.ids = new ArrayDeque<>(ids);
+            this.capacity = capacity;
+        }
+
+        private synchronized void moveToFront(UUID id) {
+            ids.remove(id);
+            ids.addFirst(id);
+            while (ids.size() > capacity) {
+                ids.removeLast();
+            }
+        }
+
+        private synchronized boolean contains(UUID id) {
+            return ids.contains(id);
+        }
+
+        private synchronized List<UUID> snapshot() {
+            return List.copyOf(ids);
+        }
+
+        private boolean isExpired(long ttlSeconds) {
+            return System.nanoTime() - loadedAt > ttlSeconds * 1_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package yoga.irai.server.app.recommendation;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+/**
+ * Keeps precomputed candidate lists of the personalized feed: for each
+ * organization and module, the active content grouped by tag, newest first.
+ * A list is loaded with a single query on the first read and dropped when
+ * content of its organization and module changes on any node, so a publish
+ * only reloads the one list it affects and feed requests never scan content.
+ * A change that arrives while its list is loading waits for the load, so the
+ * list is never kept stale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandidateIndexService {
+
+    /**
+     * Modules whose content is recommended.
+     */
+    public static final Set<ModuleType> MODULES = EnumSet.of(ModuleType.PRACTICE, ModuleType.PROGRAM,
+            ModuleType.SHORTS, ModuleType.POEM);
+
+    private final MeterRegistry meterRegistry;
+    private final PoemRepository poemRepository;
+    private final ShortsRepository shortsRepository;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+    private final Map<Key, Map<String, List<Candidate>>> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * Number of newest items kept per tag, bounding the size of the index.
+     */
+    @Value("${app.mobile.for-you.candidates-per-tag:200}")
+    private int candidatesPerTag;
+
+    /**
+     * A recommendable content item.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param id
+     *            the ID of the item
+     * @param createdAt
+     *            the creation time of the item
+     */
+    public record Candidate(ModuleType moduleType, UUID id, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Registers a gauge reporting the number of loaded candidate lists.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("foryou.candidates.lists", candidates, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the candidates of an organization and module, loading them if they
+     * are missing.
+     *
+     * @param moduleType
+     *            one of the recommended modules
+     * @param orgId
+     *            the organization ID
+     * @return the candidates by lower case tag, newest first
+     */
+    public Map<String, List<Candidate>> getCandidates(ModuleType moduleType, UUID orgId) {
+        Map<String, List<Candidate>> loaded = candidates.get(new Key(moduleType, orgId));
+        if (Objects.nonNull(loaded)) {
+            meterRegistry.counter("foryou.candidates.requests", "result", "hit").increment();
+            return loaded;
+        }
+        meterRegistry.counter("foryou.candidates.requests", "result", "miss").increment();
+        return candidates.computeIfAbsent(new Key(moduleType, orgId), this::load);
+    }
+
+    /**
+     * Drops the candidate lists affected by a content change.
+     *
+     * @param event
+     *            the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!MODULES.contains(event.moduleType())) {
+            return;
+        }
+        if (Objects.isNull(event.orgId())) {
+            candidates.keySet().removeIf(key -> key.moduleType().equals(event.moduleType()));
+        } else {
+            candidates.remove(new Key(event.moduleType(), event.orgId()));
+        }
+    }
+
+    private Map<String, List<Candidate>> load(Key key) {
+        UUID orgId = key.orgId();
+        ModuleType moduleType = key.moduleType();
+        List<TaggedContent> rows = switch (moduleType) {
+            case PRACTICE -> practiceRepository.findTagged(orgId, AppUtils.PracticeStatus.ACTIVE);
+            case PROGRAM -> programRepository.findTagged(orgId, AppUtils.ProgramStatus.ACTIVE);
+            case SHORTS -> shortsRepository.findTagged(orgId, AppUtils.ShortsStatus.ACTIVE);
+            case POEM -> poemRepository.findTagged(orgId, AppUtils.PoemStatus.ACTIVE);
+            default -> throw new IllegalArgumentException("Module is not recommended: " + moduleType);
+        };
+        Map<String, List<Candidate>> byTag = new HashMap<>();
+        for (TaggedContent row : rows) {
+            Candidate candidate = new Candidate(moduleType, row.getId(), row.getCreatedAt());
+            for (String tag : parseTags(row)) {
+                byTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(candidate);
+            }
+        }
+        Comparator<Candidate> newestFirst = Comparator.comparing(Candidate::createdAt,
+                Comparator.nullsLast(Comparator.reverseOrder()));
+        byTag.replaceAll((tag, list) -> list.stream().sorted(newestFirst).limit(candidatesPerTag).toList());
+        return Map.copyOf(byTag);
+    }
+
+    private static Set<String> parseTags(TaggedContent row) {
+        try {
+            Set<String> tags = AppUtils.readTags(row.getTags());
+            if (Objects.isNull(tags)) {
+                return Set.of();
+            }
+            Set<String> normalized = new HashSet<>();
+            tags.stream().filter(StringUtils::isNotBlank).forEach(tag -> normalized.add(tag.trim().toLowerCase()));
+            return normalized;
+        } catch (AppException e) {
+            log.warn("Tags of content {} could not be read: {}", row.getId(), e.getMessage());
+            return Set.of();
+        }
+    }
+
+    private record Key(ModuleType moduleType, UUID orgId) {
+    }
+}
@@ -0,0 +1,17 @@
+package yoga.irai.server.app.recommendation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ID, tags and creation time of a content row, the only columns the candidate
+ * lists of the personalized feed are built from.
+ */
+public interface TaggedContent {
+
+    UUID getId();
+
+    String getTags();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,48 @@
+package yoga.irai.server.app.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+
+/**
+ * Recomputes the rating aggregates of practices and programs from the ratings
+ * of their users. Ratings are normally applied as atomic deltas; this nightly
+ * run backfills aggregates that were never computed and corrects any drift,
+ * touching only the rows whose aggregates differ. Only the node holding the
+ * rating repair lock does the work.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingRepairService {
+
+    private static final String LOCK_NAME = "rating-repair";
+
+    private final MeterRegistry meterRegistry;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+    private final SchedulerLockService schedulerLockService;
+
+    /**
+     * Repairs the rating aggregates of all practices and programs on the leader
+     * node.
+     */
+    @Scheduled(cron = "${app.ratings.repair-cron:0 15 4 * * *}")
+    public void repair() {
+        schedulerLockService.runAsLeader(LOCK_NAME, Duration.ofHours(1), () -> {
+            record(ModuleType.PRACTICE, practiceRepository.recomputeRatings());
+            record(ModuleType.PROGRAM, programRepository.recomputeRatings());
+        });
+    }
+
+    private void record(ModuleType moduleType, int repaired) {
+        meterRegistry.counter("ratings.repaired", "module", moduleType.name()).increment(repaired);
+        log.info("Rating repair corrected {} {} rows", repaired, moduleType);
+    }
+}
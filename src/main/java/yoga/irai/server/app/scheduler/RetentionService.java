@@ -0,0 +1,141 @@
+package yoga.irai.server.app.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.counter.ViewerSketchRepository;
+import yoga.irai.server.app.sync.TombstoneRepository;
+import yoga.irai.server.authentication.repository.DeviceRepository;
+import yoga.irai.server.authentication.repository.RefreshTokenRepository;
+import yoga.irai.server.notification.NotificationRepository;
+import yoga.irai.server.provider.MailOutboxRepository;
+import yoga.irai.server.provider.OtpRepository;
+
+/**
+ * Purges expired and stale rows from tables that otherwise only grow. Each table
+ * has its own retention policy and is purged in bounded batches, each in its own
+ * transaction, so no run holds long locks. Only the node holding the retention
+ * lock does the work.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RetentionService {
+
+    private static final String LOCK_NAME = "retention";
+
+    private final OtpRepository otpRepository;
+    private final MeterRegistry meterRegistry;
+    private final DeviceRepository deviceRepository;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final NotificationRepository notificationRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final ViewerSketchRepository viewerSketchRepository;
+
+    @Value("${app.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.retention.max-batches-per-table:200}")
+    private int maxBatchesPerTable;
+
+    @Value("${app.retention.device-inactive-days:90}")
+    private int deviceInactiveDays;
+
+    @Value("${app.retention.notification-days:90}")
+    private int notificationDays;
+
+    @Value("${app.retention.mail-outbox-days:30}")
+    private int mailOutboxDays;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Value("${app.retention.viewer-sketch-days:400}")
+    private int viewerSketchDays;
+
+    /**
+     * Retention policy of a single table.
+     *
+     * @param table
+     *            the table name, used as the metric tag
+     * @param keep
+     *            how long rows are kept past their expiry or last use
+     * @param purge
+     *            deletes one batch of rows older than the cutoff and returns the
+     *            number deleted
+     */
+    record RetentionPolicy(String table, Duration keep, BiFunction<ZonedDateTime, Integer, Integer> purge) {
+    }
+
+    /**
+     * Returns the retention policies in the order they are applied. Refresh tokens
+     * are purged before devices so that devices left without a token become
+     * orphans in the same run.
+     *
+     * @return the retention policies
+     */
+    List<RetentionPolicy> getPolicies() {
+        return List.of(new RetentionPolicy("otp", Duration.ZERO, otpRepository::deleteExpiredBatch),
+                new RetentionPolicy("refresh_tokens", Duration.ZERO, refreshTokenRepository::deleteExpiredBatch),
+                new RetentionPolicy("devices", Duration.ofDays(deviceInactiveDays),
+                        deviceRepository::deleteOrphanedBatch),
+                new RetentionPolicy("notification", Duration.ofDays(notificationDays),
+                        (cutoff, batch) -> notificationRepository.deleteStaleBatch(
+                                cutoff.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(), batch)),
+                new RetentionPolicy("mail_outbox", Duration.ofDays(mailOutboxDays),
+                        mailOutboxRepository::deleteFinishedBatch),
+                new RetentionPolicy("tombstone", Duration.ofDays(tombstoneRetentionDays),
+                        (cutoff, batch) -> tombstoneRepository.deleteExpiredBatch(
+                                cutoff.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime(), batch)),
+                new RetentionPolicy("viewer_sketch", Duration.ofDays(viewerSketchDays),
+                        (cutoff, batch) -> viewerSketchRepository.deleteExpiredBatch(
+                                cutoff.withZoneSameInstant(ZoneOffset.UTC).toLocalDate(), batch)));
+    }
+
+    /**
+     * Runs all retention policies on the leader node.
+     */
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+    public void purge() {
+        schedulerLockService.runAsLeader(LOCK_NAME, Duration.ofHours(1), () -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            getPolicies().forEach(this::purge);
+            sample.stop(meterRegistry.timer("retention.run.duration"));
+        });
+    }
+
+    /**
+     * Applies a single retention policy, deleting batches until a short batch is
+     * returned or the per-run batch limit is reached.
+     *
+     * @param policy
+     *            the policy to apply
+     * @return the number of rows deleted
+     */
+    long purge(RetentionPolicy policy) {
+        ZonedDateTime cutoff = ZonedDateTime.now().minus(policy.keep());
+        long purged = 0;
+        for (int batch = 0; batch < maxBatchesPerTable; batch++) {
+            int deleted = policy.purge().apply(cutoff, batchSize);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        meterRegistry.counter("retention.purged", "table", policy.table()).increment(purged);
+        log.info("Retention purged {} rows from {}", purged, policy.table());
+        return purged;
+    }
+}
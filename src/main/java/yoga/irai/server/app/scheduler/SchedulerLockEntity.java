@@ -0,0 +1,35 @@
+package yoga.irai.server.app.scheduler;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import lombok.*;
+
+/**
+ * Lease row used to elect a single node for a scheduled job. A node holds the
+ * lock named after the job until {@code lockedUntil}.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "scheduler_lock")
+public class SchedulerLockEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3306514296714958521L;
+
+    @Id
+    @Column(name = "lock_name", length = 100, nullable = false)
+    private String lockName;
+
+    @Column(name = "locked_until", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private ZonedDateTime lockedUntil;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+}
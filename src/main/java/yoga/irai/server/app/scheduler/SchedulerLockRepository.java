@@ -0,0 +1,47 @@
+package yoga.irai.server.app.scheduler;
+
+import java.time.ZonedDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLockEntity, String> {
+
+    /**
+     * Takes the named lock if it is free or its lease has run out.
+     *
+     * @param lockName
+     *            the name of the lock
+     * @param lockedUntil
+     *            the end of the lease
+     * @param lockedBy
+     *            the node taking the lock
+     * @return 1 if the lock was taken, 0 if another node holds it
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_lock (lock_name, locked_until, locked_by) "
+            + "VALUES (:lockName, :lockedUntil, :lockedBy) ON CONFLICT (lock_name) DO UPDATE "
+            + "SET locked_until = EXCLUDED.locked_until, locked_by = EXCLUDED.locked_by "
+            + "WHERE scheduler_lock.locked_until <= now()", nativeQuery = true)
+    int tryAcquire(@Param("lockName") String lockName, @Param("lockedUntil") ZonedDateTime lockedUntil,
+            @Param("lockedBy") String lockedBy);
+
+    /**
+     * Releases the named lock if it is still held by the given node.
+     *
+     * @param lockName
+     *            the name of the lock
+     * @param lockedBy
+     *            the node releasing the lock
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE scheduler_lock SET locked_until = now() WHERE lock_name = :lockName "
+            + "AND locked_by = :lockedBy", nativeQuery = true)
+    void release(@Param("lockName") String lockName, @Param("lockedBy") String lockedBy);
+}
@@ -0,0 +1,44 @@
+package yoga.irai.server.app.scheduler;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs scheduled jobs on a single node of the cluster by leasing a row in the
+ * {@code scheduler_lock} table.
+ */
+@Service
+@RequiredArgsConstructor
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Runs the task if this node can take the named lock, and releases the lock
+     * afterwards.
+     *
+     * @param lockName
+     *            the name of the lock, usually the job name
+     * @param lease
+     *            how long the lock is held if the node dies before releasing it
+     * @param task
+     *            the task to run
+     * @return true if the task ran on this node, false if another node holds the
+     *         lock
+     */
+    public boolean runAsLeader(String lockName, Duration lease, Runnable task) {
+        if (schedulerLockRepository.tryAcquire(lockName, ZonedDateTime.now().plus(lease), nodeId) == 0) {
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            schedulerLockRepository.release(lockName, nodeId);
+        }
+        return true;
+    }
+}
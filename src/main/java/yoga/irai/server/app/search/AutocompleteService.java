@@ -0,0 +1,311 @@
+package yoga.irai.server.app.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.dto.SuggestionDto;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.search.PrefixTrie.Suggestion;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.setting.SettingService;
+
+/**
+ * Serves typeahead suggestions from memory: one {@link PrefixTrie} per module
+ * and organization, news being global, holding the names of the active content
+ * and the tags of the module, both its tag vocabulary setting and the tags in
+ * use. Names rank by the engagement of their item, tags by the number of items
+ * carrying them.
+ * <p>
+ * A trie is built with one query on the first completion of its organization,
+ * or at startup for the default organization and news, and rebuilt when
+ * content of its module and organization changes on any node. Popularity moves
+ * without content changes, so loaded tries are also rebuilt periodically.
+ * Rebuilds run off the keystroke path and the committing thread; completions
+ * keep using the previous trie until the new one replaces it. Only the most
+ * recently used tries are kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+    private final SettingService settingService;
+    private final OrganizationService organizationService;
+    private final SearchableContentService searchableContentService;
+    private final Map<Key, PrefixTrie> tries = new ConcurrentHashMap<>();
+    private final Map<Key, Long> usedAt = new ConcurrentHashMap<>();
+    private final AtomicLong uses = new AtomicLong();
+
+    /**
+     * Number of tries kept; the least recently used are dropped past it.
+     */
+    @Value("${app.autocomplete.max-tries:500}")
+    private int maxTries;
+
+    /**
+     * Number of newest rows whose names are suggested, per module and
+     * organization.
+     */
+    @Value("${app.search.index.max-documents:5000}")
+    private int maxDocuments;
+
+    /**
+     * Number of suggestions kept per trie node, the maximum a completion
+     * returns.
+     */
+    @Value("${app.autocomplete.max-limit:10}")
+    private int maxLimit;
+
+    /**
+     * Number of leading words of a name a completion can start at.
+     */
+    @Value("${app.autocomplete.max-words:3}")
+    private int maxWords;
+
+    /**
+     * Registers gauges reporting the number of tries, of suggestions and of trie
+     * nodes loaded.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("autocomplete.tries", tries, Map::size).register(meterRegistry);
+        Gauge.builder("autocomplete.suggestions", tries,
+                loaded -> loaded.values().stream().mapToLong(PrefixTrie::size).sum()).register(meterRegistry);
+        Gauge.builder("autocomplete.nodes", tries,
+                loaded -> loaded.values().stream().mapToLong(PrefixTrie::getNodeCount).sum())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the tries of the default organization and of news. A failure is
+     * logged; the tries are then built on the first completion.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildTries() {
+        UUID defaultOrgId = UUID.fromString(appProperties.getDefaultOrganizationId());
+        try {
+            ContentIndexService.MODULES.forEach(moduleType -> getTrie(moduleType, defaultOrgId));
+        } catch (DataAccessException e) {
+            log.warn("Autocomplete tries could not be built at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Completes the text typed by the current user over the content of the
+     * organizations visible to the user: the own and default organizations for
+     * mobile users, the own organization for portal users and the default one
+     * for administrators.
+     *
+     * @param prefix
+     *            the text typed so far
+     * @param limit
+     *            the maximum number of suggestions, capped by the configured
+     *            maximum
+     * @return the suggestions, most popular first
+     */
+    public List<SuggestionDto> complete(String prefix, int limit) {
+        if (StringUtils.isBlank(prefix)) {
+            return List.of();
+        }
+        Set<UUID> orgIds = switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> organizationService.getOrgIdsForMobile();
+            case PORTAL_USER -> Set.of(AppUtils.getPrincipalOrgId());
+            case KEYCLOAK_USER -> Set.of(UUID.fromString(appProperties.getDefaultOrganizationId()));
+        };
+        return complete(prefix, Math.clamp(limit, 1, maxLimit), orgIds);
+    }
+
+    /**
+     * Merges the completions of the tries of the given organizations, adding up
+     * the popularity of a tag found in several of them.
+     */
+    List<SuggestionDto> complete(String prefix, int size, Set<UUID> orgIds) {
+        List<PrefixTrie> scoped = new ArrayList<>();
+        for (ModuleType moduleType : ContentIndexService.MODULES) {
+            if (ModuleType.NEWS.equals(moduleType)) {
+                scoped.add(getTrie(moduleType, null));
+            } else {
+                orgIds.forEach(orgId -> scoped.add(getTrie(moduleType, orgId)));
+            }
+        }
+        Map<String, SuggestionDto> merged = new HashMap<>();
+        scoped.forEach(trie -> trie.complete(prefix, size).forEach(suggestion -> merged
+                .merge(mergeKey(suggestion), toSuggestionDto(suggestion), (a, b) -> {
+                    a.setPopularity(a.getPopularity() + b.getPopularity());
+                    return a;
+                })));
+        return merged.values().stream()
+                .sorted(Comparator.comparingLong(SuggestionDto::getPopularity).reversed()
+                        .thenComparingInt(suggestion -> suggestion.getText().length())
+                        .thenComparing(SuggestionDto::getText))
+                .limit(size).toList();
+    }
+
+    /**
+     * Rebuilds the loaded tries affected by a content change, asynchronously.
+     *
+     * @param event
+     *            the content change
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!ContentIndexService.MODULES.contains(event.moduleType())) {
+            return;
+        }
+        if (ModuleType.NEWS.equals(event.moduleType()) || Objects.nonNull(event.orgId())) {
+            rebuild(key(event.moduleType(), event.orgId()));
+        } else {
+            tries.keySet().stream().filter(key -> key.moduleType().equals(event.moduleType())).toList()
+                    .forEach(this::rebuild);
+        }
+    }
+
+    /**
+     * Rebuilds every loaded trie so that the ranking follows popularity.
+     */
+    @Scheduled(fixedDelayString = "${app.autocomplete.refresh-delay-ms:900000}")
+    public void refresh() {
+        List.copyOf(tries.keySet()).forEach(this::rebuild);
+    }
+
+    private PrefixTrie getTrie(ModuleType moduleType, UUID orgId) {
+        Key key = key(moduleType, orgId);
+        PrefixTrie trie = tries.get(key);
+        if (Objects.isNull(trie)) {
+            trie = tries.computeIfAbsent(key, this::load);
+            usedAt.put(key, uses.incrementAndGet());
+            evict();
+        } else {
+            usedAt.put(key, uses.incrementAndGet());
+        }
+        return trie;
+    }
+
+    /**
+     * Drops the least recently used tries past the maximum.
+     */
+    private void evict() {
+        int excess = tries.size() - maxTries;
+        if (excess > 0) {
+            usedAt.entrySet().stream().sorted(Map.Entry.comparingByValue()).limit(excess).map(Map.Entry::getKey)
+                    .toList().forEach(key -> {
+                        tries.remove(key);
+                        usedAt.remove(key);
+                    });
+        }
+    }
+
+    /**
+     * Rebuilds a loaded trie and swaps it in. Rebuilds run one at a time, so a
+     * trie is never replaced by one read before it.
+     */
+    private synchronized void rebuild(Key key) {
+        if (!tries.containsKey(key)) {
+            return;
+        }
+        try {
+            PrefixTrie trie = load(key);
+            tries.replace(key, trie);
+        } catch (DataAccessException e) {
+            log.warn("Autocomplete trie of {} {} could not be rebuilt: {}", key.moduleType(), key.orgId(),
+                    e.getMessage());
+            tries.remove(key);
+            usedAt.remove(key);
+        }
+    }
+
+    private PrefixTrie load(Key key) {
+        List<SearchableContent> rows = searchableContentService.findActive(key.moduleType(), key.orgId(),
+                maxDocuments);
+        List<Suggestion> suggestions = new ArrayList<>();
+        Map<String, Long> tagCounts = new HashMap<>();
+        readVocabulary(key.moduleType()).forEach(tag -> tagCounts.put(tag, 0L));
+        for (SearchableContent row : rows) {
+            if (StringUtils.isNotBlank(row.getName())) {
+                suggestions.add(new Suggestion(row.getName().trim(), AppUtils.SuggestionType.NAME,
+                        key.moduleType(), row.getId(), Objects.requireNonNullElse(row.getPopularity(), 0L)));
+            }
+            normalizedTags(row.getTags()).forEach(tag -> tagCounts.merge(tag, 1L, Long::sum));
+        }
+        tagCounts.forEach((tag, count) -> suggestions
+                .add(new Suggestion(tag, AppUtils.SuggestionType.TAG, key.moduleType(), null, count)));
+        return PrefixTrie.build(suggestions, maxWords, maxLimit);
+    }
+
+    private Set<String> readVocabulary(ModuleType moduleType) {
+        AppUtils.SettingName settingName = TagService.TAG_SETTINGS.get(moduleType);
+        if (Objects.isNull(settingName)) {
+            return Set.of();
+        }
+        try {
+            return normalizedTags(settingService.getSettingBySettingName(settingName.getSetting()).getSettingValue());
+        } catch (AppException e) {
+            log.warn("Tag vocabulary {} could not be read: {}", settingName, e.getMessage());
+            return Set.of();
+        }
+    }
+
+    /**
+     * Returns the tags of a tags column, trimmed and lower-cased, or none if the
+     * column cannot be read.
+     */
+    private static Set<String> normalizedTags(String value) {
+        try {
+            Set<String> tags = AppUtils.readTags(value);
+            return Objects.isNull(tags)
+                    ? Set.of()
+                    : tags.stream().filter(StringUtils::isNotBlank).map(tag -> tag.trim().toLowerCase())
+                            .collect(Collectors.toSet());
+        } catch (AppException e) {
+            return Set.of();
+        }
+    }
+
+    private static String mergeKey(Suggestion suggestion) {
+        return AppUtils.SuggestionType.NAME.equals(suggestion.type())
+                ? suggestion.id().toString()
+                : suggestion.moduleType() + ":" + suggestion.text();
+    }
+
+    private static SuggestionDto toSuggestionDto(Suggestion suggestion) {
+        return SuggestionDto.builder().text(suggestion.text()).type(suggestion.type())
+                .moduleType(suggestion.moduleType()).id(suggestion.id()).popularity(suggestion.popularity())
+                .build();
+    }
+
+    private static Key key(ModuleType moduleType, UUID orgId) {
+        return new Key(moduleType, ModuleType.NEWS.equals(moduleType) ? null : orgId);
+    }
+
+    private record Key(ModuleType moduleType, UUID orgId) {
+    }
+}
@@ -0,0 +1,294 @@
+package yoga.irai.server.app.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.version.ContentChangedEvent;
+
+/**
+ * Keeps in-memory inverted indexes of the active content names, tags and
+ * descriptions, one {@link SearchIndex} per module and organization, news being
+ * global. The indexes of the default organization and of news are built at
+ * startup, the others on the first search of their organization, each with a
+ * single query. A content change rebuilds the one index of its module and
+ * organization, on every node, off the committing thread; searches keep using
+ * the previous index until the new one replaces it.
+ * <p>
+ * Memory is bounded by indexing only the newest rows of each index and the
+ * first tokens of each field, and by keeping only the most recently searched
+ * indexes; the estimated size of all indexes is reported as the
+ * {@code search.index.bytes} gauge.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentIndexService {
+
+    /**
+     * Modules whose content is searchable.
+     */
+    public static final Set<ModuleType> MODULES = EnumSet.of(ModuleType.PRACTICE, ModuleType.PROGRAM,
+            ModuleType.POEM, ModuleType.SHORTS, ModuleType.EVENT, ModuleType.NEWS);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_BOOST = 0.5;
+
+    private final AppProperties appProperties;
+    private final MeterRegistry meterRegistry;
+    private final SearchableContentService searchableContentService;
+    private final Map<Key, SearchIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<Key, Long> usedAt = new ConcurrentHashMap<>();
+    private final AtomicLong uses = new AtomicLong();
+
+    /**
+     * Number of indexes kept; the least recently searched are dropped past it.
+     */
+    @Value("${app.search.index.max-indexes:500}")
+    private int maxIndexes;
+
+    /**
+     * Number of newest rows indexed per module and organization.
+     */
+    @Value("${app.search.index.max-documents:5000}")
+    private int maxDocuments;
+
+    /**
+     * Number of leading tokens indexed per field.
+     */
+    @Value("${app.search.index.max-tokens:100}")
+    private int maxTokens;
+
+    /**
+     * Number of terms a query word expands to as a prefix.
+     */
+    @Value("${app.search.max-prefix-terms:50}")
+    private int maxPrefixTerms;
+
+    /**
+     * A matching item.
+     *
+     * @param moduleType
+     *            the module of the item
+     * @param id
+     *            the ID of the item
+     * @param name
+     *            the name of the item
+     * @param createdAt
+     *            the creation time of the item
+     * @param score
+     *            the BM25 score of the item for the query
+     */
+    public record Hit(ModuleType moduleType, UUID id, String name, LocalDateTime createdAt, double score) {
+    }
+
+    /**
+     * Registers gauges reporting the number, the estimated size and the number
+     * of documents of the loaded indexes.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("search.index.count", indexes, Map::size).register(meterRegistry);
+        Gauge.builder("search.index.bytes", indexes,
+                loaded -> loaded.values().stream().mapToLong(SearchIndex::getEstimatedBytes).sum())
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("search.index.documents", indexes,
+                loaded -> loaded.values().stream().mapToLong(SearchIndex::size).sum()).register(meterRegistry);
+    }
+
+    /**
+     * Builds the indexes of the default organization and of news. A failure is
+     * logged; the indexes are then built on the first search.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        UUID defaultOrgId = UUID.fromString(appProperties.getDefaultOrganizationId());
+        try {
+            MODULES.forEach(moduleType -> getIndex(moduleType, defaultOrgId));
+        } catch (DataAccessException e) {
+            log.warn("Search indexes could not be built at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Searches the active content of the given organizations and the news. Every
+     * query word matches the terms it is a prefix of, a whole word scoring twice
+     * as much as a longer term; an item scores the sum over the query words of
+     * its best matching term.
+     *
+     * @param query
+     *            the text typed by the user
+     * @param orgIds
+     *            the organizations visible to the user
+     * @return the matching items, best match first and newest first on ties
+     */
+    public List<Hit> search(String query, Set<UUID> orgIds) {
+        List<String> words = SearchIndex.tokenize(query).stream().distinct().toList();
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        List<SearchIndex> spanned = new ArrayList<>();
+        for (ModuleType moduleType : MODULES) {
+            if (ModuleType.NEWS.equals(moduleType)) {
+                spanned.add(getIndex(moduleType, null));
+            } else {
+                orgIds.forEach(orgId -> spanned.add(getIndex(moduleType, orgId)));
+            }
+        }
+        return rank(spanned, words);
+    }
+
+    /**
+     * Rebuilds the loaded indexes affected by a content change, asynchronously.
+     *
+     * @param event
+     *            the content change
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!MODULES.contains(event.moduleType())) {
+            return;
+        }
+        if (ModuleType.NEWS.equals(event.moduleType()) || Objects.nonNull(event.orgId())) {
+            rebuild(key(event.moduleType(), event.orgId()));
+        } else {
+            indexes.keySet().stream().filter(key -> key.moduleType().equals(event.moduleType())).toList()
+                    .forEach(this::rebuild);
+        }
+    }
+
+    /**
+     * Scores the documents of the given indexes, with collection statistics
+     * summed over all of them.
+     */
+    List<Hit> rank(List<SearchIndex> spanned, List<String> words) {
+        long documentCount = spanned.stream().mapToLong(SearchIndex::size).sum();
+        if (documentCount == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(
+                spanned.stream().mapToDouble(SearchIndex::getTotalLength).sum() / documentCount, 1);
+        float[][] scores = new float[spanned.size()][];
+        for (int i = 0; i < spanned.size(); i++) {
+            scores[i] = new float[spanned.get(i).size()];
+        }
+        for (String word : words) {
+            List<List<SearchIndex.Term>> expansions = spanned.stream()
+                    .map(index -> index.expand(word, maxPrefixTerms)).toList();
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int i = 0; i < spanned.size(); i++) {
+                for (SearchIndex.Term term : expansions.get(i)) {
+                    frequencies.merge(term.term(), spanned.get(i).documentFrequency(term), Integer::sum);
+                }
+            }
+            for (int i = 0; i < spanned.size(); i++) {
+                float[] best = new float[spanned.get(i).size()];
+                for (SearchIndex.Term term : expansions.get(i)) {
+                    int frequency = frequencies.get(term.term());
+                    double idf = Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+                    double boost = term.term().equals(word) ? 1 : PREFIX_BOOST;
+                    spanned.get(i).score(term, idf, boost, K1, B, averageLength, best);
+                }
+                for (int doc = 0; doc < best.length; doc++) {
+                    scores[i][doc] += best[doc];
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>();
+        for (int i = 0; i < spanned.size(); i++) {
+            SearchIndex index = spanned.get(i);
+            for (int doc = 0; doc < scores[i].length; doc++) {
+                if (scores[i][doc] > 0) {
+                    SearchIndex.Document document = index.getDocument(doc);
+                    hits.add(new Hit(index.getModuleType(), document.id(), document.name(), document.createdAt(),
+                            scores[i][doc]));
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(Hit::createdAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return hits;
+    }
+
+    private SearchIndex getIndex(ModuleType moduleType, UUID orgId) {
+        Key key = key(moduleType, orgId);
+        SearchIndex index = indexes.get(key);
+        if (Objects.isNull(index)) {
+            index = indexes.computeIfAbsent(key, this::load);
+            usedAt.put(key, uses.incrementAndGet());
+            evict();
+        } else {
+            usedAt.put(key, uses.incrementAndGet());
+        }
+        return index;
+    }
+
+    /**
+     * Drops the least recently searched indexes past the maximum.
+     */
+    private void evict() {
+        int excess = indexes.size() - maxIndexes;
+        if (excess > 0) {
+            usedAt.entrySet().stream().sorted(Map.Entry.comparingByValue()).limit(excess).map(Map.Entry::getKey)
+                    .toList().forEach(key -> {
+                        indexes.remove(key);
+                        usedAt.remove(key);
+                    });
+        }
+    }
+
+    /**
+     * Rebuilds a loaded index and swaps it in. Rebuilds run one at a time, so an
+     * index is never replaced by one read before it.
+     */
+    private synchronized void rebuild(Key key) {
+        if (!indexes.containsKey(key)) {
+            return;
+        }
+        try {
+            SearchIndex index = load(key);
+            indexes.replace(key, index);
+        } catch (DataAccessException e) {
+            log.warn("Search index of {} {} could not be rebuilt: {}", key.moduleType(), key.orgId(),
+                    e.getMessage());
+            indexes.remove(key);
+            usedAt.remove(key);
+        }
+    }
+
+    private SearchIndex load(Key key) {
+        return SearchIndex.build(key.moduleType(),
+                searchableContentService.findActive(key.moduleType(), key.orgId(), maxDocuments), maxTokens);
+    }
+
+    private static Key key(ModuleType moduleType, UUID orgId) {
+        return new Key(moduleType, ModuleType.NEWS.equals(moduleType) ? null : orgId);
+    }
+
+    private record Key(ModuleType moduleType, UUID orgId) {
+    }
+}
@@ -0,0 +1,179 @@
+package yoga.irai.server.app.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+
+/**
+ * Immutable radix trie of suggestions. A suggestion is reachable from the
+ * start of each of its first words, so {@code str} completes both
+ * {@code Stretch} and {@code Morning Stretch}. Chains of single-child nodes are
+ * merged into one edge, and every node keeps its best suggestions precomputed,
+ * so a completion walks the characters of the prefix and returns a ready
+ * list, whatever the number of suggestions below it.
+ */
+final class PrefixTrie {
+
+    private static final Comparator<Suggestion> MOST_POPULAR = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text);
+
+    private final Suggestion[] suggestions;
+    private final Node root;
+    private final int nodeCount;
+
+    /**
+     * A completion.
+     *
+     * @param text
+     *            the text shown to the user
+     * @param type
+     *            whether the text is a content name or a tag
+     * @param moduleType
+     *            the module of the named item, or of the tagged content
+     * @param id
+     *            the ID of the named item, null for tags
+     * @param popularity
+     *            the engagement count of the item, or the number of items
+     *            carrying the tag
+     */
+    record Suggestion(String text, AppUtils.SuggestionType type, ModuleType moduleType, UUID id,
+            long popularity) {
+    }
+
+    /**
+     * A node whose edge from its parent is the label.
+     *
+     * @param label
+     *            the characters of the edge
+     * @param firsts
+     *            the first character of the label of each child, sorted
+     * @param children
+     *            the children, in the order of their first character
+     * @param top
+     *            the positions of the best suggestions below the node, best
+     *            first
+     */
+    private record Node(String label, char[] firsts, Node[] children, int[] top) {
+    }
+
+    private record Key(String key, int suggestion) {
+    }
+
+    private PrefixTrie(Suggestion[] suggestions, Node root, int nodeCount) {
+        this.suggestions = suggestions;
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * Builds the trie of the given suggestions.
+     *
+     * @param suggestions
+     *            the suggestions
+     * @param maxWords
+     *            the number of leading words each suggestion is reachable from
+     * @param topK
+     *            the number of best suggestions kept per node
+     * @return the trie
+     */
+    static PrefixTrie build(List<Suggestion> suggestions, int maxWords, int topK) {
+        Suggestion[] all = suggestions.toArray(Suggestion[]::new);
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < all.length; i++) {
+            List<String> words = SearchIndex.tokenize(all[i].text());
+            for (int word = 0; word < Math.min(words.size(), maxWords); word++) {
+                keys.add(new Key(String.join(" ", words.subList(word, words.size())), i));
+            }
+        }
+        keys.sort(Comparator.comparing(Key::key).thenComparingInt(Key::suggestion));
+        int[] nodeCount = new int[1];
+        Node root = keys.isEmpty() ? null : build(all, keys, 0, keys.size(), 0, topK, nodeCount);
+        return new PrefixTrie(all, root, nodeCount[0]);
+    }
+
+    private static Node build(Suggestion[] all, List<Key> keys, int from, int to, int depth, int topK,
+            int[] nodeCount) {
+        nodeCount[0]++;
+        String first = keys.get(from).key();
+        String last = keys.get(to - 1).key();
+        int end = depth;
+        while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+            end++;
+        }
+        Set<Integer> candidates = new LinkedHashSet<>();
+        int next = from;
+        while (next < to && keys.get(next).key().length() == end) {
+            candidates.add(keys.get(next).suggestion());
+            next++;
+        }
+        List<Node> children = new ArrayList<>();
+        StringBuilder firsts = new StringBuilder();
+        while (next < to) {
+            char c = keys.get(next).key().charAt(end);
+            int childTo = next;
+            while (childTo < to && keys.get(childTo).key().charAt(end) == c) {
+                childTo++;
+            }
+            Node child = build(all, keys, next, childTo, end, topK, nodeCount);
+            Arrays.stream(child.top()).forEach(candidates::add);
+            children.add(child);
+            firsts.append(c);
+            next = childTo;
+        }
+        int[] top = candidates.stream().sorted(Comparator.comparing(i -> all[i], MOST_POPULAR)).limit(topK)
+                .mapToInt(Integer::intValue).toArray();
+        return new Node(first.substring(depth, end), firsts.toString().toCharArray(),
+                children.toArray(Node[]::new), top);
+    }
+
+    /**
+     * Returns the best suggestions starting with a prefix.
+     *
+     * @param prefix
+     *            the text typed so far
+     * @param limit
+     *            the maximum number of suggestions, at most the number kept per
+     *            node
+     * @return the suggestions, most popular first, none for a prefix without
+     *         letters or digits
+     */
+    List<Suggestion> complete(String prefix, int limit) {
+        String key = String.join(" ", SearchIndex.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int position = 0;
+        while (Objects.nonNull(node)) {
+            String label = node.label();
+            int length = Math.min(label.length(), key.length() - position);
+            if (!label.regionMatches(0, key, position, length)) {
+                return List.of();
+            }
+            position += length;
+            if (position == key.length()) {
+                return Arrays.stream(node.top()).limit(limit).mapToObj(i -> suggestions[i]).toList();
+            }
+            int child = Arrays.binarySearch(node.firsts(), key.charAt(position));
+            node = child < 0 ? null : node.children()[child];
+        }
+        return List.of();
+    }
+
+    int size() {
+        return suggestions.length;
+    }
+
+    int getNodeCount() {
+        return nodeCount;
+    }
+}
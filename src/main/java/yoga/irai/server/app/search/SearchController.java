@@ -0,0 +1,67 @@
+package yoga.irai.server.app.search;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.dto.AppResponseDto;
+import yoga.irai.server.app.dto.SuggestionDto;
+import yoga.irai.server.app.dto.TagCountDto;
+
+/**
+ * Controller for the search box of the portal.
+ */
+@Validated
+@RestController
+@AllArgsConstructor
+@RequestMapping("/search")
+@Tag(name = "Search", description = "APIs for searching content across modules")
+public class SearchController {
+
+    private final TagService tagService;
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Suggests content names and tags starting with the typed text.
+     *
+     * @param q
+     *            the text typed so far
+     * @param limit
+     *            the maximum number of suggestions
+     * @return ResponseEntity containing the suggestions, most popular first
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete", description = "Suggest content names and tags of the organization starting "
+            + "with the typed text, most popular first.")
+    public ResponseEntity<AppResponseDto<List<SuggestionDto>>> autocomplete(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<SuggestionDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(autocompleteService.complete(q, limit)).build());
+    }
+
+    /**
+     * Counts the tags of the content of a module of the organization.
+     *
+     * @param type
+     *            the module whose tags are counted
+     * @param tags
+     *            optional tags already selected; only the items carrying all
+     *            of them are counted
+     * @param limit
+     *            the maximum number of tags
+     * @return ResponseEntity containing the tags, most used first
+     */
+    @GetMapping("/tags")
+    @Operation(summary = "Tag facets", description = "Count the tags of the content of a module of the "
+            + "organization, most used first, optionally within the items carrying the selected tags.")
+    public ResponseEntity<AppResponseDto<List<TagCountDto>>> getTagCounts(@RequestParam AppUtils.ModuleType type,
+            @RequestParam(required = false) Set<String> tags, @RequestParam(defaultValue = "20") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<TagCountDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(tagService.getTagCounts(type, tags, limit)).build());
+    }
+}
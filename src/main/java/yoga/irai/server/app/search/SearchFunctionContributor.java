@@ -0,0 +1,41 @@
+package yoga.irai.server.app.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the PostgreSQL full-text search and JSON functions used by the
+ * keyword and tag searches of the repositories, so they can stay JPQL queries
+ * with pageable sorting:
+ * <ul>
+ * <li>{@code fts_match(vector, keyword)} is true when the search vector
+ * matches the keyword parsed with {@code websearch_to_tsquery}, which accepts
+ * quoted phrases, {@code or} and {@code -} exclusions and never fails on user
+ * input;</li>
+ * <li>{@code fts_rank(vector, keyword)} is the rank of that match, using the
+ * weights of the vector;</li>
+ * <li>{@code tags_contain(tagSet, tags)} is true when the JSON tag set contains
+ * every tag of the JSON array, a containment served by the GIN index of the
+ * tag set.</li>
+ * </ul>
+ * The {@code simple} configuration is used, without stemming or stop words,
+ * since the content mixes languages. Registered through
+ * {@code META-INF/services}.
+ */
+public class SearchFunctionContributor implements FunctionContributor {
+
+    private static final String QUERY = "websearch_to_tsquery('simple', ?2)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern("fts_match", "(?1 @@ " + QUERY + ")",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern("fts_rank", "ts_rank(?1, " + QUERY + ")",
+                basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+        functionContributions.getFunctionRegistry().registerPattern("tags_contain", "(?1 @> CAST(?2 AS JSONB))",
+                basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
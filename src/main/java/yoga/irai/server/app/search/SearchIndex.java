@@ -0,0 +1,249 @@
+package yoga.irai.server.app.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import yoga.irai.server.app.AppUtils.ModuleType;
+
+/**
+ * Immutable inverted index over the content of one module and organization.
+ * Terms are kept sorted so a prefix maps to a contiguous range of terms, and
+ * each term holds the documents it occurs in with its field-weighted frequency:
+ * a term in the name counts three times, in the tags twice and in the
+ * description once. Scoring is BM25 over those weighted frequencies, with the
+ * collection statistics summed over all the indexes a search spans.
+ */
+final class SearchIndex {
+
+    static final float NAME_WEIGHT = 3;
+    static final float TAGS_WEIGHT = 2;
+    static final float DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    private final ModuleType moduleType;
+    private final Document[] documents;
+    private final String[] terms;
+    private final int[][] postingDocuments;
+    private final float[][] postingFrequencies;
+    private final double totalLength;
+    private final long estimatedBytes;
+
+    /**
+     * An indexed item.
+     *
+     * @param id
+     *            the ID of the item
+     * @param name
+     *            the name of the item
+     * @param createdAt
+     *            the creation time of the item
+     * @param length
+     *            the weighted number of indexed terms of the item
+     */
+    record Document(UUID id, String name, LocalDateTime createdAt, float length) {
+    }
+
+    /**
+     * A term of an index.
+     *
+     * @param term
+     *            the indexed term
+     * @param position
+     *            the position of the term in the sorted terms
+     */
+    record Term(String term, int position) {
+    }
+
+    private SearchIndex(ModuleType moduleType, Document[] documents, String[] terms, int[][] postingDocuments,
+            float[][] postingFrequencies) {
+        this.moduleType = moduleType;
+        this.documents = documents;
+        this.terms = terms;
+        this.postingDocuments = postingDocuments;
+        this.postingFrequencies = postingFrequencies;
+        this.totalLength = Arrays.stream(documents).mapToDouble(Document::length).sum();
+        this.estimatedBytes = estimateBytes();
+    }
+
+    /**
+     * Builds the index of a module from its rows.
+     *
+     * @param moduleType
+     *            the module of the rows
+     * @param rows
+     *            the rows to index
+     * @param maxTokens
+     *            the maximum number of tokens indexed per field, bounding the
+     *            size of the index for long descriptions
+     * @return the index
+     */
+    static SearchIndex build(ModuleType moduleType, List<SearchableContent> rows, int maxTokens) {
+        Document[] documents = new Document[rows.size()];
+        Map<String, Map<Integer, Float>> frequencies = new TreeMap<>();
+        for (int doc = 0; doc < rows.size(); doc++) {
+            SearchableContent row = rows.get(doc);
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, row.getName(), NAME_WEIGHT, maxTokens);
+            addField(weights, row.getTags(), TAGS_WEIGHT, maxTokens);
+            addField(weights, row.getDescription(), DESCRIPTION_WEIGHT, maxTokens);
+            float length = 0;
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                frequencies.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(doc, entry.getValue());
+                length += entry.getValue();
+            }
+            documents[doc] = new Document(row.getId(), row.getName(), row.getCreatedAt(), length);
+        }
+        String[] terms = new String[frequencies.size()];
+        int[][] postingDocuments = new int[terms.length][];
+        float[][] postingFrequencies = new float[terms.length][];
+        int index = 0;
+        for (Map.Entry<String, Map<Integer, Float>> entry : frequencies.entrySet()) {
+            terms[index] = entry.getKey();
+            int[] docs = entry.getValue().keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            float[] freqs = new float[docs.length];
+            for (int i = 0; i < docs.length; i++) {
+                freqs[i] = entry.getValue().get(docs[i]);
+            }
+            postingDocuments[index] = docs;
+            postingFrequencies[index] = freqs;
+            index++;
+        }
+        return new SearchIndex(moduleType, documents, terms, postingDocuments, postingFrequencies);
+    }
+
+    /**
+     * Splits a text into lower case terms of letters, marks and digits. Marks
+     * are kept since they carry the vowels of Indic scripts.
+     *
+     * @param text
+     *            the text, may be null
+     * @return the terms, in order
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (Objects.isNull(text)) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight, int maxTokens) {
+        tokenize(text).stream().limit(maxTokens).forEach(token -> weights.merge(token, weight, Float::sum));
+    }
+
+    /**
+     * Returns the terms starting with a prefix, the prefix itself first when it
+     * is a term.
+     *
+     * @param prefix
+     *            the lower case prefix
+     * @param maxTerms
+     *            the maximum number of terms returned
+     * @return the matching terms with their position
+     */
+    List<Term> expand(String prefix, int maxTerms) {
+        List<Term> matches = new ArrayList<>();
+        int position = Arrays.binarySearch(terms, prefix);
+        int from = position >= 0 ? position : -position - 1;
+        for (int i = from; i < terms.length && matches.size() < maxTerms && terms[i].startsWith(prefix); i++) {
+            matches.add(new Term(terms[i], i));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of documents a term occurs in.
+     *
+     * @param term
+     *            the term, as returned by {@link #expand}
+     * @return the document frequency
+     */
+    int documentFrequency(Term term) {
+        return postingDocuments[term.position()].length;
+    }
+
+    /**
+     * Raises the score of each document holding a term to the BM25 score of the
+     * term, so a query term expanding to several terms counts its best match.
+     *
+     * @param term
+     *            the term, as returned by {@link #expand}
+     * @param idf
+     *            the inverse document frequency of the term
+     * @param boost
+     *            the factor applied to the score, lower for prefix matches
+     * @param k1
+     *            the BM25 term frequency saturation
+     * @param b
+     *            the BM25 length normalization
+     * @param averageLength
+     *            the average document length of the collection
+     * @param best
+     *            the best score per document so far, updated in place
+     */
+    void score(Term term, double idf, double boost, double k1, double b, double averageLength,
+            float[] best) {
+        int[] docs = postingDocuments[term.position()];
+        float[] freqs = postingFrequencies[term.position()];
+        for (int i = 0; i < docs.length; i++) {
+            double norm = k1 * (1 - b + b * documents[docs[i]].length() / averageLength);
+            float score = (float) (boost * idf * freqs[i] * (k1 + 1) / (freqs[i] + norm));
+            if (score > best[docs[i]]) {
+                best[docs[i]] = score;
+            }
+        }
+    }
+
+    ModuleType getModuleType() {
+        return moduleType;
+    }
+
+    int size() {
+        return documents.length;
+    }
+
+    Document getDocument(int doc) {
+        return documents[doc];
+    }
+
+    double getTotalLength() {
+        return totalLength;
+    }
+
+    long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Estimates the heap used by the index from the sizes of its strings and
+     * arrays, assuming compressed object pointers.
+     */
+    private long estimateBytes() {
+        long bytes = 16L + 16L * 3 + 4L * (documents.length + terms.length * 3L);
+        for (Document document : documents) {
+            bytes += 48 + 40 + stringBytes(document.name()) + 24;
+        }
+        for (int i = 0; i < terms.length; i++) {
+            bytes += stringBytes(terms[i]) + 2 * 16 + 8L * postingDocuments[i].length;
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return Objects.isNull(value) ? 0 : 40 + 2L * value.length();
+    }
+}
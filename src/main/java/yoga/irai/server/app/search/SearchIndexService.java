@@ -0,0 +1,108 @@
+package yoga.irai.server.app.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.scheduler.SchedulerLockService;
+
+/**
+ * Creates the search indexes the schema update cannot express: a GIN index on
+ * the generated search vector of each searchable table, a trigram GIN index on
+ * its name column for partial matches, and a GIN index on the generated tag
+ * set of the tagged tables for tag filters. The statements are idempotent
+ * and run once at startup on the node holding the search index lock. Indexes
+ * are built concurrently, outside any transaction, so writes to the tables go
+ * on while they are built; an index left invalid by an interrupted build is
+ * dropped and built again. A statement that fails, for example when the
+ * {@code pg_trgm} extension may not be created, is logged and skipped;
+ * searches still work, only slower.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private static final String LOCK_NAME = "search-index";
+
+    private static final String INVALID_INDEXES = "SELECT c.relname FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid WHERE NOT i.indisvalid AND c.relname LIKE 'idx\\_%'";
+
+    /**
+     * Searchable tables with their name column.
+     */
+    private static final List<SearchTable> TABLES = List.of(new SearchTable("practice", "practice_name", true),
+            new SearchTable("program", "program_name", true), new SearchTable("poem", "poem_name", true),
+            new SearchTable("shorts", "shorts_name", true), new SearchTable("news", "news_name", true),
+            new SearchTable("events", "event_name", false));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLockService schedulerLockService;
+
+    /**
+     * A searchable table.
+     *
+     * @param table
+     *            the table name
+     * @param nameColumn
+     *            the column matched partially through its trigram index
+     * @param tagged
+     *            whether the table has a tag set
+     */
+    record SearchTable(String table, String nameColumn, boolean tagged) {
+    }
+
+    /**
+     * Returns the statements creating the search indexes, in order.
+     *
+     * @return the DDL statements
+     */
+    static List<String> getStatements() {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        TABLES.forEach(table -> {
+            statements.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_" + table.table() + "_search_vector ON "
+                    + table.table() + " USING GIN (search_vector)");
+            statements.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_" + table.table() + "_name_trgm ON "
+                    + table.table() + " USING GIN (" + table.nameColumn() + " gin_trgm_ops)");
+            if (table.tagged()) {
+                statements.add("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_" + table.table() + "_tag_set ON "
+                        + table.table() + " USING GIN (tag_set jsonb_path_ops)");
+            }
+        });
+        return statements;
+    }
+
+    /**
+     * Creates the missing search indexes once the schema is up to date, after
+     * dropping the search indexes left invalid by an interrupted build.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        schedulerLockService.runAsLeader(LOCK_NAME, Duration.ofMinutes(30), () -> {
+            List<String> indexNames = getStatements().stream().filter(sql -> sql.startsWith("CREATE INDEX"))
+                    .map(sql -> sql.split(" ")[6]).toList();
+            try {
+                jdbcTemplate.queryForList(INVALID_INDEXES, String.class).stream().filter(indexNames::contains)
+                        .forEach(index -> execute("DROP INDEX CONCURRENTLY IF EXISTS " + index));
+            } catch (DataAccessException e) {
+                log.warn("Invalid search indexes could not be listed: {}", e.getMessage());
+            }
+            getStatements().forEach(this::execute);
+        });
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Search index statement failed: {}: {}", sql, e.getMessage());
+        }
+    }
+}
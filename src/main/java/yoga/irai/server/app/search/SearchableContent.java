@@ -0,0 +1,24 @@
+package yoga.irai.server.app.search;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ID, searchable text, creation time and popularity of a content row, the
+ * only columns the in-memory search structures are built from. Popularity is
+ * the engagement count the module keeps: views, or ratings for practices.
+ */
+public interface SearchableContent {
+
+    UUID getId();
+
+    String getName();
+
+    String getTags();
+
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    Long getPopularity();
+}
@@ -0,0 +1,56 @@
+package yoga.irai.server.app.search;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.event.EventRepository;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+/**
+ * Reads the active content the in-memory search structures are built from,
+ * with one query per module and organization.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchableContentService {
+
+    private final PoemRepository poemRepository;
+    private final NewsRepository newsRepository;
+    private final EventRepository eventRepository;
+    private final ShortsRepository shortsRepository;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+
+    /**
+     * Returns the newest active rows of a module and organization.
+     *
+     * @param moduleType
+     *            one of the searchable modules
+     * @param orgId
+     *            the organization ID, ignored for news
+     * @param limit
+     *            the maximum number of rows
+     * @return the rows, newest first
+     */
+    public List<SearchableContent> findActive(ModuleType moduleType, UUID orgId, int limit) {
+        Pageable newest = PageRequest.of(0, limit);
+        return switch (moduleType) {
+            case PRACTICE -> practiceRepository.findSearchable(orgId, AppUtils.PracticeStatus.ACTIVE, newest);
+            case PROGRAM -> programRepository.findSearchable(orgId, AppUtils.ProgramStatus.ACTIVE, newest);
+            case POEM -> poemRepository.findSearchable(orgId, AppUtils.PoemStatus.ACTIVE, newest);
+            case SHORTS -> shortsRepository.findSearchable(orgId, AppUtils.ShortsStatus.ACTIVE, newest);
+            case EVENT -> eventRepository.findSearchable(orgId, AppUtils.EventStatus.ACTIVE, newest);
+            case NEWS -> newsRepository.findSearchable(AppUtils.NewsStatus.ACTIVE, newest);
+            default -> throw new IllegalArgumentException("Module is not searchable: " + moduleType);
+        };
+    }
+}
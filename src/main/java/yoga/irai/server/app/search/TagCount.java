@@ -0,0 +1,11 @@
+package yoga.irai.server.app.search;
+
+/**
+ * Projection of a tag with the number of rows carrying it.
+ */
+public interface TagCount {
+
+    String getTag();
+
+    Long getCount();
+}
@@ -0,0 +1,138 @@
+package yoga.irai.server.app.search;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.dto.TagCountDto;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+/**
+ * Derives tag facets and tag vocabularies from the GIN-indexed tag sets of the
+ * content, with one grouped query per module, instead of a vocabulary rewritten
+ * in the settings on every save.
+ */
+@Service
+@RequiredArgsConstructor
+public class TagService {
+
+    /**
+     * Tagged modules, with the setting holding the seeded tag vocabulary of each.
+     */
+    public static final Map<ModuleType, AppUtils.SettingName> TAG_SETTINGS = new EnumMap<>(Map.of(
+            ModuleType.PRACTICE, AppUtils.SettingName.PRACTICE_TAGS,
+            ModuleType.PROGRAM, AppUtils.SettingName.PROGRAM_TAGS,
+            ModuleType.POEM, AppUtils.SettingName.POEM_TAGS,
+            ModuleType.SHORTS, AppUtils.SettingName.SHORTS_TAGS,
+            ModuleType.NEWS, AppUtils.SettingName.NEWS_TAGS));
+
+    private final AppProperties appProperties;
+    private final OrganizationService organizationService;
+    private final PoemRepository poemRepository;
+    private final NewsRepository newsRepository;
+    private final ShortsRepository shortsRepository;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+
+    /**
+     * Maximum number of facets returned per request.
+     */
+    @Value("${app.tags.max-facets:50}")
+    private int maxFacets;
+
+    /**
+     * Maximum number of tags read from the content for a vocabulary.
+     */
+    @Value("${app.tags.max-vocabulary:1000}")
+    private int maxVocabulary;
+
+    /**
+     * Counts the tags of the content of a module visible to the current user:
+     * the active content of the own and default organizations for mobile users,
+     * all the content of the own organization for portal users and of the
+     * default organization for administrators.
+     *
+     * @param moduleType
+     *            a tagged module
+     * @param tags
+     *            optional tags every counted item must carry, to drill down
+     * @param limit
+     *            the maximum number of tags, capped by the configured maximum
+     * @return the tags with the number of items carrying them, most used first
+     * @throws AppException
+     *             if the module has no tags
+     */
+    public List<TagCountDto> getTagCounts(ModuleType moduleType, Set<String> tags, int limit) {
+        return countVisibleTags(moduleType, tags, Math.clamp(limit, 1, maxFacets));
+    }
+
+    /**
+     * Returns the tag vocabulary behind a tag setting: the tags seeded in the
+     * setting and the tags of the content visible to the current user, as
+     * counted by {@link #getTagCounts}.
+     *
+     * @param settingName
+     *            one of the tag settings of {@link #TAG_SETTINGS}
+     * @param seeded
+     *            the tags stored in the setting
+     * @return the tags, sorted
+     * @throws AppException
+     *             if the setting is not a tag setting
+     */
+    public Set<String> getVocabulary(AppUtils.SettingName settingName, List<Object> seeded) {
+        ModuleType moduleType = TAG_SETTINGS.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(settingName)).map(Map.Entry::getKey).findFirst()
+                .orElseThrow(() -> AppUtils.Messages.UNTAGGED_MODULE.getException(settingName));
+        Set<String> vocabulary = new TreeSet<>();
+        if (Objects.nonNull(seeded)) {
+            seeded.stream().filter(Objects::nonNull).map(String::valueOf).forEach(vocabulary::add);
+        }
+        countVisibleTags(moduleType, null, maxVocabulary).forEach(tagCount -> vocabulary.add(tagCount.getTag()));
+        return vocabulary;
+    }
+
+    private List<TagCountDto> countVisibleTags(ModuleType moduleType, Set<String> tags, int limit) {
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> countTags(moduleType, organizationService.getOrgIdsForMobile(), true, tags, limit);
+            case PORTAL_USER -> countTags(moduleType, Set.of(AppUtils.getPrincipalOrgId()), false, tags, limit);
+            case KEYCLOAK_USER -> countTags(moduleType,
+                    Set.of(UUID.fromString(appProperties.getDefaultOrganizationId())), false, tags, limit);
+        };
+    }
+
+    private List<TagCountDto> countTags(ModuleType moduleType, Set<UUID> orgIds, boolean active, Set<String> tags,
+            int limit) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        List<TagCount> tagCounts = switch (moduleType) {
+            case PRACTICE -> practiceRepository.countTags(orgIds,
+                    active ? AppUtils.PracticeStatus.ACTIVE.name() : null, tagFilter, limit);
+            case PROGRAM -> programRepository.countTags(orgIds, active ? AppUtils.ProgramStatus.ACTIVE.name() : null,
+                    tagFilter, limit);
+            case POEM -> poemRepository.countTags(orgIds, active ? AppUtils.PoemStatus.ACTIVE.name() : null,
+                    tagFilter, limit);
+            case SHORTS -> shortsRepository.countTags(orgIds, active ? AppUtils.ShortsStatus.ACTIVE.name() : null,
+                    tagFilter, limit);
+            case NEWS -> newsRepository.countTags(active ? AppUtils.NewsStatus.ACTIVE.name() : null, tagFilter,
+                    limit);
+            default -> throw AppUtils.Messages.UNTAGGED_MODULE.getException(moduleType);
+        };
+        return tagCounts.stream()
+                .map(tagCount -> TagCountDto.builder().tag(tagCount.getTag()).count(tagCount.getCount()).build())
+                .toList();
+    }
+}
@@ -0,0 +1,47 @@
+package yoga.irai.server.app.sync;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Record of a deleted content row. Deleted rows leave nothing behind to carry
+ * an updated time, so mobile clients learn about deletes from this log during
+ * delta sync. Tombstones are purged once older than the sync retention.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tombstone", indexes = {
+        @Index(name = "idx_tombstone_deleted_at_id", columnList = "deleted_at, tombstone_id")})
+public class TombstoneEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2315470921846655033L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id", nullable = false)
+    private UUID tombstoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private AppUtils.SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "org_id")
+    private UUID orgId;
+
+    @Column(name = "deleted_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,58 @@
+package yoga.irai.server.app.sync;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<TombstoneEntity, UUID> {
+
+    /**
+     * Finds the tombstones recorded within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client; tombstones of global
+     *            content are always returned
+     * @param since
+     *            the exclusive lower bound of the window
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the deletion time of the last tombstone already returned, or
+     *            null for the first chunk
+     * @param afterId
+     *            the ID of the last tombstone already returned
+     * @param pageable
+     *            the chunk size and a sort on deletion time and ID
+     * @return the next chunk of tombstones
+     */
+    @Query("SELECT t FROM TombstoneEntity t WHERE (t.orgId IS NULL OR t.orgId IN :orgIds) AND "
+            + "t.deletedAt > :since AND t.deletedAt <= :upTo AND (:afterAt IS NULL OR t.deletedAt > :afterAt OR "
+            + "(t.deletedAt = :afterAt AND t.tombstoneId > :afterId))")
+    List<TombstoneEntity> findChanged(Set<UUID> orgIds, LocalDateTime since, LocalDateTime upTo,
+            LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Deletes up to {@code batchSize} tombstones recorded before the cutoff.
+     *
+     * @param cutoff
+     *            tombstones recorded before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM tombstone WHERE tombstone_id IN (SELECT tombstone_id FROM tombstone "
+            + "WHERE deleted_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
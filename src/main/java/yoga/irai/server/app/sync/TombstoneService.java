@@ -0,0 +1,53 @@
+package yoga.irai.server.app.sync;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Records deletes of content rows so that they can be replayed to mobile
+ * clients during delta sync.
+ */
+@Service
+@RequiredArgsConstructor
+public class TombstoneService {
+
+    private final TombstoneRepository tombstoneRepository;
+
+    /**
+     * Records the delete of a single content row.
+     *
+     * @param entityType
+     *            the type of the deleted row
+     * @param entityId
+     *            the ID of the deleted row
+     * @param orgId
+     *            the organization of the row, or null for global content
+     */
+    public void record(AppUtils.SyncEntityType entityType, UUID entityId, UUID orgId) {
+        tombstoneRepository.save(TombstoneEntity.builder().entityType(entityType).entityId(entityId).orgId(orgId)
+                .deletedAt(LocalDateTime.now()).build());
+    }
+
+    /**
+     * Records the delete of several content rows of the same type.
+     *
+     * @param entityType
+     *            the type of the deleted rows
+     * @param entityIds
+     *            the IDs of the deleted rows
+     * @param orgId
+     *            the organization of the rows, or null for global content
+     */
+    public void recordAll(AppUtils.SyncEntityType entityType, Collection<UUID> entityIds, UUID orgId) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime deletedAt = LocalDateTime.now();
+        tombstoneRepository.saveAll(entityIds.stream().map(entityId -> TombstoneEntity.builder()
+                .entityType(entityType).entityId(entityId).orgId(orgId).deletedAt(deletedAt).build()).toList());
+    }
+}
@@ -0,0 +1,200 @@
+package yoga.irai.server.app.trending;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils.ModuleType;
+
+/**
+ * Keeps an exponentially decayed engagement score per content item, stored in
+ * the indexed {@code trending_score} column so feeds can sort on it.
+ * <p>
+ * Scores use forward decay: an event of weight {@code w} at time {@code t}
+ * adds {@code w * e^(λt)}, with {@code t} measured from a fixed epoch and
+ * {@code λ = ln 2 / half-life}. Dividing every score by the same
+ * {@code e^(λ now)} gives the usual decayed score, so the stored values rank
+ * items correctly at any time without ever being rewritten to decay. The
+ * column holds the natural logarithm of the sum, which keeps it finite, and
+ * sums are added with log-sum-exp.
+ * <p>
+ * Events only add to an in-memory score per item; the pending scores are added
+ * to the column every few seconds with one batched relative update per module,
+ * so nodes never overwrite each other and requests never aggregate events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    /**
+     * Largest difference of two logarithms added in SQL, past which the smaller
+     * one no longer changes the sum and {@code EXP} would underflow.
+     */
+    private static final int MAX_LOG_GAP = 700;
+
+    private static final Map<ModuleType, String> UPDATES = new EnumMap<>(Map.of(
+            ModuleType.SHORTS, update("shorts", "shorts_id"),
+            ModuleType.NEWS, update("news", "news_id"),
+            ModuleType.POEM, update("poem", "poem_id"),
+            ModuleType.PRACTICE, update("practice", "practice_id")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Double> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.trending.half-life-hours:48}")
+    private double halfLifeHours;
+
+    /**
+     * Kinds of engagement and their weight in the score.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Signal {
+        VIEW(1),
+        LIKE(3),
+        RATING(4),
+        COMPLETION(5);
+
+        private final double weight;
+    }
+
+    /**
+     * Registers a gauge reporting the number of items with a pending score.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("trending.pending.items", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Records an engagement with an item.
+     *
+     * @param moduleType
+     *            the module of the item, one of shorts, news, poem and practice
+     * @param id
+     *            the ID of the item
+     * @param signal
+     *            the kind of engagement
+     */
+    public void record(ModuleType moduleType, UUID id, Signal signal) {
+        record(moduleType, id, signal, 1);
+    }
+
+    /**
+     * Records an engagement with an item, scaling the weight of its kind.
+     *
+     * @param moduleType
+     *            the module of the item, one of shorts, news, poem and practice
+     * @param id
+     *            the ID of the item
+     * @param signal
+     *            the kind of engagement
+     * @param scale
+     *            the factor applied to the weight, such as a rating out of its
+     *            maximum; ignored unless positive
+     */
+    public void record(ModuleType moduleType, UUID id, Signal signal, double scale) {
+        if (!UPDATES.containsKey(moduleType)) {
+            throw new IllegalArgumentException("Module has no trending score: " + moduleType);
+        }
+        if (scale <= 0) {
+            return;
+        }
+        pending.merge(new Key(moduleType, id), logScore(signal.getWeight() * scale, Instant.now()),
+                TrendingService::logSumExp);
+    }
+
+    /**
+     * Adds the pending scores to the database. Scores that could not be written
+     * are put back for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.flush-delay-ms:30000}")
+    public synchronized void flush() {
+        Map<ModuleType, List<Object[]>> batches = new EnumMap<>(ModuleType.class);
+        pending.keySet().forEach(key -> {
+            Double score = pending.remove(key);
+            if (Objects.nonNull(score)) {
+                batches.computeIfAbsent(key.moduleType(), moduleType -> new ArrayList<>())
+                        .add(new Object[]{score, score, key.id()});
+            }
+        });
+        batches.forEach(this::write);
+    }
+
+    /**
+     * Flushes the pending scores before the application stops.
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    /**
+     * Returns the logarithm of the forward-decayed score of an event.
+     *
+     * @param weight
+     *            the weight of the event
+     * @param at
+     *            the time of the event
+     * @return {@code ln(weight) + λt}
+     */
+    double logScore(double weight, Instant at) {
+        double hours = Duration.between(EPOCH, at).toMillis() / 3_600_000.0;
+        return Math.log(weight) + Math.log(2) / halfLifeHours * hours;
+    }
+
+    /**
+     * Returns the pending score of an item, as a logarithm, or null if none.
+     */
+    Double getPending(ModuleType moduleType, UUID id) {
+        return pending.get(new Key(moduleType, id));
+    }
+
+    /**
+     * Returns {@code ln(e^a + e^b)} without overflowing.
+     */
+    static double logSumExp(double a, double b) {
+        return Math.max(a, b) + Math.log1p(Math.exp(-Math.abs(a - b)));
+    }
+
+    private void write(ModuleType moduleType, List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATES.get(moduleType), batch);
+            meterRegistry.counter("trending.flushed", "module", moduleType.name()).increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Trending scores of {} {} items could not be flushed: {}", batch.size(), moduleType,
+                    e.getMessage());
+            batch.forEach(row -> pending.merge(new Key(moduleType, (UUID) row[2]), (Double) row[0],
+                    TrendingService::logSumExp));
+        }
+    }
+
+    private static String update(String table, String idColumn) {
+        return "UPDATE " + table + " SET trending_score = GREATEST(trending_score, ?) + LN(1 + EXP(-LEAST("
+                + "ABS(trending_score - ?), " + MAX_LOG_GAP + "))) WHERE " + idColumn + " = ?";
+    }
+
+    private record Key(ModuleType moduleType, UUID id) {
+    }
+}
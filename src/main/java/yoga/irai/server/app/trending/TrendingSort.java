@@ -0,0 +1,41 @@
+package yoga.irai.server.app.trending;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Builds the sort of the content listings. Many items share a trending score,
+ * in particular the {@code 0} of items never engaged with, so a sort on the
+ * score alone leaves their order to the database and pages can repeat or skip
+ * items. A trending sort is therefore completed with the creation time and
+ * the id, which makes the order total.
+ */
+public final class TrendingSort {
+
+    /**
+     * Sort property of the trending score.
+     */
+    public static final String TRENDING = "trending";
+
+    private static final String CREATED_AT = "createdAt";
+
+    private TrendingSort() {
+    }
+
+    /**
+     * Returns the sort of a listing.
+     *
+     * @param direction
+     *            the sort direction
+     * @param sortBy
+     *            the property to sort by
+     * @param idProperty
+     *            the id property of the listed entity, used as the last
+     *            tiebreak of a trending sort
+     * @return the sort on {@code sortBy}, followed by the creation time and the
+     *         id when sorting by trending score
+     */
+    public static Sort of(Sort.Direction direction, String sortBy, String idProperty) {
+        Sort sort = Sort.by(direction, sortBy);
+        return TRENDING.equals(sortBy) ? sort.and(Sort.by(direction, CREATED_AT, idProperty)) : sort;
+    }
+}
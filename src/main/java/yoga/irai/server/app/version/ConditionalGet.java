@@ -0,0 +1,39 @@
+package yoga.irai.server.app.version;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Marks a GET endpoint whose response only depends on the request, the
+ * versions of the given content modules and the progress of the user. Such
+ * endpoints get a strong ETag, and a matching {@code If-None-Match} is answered
+ * with 304 before the handler runs.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * Content modules the response is built from.
+     */
+    AppUtils.ModuleType[] modules() default {};
+
+    /**
+     * Modules whose per-user progress is part of the response.
+     */
+    AppUtils.ModuleType[] userProgress() default {};
+
+    /**
+     * Whether the response is built from the settings.
+     */
+    boolean settings() default false;
+
+    /**
+     * Whether the response contains signed storage URLs, which expire even if
+     * the content does not change.
+     */
+    boolean signedUrls() default true;
+}
@@ -0,0 +1,195 @@
+package yoga.irai.server.app.version;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.trending.TrendingSort;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.user.ProgramUserRepository;
+import yoga.irai.server.setting.SettingRepository;
+import yoga.irai.server.shorts.user.ShortsUserRepository;
+
+/**
+ * Answers conditional GETs of endpoints marked with {@link ConditionalGet}. The
+ * ETag is a digest of the request, the content versions of the visible
+ * organizations, the progress of the user and, for responses with signed URLs,
+ * a time window shorter than the URL signatures. A request whose
+ * {@code If-None-Match} matches gets a 304 before the handler loads, maps or
+ * signs anything.
+ * <p>
+ * Requests sorted by trending score are left out: the scores move with views
+ * and likes, which change none of the above. They are cached by the client
+ * for one trending flush period instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String SORT_PARAMETER = "sortBy";
+
+    private final MeterRegistry meterRegistry;
+    private final SettingRepository settingRepository;
+    private final OrganizationService organizationService;
+    private final ShortsUserRepository shortsUserRepository;
+    private final ContentVersionService contentVersionService;
+    private final ProgramUserRepository programUserRepository;
+    private final PracticeUserRepository practiceUserRepository;
+
+    @Value("${digitalocean.spaces.signature.duration.minutes}")
+    private long signatureDurationMinutes;
+
+    @Value("${app.trending.flush-delay-ms:30000}")
+    private long trendingFlushDelayMs;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        if (Objects.isNull(conditionalGet)) {
+            return true;
+        }
+        if (TrendingSort.TRENDING.equalsIgnoreCase(request.getParameter(SORT_PARAMETER))) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(Duration.ofMillis(trendingFlushDelayMs)).cachePrivate().getHeaderValue());
+            return true;
+        }
+        String eTag = getETag(conditionalGet, request);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        boolean notModified = matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag);
+        meterRegistry.counter("http.conditional.requests", "endpoint",
+                Objects.toString(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                        request.getRequestURI()),
+                "result", notModified ? "hit" : "miss").increment();
+        if (notModified) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the strong ETag of a request.
+     *
+     * @param conditionalGet
+     *            what the response of the endpoint is built from
+     * @param request
+     *            the request
+     * @return the quoted ETag
+     */
+    String getETag(ConditionalGet conditionalGet, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?')
+                .append(Objects.toString(request.getQueryString(), StringUtils.EMPTY));
+        if (conditionalGet.modules().length > 0) {
+            Set<UUID> orgIds = new TreeSet<>(organizationService.getOrgIdsForMobile());
+            key.append('|').append(orgIds);
+            for (AppUtils.ModuleType moduleType : conditionalGet.modules()) {
+                key.append('|').append(moduleType).append(':').append(getModuleVersion(moduleType, orgIds));
+            }
+        }
+        if (conditionalGet.userProgress().length > 0) {
+            UUID userId = AppUtils.getPrincipalUserId();
+            key.append('|').append(userId);
+            for (AppUtils.ModuleType moduleType : conditionalGet.userProgress()) {
+                key.append('|').append(moduleType).append(':')
+                        .append(describe(getProgressMarker(moduleType, userId)));
+            }
+        }
+        if (conditionalGet.settings()) {
+            key.append("|settings:").append(describe(settingRepository.getVersionMarker()));
+        }
+        if (conditionalGet.signedUrls()) {
+            long window = Math.max(Duration.ofMinutes(signatureDurationMinutes).toMillis() / 2, 1);
+            key.append("|urls:").append(System.currentTimeMillis() / window);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Returns the version of a module as seen by the client. Events and news are
+     * shown across organizations, so they use the version of the whole module.
+     *
+     * @param moduleType
+     *            the module type
+     * @param orgIds
+     *            the organizations visible to the client, sorted
+     * @return the version
+     */
+    private String getModuleVersion(AppUtils.ModuleType moduleType, Set<UUID> orgIds) {
+        if (AppUtils.ModuleType.EVENT.equals(moduleType) || AppUtils.ModuleType.NEWS.equals(moduleType)) {
+            return String.valueOf(contentVersionService.getVersion(moduleType));
+        }
+        return orgIds.stream().map(orgId -> String.valueOf(contentVersionService.getVersion(moduleType, orgId)))
+                .toList().toString();
+    }
+
+    /**
+     * Returns the version marker of the progress of a user in a module.
+     *
+     * @param moduleType
+     *            the module type
+     * @param userId
+     *            the ID of the user
+     * @return the version marker, or null if the module has no progress
+     */
+    private VersionMarker getProgressMarker(AppUtils.ModuleType moduleType, UUID userId) {
+        return switch (moduleType) {
+            case PRACTICE -> practiceUserRepository.getVersionMarker(userId);
+            case PROGRAM -> programUserRepository.getVersionMarker(userId);
+            case SHORTS -> shortsUserRepository.getVersionMarker(userId);
+            default -> null;
+        };
+    }
+
+    private static String describe(VersionMarker versionMarker) {
+        return Objects.isNull(versionMarker)
+                ? StringUtils.EMPTY
+                : versionMarker.getRowCount() + "@" + versionMarker.getLastUpdatedAt();
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header against an ETag, using the weak
+     * comparison that the header calls for.
+     *
+     * @param ifNoneMatch
+     *            the header value, may be null
+     * @param eTag
+     *            the current ETag
+     * @return true if the client already has the current representation
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = StringUtils.removeStart(candidate.trim(), WEAK_PREFIX);
+            if (WILDCARD.equals(value) || eTag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package yoga.irai.server.app.version;
+
+import java.util.UUID;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Published when content of a module changes, either on this node or, as
+ * detected by {@link ContentVersionService#refresh()}, on another node.
+ *
+ * @param moduleType
+ *            the module whose content changed
+ * @param orgId
+ *            the organization of the content, or null for global modules
+ */
+public record ContentChangedEvent(AppUtils.ModuleType moduleType, UUID orgId) {
+}
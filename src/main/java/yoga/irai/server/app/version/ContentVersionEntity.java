@@ -0,0 +1,45 @@
+package yoga.irai.server.app.version;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Version counter of a content module within an organization. The counter is
+ * bumped whenever content of the module is added, updated, deleted or changes
+ * status, so that every node can tell when its cached views are stale.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "content_version")
+public class ContentVersionEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4581093622709155230L;
+
+    @Id
+    @Column(name = "version_key", length = 100, nullable = false)
+    private String versionKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "module_type", nullable = false)
+    private AppUtils.ModuleType moduleType;
+
+    @Column(name = "org_id")
+    private UUID orgId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private ZonedDateTime updatedAt;
+}
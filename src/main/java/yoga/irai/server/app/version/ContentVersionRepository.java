@@ -0,0 +1,32 @@
+package yoga.irai.server.app.version;
+
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ContentVersionRepository extends JpaRepository<ContentVersionEntity, String> {
+
+    /**
+     * Increments the version of the given key, creating it at version 1. The
+     * increment joins the transaction of the caller and is undone with it.
+     *
+     * @param versionKey
+     *            the key of the module and organization
+     * @param moduleType
+     *            the module type name
+     * @param orgId
+     *            the organization ID, or null for global modules
+     * @return the new version
+     */
+    @Transactional
+    @Query(value = "INSERT INTO content_version (version_key, module_type, org_id, version, updated_at) "
+            + "VALUES (:versionKey, :moduleType, :orgId, 1, now()) ON CONFLICT (version_key) DO UPDATE "
+            + "SET version = content_version.version + 1, updated_at = now() "
+            + "RETURNING version", nativeQuery = true)
+    long increment(@Param("versionKey") String versionKey, @Param("moduleType") String moduleType,
+            @Param("orgId") UUID orgId);
+}
@@ -0,0 +1,117 @@
+package yoga.irai.server.app.version;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Keeps the version counters of content modules per organization. Changes made
+ * on this node are applied and published as {@link ContentChangedEvent}s once
+ * their transaction commits; changes made on other nodes are picked up by
+ * polling the {@code content_version} table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentVersionService {
+
+    private static final String GLOBAL = "*";
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ContentVersionRepository contentVersionRepository;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Records a change of content in the given module and organization. The
+     * counter of this node takes the version written by the change and the
+     * event is published after the surrounding transaction commits, so a rolled
+     * back change leaves both untouched.
+     *
+     * @param moduleType
+     *            the module whose content changed
+     * @param orgId
+     *            the organization of the content, or null for global modules
+     */
+    public void bump(AppUtils.ModuleType moduleType, UUID orgId) {
+        String versionKey = versionKey(moduleType, orgId);
+        long version = contentVersionRepository.increment(versionKey, moduleType.name(), orgId);
+        Runnable apply = () -> {
+            versions.merge(versionKey, version, Math::max);
+            applicationEventPublisher.publishEvent(new ContentChangedEvent(moduleType, orgId));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Returns the last known version of the given module and organization.
+     *
+     * @param moduleType
+     *            the module type
+     * @param orgId
+     *            the organization ID, or null for global modules
+     * @return the version, or 0 if the content never changed
+     */
+    public long getVersion(AppUtils.ModuleType moduleType, UUID orgId) {
+        return versions.getOrDefault(versionKey(moduleType, orgId), 0L);
+    }
+
+    /**
+     * Returns a version of the given module across all organizations. The sum of
+     * the counters moves whenever any of them moves.
+     *
+     * @param moduleType
+     *            the module type
+     * @return the version, or 0 if the content never changed
+     */
+    public long getVersion(AppUtils.ModuleType moduleType) {
+        String prefix = moduleType.name() + ":";
+        return versions.entrySet().stream().filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToLong(Map.Entry::getValue).sum();
+    }
+
+    /**
+     * Reloads the version counters and publishes a {@link ContentChangedEvent}
+     * for every counter that moved since the last poll. The first load only
+     * fills the counters.
+     */
+    @Scheduled(fixedDelayString = "${app.content-version.poll-delay-ms:5000}")
+    public void refresh() {
+        for (ContentVersionEntity contentVersionEntity : contentVersionRepository.findAll()) {
+            Long previous = versions.get(contentVersionEntity.getVersionKey());
+            if (Objects.nonNull(previous) && previous >= contentVersionEntity.getVersion()) {
+                continue;
+            }
+            versions.merge(contentVersionEntity.getVersionKey(), contentVersionEntity.getVersion(), Math::max);
+            if (loaded) {
+                log.debug("Content version {} moved to {}", contentVersionEntity.getVersionKey(),
+                        contentVersionEntity.getVersion());
+                applicationEventPublisher.publishEvent(
+                        new ContentChangedEvent(contentVersionEntity.getModuleType(), contentVersionEntity.getOrgId()));
+            }
+        }
+        loaded = true;
+    }
+
+    private String versionKey(AppUtils.ModuleType moduleType, UUID orgId) {
+        return moduleType.name() + ":" + (Objects.isNull(orgId) ? GLOBAL : orgId);
+    }
+}
@@ -0,0 +1,13 @@
+package yoga.irai.server.app.version;
+
+/**
+ * Row count and last update time of a set of rows. Any insert, update or
+ * delete of the rows changes at least one of the two, which makes the pair a
+ * cheap version of tables that have no version counter of their own.
+ */
+public interface VersionMarker {
+
+    Long getRowCount();
+
+    Object getLastUpdatedAt();
+}
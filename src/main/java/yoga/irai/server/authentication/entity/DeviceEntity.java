@@ -11,7 +11,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "devices")
+@Table(name = "devices", indexes = {@Index(name = "idx_devices_last_active", columnList = "last_active")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
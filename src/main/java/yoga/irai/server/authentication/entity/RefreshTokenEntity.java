@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
 import yoga.irai.server.app.AppUtils.RefreshTokenStatus;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
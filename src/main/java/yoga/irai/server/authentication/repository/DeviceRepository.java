@@ -1,13 +1,36 @@
 package yoga.irai.server.authentication.repository;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.authentication.entity.DeviceEntity;
 import yoga.irai.server.authentication.entity.UserEntity;
 
 @Repository
 public interface DeviceRepository extends JpaRepository<DeviceEntity, UUID> {
     Optional<DeviceEntity> findByDeviceCodeAndUser(String deviceCode, UserEntity user);
+
+    /**
+     * Deletes up to {@code batchSize} devices that have not been active since the
+     * cutoff and are no longer referenced by any refresh token. The filter is
+     * split on {@code last_active} so that it can use the index of the column.
+     *
+     * @param cutoff
+     *            devices last active before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM devices WHERE device_id IN (SELECT d.device_id FROM devices d "
+            + "WHERE (d.last_active < :cutoff OR (d.last_active IS NULL AND d.created_at < :cutoff)) AND NOT EXISTS "
+            + "(SELECT 1 FROM refresh_tokens r WHERE r.device_id = d.device_id) LIMIT :batchSize)", nativeQuery = true)
+    int deleteOrphanedBatch(@Param("cutoff") ZonedDateTime cutoff, @Param("batchSize") int batchSize);
 }
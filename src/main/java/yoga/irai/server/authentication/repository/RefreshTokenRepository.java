@@ -1,9 +1,14 @@
 package yoga.irai.server.authentication.repository;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils.RefreshTokenStatus;
 import yoga.irai.server.authentication.entity.RefreshTokenEntity;
 import yoga.irai.server.authentication.entity.UserEntity;
@@ -15,4 +20,21 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity
     RefreshTokenEntity findByUserAndRefreshTokenStatus(UserEntity user, RefreshTokenStatus refreshTokenStatus);
 
     RefreshTokenEntity findByUser_UserIdAndRefreshTokenStatus(UUID uuid, RefreshTokenStatus refreshTokenStatus);
+
+    /**
+     * Deletes up to {@code batchSize} refresh tokens that expired before the
+     * cutoff or are no longer active.
+     *
+     * @param cutoff
+     *            tokens expiring before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE refresh_token_id IN (SELECT refresh_token_id "
+            + "FROM refresh_tokens WHERE expires_at < :cutoff OR refresh_token_status <> 'ACTIVE' "
+            + "LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") ZonedDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -2,6 +2,7 @@ package yoga.irai.server.enquiry;
 
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.provider.EmailService;
 
@@ -17,11 +18,13 @@ public class EnquiryService {
     private final EnquiryRepository enquiryRepository;
 
     /**
-     * Saves the enquiry request and sends confirmation emails.
+     * Saves the enquiry request and queues the confirmation emails in the same
+     * transaction.
      *
      * @param enquiryRequestDto
      *            the enquiry request data transfer object
      */
+    @Transactional
     public void updateEnquiry(EnquiryRequestDto enquiryRequestDto) {
         EnquiryEntity enquiryEntity = AppUtils.map(enquiryRequestDto, EnquiryEntity.class);
         enquiryRepository.save(enquiryEntity);
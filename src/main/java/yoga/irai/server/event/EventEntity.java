@@ -22,7 +22,9 @@ import yoga.irai.server.app.dto.UrlDto;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_created_at_id", columnList = "created_at, event_id"),
+        @Index(name = "idx_events_updated_at_id", columnList = "updated_at, event_id")})
 public class EventEntity extends Auditable implements Serializable {
 
     @Serial
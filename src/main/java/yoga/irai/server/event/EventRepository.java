@@ -1,20 +1,38 @@
 package yoga.irai.server.event;
 
 import java.time.ZonedDateTime;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.search.SearchableContent;
 
 /** Repository interface for managing Event entities. */
 @Repository
 public interface EventRepository extends JpaRepository<EventEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR e.eventId IN ("
+            + "SELECT x.eventId FROM EventSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR e.eventName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM EventSearchEntity x "
+            + "WHERE x.eventId = e.eventId) DESC, e.createdAt DESC";
+
     /**
      * Finds an EventEntity by its eventId.
      *
@@ -30,11 +48,90 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
      */
     @Query("SELECT e FROM EventEntity e WHERE (:orgIds IS NULL OR e.orgId IN :orgIds) AND "
             + "(:status IS NULL OR NOT e.eventStatus = :status) AND"
-            + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE( "
-            + "LOWER(e.eventName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(e.eventDescription) LIKE LOWER(CONCAT('%', :keyword, '%'))) END)")
+            + KEYWORD_CONDITION)
     Page<EventEntity> search(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status, Pageable pageable);
 
+    /**
+     * Same search as {@link #search}, ordered by full-text rank on the keyword
+     * instead of the sort of the pageable.
+     *
+     * @param keyword
+     *            the keyword to search for
+     * @param orgIds
+     *            the set of organization IDs to filter events
+     * @param status
+     *            the status to leave out
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT e FROM EventEntity e WHERE (:orgIds IS NULL OR e.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR NOT e.eventStatus = :status) AND" + KEYWORD_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(e) FROM EventEntity e WHERE (:orgIds IS NULL OR e.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR NOT e.eventStatus = :status) AND" + KEYWORD_CONDITION)
+    Page<EventEntity> searchRanked(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param keyword
+     *            - the keyword to search in event name or description
+     * @param orgIds
+     *            - the set of organization IDs to filter events
+     * @param status
+     *            - the status to filter events
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<EventEntity> searchAfter(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, boolean ascending, Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(keyword, orgIds, status, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(keyword, orgIds, status, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(keyword, orgIds, status, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT e FROM EventEntity e WHERE "
+            + "(:orgIds IS NULL OR e.orgId IN :orgIds) AND (:status IS NULL OR NOT e.eventStatus = :status) AND"
+            + KEYWORD_CONDITION)
+    Slice<EventEntity> searchFirst(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT e FROM EventEntity e WHERE "
+            + "(:orgIds IS NULL OR e.orgId IN :orgIds) AND (:status IS NULL OR NOT e.eventStatus = :status) AND"
+            + KEYWORD_CONDITION
+            + " AND (e.createdAt, e.eventId) > (:cursorCreatedAt, :cursorId)")
+    Slice<EventEntity> searchAfterAscending(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT e FROM EventEntity e WHERE "
+            + "(:orgIds IS NULL OR e.orgId IN :orgIds) AND (:status IS NULL OR NOT e.eventStatus = :status) AND"
+            + KEYWORD_CONDITION
+            + " AND (e.createdAt, e.eventId) < (:cursorCreatedAt, :cursorId)")
+    Slice<EventEntity> searchAfterDescending(String keyword, Set<UUID> orgIds, AppUtils.EventStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
     /**
      * Finds an EventEntity by its eventName.
      *
@@ -65,4 +162,51 @@ public interface EventRepository extends JpaRepository<EventEntity, UUID> {
      *         ascending order
      */
     List<EventEntity> findTop3ByEventEndDateTimeAfterOrderByEventEndDateTimeAsc(ZonedDateTime dateTime);
+
+    /**
+     * Finds the event rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the event to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT e FROM EventEntity e WHERE (:orgIds IS NULL OR e.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR e.eventStatus = :status) AND "
+            + "(:since IS NULL OR e.updatedAt > :since) AND e.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "e.updatedAt > :afterAt OR (e.updatedAt = :afterAt AND e.eventId > :afterId))")
+    List<EventEntity> findChanged(Set<UUID> orgIds, AppUtils.EventStatus status, LocalDateTime since,
+            LocalDateTime upTo, LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the newest rows of an organization with the given status, for the
+     * in-memory search index.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the rows,
+     *         newest first
+     */
+    @Query("SELECT e.eventId AS id, e.eventName AS name, '' AS tags, e.eventDescription AS description, "
+            + "e.createdAt AS createdAt, 0L AS popularity FROM EventEntity e "
+            + "WHERE e.orgId = :orgId AND e.eventStatus = :status ORDER BY e.createdAt DESC")
+    List<SearchableContent> findSearchable(UUID orgId, AppUtils.EventStatus status, Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package yoga.irai.server.event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the search vector of an event, computed by the database.
+ * It is kept out of {@link EventEntity} so that reading events does not load
+ * it; the keyword searches of {@link EventRepository} filter and rank through
+ * this view instead.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "events")
+public class EventSearchEntity {
+
+    @Id
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    /**
+     * Weighted full-text search vector of the name and description, computed
+     * by the database.
+     */
+    @Column(name = "search_vector", insertable = false, updatable = false,
+            columnDefinition = "TSVECTOR GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('simple', COALESCE(event_name, '')), 'A')"
+                    + " || setweight(to_tsvector('simple', COALESCE(event_description, '')), 'C')) STORED")
+    private String searchVector;
+}
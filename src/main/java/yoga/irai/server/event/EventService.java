@@ -1,5 +1,6 @@
 package yoga.irai.server.event;
 
+import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -9,11 +10,15 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.dto.CursorDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.EventMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -27,6 +32,8 @@ import yoga.irai.server.storage.StorageService;
 @AllArgsConstructor
 public class EventService {
 
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
     private final EventRepository eventRepository;
@@ -48,7 +55,9 @@ public class EventService {
         AppUtils.updateIdsWithPrimary(eventEntity.getAddresses());
         AppUtils.updateIdsWithPrimary(eventEntity.getContacts());
         AppUtils.updateIds(eventEntity.getUrls());
-        return eventRepository.save(eventEntity);
+        EventEntity savedEventEntity = eventRepository.save(eventEntity);
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, eventEntity.getOrgId());
+        return savedEventEntity;
     }
 
     /**
@@ -92,7 +101,9 @@ public class EventService {
         AppUtils.updateIdsWithPrimary(eventEntity.getAddresses());
         AppUtils.updateIdsWithPrimary(eventEntity.getContacts());
         AppUtils.updateIds(eventEntity.getUrls());
-        return eventRepository.save(eventEntity);
+        EventEntity savedEventEntity = eventRepository.save(eventEntity);
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, eventEntity.getOrgId());
+        return savedEventEntity;
     }
 
     /**
@@ -115,7 +126,8 @@ public class EventService {
      * @param pageSize
      *            the pageNumber pageSize
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
@@ -125,15 +137,59 @@ public class EventService {
     public Page<EventEntity> getEvents(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
             String keyword) {
 
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
         Set<UUID> orgIds = new HashSet<>();
         orgIds.add(AppUtils.getPrincipalOrgId());
 
         return switch (AppUtils.getPrincipalUserType()) {
-            case MOBILE_USER -> eventRepository.search(keyword, organizationService.getOrgIdsForMobile(),
+            case MOBILE_USER -> search(ranked, keyword, organizationService.getOrgIdsForMobile(),
                     AppUtils.EventStatus.ACTIVE, pageable);
-            case PORTAL_USER -> eventRepository.search(keyword, orgIds, null, pageable);
-            case KEYCLOAK_USER -> eventRepository.search(keyword, null, null, pageable);
+            case PORTAL_USER -> search(ranked, keyword, orgIds, null, pageable);
+            case KEYCLOAK_USER -> search(ranked, keyword, null, null, pageable);
+        };
+    }
+
+    private Page<EventEntity> search(boolean ranked, String keyword, Set<UUID> orgIds,
+            AppUtils.EventStatus status, Pageable pageable) {
+        return ranked
+                ? eventRepository.searchRanked(keyword, orgIds, status, pageable)
+                : eventRepository.search(keyword, orgIds, status, pageable);
+    }
+
+    /**
+     * Retrieves a slice of events after the given cursor, sorted by creation time.
+     * Unlike {@link #getEvents(int, int, String, Sort.Direction, String)},
+     * no count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            an optional keyword to filter events by name or description
+     * @return a Slice containing EventEntity objects
+     */
+    public Slice<EventEntity> getEvents(String cursor, int pageSize, Sort.Direction direction, String keyword) {
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        LocalDateTime cursorCreatedAt = Objects.isNull(cursorDto) ? null : cursorDto.createdAt();
+        UUID cursorId = Objects.isNull(cursorDto) ? null : cursorDto.id();
+        boolean ascending = direction.isAscending();
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "eventId"));
+        Set<UUID> orgIds = new HashSet<>();
+        orgIds.add(AppUtils.getPrincipalOrgId());
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> eventRepository.searchAfter(keyword, organizationService.getOrgIdsForMobile(),
+                    AppUtils.EventStatus.ACTIVE, cursorCreatedAt, cursorId, ascending, pageable);
+            case PORTAL_USER -> eventRepository.searchAfter(keyword, orgIds, null, cursorCreatedAt, cursorId, ascending,
+                    pageable);
+            case KEYCLOAK_USER -> eventRepository.searchAfter(keyword, null, null, cursorCreatedAt, cursorId, ascending,
+                    pageable);
         };
     }
 
@@ -151,6 +207,8 @@ public class EventService {
             storageService.deleteStorageByIds(storageIds);
         }
         eventRepository.delete(getEventById(eventId));
+        tombstoneService.record(AppUtils.SyncEntityType.EVENT, eventId, eventEntity.getOrgId());
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, eventEntity.getOrgId());
     }
 
     /**
@@ -165,6 +223,7 @@ public class EventService {
         EventEntity eventEntity = getEventById(eventId);
         eventEntity.setEventStatus(status);
         eventRepository.save(eventEntity);
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, eventEntity.getOrgId());
         if (AppUtils.EventStatus.ACTIVE.equals(status)) {
             sendEventNotification(getEventResponseDto(eventEntity));
         }
@@ -0,0 +1,166 @@
+package yoga.irai.server.mobile;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.mobile.dto.ContinueMobileResponseDto;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.user.PracticeUserEntity;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionRepository;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonRepository;
+import yoga.irai.server.program.section.lesson.user.LessonUserEntity;
+import yoga.irai.server.program.section.lesson.user.LessonUserRepository;
+import yoga.irai.server.storage.StorageService;
+
+/**
+ * Serves the practices and lessons a user left unfinished, most recent first.
+ * The progress rows come from one top-N query per table on the index on user
+ * and last update; practices, lessons, sections, programs and storage URLs are
+ * then loaded with one batched query each, so a request runs at most seven
+ * queries whatever the number of items.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContinueService {
+
+    private static final Set<AppUtils.PracticeUserStatus> PRACTICE_IN_PROGRESS = EnumSet
+            .of(AppUtils.PracticeUserStatus.STARTED, AppUtils.PracticeUserStatus.IN_PROGRESS);
+    private static final Set<AppUtils.LessonUserStatus> LESSON_IN_PROGRESS = EnumSet
+            .of(AppUtils.LessonUserStatus.STARTED, AppUtils.LessonUserStatus.IN_PROGRESS);
+
+    private final StorageService storageService;
+    private final LessonRepository lessonRepository;
+    private final SectionRepository sectionRepository;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+    private final LessonUserRepository lessonUserRepository;
+    private final PracticeUserRepository practiceUserRepository;
+
+    @Value("${app.mobile.continue.max-limit:20}")
+    private int maxLimit;
+
+    /**
+     * Progress of the user on a practice or lesson.
+     */
+    private record Progress(AppUtils.ResumeItemType type, UUID id, UUID progressId, Long resumeTime,
+            ZonedDateTime updatedAt) {
+    }
+
+    /**
+     * Returns the items the current user left unfinished. Items of inactive
+     * practices or programs are left out by the progress queries, so they do not
+     * take places of the limit.
+     *
+     * @param limit
+     *            the maximum number of items, capped by the configured maximum
+     * @return the items, most recently updated first
+     */
+    public List<ContinueMobileResponseDto> getContinueItems(int limit) {
+        UUID userId = AppUtils.getPrincipalUserId();
+        Pageable top = PageRequest.of(0, Math.clamp(limit, 1, maxLimit));
+        List<Progress> progress = Stream.concat(
+                practiceUserRepository.findInProgress(userId, PRACTICE_IN_PROGRESS, AppUtils.PracticeStatus.ACTIVE,
+                        top).stream().map(ContinueService::toProgress),
+                lessonUserRepository.findInProgress(userId, LESSON_IN_PROGRESS, AppUtils.ProgramStatus.ACTIVE, top)
+                        .stream().map(ContinueService::toProgress))
+                .sorted(Comparator.comparing(Progress::updatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(top.getPageSize()).toList();
+
+        Map<UUID, PracticeEntity> practices = byId(
+                practiceRepository.findAllById(idsOf(progress, AppUtils.ResumeItemType.PRACTICE)),
+                PracticeEntity::getPracticeId);
+        Map<UUID, LessonEntity> lessons = byId(
+                lessonRepository.findAllById(idsOf(progress, AppUtils.ResumeItemType.LESSON)),
+                LessonEntity::getLessonId);
+        Map<UUID, SectionEntity> sections = byId(sectionRepository.findAllById(
+                lessons.values().stream().map(LessonEntity::getSectionId).distinct().toList()),
+                SectionEntity::getSectionId);
+        Map<UUID, ProgramEntity> programs = byId(programRepository.findAllById(
+                sections.values().stream().map(SectionEntity::getProgramId).distinct().toList()),
+                ProgramEntity::getProgramId);
+        Map<UUID, String> signedStorageUrlByIds = storageService.getSignedStorageUrlByIds(Stream.concat(
+                practices.values().stream()
+                        .flatMap(practice -> Stream.of(practice.getPracticeStorageId(),
+                                practice.getPracticeBannerStorageId())),
+                Stream.concat(lessons.values().stream().map(LessonEntity::getLessonStorageId),
+                        programs.values().stream().map(ProgramEntity::getProgramBannerStorageId)))
+                .filter(Objects::nonNull).distinct().toList());
+
+        return progress.stream().map(item -> switch (item.type()) {
+            case PRACTICE -> toPracticeItem(item, practices.get(item.id()), signedStorageUrlByIds);
+            case LESSON -> {
+                LessonEntity lesson = lessons.get(item.id());
+                SectionEntity section = Objects.isNull(lesson) ? null : sections.get(lesson.getSectionId());
+                ProgramEntity program = Objects.isNull(section) ? null : programs.get(section.getProgramId());
+                yield toLessonItem(item, lesson, section, program, signedStorageUrlByIds);
+            }
+        }).filter(Objects::nonNull).toList();
+    }
+
+    private static ContinueMobileResponseDto toPracticeItem(Progress progress, PracticeEntity practice,
+            Map<UUID, String> signedStorageUrlByIds) {
+        if (Objects.isNull(practice) || !AppUtils.PracticeStatus.ACTIVE.equals(practice.getPracticeStatus())) {
+            return null;
+        }
+        return ContinueMobileResponseDto.builder().type(progress.type()).id(progress.id())
+                .progressId(progress.progressId()).name(practice.getPracticeName()).duration(practice.getDuration())
+                .resumeTime(progress.resumeTime())
+                .storageUrl(signedStorageUrlByIds.get(practice.getPracticeStorageId()))
+                .externalUrl(practice.getPracticeExternalUrl())
+                .bannerStorageUrl(signedStorageUrlByIds.get(practice.getPracticeBannerStorageId()))
+                .bannerExternalUrl(practice.getPracticeBannerExternalUrl()).updatedAt(progress.updatedAt()).build();
+    }
+
+    private static ContinueMobileResponseDto toLessonItem(Progress progress, LessonEntity lesson,
+            SectionEntity section, ProgramEntity program, Map<UUID, String> signedStorageUrlByIds) {
+        if (Objects.isNull(program) || !AppUtils.ProgramStatus.ACTIVE.equals(program.getProgramStatus())) {
+            return null;
+        }
+        return ContinueMobileResponseDto.builder().type(progress.type()).id(progress.id())
+                .progressId(progress.progressId()).name(lesson.getLessonName()).duration(lesson.getDuration())
+                .resumeTime(progress.resumeTime()).storageUrl(signedStorageUrlByIds.get(lesson.getLessonStorageId()))
+                .externalUrl(lesson.getLessonExternalUrl())
+                .bannerStorageUrl(signedStorageUrlByIds.get(program.getProgramBannerStorageId()))
+                .bannerExternalUrl(program.getProgramBannerExternalUrl()).programId(program.getProgramId())
+                .programName(program.getProgramName()).sectionId(section.getSectionId())
+                .sectionName(section.getSectionName()).updatedAt(progress.updatedAt()).build();
+    }
+
+    private static Progress toProgress(PracticeUserEntity practiceUser) {
+        return new Progress(AppUtils.ResumeItemType.PRACTICE, practiceUser.getPracticeId(),
+                practiceUser.getPracticeUserId(), practiceUser.getResumeTime(), practiceUser.getUpdatedAt());
+    }
+
+    private static Progress toProgress(LessonUserEntity lessonUser) {
+        return new Progress(AppUtils.ResumeItemType.LESSON, lessonUser.getLessonId(), lessonUser.getLessonUserId(),
+                lessonUser.getResumeTime(), lessonUser.getUpdatedAt());
+    }
+
+    private static List<UUID> idsOf(List<Progress> progress, AppUtils.ResumeItemType type) {
+        return progress.stream().filter(item -> type.equals(item.type())).map(Progress::id).distinct().toList();
+    }
+
+    private static <T> Map<UUID, T> byId(List<T> entities, Function<T, UUID> idOf) {
+        return entities.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+    }
+}
@@ -0,0 +1,34 @@
+package yoga.irai.server.mobile;
+
+import java.util.List;
+import yoga.irai.server.mobile.dto.*;
+
+/**
+ * The organization-wide part of the mobile home screen, with every storage URL
+ * already signed.
+ *
+ * @param poems
+ *            the top 3 poems
+ * @param practices
+ *            the top 3 practices
+ * @param programs
+ *            the top 3 programs
+ * @param shorts
+ *            the top 3 shorts
+ * @param news
+ *            the top 3 news
+ */
+public record DashboardSnapshot(List<PoemMobileResponseDto> poems, List<PracticeMobileResponseDto> practices,
+        List<ProgramMobileResponseDto> programs, List<ShortsMobileResponseDto> shorts,
+        List<NewsMobileResponseDto> news) {
+
+    /**
+     * Returns a snapshot without any content, used when the snapshot cannot be
+     * loaded.
+     *
+     * @return an empty snapshot
+     */
+    public static DashboardSnapshot empty() {
+        return new DashboardSnapshot(List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+}
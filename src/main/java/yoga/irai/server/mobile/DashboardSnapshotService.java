@@ -0,0 +1,163 @@
+package yoga.irai.server.mobile;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.version.ContentChangedEvent;
+
+/**
+ * Caches one {@link DashboardSnapshot} per organization. A snapshot is built on
+ * the first read after it was invalidated or expired, and concurrent readers of
+ * the same organization wait for a single rebuild. Snapshots are dropped when
+ * content of their organization changes on any node; news is shared by all
+ * organizations, so a change to it drops every snapshot. Events depend on the
+ * time of the request and are not part of the snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardSnapshotService {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, CompletableFuture<Entry>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Lifetime of a snapshot. Must stay below the lifetime of the signed URLs it
+     * holds.
+     */
+    @Value("${app.mobile.dashboard.snapshot-ttl-minutes:10}")
+    private long snapshotTtlMinutes;
+
+    @Value("${digitalocean.spaces.signature.duration.minutes}")
+    private long signatureDurationMinutes;
+
+    /**
+     * Rejects a snapshot lifetime that would serve signed URLs past their
+     * expiry.
+     *
+     * @throws IllegalStateException
+     *             if the lifetime is not below the signature duration
+     */
+    @PostConstruct
+    public void checkSnapshotTtl() {
+        if (snapshotTtlMinutes <= 0 || snapshotTtlMinutes >= signatureDurationMinutes) {
+            throw new IllegalStateException("app.mobile.dashboard.snapshot-ttl-minutes must be between 1 and "
+                    + (signatureDurationMinutes - 1) + " minutes, the signature duration less one minute, but is "
+                    + snapshotTtlMinutes);
+        }
+    }
+
+    /**
+     * Registers gauges reporting the number of cached snapshots and their
+     * estimated size.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("dashboard.snapshot.count", snapshots, Map::size).register(meterRegistry);
+        Gauge.builder("dashboard.snapshot.bytes", this, DashboardSnapshotService::estimatedBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot of the given organization, building it if it is
+     * missing or expired.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param builder
+     *            builds a fresh snapshot for the organization
+     * @return the snapshot of the organization
+     */
+    public DashboardSnapshot getSnapshot(UUID orgId, Supplier<DashboardSnapshot> builder) {
+        while (true) {
+            CompletableFuture<Entry> current = snapshots.get(orgId);
+            if (Objects.nonNull(current) && !isExpired(current)) {
+                meterRegistry.counter("dashboard.snapshot.requests", "result", "hit").increment();
+                return current.join().snapshot();
+            }
+            CompletableFuture<Entry> rebuild = new CompletableFuture<>();
+            boolean claimed = Objects.isNull(current)
+                    ? snapshots.putIfAbsent(orgId, rebuild) == null
+                    : snapshots.replace(orgId, current, rebuild);
+            if (claimed) {
+                meterRegistry.counter("dashboard.snapshot.requests", "result", "miss").increment();
+                return build(orgId, rebuild, builder);
+            }
+        }
+    }
+
+    /**
+     * Drops the snapshots affected by a content change.
+     *
+     * @param event
+     *            the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (ModuleType.EVENT.equals(event.moduleType())) {
+            return;
+        }
+        if (ModuleType.NEWS.equals(event.moduleType()) || Objects.isNull(event.orgId())) {
+            snapshots.clear();
+        } else {
+            snapshots.remove(event.orgId());
+        }
+    }
+
+    private DashboardSnapshot build(UUID orgId, CompletableFuture<Entry> rebuild,
+            Supplier<DashboardSnapshot> builder) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            DashboardSnapshot snapshot = builder.get();
+            rebuild.complete(new Entry(snapshot, Instant.now(), sizeOf(snapshot)));
+            return snapshot;
+        } catch (RuntimeException e) {
+            snapshots.remove(orgId, rebuild);
+            rebuild.completeExceptionally(e);
+            log.warn("Dashboard snapshot of org {} could not be built: {}", orgId, e.getMessage());
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("dashboard.snapshot.rebuild"));
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<Entry> future) {
+        return future.isDone() && !future.isCompletedExceptionally()
+                && future.join().builtAt().isBefore(Instant.now().minus(Duration.ofMinutes(snapshotTtlMinutes)));
+    }
+
+    private long sizeOf(DashboardSnapshot snapshot) {
+        try {
+            return objectMapper.writeValueAsBytes(snapshot).length;
+        } catch (JsonProcessingException e) {
+            log.warn("Dashboard snapshot size could not be estimated: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private double estimatedBytes() {
+        return snapshots.values().stream().filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                .mapToLong(future -> future.join().sizeBytes()).sum();
+    }
+
+    private record Entry(DashboardSnapshot snapshot, Instant builtAt, long sizeBytes) {
+    }
+}
@@ -0,0 +1,237 @@
+package yoga.irai.server.mobile;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.recommendation.CandidateIndexService;
+import yoga.irai.server.app.recommendation.CandidateIndexService.Candidate;
+import yoga.irai.server.authentication.dto.UserAoiDto;
+import yoga.irai.server.authentication.dto.UserAoiOptionDto;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.authentication.service.UserService;
+import yoga.irai.server.mobile.dto.ForYouMobileResponseDto;
+import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
+import yoga.irai.server.mobile.dto.ShortsMobileResponseDto;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.program.user.ProgramUserRepository;
+import yoga.irai.server.shorts.ShortsEntity;
+import yoga.irai.server.shorts.ShortsRepository;
+import yoga.irai.server.shorts.ShortsService;
+import yoga.irai.server.shorts.user.ShortsUserRepository;
+
+/**
+ * Builds the personalized feed of a mobile user. The areas of interest picked
+ * by the user are turned into tag weights, each question sharing a weight of
+ * one between its selected options. Items of the precomputed candidate lists
+ * score the sum of the weights of their tags, ties going to the newest item;
+ * users without answers get the newest tagged items.
+ * <p>
+ * Items the user already completed or watched are skipped, checking the
+ * progress of a window of ranked items with one query per module at a time.
+ */
+@Service
+@RequiredArgsConstructor
+public class ForYouService {
+
+    private final UserService userService;
+    private final PoemService poemService;
+    private final ShortsService shortsService;
+    private final ProgramService programService;
+    private final PracticeService practiceService;
+    private final PoemRepository poemRepository;
+    private final ShortsRepository shortsRepository;
+    private final ProgramRepository programRepository;
+    private final PracticeRepository practiceRepository;
+    private final OrganizationService organizationService;
+    private final ShortsUserRepository shortsUserRepository;
+    private final CandidateIndexService candidateIndexService;
+    private final ProgramUserRepository programUserRepository;
+    private final PracticeUserRepository practiceUserRepository;
+
+    @Value("${app.mobile.for-you.max-limit:50}")
+    private int maxLimit;
+
+    /**
+     * An item of the feed with its score.
+     *
+     * @param candidate
+     *            the item
+     * @param score
+     *            the sum of the weights of the matched tags
+     */
+    record Ranked(Candidate candidate, double score) {
+    }
+
+    /**
+     * Returns the personalized feed of the current user.
+     *
+     * @param limit
+     *            the maximum number of items, capped by the configured maximum
+     * @return the items, best match first
+     */
+    public List<ForYouMobileResponseDto> getFeed(int limit) {
+        int size = Math.clamp(limit, 1, maxLimit);
+        UUID userId = AppUtils.getPrincipalUserId();
+        UserEntity userEntity = userService.getUserById(userId);
+        Map<String, Double> weights = StringUtils.isBlank(userEntity.getUserAoi())
+                ? Map.of()
+                : toTagWeights(userService.getUserAoi(userEntity));
+        List<Ranked> ranked = rank(weights, organizationService.getOrgIdsForMobile());
+        List<Ranked> picked = new ArrayList<>();
+        int window = size * 2;
+        for (int from = 0; from < ranked.size() && picked.size() < size; from += window) {
+            List<Ranked> chunk = ranked.subList(from, Math.min(from + window, ranked.size()));
+            Set<UUID> done = getDoneIds(userId, chunk);
+            chunk.stream().filter(item -> !done.contains(item.candidate().id())).limit(size - picked.size())
+                    .forEach(picked::add);
+        }
+        return hydrate(picked);
+    }
+
+    /**
+     * Turns the areas of interest of a user into tag weights. Every active
+     * question with a selection spreads a weight of one over its selected
+     * options, whose values are the tags.
+     *
+     * @param questions
+     *            the questions with the selection of the user
+     * @return the weights by lower case tag
+     */
+    static Map<String, Double> toTagWeights(List<UserAoiDto> questions) {
+        Map<String, Double> weights = new HashMap<>();
+        if (Objects.isNull(questions)) {
+            return weights;
+        }
+        for (UserAoiDto question : questions) {
+            if (AppUtils.UserAoiStatus.INACTIVE.equals(question.getStatus())
+                    || Objects.isNull(question.getOptions())) {
+                continue;
+            }
+            List<String> tags = question.getOptions().stream().filter(UserAoiOptionDto::isSelected)
+                    .map(UserAoiOptionDto::getValue).filter(StringUtils::isNotBlank)
+                    .map(value -> value.trim().toLowerCase()).toList();
+            tags.forEach(tag -> weights.merge(tag, 1.0 / tags.size(), Double::sum));
+        }
+        return weights;
+    }
+
+    /**
+     * Scores the candidates of the given organizations.
+     *
+     * @param weights
+     *            the tag weights, empty to rank every candidate by age
+     * @param orgIds
+     *            the organizations visible to the user
+     * @return the scored candidates, best match first
+     */
+    List<Ranked> rank(Map<String, Double> weights, Set<UUID> orgIds) {
+        Map<Candidate, Double> scores = new HashMap<>();
+        for (UUID orgId : orgIds) {
+            for (ModuleType moduleType : CandidateIndexService.MODULES) {
+                candidateIndexService.getCandidates(moduleType, orgId).forEach((tag, candidates) -> {
+                    Double weight = weights.isEmpty() ? Double.valueOf(0) : weights.get(tag);
+                    if (Objects.nonNull(weight)) {
+                        candidates.forEach(candidate -> scores.merge(candidate, weight, Double::sum));
+                    }
+                });
+            }
+        }
+        return scores.entrySet().stream().map(entry -> new Ranked(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(Ranked::score).reversed()
+                        .thenComparing(ranked -> ranked.candidate().createdAt(),
+                                Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    private Set<UUID> getDoneIds(UUID userId, List<Ranked> chunk) {
+        Map<ModuleType, List<UUID>> ids = idsByModule(chunk);
+        Set<UUID> done = new HashSet<>();
+        if (ids.containsKey(ModuleType.PRACTICE)) {
+            practiceUserRepository.findAllByUserIdAndPracticeIdIn(userId, ids.get(ModuleType.PRACTICE)).stream()
+                    .filter(user -> AppUtils.PracticeUserStatus.COMPLETE.equals(user.getPracticeUserStatus()))
+                    .forEach(user -> done.add(user.getPracticeId()));
+        }
+        if (ids.containsKey(ModuleType.PROGRAM)) {
+            programUserRepository.findAllByUserIdAndProgramIdIn(userId, ids.get(ModuleType.PROGRAM)).stream()
+                    .filter(user -> AppUtils.ProgramUserStatus.COMPLETE.equals(user.getProgramUserStatus()))
+                    .forEach(user -> done.add(user.getProgramId()));
+        }
+        if (ids.containsKey(ModuleType.SHORTS)) {
+            shortsUserRepository.findAllByUserIdAndShortsIdIn(userId, ids.get(ModuleType.SHORTS)).stream()
+                    .filter(user -> AppUtils.ShortsUserStatus.SEEN.equals(user.getShortsUserStatus()))
+                    .forEach(user -> done.add(user.getShortsId()));
+        }
+        return done;
+    }
+
+    /**
+     * Loads and maps the picked items, skipping items deactivated since their
+     * candidate list was loaded.
+     */
+    private List<ForYouMobileResponseDto> hydrate(List<Ranked> picked) {
+        Map<ModuleType, List<UUID>> ids = idsByModule(picked);
+        Map<UUID, Object> data = new HashMap<>();
+        if (ids.containsKey(ModuleType.PRACTICE)) {
+            List<PracticeEntity> practices = practiceRepository.findAllById(ids.get(ModuleType.PRACTICE)).stream()
+                    .filter(practice -> AppUtils.PracticeStatus.ACTIVE.equals(practice.getPracticeStatus()))
+                    .toList();
+            data.putAll(byId(practiceService.toPracticeMobileResponseDto(practices),
+                    PracticeMobileResponseDto::getPracticeId));
+        }
+        if (ids.containsKey(ModuleType.PROGRAM)) {
+            List<ProgramEntity> programs = programRepository.findAllById(ids.get(ModuleType.PROGRAM)).stream()
+                    .filter(program -> AppUtils.ProgramStatus.ACTIVE.equals(program.getProgramStatus())).toList();
+            data.putAll(byId(programService.toProgramMobileResponseDto(programs),
+                    ProgramMobileResponseDto::getProgramId));
+        }
+        if (ids.containsKey(ModuleType.SHORTS)) {
+            List<ShortsEntity> shorts = shortsRepository.findAllById(ids.get(ModuleType.SHORTS)).stream()
+                    .filter(item -> AppUtils.ShortsStatus.ACTIVE.equals(item.getShortsStatus())).toList();
+            data.putAll(byId(shortsService.toShortsMobileResponseDto(shorts), ShortsMobileResponseDto::getShortsId));
+        }
+        if (ids.containsKey(ModuleType.POEM)) {
+            List<PoemEntity> poems = poemRepository.findAllById(ids.get(ModuleType.POEM)).stream()
+                    .filter(poem -> AppUtils.PoemStatus.ACTIVE.equals(poem.getPoemStatus())).toList();
+            data.putAll(byId(poemService.toPoemMobileResponseDto(poems), PoemMobileResponseDto::getPoemId));
+        }
+        return picked.stream().filter(item -> data.containsKey(item.candidate().id()))
+                .map(item -> ForYouMobileResponseDto.builder().type(item.candidate().moduleType())
+                        .id(item.candidate().id()).score(item.score()).data(data.get(item.candidate().id())).build())
+                .toList();
+    }
+
+    private static Map<ModuleType, List<UUID>> idsByModule(List<Ranked> items) {
+        return items.stream().collect(Collectors.groupingBy(item -> item.candidate().moduleType(),
+                Collectors.mapping(item -> item.candidate().id(), Collectors.toList())));
+    }
+
+    private static <T> Map<UUID, T> byId(List<T> dtos, Function<T, UUID> idOf) {
+        return dtos.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+    }
+}
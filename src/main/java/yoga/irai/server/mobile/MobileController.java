@@ -4,15 +4,28 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.ZoneOffset;
 import java.util.*;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.dto.AppResponseDto;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
+import yoga.irai.server.app.dto.RatingHistogramDto;
+import yoga.irai.server.app.dto.ReviewDto;
+import yoga.irai.server.app.dto.SuggestionDto;
+import yoga.irai.server.app.dto.TagCountDto;
+import yoga.irai.server.app.search.AutocompleteService;
+import yoga.irai.server.app.search.TagService;
+import yoga.irai.server.app.version.ConditionalGet;
 import yoga.irai.server.authentication.dto.UserAoiDto;
 import yoga.irai.server.authentication.dto.UserResponseDto;
 import yoga.irai.server.authentication.entity.UserEntity;
@@ -22,6 +35,7 @@ import yoga.irai.server.event.EventService;
 import yoga.irai.server.mobile.dto.*;
 import yoga.irai.server.news.NewsEntity;
 import yoga.irai.server.news.NewsService;
+import yoga.irai.server.poem.PoemCard;
 import yoga.irai.server.poem.PoemEntity;
 import yoga.irai.server.poem.PoemService;
 import yoga.irai.server.practice.*;
@@ -30,6 +44,7 @@ import yoga.irai.server.practice.user.PracticeUserEntity;
 import yoga.irai.server.practice.user.PracticeUserRatingUpdateDto;
 import yoga.irai.server.practice.user.PracticeUserRequestDto;
 import yoga.irai.server.practice.user.PracticeUserResponseDto;
+import yoga.irai.server.program.ProgramCard;
 import yoga.irai.server.program.ProgramEntity;
 import yoga.irai.server.program.ProgramService;
 import yoga.irai.server.program.section.SectionEntity;
@@ -44,6 +59,7 @@ import yoga.irai.server.program.user.ProgramUserRatingUpdateDto;
 import yoga.irai.server.program.user.ProgramUserRequestDto;
 import yoga.irai.server.program.user.ProgramUserResponseDto;
 import yoga.irai.server.setting.SettingService;
+import yoga.irai.server.shorts.ShortsCard;
 import yoga.irai.server.shorts.ShortsEntity;
 import yoga.irai.server.shorts.ShortsService;
 import yoga.irai.server.storage.StorageService;
@@ -57,6 +73,8 @@ import yoga.irai.server.storage.StorageService;
 @RequestMapping("/mobile")
 public class MobileController {
 
+    private static final String CREATED_AT = "createdAt";
+
     private final NewsService newsService;
     private final UserService userService;
     private final PoemService poemService;
@@ -69,6 +87,13 @@ public class MobileController {
     private final StorageService storageService;
     private final PracticeService practiceService;
     private final PracticeCategoryService practiceCategoryService;
+    private final MobileDashboardService mobileDashboardService;
+    private final SyncService syncService;
+    private final ForYouService forYouService;
+    private final ContinueService continueService;
+    private final SearchService searchService;
+    private final AutocompleteService autocompleteService;
+    private final TagService tagService;
 
     /**
      * Get a paginated list of practice categories for dropdown selection.
@@ -106,17 +131,28 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, {@code trending} to rank by recent
+     *            engagement or {@code relevance} to rank keyword matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter practices
      * @param categoryId
      *            an optional category ID to filter practices
+     * @param tags
+     *            optional tags the practices must all carry
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
+     * @param fields
+     *            an optional comma separated list of the response fields to
+     *            return; the ID is always part of the response
      * @return ResponseEntity containing a paginated list of
      *         PracticeMobileResponseDto
      */
     @Tag(name = "Practices")
+    @ConditionalGet(modules = AppUtils.ModuleType.PRACTICE, userProgress = AppUtils.ModuleType.PRACTICE)
     @GetMapping("/practice")
     @Operation(summary = "Get Practices", description = "Get a paginated list of practices based on various filters "
             + "like keyword and category ID. Returns a paginated list of practices.")
@@ -124,12 +160,34 @@ public class MobileController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword, @RequestParam(required = false) UUID categoryId) {
-        Page<PracticeEntity> practicePage = practiceService.getPractices(pageNumber, pageSize, sortBy, direction,
-                keyword, categoryId);
-        List<PracticeEntity> practiceEntities = practicePage.getContent();
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) Set<String> tags, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String fields) {
+        FieldsDto fieldsDto = FieldsDto.parse(fields, PracticeMobileResponseDto.class, "practiceId");
+        if (Objects.nonNull(cursor)) {
+            Slice<PracticeEntity> practiceSlice = practiceService.getPractices(cursor, pageSize, direction, keyword,
+                    categoryId, tags);
+            String nextCursor = CursorDto.next(practiceSlice,
+                    PracticeEntity::getCreatedAt, PracticeEntity::getPracticeId);
+            return ResponseEntity.ok(AppResponseDto.<List<PracticeMobileResponseDto>>builder()
+                    .data(retain(fieldsDto, practiceService.toPracticeMobileResponseDto(practiceSlice.getContent())))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(practiceSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
+        if (Objects.nonNull(fieldsDto) && fieldsDto.isWithin(PracticeCard.FIELDS)
+                && !AppUtils.RELEVANCE.equals(sortBy)) {
+            Page<PracticeCard> practiceCards = practiceService.getPracticeCards(pageNumber, pageSize, sortBy,
+                    direction, keyword, categoryId, tags);
+            return ResponseEntity.ok(AppResponseDto.<List<PracticeMobileResponseDto>>builder()
+                    .data(practiceService.toPracticeMobileResponseDto(practiceCards.getContent(), fieldsDto))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(practiceCards, sortBy, direction)).build());
+        }
+        Page<PracticeMobileResponseDto> practicePage = practiceService.getPracticeMobileResponseDtos(pageNumber,
+                pageSize, sortBy, direction, keyword, categoryId, tags);
         return ResponseEntity.ok(AppResponseDto.<List<PracticeMobileResponseDto>>builder()
-                .data(practiceService.toPracticeMobileResponseDto(practiceEntities))
+                .data(retain(fieldsDto, practicePage.getContent()))
                 .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
                 .pageable(AppResponseDto.Pageable.builder().pageNumber(pageNumber).pageSize(pageSize)
                         .totalPages(practicePage.getTotalPages()).totalElements(practicePage.getTotalElements())
@@ -145,14 +203,25 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, {@code trending} to rank by recent
+     *            engagement or {@code relevance} to rank keyword matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter poems
+     * @param tags
+     *            optional tags the poems must all carry
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
+     * @param fields
+     *            an optional comma separated list of the response fields to
+     *            return; the ID is always part of the response
      * @return ResponseEntity containing a paginated list of PoemMobileResponseDto
      */
     @Tag(name = "Poems", description = "Endpoints for managing and retrieving poem-related data.")
+    @ConditionalGet(modules = AppUtils.ModuleType.POEM)
     @GetMapping("/poems")
     @Operation(summary = "Get Poems", description = "Get a paginated list of poems based on various filters "
             + "like keyword and category ID. Returns a paginated list of poems.")
@@ -160,11 +229,32 @@ public class MobileController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<PoemEntity> poemPage = poemService.getPoems(pageNumber, pageSize, sortBy, direction, keyword);
-        List<PoemEntity> poems = poemPage.getContent();
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+        FieldsDto fieldsDto = FieldsDto.parse(fields, PoemMobileResponseDto.class, "poemId");
+        if (Objects.nonNull(cursor)) {
+            Slice<PoemEntity> poemSlice = poemService.getPoems(cursor, pageSize, direction, keyword, tags);
+            String nextCursor = CursorDto.next(poemSlice, PoemEntity::getCreatedAt, PoemEntity::getPoemId);
+            return ResponseEntity.ok(AppResponseDto.<List<PoemMobileResponseDto>>builder()
+                    .data(retain(fieldsDto, poemService.toPoemMobileResponseDto(poemSlice.getContent())))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(poemSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
+        if (Objects.nonNull(fieldsDto) && fieldsDto.isWithin(PoemCard.FIELDS)
+                && !AppUtils.RELEVANCE.equals(sortBy)) {
+            Page<PoemCard> poemCards = poemService.getPoemCards(pageNumber, pageSize, sortBy, direction, keyword,
+                    tags);
+            return ResponseEntity.ok(AppResponseDto.<List<PoemMobileResponseDto>>builder()
+                    .data(poemService.toPoemMobileResponseDto(poemCards.getContent(), fieldsDto))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(poemCards, sortBy, direction)).build());
+        }
+        Page<PoemMobileResponseDto> poemPage = poemService.getPoemMobileResponseDtos(pageNumber, pageSize, sortBy,
+                direction, keyword, tags);
         return ResponseEntity.ok(AppResponseDto.<List<PoemMobileResponseDto>>builder()
-                .data(poemService.toPoemMobileResponseDto(poems)).message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                .data(retain(fieldsDto, poemPage.getContent()))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
                 .pageable(AppResponseDto.buildPageable(poemPage, sortBy, direction)).build());
     }
 
@@ -176,14 +266,25 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, {@code trending} to rank by recent
+     *            engagement or {@code relevance} to rank keyword matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter shorts
+     * @param tags
+     *            optional tags the shorts must all carry
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
+     * @param fields
+     *            an optional comma separated list of the response fields to
+     *            return; the ID is always part of the response
      * @return ResponseEntity containing a paginated list of ShortsMobileResponseDto
      */
     @Tag(name = "Shorts", description = "Endpoints for managing and retrieving shorts-related data.")
+    @ConditionalGet(modules = AppUtils.ModuleType.SHORTS, userProgress = AppUtils.ModuleType.SHORTS)
     @GetMapping("/shorts")
     @Operation(summary = "Get Shorts", description = "Get a paginated list of shorts based on various filters "
             + "like keyword. Returns a paginated list of shorts.")
@@ -191,11 +292,31 @@ public class MobileController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<ShortsEntity> shortsPage = shortsService.getShorts(pageNumber, pageSize, sortBy, direction, keyword);
-        List<ShortsEntity> shortsEntities = shortsPage.getContent();
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+        FieldsDto fieldsDto = FieldsDto.parse(fields, ShortsMobileResponseDto.class, "shortsId");
+        if (Objects.nonNull(cursor)) {
+            Slice<ShortsEntity> shortsSlice = shortsService.getShorts(cursor, pageSize, direction, keyword, tags);
+            String nextCursor = CursorDto.next(shortsSlice, ShortsEntity::getCreatedAt, ShortsEntity::getShortsId);
+            return ResponseEntity.ok(AppResponseDto.<List<ShortsMobileResponseDto>>builder()
+                    .data(retain(fieldsDto, shortsService.toShortsMobileResponseDto(shortsSlice.getContent())))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(shortsSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
+        if (Objects.nonNull(fieldsDto) && fieldsDto.isWithin(ShortsCard.FIELDS)
+                && !AppUtils.RELEVANCE.equals(sortBy)) {
+            Page<ShortsCard> shortsCards = shortsService.getShortsCards(pageNumber, pageSize, sortBy, direction,
+                    keyword, tags);
+            return ResponseEntity.ok(AppResponseDto.<List<ShortsMobileResponseDto>>builder()
+                    .data(shortsService.toShortsMobileResponseDto(shortsCards.getContent(), fieldsDto))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(shortsCards, sortBy, direction)).build());
+        }
+        Page<ShortsMobileResponseDto> shortsPage = shortsService.getShortsMobileResponseDtos(pageNumber, pageSize,
+                sortBy, direction, keyword, tags);
         return ResponseEntity.ok(AppResponseDto.<List<ShortsMobileResponseDto>>builder()
-                .data(shortsService.toShortsMobileResponseDto(shortsEntities))
+                .data(retain(fieldsDto, shortsPage.getContent()))
                 .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
                 .pageable(AppResponseDto.buildPageable(shortsPage, sortBy, direction)).build());
     }
@@ -208,21 +329,37 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@code relevance} to rank keyword
+     *            matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter events
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
      * @return ResponseEntity containing a paginated list of EventMobileResponseDto
      */
     @Tag(name = "Events", description = "Endpoints for managing and retrieving event-related data.")
+    @ConditionalGet(modules = AppUtils.ModuleType.EVENT)
     @GetMapping("/events")
     @Operation(summary = "Get Events", description = "Get events based on a keyword. Returns a paginated list of events matching the keyword.")
     public ResponseEntity<AppResponseDto<List<EventMobileResponseDto>>> getEvents(
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String cursor) {
+        if (Objects.nonNull(cursor)) {
+            Slice<EventEntity> eventSlice = eventService.getEvents(cursor, pageSize, direction, keyword);
+            String nextCursor = CursorDto.next(eventSlice, EventEntity::getCreatedAt, EventEntity::getEventId);
+            return ResponseEntity.ok(AppResponseDto.<List<EventMobileResponseDto>>builder()
+                    .data(eventService.toEventMobileResponseDto(eventSlice.getContent()))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(eventSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
         Page<EventEntity> eventPage = eventService.getEvents(pageNumber, pageSize, sortBy, direction, keyword);
         List<EventEntity> eventEntities = eventPage.getContent();
         return ResponseEntity.ok(AppResponseDto.<List<EventMobileResponseDto>>builder()
@@ -239,14 +376,22 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, {@code trending} to rank by recent
+     *            engagement or {@code relevance} to rank keyword matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter events
+     * @param tags
+     *            optional tags the news articles must all carry
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
      * @return ResponseEntity containing a paginated list of NewsResponseDto
      */
     @Tag(name = "News", description = "Endpoints for managing and retrieving news-related data.")
+    @ConditionalGet(modules = AppUtils.ModuleType.NEWS)
     @GetMapping("/news")
     @Operation(summary = "Get News", description = "Get a paginated list of news articles based on various filters "
             + "like keyword. Returns a paginated list of news articles.")
@@ -254,11 +399,21 @@ public class MobileController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<NewsEntity> newsPage = newsService.getNews(pageNumber, pageSize, sortBy, direction, keyword);
-        List<NewsEntity> newsEntities = newsPage.getContent();
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor) {
+        if (Objects.nonNull(cursor)) {
+            Slice<NewsEntity> newsSlice = newsService.getNews(cursor, pageSize, direction, keyword, tags);
+            String nextCursor = CursorDto.next(newsSlice, NewsEntity::getCreatedAt, NewsEntity::getNewsId);
+            return ResponseEntity.ok(AppResponseDto.<List<NewsMobileResponseDto>>builder()
+                    .data(newsService.toNewsMobileResponseDto(newsSlice.getContent()))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(newsSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
+        Page<NewsMobileResponseDto> newsPage = newsService.getNewsMobileResponseDtos(pageNumber, pageSize, sortBy,
+                direction, keyword, tags);
         return ResponseEntity.ok(AppResponseDto.<List<NewsMobileResponseDto>>builder()
-                .data(newsService.toNewsMobileResponseDto(newsEntities))
+                .data(newsPage.getContent())
                 .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
                 .pageable(AppResponseDto.buildPageable(newsPage, sortBy, direction)).build());
     }
@@ -295,6 +450,22 @@ public class MobileController {
         return ResponseEntity.ok(builder.message(AppUtils.Messages.UPDATE_SUCCESS.getMessage()).build());
     }
 
+    /**
+     * Removes the like of the current user from a news article.
+     *
+     * @param newsId
+     *            the ID of the news article to unlike
+     * @return ResponseEntity containing the response data
+     */
+    @Tag(name = "News")
+    @DeleteMapping("/news/like/{newsId}")
+    @Operation(summary = "Remove news like", description = "Removes the like of the current user from a news article.")
+    public ResponseEntity<AppResponseDto<Void>> removeNewsLike(@PathVariable UUID newsId) {
+        AppResponseDto.AppResponseDtoBuilder<Void> builder = AppResponseDto.builder();
+        newsService.removeLike(newsId);
+        return ResponseEntity.ok(builder.message(AppUtils.Messages.UPDATE_SUCCESS.getMessage()).build());
+    }
+
     /**
      * Get a paginated list of programs based on various filters like keyword.
      *
@@ -303,25 +474,57 @@ public class MobileController {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@code relevance} to rank keyword
+     *            matches
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter programs
+     * @param tags
+     *            optional tags the programs must all carry
+     * @param cursor
+     *            switches to cursor pagination sorted by creation time when
+     *            present; blank for the first page, then the nextCursor of the
+     *            previous response
+     * @param fields
+     *            an optional comma separated list of the response fields to
+     *            return; the ID is always part of the response
      * @return ResponseEntity containing a paginated list of ProgramResponseDto
      */
     @Tag(name = "Programs", description = "Endpoints for managing and retrieving program-related data.")
+    @ConditionalGet(modules = AppUtils.ModuleType.PROGRAM, userProgress = AppUtils.ModuleType.PROGRAM)
     @GetMapping("/program")
     @Operation(summary = "Get a list of programs", description = "Retrieves a paginated list of programs. Supports filtering by keyword in program name or description.")
     public ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> getProgram(
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<ProgramEntity> programPage = programService.getPrograms(pageNumber, pageSize, sortBy, direction, keyword);
-        List<ProgramEntity> programs = programPage.getContent();
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String fields) {
+        FieldsDto fieldsDto = FieldsDto.parse(fields, ProgramMobileResponseDto.class, "programId");
+        if (Objects.nonNull(cursor)) {
+            Slice<ProgramEntity> programSlice = programService.getPrograms(cursor, pageSize, direction, keyword,
+                    tags);
+            String nextCursor = CursorDto.next(programSlice, ProgramEntity::getCreatedAt, ProgramEntity::getProgramId);
+            return ResponseEntity.ok(AppResponseDto.<List<ProgramMobileResponseDto>>builder()
+                    .data(retain(fieldsDto, programService.toProgramMobileResponseDto(programSlice.getContent())))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(programSlice, nextCursor, CREATED_AT, direction))
+                    .build());
+        }
+        if (Objects.nonNull(fieldsDto) && fieldsDto.isWithin(ProgramCard.FIELDS)
+                && !AppUtils.RELEVANCE.equals(sortBy)) {
+            Page<ProgramCard> programCards = programService.getProgramCards(pageNumber, pageSize, sortBy, direction,
+                    keyword, tags);
+            return ResponseEntity.ok(AppResponseDto.<List<ProgramMobileResponseDto>>builder()
+                    .data(programService.toProgramMobileResponseDto(programCards.getContent(), fieldsDto))
+                    .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                    .pageable(AppResponseDto.buildPageable(programCards, sortBy, direction)).build());
+        }
+        Page<ProgramMobileResponseDto> programPage = programService.getProgramMobileResponseDtos(pageNumber,
+                pageSize, sortBy, direction, keyword, tags);
         return ResponseEntity.ok(AppResponseDto.<List<ProgramMobileResponseDto>>builder()
-                .data(programService.toProgramMobileResponseDto(programs))
+                .data(retain(fieldsDto, programPage.getContent()))
                 .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
                 .pageable(AppResponseDto.buildPageable(programPage, sortBy, direction)).build());
     }
@@ -468,6 +671,53 @@ public class MobileController {
         return ResponseEntity.ok(builder.message(AppUtils.Messages.UPDATE_SUCCESS.getMessage()).build());
     }
 
+    /**
+     * Retrieves the rating breakdown of a practice.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @return a response audit containing the average rating, the number of
+     *         ratings and the ratings per star
+     */
+    @Tag(name = "Practices")
+    @GetMapping("/practice/{practiceId}/ratings")
+    @Operation(summary = "Get Practice Ratings", description = "Get the rating breakdown of a practice by star.")
+    public ResponseEntity<AppResponseDto<RatingHistogramDto>> getPracticeRatings(@PathVariable UUID practiceId) {
+        return ResponseEntity.ok(AppResponseDto.<RatingHistogramDto>builder()
+                .data(practiceService.getRatingHistogram(practiceId))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
+
+    /**
+     * Retrieves the ratings and comments of a practice, newest first.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param pageSize
+     *            the number of reviews per page
+     * @param cursor
+     *            blank for the first page, then the nextCursor of the previous
+     *            response
+     * @return a response audit containing a page of reviews with the names of
+     *         their reviewers
+     */
+    @Tag(name = "Practices")
+    @GetMapping("/practice/{practiceId}/reviews")
+    @Operation(summary = "Get Practice Reviews", description = "Get the ratings and comments of a practice, "
+            + "newest first, with cursor pagination.")
+    public ResponseEntity<AppResponseDto<List<ReviewDto>>> getPracticeReviews(@PathVariable UUID practiceId,
+            @RequestParam(defaultValue = "10") int pageSize, @RequestParam(required = false) String cursor) {
+        Slice<PracticeUserEntity> reviewSlice = practiceService.getReviews(practiceId, cursor, pageSize);
+        String nextCursor = CursorDto.next(reviewSlice,
+                review -> review.getCreatedAt().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                PracticeUserEntity::getPracticeUserId);
+        return ResponseEntity.ok(AppResponseDto.<List<ReviewDto>>builder()
+                .data(practiceService.toReviewDto(reviewSlice.getContent()))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                .pageable(AppResponseDto.buildPageable(reviewSlice, nextCursor, CREATED_AT, Sort.Direction.DESC))
+                .build());
+    }
+
     /**
      * Retrieves a practice user by their ID.
      *
@@ -511,7 +761,8 @@ public class MobileController {
      */
     @Tag(name = "Shorts")
     @PutMapping("/shorts/like/{shortsId}")
-    @Operation(summary = "Update shorts like count", description = "Increments the like count of a shorts entry.")
+    @Operation(summary = "Update shorts like count", description = "Likes a shorts entry for the current user. "
+            + "Liking an entry already liked leaves the like count unchanged.")
     public ResponseEntity<AppResponseDto<Void>> changeLikeCount(@PathVariable UUID shortsId) {
         AppResponseDto.AppResponseDtoBuilder<Void> builder = AppResponseDto.builder();
         shortsService.updateLikeCount(shortsId);
@@ -519,15 +770,33 @@ public class MobileController {
     }
 
     /**
-     * Updates the like count of a shorts' entry.
+     * Removes the like of the current user from a shorts' entry.
      *
      * @param shortsId
-     *            the ID of the shorts to update like count
-     * @return a response audit indicating the result of the like count update
+     *            the ID of the shorts to unlike
+     * @return a response audit indicating the result of the update
+     */
+    @Tag(name = "Shorts")
+    @DeleteMapping("/shorts/like/{shortsId}")
+    @Operation(summary = "Remove shorts like", description = "Removes the like of the current user from a shorts "
+            + "entry.")
+    public ResponseEntity<AppResponseDto<Void>> removeShortsLike(@PathVariable UUID shortsId) {
+        AppResponseDto.AppResponseDtoBuilder<Void> builder = AppResponseDto.builder();
+        shortsService.removeLike(shortsId);
+        return ResponseEntity.ok(builder.message(AppUtils.Messages.UPDATE_SUCCESS.getMessage()).build());
+    }
+
+    /**
+     * Updates the comment of the current user on a shorts' entry.
+     *
+     * @param shortsId
+     *            the ID of the shorts to comment on
+     * @return a response audit indicating the result of the comment update
      */
     @Tag(name = "Shorts")
     @PutMapping("/shorts/comment/{shortsId}")
-    @Operation(summary = "Update shorts like count", description = "Increments the like count of a shorts entry.")
+    @Operation(summary = "Update shorts comment", description = "Sets the comment of the current user on a shorts "
+            + "entry.")
     public ResponseEntity<AppResponseDto<Void>> changeLikeCount(@PathVariable UUID shortsId,
             @RequestParam String comments) {
         AppResponseDto.AppResponseDtoBuilder<Void> builder = AppResponseDto.builder();
@@ -574,6 +843,53 @@ public class MobileController {
         return ResponseEntity.ok(builder.message(AppUtils.Messages.UPDATE_SUCCESS.getMessage()).build());
     }
 
+    /**
+     * Retrieves the rating breakdown of a program.
+     *
+     * @param programId
+     *            the ID of the program
+     * @return a response audit containing the average rating, the number of
+     *         ratings and the ratings per star
+     */
+    @Tag(name = "Programs")
+    @GetMapping("/program/{programId}/ratings")
+    @Operation(summary = "Get Program Ratings", description = "Get the rating breakdown of a program by star.")
+    public ResponseEntity<AppResponseDto<RatingHistogramDto>> getProgramRatings(@PathVariable UUID programId) {
+        return ResponseEntity.ok(AppResponseDto.<RatingHistogramDto>builder()
+                .data(programService.getRatingHistogram(programId))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
+
+    /**
+     * Retrieves the ratings and comments of a program, newest first.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param pageSize
+     *            the number of reviews per page
+     * @param cursor
+     *            blank for the first page, then the nextCursor of the previous
+     *            response
+     * @return a response audit containing a page of reviews with the names of
+     *         their reviewers
+     */
+    @Tag(name = "Programs")
+    @GetMapping("/program/{programId}/reviews")
+    @Operation(summary = "Get Program Reviews", description = "Get the ratings and comments of a program, "
+            + "newest first, with cursor pagination.")
+    public ResponseEntity<AppResponseDto<List<ReviewDto>>> getProgramReviews(@PathVariable UUID programId,
+            @RequestParam(defaultValue = "10") int pageSize, @RequestParam(required = false) String cursor) {
+        Slice<ProgramUserEntity> reviewSlice = programService.getReviews(programId, cursor, pageSize);
+        String nextCursor = CursorDto.next(reviewSlice,
+                review -> review.getCreatedAt().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                ProgramUserEntity::getProgramUserId);
+        return ResponseEntity.ok(AppResponseDto.<List<ReviewDto>>builder()
+                .data(programService.toReviewDto(reviewSlice.getContent()))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage())
+                .pageable(AppResponseDto.buildPageable(reviewSlice, nextCursor, CREATED_AT, Sort.Direction.DESC))
+                .build());
+    }
+
     /**
      * Retrieves a program user by their ID.
      *
@@ -678,18 +994,158 @@ public class MobileController {
         return lessonUserResponseDto;
     }
 
+    /**
+     * Retrieves every home screen section in one call. Sections are loaded
+     * concurrently and a section that misses its deadline is returned empty.
+     *
+     * @return ResponseEntity containing the home screen data
+     */
+    @Tag(name = "Dashboard", description = "Endpoints for retrieving dashboard-related data.")
+    @ConditionalGet(modules = {AppUtils.ModuleType.POEM, AppUtils.ModuleType.PRACTICE, AppUtils.ModuleType.PROGRAM,
+            AppUtils.ModuleType.SHORTS, AppUtils.ModuleType.EVENT, AppUtils.ModuleType.NEWS},
+            userProgress = {AppUtils.ModuleType.PRACTICE, AppUtils.ModuleType.PROGRAM, AppUtils.ModuleType.SHORTS})
+    @GetMapping("/home")
+    @Operation(summary = "Get Home", description = "Get all mobile home screen sections in a single call.")
+    public ResponseEntity<AppResponseDto<HomeMobileResponseDto>> getHome() {
+        AppResponseDto.AppResponseDtoBuilder<HomeMobileResponseDto> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getHome()).build());
+    }
+
+    /**
+     * Retrieves the personalized feed of the user, built from the areas of
+     * interest the user picked. Items the user already completed are left out.
+     *
+     * @param limit
+     *            the maximum number of items
+     * @return ResponseEntity containing the feed items, best match first
+     */
+    @Tag(name = "Dashboard")
+    @GetMapping("/for-you")
+    @Operation(summary = "Get For You Feed", description = "Get practices, programs, shorts and poems matching the "
+            + "areas of interest of the user, best match first.")
+    public ResponseEntity<AppResponseDto<List<ForYouMobileResponseDto>>> getForYou(
+            @RequestParam(defaultValue = "20") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<ForYouMobileResponseDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(forYouService.getFeed(limit)).build());
+    }
+
+    /**
+     * Retrieves the practices and lessons the user left unfinished, with the
+     * position to resume from.
+     *
+     * @param limit
+     *            the maximum number of items
+     * @return ResponseEntity containing the items, most recent first
+     */
+    @Tag(name = "Dashboard")
+    @GetMapping("/continue")
+    @Operation(summary = "Get Continue Items", description = "Get the practices and lessons the user left "
+            + "unfinished, with resume position, program and section names and media URLs.")
+    public ResponseEntity<AppResponseDto<List<ContinueMobileResponseDto>>> getContinueItems(
+            @RequestParam(defaultValue = "10") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<ContinueMobileResponseDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(continueService.getContinueItems(limit)).build());
+    }
+
+    /**
+     * Searches practices, programs, poems, shorts, events and news at once.
+     * Every word of the query also matches the longer words it starts.
+     *
+     * @param q
+     *            the text to search for
+     * @param limit
+     *            the maximum number of items per module
+     * @return ResponseEntity containing the matches grouped by module, the
+     *         module with the best match first
+     */
+    @Tag(name = "Dashboard")
+    @GetMapping("/search")
+    @Operation(summary = "Search", description = "Search the names, tags and descriptions of active practices, "
+            + "programs, poems, shorts, events and news, with ranked results grouped by module.")
+    public ResponseEntity<AppResponseDto<List<SearchMobileResponseDto>>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<SearchMobileResponseDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(searchService.search(q, limit)).build());
+    }
+
+    /**
+     * Suggests content names and tags starting with the typed text, served
+     * from memory so it can be called on every keystroke.
+     *
+     * @param q
+     *            the text typed so far
+     * @param limit
+     *            the maximum number of suggestions
+     * @return ResponseEntity containing the suggestions, most popular first
+     */
+    @Tag(name = "Dashboard")
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete", description = "Suggest content names and tags starting with the typed "
+            + "text, most popular first.")
+    public ResponseEntity<AppResponseDto<List<SuggestionDto>>> autocomplete(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<SuggestionDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(autocompleteService.complete(q, limit)).build());
+    }
+
+    /**
+     * Counts the tags of the active content of a module, to show tag filters
+     * with the number of items behind each.
+     *
+     * @param type
+     *            the module whose tags are counted
+     * @param tags
+     *            optional tags already selected; only the items carrying all
+     *            of them are counted
+     * @param limit
+     *            the maximum number of tags
+     * @return ResponseEntity containing the tags, most used first
+     */
+    @Tag(name = "Dashboard")
+    @ConditionalGet(modules = {AppUtils.ModuleType.PRACTICE, AppUtils.ModuleType.PROGRAM, AppUtils.ModuleType.POEM,
+            AppUtils.ModuleType.SHORTS, AppUtils.ModuleType.NEWS}, signedUrls = false)
+    @GetMapping("/tags")
+    @Operation(summary = "Tag facets", description = "Count the tags of the active content of a module, most "
+            + "used first, optionally within the items carrying the selected tags.")
+    public ResponseEntity<AppResponseDto<List<TagCountDto>>> getTagCounts(@RequestParam AppUtils.ModuleType type,
+            @RequestParam(required = false) Set<String> tags, @RequestParam(defaultValue = "20") int limit) {
+        AppResponseDto.AppResponseDtoBuilder<List<TagCountDto>> builder = AppResponseDto.builder();
+        return ResponseEntity.ok(builder.data(tagService.getTagCounts(type, tags, limit)).build());
+    }
+
+    /**
+     * Streams the content changed since the previous sync. The response carries
+     * the watermark to send as {@code since} on the next sync; when it carries
+     * {@code reset}, the client must replace its local copy with the returned
+     * rows.
+     *
+     * @param since
+     *            the watermark returned by the previous sync, or null for a full
+     *            sync
+     * @return ResponseEntity streaming the changes
+     */
+    @GetMapping(value = "/sync", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Sync Content", description = "Stream the practices, poems, shorts, programs, sections, "
+            + "lessons, events and news created, updated, deactivated or deleted since the given watermark.")
+    public ResponseEntity<StreamingResponseBody> getSync(@RequestParam(required = false) String since) {
+        SyncService.SyncWindow syncWindow = syncService.openWindow(since);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> syncService.write(syncWindow, outputStream));
+    }
+
     /**
      * Retrieves the top 3 items for the mobile dashboard. This includes poems,
      * practices, programs, shorts, and events.
      *
      * @return ResponseEntity containing the dashboard data
      */
-    @Tag(name = "Dashboard", description = "Endpoints for retrieving dashboard-related data.")
+    @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.POEM)
     @GetMapping("/dashboard/poems")
     @Operation(summary = "Get Poem Dashboard", description = "Get the top 3 poems for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<PoemMobileResponseDto>>> getPoemDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<PoemMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getPoemsForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getPoems()).build());
     }
 
     /**
@@ -699,11 +1155,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.PRACTICE, userProgress = AppUtils.ModuleType.PRACTICE)
     @GetMapping("/dashboard/practice")
     @Operation(summary = "Get Practice Dashboard", description = "Get the top 3 practices for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> getPracticeDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<PracticeMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getPracticesForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getPractices()).build());
     }
 
     /**
@@ -712,11 +1169,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.PROGRAM, userProgress = AppUtils.ModuleType.PROGRAM)
     @GetMapping("/dashboard/program")
     @Operation(summary = "Get Program Dashboard", description = "Get the top 3 programs for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> getProgramDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<ProgramMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getProgramsForMobileDashBoard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getPrograms()).build());
     }
 
     /**
@@ -725,11 +1183,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.SHORTS, userProgress = AppUtils.ModuleType.SHORTS)
     @GetMapping("/dashboard/shorts")
     @Operation(summary = "Get Shorts Dashboard", description = "Get the top 3 shorts for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<ShortsMobileResponseDto>>> getShortsDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<ShortsMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getShortsForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getShorts()).build());
     }
 
     /**
@@ -739,11 +1198,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.PRACTICE, userProgress = AppUtils.ModuleType.PRACTICE)
     @GetMapping("/dashboard/practice/recents")
     @Operation(summary = "Get Practice Dashboard", description = "Get the recent practices for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> getPracticeViewedDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<PracticeMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getPracticesViewedForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getRecentPractices()).build());
     }
 
     /**
@@ -752,11 +1212,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.PROGRAM, userProgress = AppUtils.ModuleType.PROGRAM)
     @GetMapping("/dashboard/program/recents")
     @Operation(summary = "Get Program Dashboard", description = "Get the recent programs for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> getProgramViewedDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<ProgramMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getProgramsViewedForMobileDashBoard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getRecentPrograms()).build());
     }
 
     /**
@@ -765,11 +1226,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.SHORTS, userProgress = AppUtils.ModuleType.SHORTS)
     @GetMapping("/dashboard/shorts/recents")
     @Operation(summary = "Get Shorts Dashboard", description = "Get the recent shorts for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<ShortsMobileResponseDto>>> getShortsViewedDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<ShortsMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getShortsViewedForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getRecentShorts()).build());
     }
 
     /**
@@ -778,11 +1240,12 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.EVENT)
     @GetMapping("/dashboard/events")
     @Operation(summary = "Get Event Dashboard", description = "Get the top 3 events for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<EventMobileResponseDto>>> getEventDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<EventMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getEventsForMobileDashboard()).build());
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getEvents()).build());
     }
 
     /**
@@ -791,145 +1254,24 @@ public class MobileController {
      * @return ResponseEntity containing the dashboard data
      */
     @Tag(name = "Dashboard")
+    @ConditionalGet(modules = AppUtils.ModuleType.NEWS)
     @GetMapping("/dashboard/news")
     @Operation(summary = "Get News Dashboard", description = "Get the top 3 News for the mobile dashboard.")
     public ResponseEntity<AppResponseDto<List<NewsMobileResponseDto>>> getNewsDashboard() {
         AppResponseDto.AppResponseDtoBuilder<List<NewsMobileResponseDto>> builder = AppResponseDto.builder();
-        return ResponseEntity.ok(builder.data(getNewsForMobileDashboard()).build());
-    }
-
-    /**
-     * Retrieves the top 3 poems for the mobile dashboard.
-     *
-     * @return a list of PoemResponseDto containing the top 3 poems
-     */
-    private List<PoemMobileResponseDto> getPoemsForMobileDashboard() {
-        return poemService.getTop3Poems().stream()
-                .map(poemEntity -> PoemMobileResponseDto.builder().poemId(poemEntity.getPoemId())
-                        .poemName(poemEntity.getPoemName()).poemIconExternalUrl(poemEntity.getPoemIconExternalUrl())
-                        .poemIconStorageUrl(storageService.getStorageUrl(poemEntity.getPoemStorageId()))
-                        .poemAuthor(poemEntity.getPoemAuthor())
-                        .poemBannerExternalUrl(poemEntity.getPoemBannerExternalUrl())
-                        .poemBannerStorageUrl(storageService.getStorageUrl(poemEntity.getPoemBannerStorageId()))
-                        .poemDescription(poemEntity.getPoemDescription()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 practices for the mobile dashboard.
-     *
-     * @return a list of PracticeResponseDto containing the top 3 practices
-     */
-    private List<PracticeMobileResponseDto> getPracticesForMobileDashboard() {
-        return practiceService.getTop3Practices().stream()
-                .map(practiceEntity -> PracticeMobileResponseDto.builder().practiceId(practiceEntity.getPracticeId())
-                        .practiceName(practiceEntity.getPracticeName())
-                        .practiceIconExternalUrl(practiceEntity.getPracticeIconExternalUrl())
-                        .practiceIconStorageUrl(storageService.getStorageUrl(practiceEntity.getPracticeIconStorageId()))
-                        .practiceDescription(practiceEntity.getPracticeDescription()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 programs for the mobile dashboard.
-     *
-     * @return a list of ProgramResponseDto containing the top 3 programs
-     */
-    private List<ProgramMobileResponseDto> getProgramsForMobileDashBoard() {
-        return programService.getTop3Programs().stream().map(programEntity -> ProgramMobileResponseDto.builder()
-                .programId(programEntity.getProgramId()).programName(programEntity.getProgramName())
-                .programBannerExternalUrl(programEntity.getProgramBannerExternalUrl())
-                .programBannerStorageUrl(storageService.getStorageUrl(programEntity.getProgramBannerStorageId()))
-                .programDescription(programEntity.getProgramDescription()).build()).toList();
+        return ResponseEntity.ok(builder.data(mobileDashboardService.getNews()).build());
     }
 
     /**
-     * Retrieves the top 3 shorts for the mobile dashboard.
+     * Clears the unrequested fields of fully mapped DTOs.
      *
-     * @return a list of ShortsResponseDto containing the top 3 shorts
+     * @param fieldsDto
+     *            the requested fields, or null for every field
+     * @param dtos
+     *            the mapped DTOs
+     * @return the DTOs holding only the requested fields
      */
-    private List<ShortsMobileResponseDto> getShortsForMobileDashboard() {
-        return shortsService.getTop3Shorts().stream()
-                .map(shortsEntity -> ShortsMobileResponseDto.builder().shortsId(shortsEntity.getShortsId())
-                        .shortsName(shortsEntity.getShortsName())
-                        .shortsBannerExternalUrl(shortsEntity.getShortsBannerExternalUrl())
-                        .shortsBannerStorageUrl(storageService.getStorageUrl(shortsEntity.getShortsBannerStorageId()))
-                        .shortsDescription(shortsEntity.getShortsDescription()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 practices for the mobile dashboard.
-     *
-     * @return a list of PracticeResponseDto containing the top 3 practices
-     */
-    private List<PracticeMobileResponseDto> getPracticesViewedForMobileDashboard() {
-        return practiceService.getViewedPractices().stream()
-                .map(practiceEntity -> PracticeMobileResponseDto.builder().practiceId(practiceEntity.getPracticeId())
-                        .practiceName(practiceEntity.getPracticeName())
-                        .practiceIconExternalUrl(practiceEntity.getPracticeIconExternalUrl())
-                        .practiceIconStorageUrl(storageService.getStorageUrl(practiceEntity.getPracticeIconStorageId()))
-                        .practiceDescription(practiceEntity.getPracticeDescription()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 programs for the mobile dashboard.
-     *
-     * @return a list of ProgramResponseDto containing the top 3 programs
-     */
-    private List<ProgramMobileResponseDto> getProgramsViewedForMobileDashBoard() {
-        return programService.getViewedPrograms().stream().map(programEntity -> ProgramMobileResponseDto.builder()
-                .programId(programEntity.getProgramId()).programName(programEntity.getProgramName())
-                .programBannerExternalUrl(programEntity.getProgramBannerExternalUrl())
-                .programBannerStorageUrl(storageService.getStorageUrl(programEntity.getProgramBannerStorageId()))
-                .programDescription(programEntity.getProgramDescription()).build()).toList();
-    }
-
-    /**
-     * Retrieves the top 3 shorts for the mobile dashboard.
-     *
-     * @return a list of ShortsResponseDto containing the top 3 shorts
-     */
-    private List<ShortsMobileResponseDto> getShortsViewedForMobileDashboard() {
-        return shortsService.getViewedShorts().stream()
-                .map(shortsEntity -> ShortsMobileResponseDto.builder().shortsId(shortsEntity.getShortsId())
-                        .shortsName(shortsEntity.getShortsName())
-                        .shortsBannerExternalUrl(shortsEntity.getShortsBannerExternalUrl())
-                        .shortsBannerStorageUrl(storageService.getStorageUrl(shortsEntity.getShortsBannerStorageId()))
-                        .shortsDescription(shortsEntity.getShortsDescription()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 events for the mobile dashboard.
-     *
-     * @return a list of EventMobileResponseDto containing the top 3 events
-     */
-    private List<EventMobileResponseDto> getEventsForMobileDashboard() {
-        return eventService.getTop3Events().stream()
-                .map(event -> EventMobileResponseDto.builder().eventId(event.getEventId())
-                        .eventName(event.getEventName()).eventIconExternalUrl(event.getEventIconExternalUrl())
-                        .eventIconStorageUrl(storageService.getStorageUrl(event.getEventIconStorageId()))
-                        .eventStartDateTime(event.getEventStartDateTime()).eventEndDateTime(event.getEventEndDateTime())
-                        .eventDescription(event.getEventDescription()).addresses(event.getAddresses()).build())
-                .toList();
-    }
-
-    /**
-     * Retrieves the top 3 news for the mobile dashboard.
-     *
-     * @return a list of NewsMobileResponseDto containing the top 3 news
-     */
-    private List<NewsMobileResponseDto> getNewsForMobileDashboard() {
-        return newsService.getTop3News().stream()
-                .map(news -> NewsMobileResponseDto.builder().newsId(news.getNewsId()).newsName(news.getNewsName())
-                        .newsIconExternalUrl(news.getNewsIconExternalUrl())
-                        .newsIconStorageUrl(storageService.getStorageUrl(news.getNewsIconStorageId()))
-                        .newsBannerExternalUrl(news.getNewsBannerExternalUrl())
-                        .newsBannerStorageUrl(storageService.getStorageUrl(news.getNewsBannerStorageId()))
-                        .newsDescription(news.getNewsDescription()).isRecommended(news.getIsRecommended())
-                        .likes(news.getLikes()).views(news.getViews()).build())
-                .toList();
+    private static <T> List<T> retain(FieldsDto fieldsDto, List<T> dtos) {
+        return Objects.isNull(fieldsDto) ? dtos : fieldsDto.retain(dtos);
     }
 }
@@ -0,0 +1,397 @@
+package yoga.irai.server.mobile;
+
+import jakarta.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.event.EventEntity;
+import yoga.irai.server.event.EventService;
+import yoga.irai.server.mobile.dto.*;
+import yoga.irai.server.news.NewsEntity;
+import yoga.irai.server.news.NewsService;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.shorts.ShortsEntity;
+import yoga.irai.server.shorts.ShortsService;
+import yoga.irai.server.storage.StorageService;
+
+/**
+ * Builds the sections of the mobile home screen. The top 3 sections are shared
+ * by every user of an organization and served from the cached
+ * {@link DashboardSnapshot} of the organization; the recently viewed sections
+ * are loaded per user. {@link #getHome()} loads everything concurrently on
+ * virtual threads and signs the storage URLs of the recent sections in a
+ * single pass. Each load holds a database connection, so the loads running at
+ * once across all home requests are capped well below the connection pool;
+ * past the cap, loads wait for a permit within the section deadline.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MobileDashboardService {
+
+    private final NewsService newsService;
+    private final PoemService poemService;
+    private final EventService eventService;
+    private final ShortsService shortsService;
+    private final ProgramService programService;
+    private final StorageService storageService;
+    private final PracticeService practiceService;
+    private final DashboardSnapshotService dashboardSnapshotService;
+
+    @Value("${app.mobile.home.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    /**
+     * Maximum number of home section loads running at once on this node, to
+     * leave most of the connection pool to the other endpoints.
+     */
+    @Value("${app.mobile.home.max-concurrent-loads:4}")
+    private int maxConcurrentLoads;
+
+    private Semaphore loadPermits;
+
+    /**
+     * Creates the permits shared by the home section loads.
+     */
+    @PostConstruct
+    public void createLoadPermits() {
+        loadPermits = new Semaphore(maxConcurrentLoads);
+    }
+
+    /**
+     * Loads every home screen section concurrently. A section that fails or misses
+     * its deadline is returned empty and reported in
+     * {@link HomeMobileResponseDto#getUnavailableSections()}.
+     *
+     * @return the home screen sections
+     */
+    public HomeMobileResponseDto getHome() {
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor());
+        try {
+            Future<DashboardSnapshot> snapshot = executor.submit(limited(this::getSnapshot));
+            Future<List<PracticeEntity>> recentPractices = executor
+                    .submit(limited(practiceService::getViewedPractices));
+            Future<List<ProgramEntity>> recentPrograms = executor.submit(limited(programService::getViewedPrograms));
+            Future<List<ShortsEntity>> recentShorts = executor.submit(limited(shortsService::getViewedShorts));
+            Future<List<EventEntity>> events = executor.submit(limited(eventService::getTop3Events));
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+            List<String> unavailableSections = new ArrayList<>();
+            DashboardSnapshot dashboardSnapshot = await(snapshot, deadline, DashboardSnapshot.empty(),
+                    unavailableSections, "poems", "practices", "programs", "shorts", "news");
+            List<PracticeEntity> recentPracticeEntities = await(recentPractices, deadline, List.of(),
+                    unavailableSections, "recentPractices");
+            List<ProgramEntity> recentProgramEntities = await(recentPrograms, deadline, List.of(),
+                    unavailableSections, "recentPrograms");
+            List<ShortsEntity> recentShortsEntities = await(recentShorts, deadline, List.of(), unavailableSections,
+                    "recentShorts");
+            List<EventEntity> eventEntities = await(events, deadline, List.of(), unavailableSections, "events");
+
+            Map<UUID, String> signedUrls = signUrls(
+                    Stream.of(storageIds(recentPracticeEntities, this::practiceStorageIds),
+                            storageIds(recentProgramEntities, this::programStorageIds),
+                            storageIds(recentShortsEntities, this::shortsStorageIds),
+                            storageIds(eventEntities, this::eventStorageIds)).flatMap(Function.identity()));
+
+            return HomeMobileResponseDto.builder().poems(dashboardSnapshot.poems())
+                    .practices(dashboardSnapshot.practices()).programs(dashboardSnapshot.programs())
+                    .shorts(dashboardSnapshot.shorts())
+                    .recentPractices(toPracticeCards(recentPracticeEntities, signedUrls))
+                    .recentPrograms(toProgramCards(recentProgramEntities, signedUrls))
+                    .recentShorts(toShortsCards(recentShortsEntities, signedUrls))
+                    .events(toEventCards(eventEntities, signedUrls))
+                    .news(dashboardSnapshot.news()).unavailableSections(unavailableSections).build();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Retrieves the top 3 poems for the mobile dashboard.
+     *
+     * @return a list of PoemMobileResponseDto containing the top 3 poems
+     */
+    public List<PoemMobileResponseDto> getPoems() {
+        return getSnapshot().poems();
+    }
+
+    /**
+     * Retrieves the top 3 practices for the mobile dashboard.
+     *
+     * @return a list of PracticeMobileResponseDto containing the top 3 practices
+     */
+    public List<PracticeMobileResponseDto> getPractices() {
+        return getSnapshot().practices();
+    }
+
+    /**
+     * Retrieves the top 3 programs for the mobile dashboard.
+     *
+     * @return a list of ProgramMobileResponseDto containing the top 3 programs
+     */
+    public List<ProgramMobileResponseDto> getPrograms() {
+        return getSnapshot().programs();
+    }
+
+    /**
+     * Retrieves the top 3 shorts for the mobile dashboard.
+     *
+     * @return a list of ShortsMobileResponseDto containing the top 3 shorts
+     */
+    public List<ShortsMobileResponseDto> getShorts() {
+        return getSnapshot().shorts();
+    }
+
+    /**
+     * Retrieves the practices recently viewed by the current user.
+     *
+     * @return a list of PracticeMobileResponseDto containing the recent practices
+     */
+    public List<PracticeMobileResponseDto> getRecentPractices() {
+        List<PracticeEntity> practiceEntities = practiceService.getViewedPractices();
+        return toPracticeCards(practiceEntities, signUrls(storageIds(practiceEntities, this::practiceStorageIds)));
+    }
+
+    /**
+     * Retrieves the programs recently viewed by the current user.
+     *
+     * @return a list of ProgramMobileResponseDto containing the recent programs
+     */
+    public List<ProgramMobileResponseDto> getRecentPrograms() {
+        List<ProgramEntity> programEntities = programService.getViewedPrograms();
+        return toProgramCards(programEntities, signUrls(storageIds(programEntities, this::programStorageIds)));
+    }
+
+    /**
+     * Retrieves the shorts recently viewed by the current user.
+     *
+     * @return a list of ShortsMobileResponseDto containing the recent shorts
+     */
+    public List<ShortsMobileResponseDto> getRecentShorts() {
+        List<ShortsEntity> shortsEntities = shortsService.getViewedShorts();
+        return toShortsCards(shortsEntities, signUrls(storageIds(shortsEntities, this::shortsStorageIds)));
+    }
+
+    /**
+     * Retrieves the top 3 events for the mobile dashboard. Events are picked by
+     * the current time, so they are loaded on every request instead of being kept
+     * in the snapshot.
+     *
+     * @return a list of EventMobileResponseDto containing the top 3 events
+     */
+    public List<EventMobileResponseDto> getEvents() {
+        List<EventEntity> eventEntities = eventService.getTop3Events();
+        return toEventCards(eventEntities, signUrls(storageIds(eventEntities, this::eventStorageIds)));
+    }
+
+    /**
+     * Retrieves the top 3 news for the mobile dashboard.
+     *
+     * @return a list of NewsMobileResponseDto containing the top 3 news
+     */
+    public List<NewsMobileResponseDto> getNews() {
+        return getSnapshot().news();
+    }
+
+    /**
+     * Returns the dashboard snapshot of the organization of the current user.
+     *
+     * @return the dashboard snapshot
+     */
+    private DashboardSnapshot getSnapshot() {
+        return dashboardSnapshotService.getSnapshot(AppUtils.getPrincipalOrgId(), this::buildSnapshot);
+    }
+
+    /**
+     * Loads the top 3 sections of the organization of the current user and signs
+     * their storage URLs in a single pass.
+     *
+     * @return a fresh dashboard snapshot
+     */
+    private DashboardSnapshot buildSnapshot() {
+        List<PoemEntity> poemEntities = poemService.getTop3Poems();
+        List<PracticeEntity> practiceEntities = practiceService.getTop3Practices();
+        List<ProgramEntity> programEntities = programService.getTop3Programs();
+        List<ShortsEntity> shortsEntities = shortsService.getTop3Shorts();
+        List<NewsEntity> newsEntities = newsService.getTop3News();
+
+        Map<UUID, String> signedUrls = signUrls(Stream.of(storageIds(poemEntities, this::poemStorageIds),
+                storageIds(practiceEntities, this::practiceStorageIds),
+                storageIds(programEntities, this::programStorageIds),
+                storageIds(shortsEntities, this::shortsStorageIds), storageIds(newsEntities, this::newsStorageIds))
+                .flatMap(Function.identity()));
+
+        return new DashboardSnapshot(toPoemCards(poemEntities, signedUrls),
+                toPracticeCards(practiceEntities, signedUrls), toProgramCards(programEntities, signedUrls),
+                toShortsCards(shortsEntities, signedUrls), toNewsCards(newsEntities, signedUrls));
+    }
+
+    /**
+     * Wraps a section loader so that it runs only while holding a load permit.
+     * A loader cancelled while waiting for a permit is interrupted and never
+     * runs.
+     *
+     * @param loader
+     *            the section loader
+     * @return the loader holding a permit while it runs
+     */
+    private <T> Callable<T> limited(Callable<T> loader) {
+        return () -> {
+            loadPermits.acquire();
+            try {
+                return loader.call();
+            } finally {
+                loadPermits.release();
+            }
+        };
+    }
+
+    /**
+     * Waits for a section loader until the shared deadline.
+     *
+     * @param future
+     *            the running section loader
+     * @param deadline
+     *            the deadline as a {@link System#nanoTime()} value
+     * @param fallback
+     *            the value returned if the loader fails or times out
+     * @param unavailableSections
+     *            collects the names of sections that failed or timed out
+     * @param sections
+     *            the names of the sections served by the loader
+     * @return the loaded value, or the fallback if the sections are unavailable
+     */
+    private <T> T await(Future<T> future, long deadline, T fallback, List<String> unavailableSections,
+            String... sections) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Home sections {} timed out after {} ms", String.join(", ", sections), sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Home sections {} failed: {}", String.join(", ", sections), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailableSections.addAll(List.of(sections));
+        return fallback;
+    }
+
+    /**
+     * Signs the given storage IDs in a single batch.
+     *
+     * @param storageIds
+     *            the storage IDs to sign, possibly with nulls and duplicates
+     * @return a map of storage ID to signed URL
+     */
+    private Map<UUID, String> signUrls(Stream<UUID> storageIds) {
+        List<UUID> ids = storageIds.filter(Objects::nonNull).distinct().toList();
+        return ids.isEmpty() ? Map.of() : storageService.getSignedStorageUrlByIds(ids);
+    }
+
+    private <T> Stream<UUID> storageIds(List<T> entities, Function<T, Stream<UUID>> extractor) {
+        return entities.stream().flatMap(extractor);
+    }
+
+    private Stream<UUID> poemStorageIds(PoemEntity poemEntity) {
+        return Stream.of(poemEntity.getPoemStorageId(), poemEntity.getPoemBannerStorageId());
+    }
+
+    private Stream<UUID> practiceStorageIds(PracticeEntity practiceEntity) {
+        return Stream.of(practiceEntity.getPracticeIconStorageId());
+    }
+
+    private Stream<UUID> programStorageIds(ProgramEntity programEntity) {
+        return Stream.of(programEntity.getProgramBannerStorageId());
+    }
+
+    private Stream<UUID> shortsStorageIds(ShortsEntity shortsEntity) {
+        return Stream.of(shortsEntity.getShortsBannerStorageId());
+    }
+
+    private Stream<UUID> eventStorageIds(EventEntity eventEntity) {
+        return Stream.of(eventEntity.getEventIconStorageId());
+    }
+
+    private Stream<UUID> newsStorageIds(NewsEntity newsEntity) {
+        return Stream.of(newsEntity.getNewsIconStorageId(), newsEntity.getNewsBannerStorageId());
+    }
+
+    private List<PoemMobileResponseDto> toPoemCards(List<PoemEntity> poemEntities, Map<UUID, String> signedUrls) {
+        return poemEntities.stream()
+                .map(poemEntity -> PoemMobileResponseDto.builder().poemId(poemEntity.getPoemId())
+                        .poemName(poemEntity.getPoemName()).poemIconExternalUrl(poemEntity.getPoemIconExternalUrl())
+                        .poemIconStorageUrl(signedUrls.get(poemEntity.getPoemStorageId()))
+                        .poemAuthor(poemEntity.getPoemAuthor())
+                        .poemBannerExternalUrl(poemEntity.getPoemBannerExternalUrl())
+                        .poemBannerStorageUrl(signedUrls.get(poemEntity.getPoemBannerStorageId()))
+                        .poemDescription(poemEntity.getPoemDescription()).build())
+                .toList();
+    }
+
+    private List<PracticeMobileResponseDto> toPracticeCards(List<PracticeEntity> practiceEntities,
+            Map<UUID, String> signedUrls) {
+        return practiceEntities.stream()
+                .map(practiceEntity -> PracticeMobileResponseDto.builder().practiceId(practiceEntity.getPracticeId())
+                        .practiceName(practiceEntity.getPracticeName())
+                        .practiceIconExternalUrl(practiceEntity.getPracticeIconExternalUrl())
+                        .practiceIconStorageUrl(signedUrls.get(practiceEntity.getPracticeIconStorageId()))
+                        .practiceDescription(practiceEntity.getPracticeDescription()).build())
+                .toList();
+    }
+
+    private List<ProgramMobileResponseDto> toProgramCards(List<ProgramEntity> programEntities,
+            Map<UUID, String> signedUrls) {
+        return programEntities.stream().map(programEntity -> ProgramMobileResponseDto.builder()
+                .programId(programEntity.getProgramId()).programName(programEntity.getProgramName())
+                .programBannerExternalUrl(programEntity.getProgramBannerExternalUrl())
+                .programBannerStorageUrl(signedUrls.get(programEntity.getProgramBannerStorageId()))
+                .programDescription(programEntity.getProgramDescription()).build()).toList();
+    }
+
+    private List<ShortsMobileResponseDto> toShortsCards(List<ShortsEntity> shortsEntities,
+            Map<UUID, String> signedUrls) {
+        return shortsEntities.stream()
+                .map(shortsEntity -> ShortsMobileResponseDto.builder().shortsId(shortsEntity.getShortsId())
+                        .shortsName(shortsEntity.getShortsName())
+                        .shortsBannerExternalUrl(shortsEntity.getShortsBannerExternalUrl())
+                        .shortsBannerStorageUrl(signedUrls.get(shortsEntity.getShortsBannerStorageId()))
+                        .shortsDescription(shortsEntity.getShortsDescription()).build())
+                .toList();
+    }
+
+    private List<EventMobileResponseDto> toEventCards(List<EventEntity> eventEntities, Map<UUID, String> signedUrls) {
+        return eventEntities.stream()
+                .map(event -> EventMobileResponseDto.builder().eventId(event.getEventId())
+                        .eventName(event.getEventName()).eventIconExternalUrl(event.getEventIconExternalUrl())
+                        .eventIconStorageUrl(signedUrls.get(event.getEventIconStorageId()))
+                        .eventStartDateTime(event.getEventStartDateTime()).eventEndDateTime(event.getEventEndDateTime())
+                        .eventDescription(event.getEventDescription()).addresses(event.getAddresses()).build())
+                .toList();
+    }
+
+    private List<NewsMobileResponseDto> toNewsCards(List<NewsEntity> newsEntities, Map<UUID, String> signedUrls) {
+        return newsEntities.stream()
+                .map(news -> NewsMobileResponseDto.builder().newsId(news.getNewsId()).newsName(news.getNewsName())
+                        .newsIconExternalUrl(news.getNewsIconExternalUrl())
+                        .newsIconStorageUrl(signedUrls.get(news.getNewsIconStorageId()))
+                        .newsBannerExternalUrl(news.getNewsBannerExternalUrl())
+                        .newsBannerStorageUrl(signedUrls.get(news.getNewsBannerStorageId()))
+                        .newsDescription(news.getNewsDescription()).isRecommended(news.getIsRecommended())
+                        .likes(news.getLikes()).views(news.getViews()).build())
+                .toList();
+    }
+}
@@ -0,0 +1,57 @@
+package yoga.irai.server.mobile;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils.ModuleType;
+import yoga.irai.server.app.search.ContentIndexService;
+import yoga.irai.server.app.search.ContentIndexService.Hit;
+import yoga.irai.server.mobile.dto.SearchHitMobileResponseDto;
+import yoga.irai.server.mobile.dto.SearchMobileResponseDto;
+import yoga.irai.server.organization.OrganizationService;
+
+/**
+ * Searches practices, programs, poems, shorts, events and news at once for a
+ * mobile user, from the in-memory content indexes, and groups the matches by
+ * module. No query is sent to the database once the indexes are loaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private final ContentIndexService contentIndexService;
+    private final OrganizationService organizationService;
+
+    @Value("${app.mobile.search.max-limit:20}")
+    private int maxLimit;
+
+    /**
+     * Searches the content visible to the current user.
+     *
+     * @param query
+     *            the text typed by the user
+     * @param limit
+     *            the maximum number of items per module, capped by the
+     *            configured maximum
+     * @return the matches grouped by module, the module with the best match
+     *         first
+     */
+    public List<SearchMobileResponseDto> search(String query, int limit) {
+        int size = Math.clamp(limit, 1, maxLimit);
+        List<Hit> hits = contentIndexService.search(query, organizationService.getOrgIdsForMobile());
+        return hits.stream().collect(Collectors.groupingBy(Hit::moduleType, LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream().map(entry -> toGroup(entry.getKey(), entry.getValue(), size)).toList();
+    }
+
+    private static SearchMobileResponseDto toGroup(ModuleType moduleType, List<Hit> hits, int size) {
+        return SearchMobileResponseDto.builder().type(moduleType).total(hits.size())
+                .items(hits.stream().limit(size)
+                        .map(hit -> SearchHitMobileResponseDto.builder().id(hit.id()).name(hit.name())
+                                .score(hit.score()).build())
+                        .toList())
+                .build();
+    }
+}
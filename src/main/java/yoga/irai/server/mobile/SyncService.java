@@ -0,0 +1,412 @@
+package yoga.irai.server.mobile;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.AppUtils.SyncEntityType;
+import yoga.irai.server.app.sync.TombstoneEntity;
+import yoga.irai.server.app.sync.TombstoneRepository;
+import yoga.irai.server.event.EventEntity;
+import yoga.irai.server.event.EventRepository;
+import yoga.irai.server.event.EventService;
+import yoga.irai.server.mobile.dto.SyncChangeDto;
+import yoga.irai.server.news.NewsEntity;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.news.NewsService;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionRepository;
+import yoga.irai.server.program.section.SectionService;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonRepository;
+import yoga.irai.server.program.section.lesson.LessonService;
+import yoga.irai.server.shorts.ShortsEntity;
+import yoga.irai.server.shorts.ShortsRepository;
+import yoga.irai.server.shorts.ShortsService;
+
+/**
+ * Serves delta sync to mobile clients. A sync covers the window between the
+ * watermark of the previous sync and a new watermark, and returns every content
+ * row updated in that window plus the tombstones of rows deleted in it. Each
+ * type is read with keyset range scans on its update time and ID, and written
+ * to the response one bounded chunk at a time, so neither the server nor the
+ * client holds the whole change set in memory.
+ * <p>
+ * The new watermark trails the current time by a short commit lag, so rows
+ * written by transactions still in flight when the window is read are picked
+ * up by the next sync instead of being skipped.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String DELETED_AT = "deletedAt";
+
+    private final ObjectMapper objectMapper;
+    private final NewsService newsService;
+    private final PoemService poemService;
+    private final EventService eventService;
+    private final LessonService lessonService;
+    private final ShortsService shortsService;
+    private final ProgramService programService;
+    private final SectionService sectionService;
+    private final PracticeService practiceService;
+    private final NewsRepository newsRepository;
+    private final PoemRepository poemRepository;
+    private final EventRepository eventRepository;
+    private final LessonRepository lessonRepository;
+    private final ShortsRepository shortsRepository;
+    private final ProgramRepository programRepository;
+    private final SectionRepository sectionRepository;
+    private final PracticeRepository practiceRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final OrganizationService organizationService;
+
+    @Value("${app.sync.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.sync.commit-lag-seconds:10}")
+    private long commitLagSeconds;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Window of a single sync.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param since
+     *            the exclusive lower bound, or null for a full sync
+     * @param upTo
+     *            the inclusive upper bound, returned as the next watermark
+     * @param reset
+     *            whether the client must replace its local copy instead of
+     *            applying the changes to it
+     */
+    public record SyncWindow(Set<UUID> orgIds, LocalDateTime since, LocalDateTime upTo, boolean reset) {
+    }
+
+    /**
+     * Source of the changes of one content type.
+     *
+     * @param type
+     *            the content type
+     * @param fetch
+     *            reads the chunk after the given update time and ID
+     * @param map
+     *            maps the active rows of a chunk to their mobile payloads, in
+     *            order
+     * @param id
+     *            extracts the ID of a row
+     * @param parentId
+     *            extracts the ID of the parent row, if any
+     * @param updatedAt
+     *            extracts the update time of a row
+     * @param active
+     *            returns which rows of a chunk are visible to mobile clients
+     */
+    record SyncSource<E>(SyncEntityType type, BiFunction<LocalDateTime, UUID, List<E>> fetch,
+            Function<List<E>, List<?>> map, Function<E, UUID> id, Function<E, UUID> parentId,
+            Function<E, LocalDateTime> updatedAt, Function<List<E>, Predicate<E>> active) {
+    }
+
+    /**
+     * Opens the window of a sync. Must be called on the request thread, as the
+     * visible organizations are resolved from the principal. A missing
+     * watermark, or one older than the tombstone retention, starts a full sync
+     * of the active rows.
+     *
+     * @param since
+     *            the watermark returned by the previous sync, or null
+     * @return the sync window
+     * @throws yoga.irai.server.app.exception.AppException
+     *             if the watermark is invalid
+     */
+    public SyncWindow openWindow(String since) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime upTo = now.minusSeconds(commitLagSeconds);
+        LocalDateTime from = decodeToken(since);
+        if (Objects.nonNull(from) && from.isBefore(now.minusDays(tombstoneRetentionDays))) {
+            from = null;
+        }
+        if (Objects.nonNull(from) && from.isAfter(upTo)) {
+            upTo = from;
+        }
+        return new SyncWindow(organizationService.getOrgIdsForMobile(), from, upTo, Objects.isNull(from));
+    }
+
+    /**
+     * Writes the changes of a sync window to the given stream as an
+     * {@code AppResponseDto} shaped JSON document.
+     *
+     * @param window
+     *            the window opened by {@link #openWindow(String)}
+     * @param outputStream
+     *            the response stream
+     * @throws IOException
+     *             if the response cannot be written
+     */
+    public void write(SyncWindow window, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("message", AppUtils.Messages.SEARCH_FOUND.getMessage());
+            generator.writeObjectFieldStart("data");
+            generator.writeStringField("nextSince", encodeToken(window.upTo()));
+            generator.writeBooleanField("reset", window.reset());
+            generator.writeArrayFieldStart("changes");
+            for (SyncSource<?> source : getSources(window)) {
+                writeChanges(generator, source);
+            }
+            if (!window.reset()) {
+                writeTombstones(generator, window);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeObjectField("timestamp", ZonedDateTime.now());
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Returns the sources of all content types. A full sync only reads active
+     * rows; a delta sync reads every row so that deactivated ones are returned
+     * as deletes. Sections and lessons follow the status of their program.
+     *
+     * @param window
+     *            the sync window
+     * @return the sources in the order they are written
+     */
+    List<SyncSource<?>> getSources(SyncWindow window) {
+        Set<UUID> orgIds = window.orgIds();
+        LocalDateTime since = window.since();
+        LocalDateTime upTo = window.upTo();
+        boolean full = window.reset();
+        return List.of(
+                new SyncSource<PracticeEntity>(SyncEntityType.PRACTICE,
+                        (afterAt, afterId) -> practiceRepository.findChanged(orgIds,
+                                full ? AppUtils.PracticeStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("practiceId")),
+                        practiceService::toPracticeMobileResponseDto, PracticeEntity::getPracticeId, e -> null,
+                        PracticeEntity::getUpdatedAt,
+                        rows -> e -> AppUtils.PracticeStatus.ACTIVE.equals(e.getPracticeStatus())),
+                new SyncSource<PoemEntity>(SyncEntityType.POEM,
+                        (afterAt, afterId) -> poemRepository.findChanged(orgIds,
+                                full ? AppUtils.PoemStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("poemId")),
+                        poemService::toPoemMobileResponseDto, PoemEntity::getPoemId, e -> null,
+                        PoemEntity::getUpdatedAt, rows -> e -> AppUtils.PoemStatus.ACTIVE.equals(e.getPoemStatus())),
+                new SyncSource<ShortsEntity>(SyncEntityType.SHORTS,
+                        (afterAt, afterId) -> shortsRepository.findChanged(orgIds,
+                                full ? AppUtils.ShortsStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("shortsId")),
+                        shortsService::toShortsMobileResponseDto, ShortsEntity::getShortsId, e -> null,
+                        ShortsEntity::getUpdatedAt,
+                        rows -> e -> AppUtils.ShortsStatus.ACTIVE.equals(e.getShortsStatus())),
+                new SyncSource<ProgramEntity>(SyncEntityType.PROGRAM,
+                        (afterAt, afterId) -> programRepository.findChanged(orgIds,
+                                full ? AppUtils.ProgramStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("programId")),
+                        programService::toProgramMobileResponseDto, ProgramEntity::getProgramId, e -> null,
+                        ProgramEntity::getUpdatedAt,
+                        rows -> e -> AppUtils.ProgramStatus.ACTIVE.equals(e.getProgramStatus())),
+                new SyncSource<SectionEntity>(SyncEntityType.SECTION,
+                        (afterAt, afterId) -> sectionRepository.findChanged(orgIds,
+                                full ? AppUtils.ProgramStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("sectionId")),
+                        sectionService::toSectionMobileResponseDtos, SectionEntity::getSectionId,
+                        SectionEntity::getProgramId, SectionEntity::getUpdatedAt,
+                        activeParents(full, SectionEntity::getProgramId,
+                                programIds -> programRepository.findProgramIdsByStatus(programIds,
+                                        AppUtils.ProgramStatus.ACTIVE))),
+                new SyncSource<LessonEntity>(SyncEntityType.LESSON,
+                        (afterAt, afterId) -> lessonRepository.findChanged(orgIds,
+                                full ? AppUtils.ProgramStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("lessonId")),
+                        lessonService::toLessonMobileResponseDtos, LessonEntity::getLessonId,
+                        LessonEntity::getSectionId, LessonEntity::getUpdatedAt,
+                        activeParents(full, LessonEntity::getSectionId,
+                                sectionIds -> sectionRepository.findSectionIdsByProgramStatus(sectionIds,
+                                        AppUtils.ProgramStatus.ACTIVE))),
+                new SyncSource<EventEntity>(SyncEntityType.EVENT,
+                        (afterAt, afterId) -> eventRepository.findChanged(orgIds,
+                                full ? AppUtils.EventStatus.ACTIVE : null, since, upTo, afterAt, afterId,
+                                chunk("eventId")),
+                        eventService::toEventMobileResponseDto, EventEntity::getEventId, e -> null,
+                        EventEntity::getUpdatedAt, rows -> e -> AppUtils.EventStatus.ACTIVE.equals(e.getEventStatus())),
+                new SyncSource<NewsEntity>(SyncEntityType.NEWS,
+                        (afterAt, afterId) -> newsRepository.findChanged(full ? AppUtils.NewsStatus.ACTIVE : null,
+                                since, upTo, afterAt, afterId, chunk("newsId")),
+                        newsService::toNewsMobileResponseDto, NewsEntity::getNewsId, e -> null,
+                        NewsEntity::getUpdatedAt, rows -> e -> AppUtils.NewsStatus.ACTIVE.equals(e.getNewsStatus())));
+    }
+
+    /**
+     * Returns the visibility of rows that follow the status of their parent. A
+     * full sync only reads rows of active programs, so every row is visible; a
+     * delta sync looks up the active parents of each chunk in one query.
+     *
+     * @param full
+     *            whether the sync is a full sync
+     * @param parentId
+     *            extracts the ID of the parent row
+     * @param activeParentIds
+     *            returns which of the given parent IDs are active
+     * @return the visibility of the rows of a chunk
+     */
+    private static <E> Function<List<E>, Predicate<E>> activeParents(boolean full, Function<E, UUID> parentId,
+            Function<Set<UUID>, Set<UUID>> activeParentIds) {
+        if (full) {
+            return rows -> e -> true;
+        }
+        return rows -> {
+            if (rows.isEmpty()) {
+                return e -> false;
+            }
+            Set<UUID> activeIds = activeParentIds.apply(rows.stream().map(parentId).collect(Collectors.toSet()));
+            return e -> activeIds.contains(parentId.apply(e));
+        };
+    }
+
+    /**
+     * Writes the changes of one content type, chunk by chunk, flushing after
+     * each chunk.
+     *
+     * @param generator
+     *            the JSON generator of the response
+     * @param source
+     *            the source of the content type
+     * @throws IOException
+     *             if the response cannot be written
+     */
+    <E> void writeChanges(JsonGenerator generator, SyncSource<E> source) throws IOException {
+        LocalDateTime afterAt = null;
+        UUID afterId = null;
+        List<E> rows;
+        do {
+            rows = source.fetch().apply(afterAt, afterId);
+            Predicate<E> isActive = source.active().apply(rows);
+            List<E> activeRows = rows.stream().filter(isActive).toList();
+            Iterator<?> payloads = activeRows.isEmpty()
+                    ? List.of().iterator()
+                    : source.map().apply(activeRows).iterator();
+            for (E row : rows) {
+                boolean active = isActive.test(row);
+                generator.writeObject(SyncChangeDto.builder().type(source.type()).id(source.id().apply(row))
+                        .parentId(source.parentId().apply(row))
+                        .operation(active ? AppUtils.SyncOperation.UPSERT : AppUtils.SyncOperation.DELETE)
+                        .updatedAt(source.updatedAt().apply(row)).data(active ? payloads.next() : null).build());
+            }
+            generator.flush();
+            if (!rows.isEmpty()) {
+                afterAt = source.updatedAt().apply(rows.getLast());
+                afterId = source.id().apply(rows.getLast());
+            }
+        } while (rows.size() == chunkSize);
+    }
+
+    /**
+     * Writes the deletes recorded within the window, chunk by chunk.
+     *
+     * @param generator
+     *            the JSON generator of the response
+     * @param window
+     *            the sync window
+     * @throws IOException
+     *             if the response cannot be written
+     */
+    void writeTombstones(JsonGenerator generator, SyncWindow window) throws IOException {
+        LocalDateTime afterAt = null;
+        UUID afterId = null;
+        List<TombstoneEntity> tombstones;
+        do {
+            tombstones = tombstoneRepository.findChanged(window.orgIds(), window.since(), window.upTo(), afterAt,
+                    afterId, PageRequest.of(0, chunkSize, Sort.by(DELETED_AT, "tombstoneId")));
+            for (TombstoneEntity tombstone : tombstones) {
+                generator.writeObject(SyncChangeDto.builder().type(tombstone.getEntityType())
+                        .id(tombstone.getEntityId()).operation(AppUtils.SyncOperation.DELETE)
+                        .updatedAt(tombstone.getDeletedAt()).build());
+            }
+            generator.flush();
+            if (!tombstones.isEmpty()) {
+                afterAt = tombstones.getLast().getDeletedAt();
+                afterId = tombstones.getLast().getTombstoneId();
+            }
+        } while (tombstones.size() == chunkSize);
+    }
+
+    /**
+     * Returns the page request of a chunk, sorted on update time and the given
+     * ID field.
+     *
+     * @param idField
+     *            the ID field of the entity
+     * @return the page request
+     */
+    private Pageable chunk(String idField) {
+        return PageRequest.of(0, chunkSize, Sort.by(UPDATED_AT, idField));
+    }
+
+    /**
+     * Encodes a watermark into an opaque, URL safe token.
+     *
+     * @param upTo
+     *            the watermark
+     * @return the token
+     */
+    static String encodeToken(LocalDateTime upTo) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(upTo.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a watermark sent by a client.
+     *
+     * @param token
+     *            the token, blank for a full sync
+     * @return the watermark, or null for a full sync
+     * @throws yoga.irai.server.app.exception.AppException
+     *             if the token is invalid
+     */
+    static LocalDateTime decodeToken(String token) {
+        if (StringUtils.isBlank(token)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw AppUtils.Messages.INVALID_SYNC_TOKEN.getException();
+        }
+    }
+}
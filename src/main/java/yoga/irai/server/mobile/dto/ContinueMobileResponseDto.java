@@ -0,0 +1,42 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * A practice or lesson the user left unfinished, with the position to resume
+ * from. Lessons also carry the names of their program and section.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ContinueMobileResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6130824477021935186L;
+
+    private AppUtils.ResumeItemType type;
+    private UUID id;
+    private UUID progressId;
+    private String name;
+    private Long duration;
+    private Long resumeTime;
+    private String storageUrl;
+    private String externalUrl;
+    private String bannerStorageUrl;
+    private String bannerExternalUrl;
+    private UUID programId;
+    private String programName;
+    private UUID sectionId;
+    private String sectionName;
+    private ZonedDateTime updatedAt;
+}
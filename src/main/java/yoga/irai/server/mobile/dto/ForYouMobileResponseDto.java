@@ -0,0 +1,30 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * A single item of the personalized feed. The data carries the same payload as
+ * the mobile list endpoint of the module of the item.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ForYouMobileResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2871465302198634712L;
+
+    private AppUtils.ModuleType type;
+    private UUID id;
+    private Double score;
+    private transient Object data;
+}
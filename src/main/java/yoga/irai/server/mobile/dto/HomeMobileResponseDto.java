@@ -0,0 +1,37 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.*;
+
+/**
+ * Composite payload of the mobile home screen. Sections that could not be
+ * loaded before their deadline are returned empty and listed in
+ * {@code unavailableSections} so the client can fall back to the per-section
+ * dashboard endpoints.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class HomeMobileResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4120863318025733541L;
+
+    private List<PoemMobileResponseDto> poems;
+    private List<PracticeMobileResponseDto> practices;
+    private List<ProgramMobileResponseDto> programs;
+    private List<ShortsMobileResponseDto> shorts;
+    private List<PracticeMobileResponseDto> recentPractices;
+    private List<ProgramMobileResponseDto> recentPrograms;
+    private List<ShortsMobileResponseDto> recentShorts;
+    private List<EventMobileResponseDto> events;
+    private List<NewsMobileResponseDto> news;
+    private List<String> unavailableSections;
+}
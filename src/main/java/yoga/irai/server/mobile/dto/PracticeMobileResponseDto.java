@@ -9,7 +9,7 @@ import lombok.*;
 import yoga.irai.server.app.AppUtils;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
 @NoArgsConstructor
@@ -32,8 +32,8 @@ public class PracticeMobileResponseDto implements Serializable {
     private String practiceDescription;
     private Long duration;
     private Set<String> tags;
-    private float rating;
-    private long ratingCount;
+    private Float rating;
+    private Long ratingCount;
     private UUID practiceUserId;
     private AppUtils.PracticeUserStatus practiceUserStatus;
     private Long resumeTime;
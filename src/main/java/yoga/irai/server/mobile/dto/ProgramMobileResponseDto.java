@@ -9,7 +9,7 @@ import lombok.*;
 import yoga.irai.server.app.AppUtils;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
 @NoArgsConstructor
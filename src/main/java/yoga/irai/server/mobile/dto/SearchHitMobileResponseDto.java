@@ -0,0 +1,27 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * A single search result with its relevance score.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchHitMobileResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3391620847125568104L;
+
+    private UUID id;
+    private String name;
+    private Double score;
+}
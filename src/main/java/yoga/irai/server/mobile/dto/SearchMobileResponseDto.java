@@ -0,0 +1,29 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * The search results of one module: the number of matching items and the best
+ * of them, best match first.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchMobileResponseDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4702815391186035527L;
+
+    private AppUtils.ModuleType type;
+    private Integer total;
+    private List<SearchHitMobileResponseDto> items;
+}
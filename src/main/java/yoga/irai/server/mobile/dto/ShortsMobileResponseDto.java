@@ -8,7 +8,7 @@ import java.util.UUID;
 import lombok.*;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @ToString
 @EqualsAndHashCode
 @NoArgsConstructor
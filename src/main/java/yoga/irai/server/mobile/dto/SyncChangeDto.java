@@ -0,0 +1,34 @@
+package yoga.irai.server.mobile.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.*;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * A single change returned by delta sync. Upserts carry the same payload as
+ * the mobile list endpoints; deletes only carry the ID, and are returned both
+ * for deleted rows and for rows that are no longer active.
+ */
+@Data
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SyncChangeDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -5403217730981824416L;
+
+    private AppUtils.SyncEntityType type;
+    private UUID id;
+    private UUID parentId;
+    private AppUtils.SyncOperation operation;
+    private LocalDateTime updatedAt;
+    private transient Object data;
+}
@@ -3,16 +3,21 @@ package yoga.irai.server.news;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
 import yoga.irai.server.app.dto.AppResponseDto;
+import yoga.irai.server.app.dto.UniqueViewersDto;
 
 /**
  * Controller for managing news articles. Provides endpoints to add, update,
@@ -25,6 +30,7 @@ import yoga.irai.server.app.dto.AppResponseDto;
 @Tag(name = "News", description = "APIs for managing news")
 public class NewsController {
     private final NewsService newsService;
+    private final UniqueViewerService uniqueViewerService;
 
     /**
      * Adds a new news article.
@@ -90,6 +96,8 @@ public class NewsController {
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            optional keyword to filter news articles
+     * @param tags
+     *            optional tags the news articles must all carry
      * @return ResponseEntity with a list of news articles
      */
     @GetMapping
@@ -98,8 +106,8 @@ public class NewsController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<NewsEntity> newsPage = newsService.getNews(pageNumber, pageSize, sortBy, direction, keyword);
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags) {
+        Page<NewsEntity> newsPage = newsService.getNews(pageNumber, pageSize, sortBy, direction, keyword, tags);
         List<NewsEntity> newsEntities = newsPage.getContent();
         return ResponseEntity.ok(AppResponseDto.<List<NewsResponseDto>>builder()
                 .data(newsService.toNewsResponseDtos(newsEntities)).message(AppUtils.Messages.SEARCH_FOUND.getMessage())
@@ -150,4 +158,27 @@ public class NewsController {
         return ResponseEntity.ok(AppResponseDto.<List<NewsResponseDto>>builder()
                 .data(newsService.toNewsResponseDtos(newsService.getTopNews())).build());
     }
+
+    /**
+     * Retrieves the approximate number of distinct users who viewed a news
+     * over a date range.
+     *
+     * @param newsId
+     *            the ID of the news
+     * @param from
+     *            the first UTC day, inclusive
+     * @param to
+     *            the last UTC day, inclusive
+     * @return a response audit containing the estimated number of viewers
+     */
+    @GetMapping("/{newsId}/viewers")
+    @Operation(summary = "Get unique viewers", description = "Estimates the distinct viewers of the news over a "
+            + "date range.")
+    public ResponseEntity<AppResponseDto<UniqueViewersDto>> getUniqueViewers(@PathVariable UUID newsId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(AppResponseDto.<UniqueViewersDto>builder()
+                .data(uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.NEWS, newsId, from, to))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
 }
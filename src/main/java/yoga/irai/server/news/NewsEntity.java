@@ -15,7 +15,10 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "news")
+@Table(name = "news", indexes = {
+        @Index(name = "idx_news_created_at_id", columnList = "created_at, news_id"),
+        @Index(name = "idx_news_updated_at_id", columnList = "updated_at, news_id"),
+        @Index(name = "idx_news_trending_score", columnList = "trending_score")})
 public class NewsEntity extends Auditable implements Serializable {
 
     @Serial
@@ -56,6 +59,14 @@ public class NewsEntity extends Auditable implements Serializable {
     @Column(name = "likes")
     private Long likes = 0L;
 
+    /**
+     * Part of {@code likes} made before likes were recorded per user, set once
+     * by the like reconciliation for news created before then.
+     */
+    @Builder.Default
+    @Column(name = "likes_offset")
+    private Long likesOffset = 0L;
+
     @Builder.Default
     @Column(name = "views")
     private Long views = 0L;
@@ -63,6 +74,13 @@ public class NewsEntity extends Auditable implements Serializable {
     @Column(name = "tags")
     private String tags;
 
+    /**
+     * Trending score, written only by the trending service.
+     */
+    @Column(name = "trending_score", insertable = false, updatable = false,
+            columnDefinition = "DOUBLE PRECISION DEFAULT 0 NOT NULL")
+    private Double trending;
+
     @PrePersist
     public void onCreate() {
         this.newsStatus = AppUtils.NewsStatus.ACTIVE;
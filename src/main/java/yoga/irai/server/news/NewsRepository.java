@@ -1,18 +1,44 @@
 package yoga.irai.server.news;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.search.SearchableContent;
+import yoga.irai.server.app.search.TagCount;
 
 @Repository
 public interface NewsRepository extends JpaRepository<NewsEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR n.newsId IN ("
+            + "SELECT x.newsId FROM NewsSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR n.newsName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM NewsSearchEntity x "
+            + "WHERE x.newsId = n.newsId) DESC, n.createdAt DESC";
+
+    /**
+     * Tag filter: the rows carrying every tag of a JSON array, served by the
+     * GIN index of the tag set.
+     */
+    String TAG_CONDITION = "(:tags IS NULL OR n.newsId IN ("
+            + "SELECT x.newsId FROM NewsSearchEntity x WHERE tags_contain(x.tagSet, :tags) = true))";
+
     /**
      * Check if a news entity exists by its name.
      *
@@ -27,12 +53,83 @@ public interface NewsRepository extends JpaRepository<NewsEntity, UUID> {
      *
      * @param keyword
      *            the ID of the news entity
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
      * @return the news entity if found, or null if not found
      */
-    @Query("SELECT n FROM NewsEntity n WHERE " + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE( "
-            + "LOWER(n.newsName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(n.newsDescription) LIKE LOWER(CONCAT('%', :keyword, '%'))) END)")
-    Page<NewsEntity> search(@Param("keyword") String keyword, Pageable pageable);
+    @Query("SELECT n FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION)
+    Page<NewsEntity> search(@Param("keyword") String keyword, @Param("tags") String tags, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, ordered by full-text rank on the keyword
+     * instead of the sort of the pageable.
+     *
+     * @param keyword
+     *            the keyword to search for
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT n FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(n) FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION)
+    Page<NewsEntity> searchRanked(@Param("keyword") String keyword, @Param("tags") String tags, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param keyword
+     *            the keyword to search in news name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<NewsEntity> searchAfter(String keyword, String tags, LocalDateTime cursorCreatedAt, UUID cursorId,
+            boolean ascending, Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(keyword, tags, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(keyword, tags, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(keyword, tags, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT n FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION)
+    Slice<NewsEntity> searchFirst(@Param("keyword") String keyword, @Param("tags") String tags, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT n FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION
+            + " AND (n.createdAt, n.newsId) > (:cursorCreatedAt, :cursorId)")
+    Slice<NewsEntity> searchAfterAscending(@Param("keyword") String keyword, @Param("tags") String tags,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId,
+            Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT n FROM NewsEntity n WHERE " + KEYWORD_CONDITION + " AND " + TAG_CONDITION
+            + " AND (n.createdAt, n.newsId) < (:cursorCreatedAt, :cursorId)")
+    Slice<NewsEntity> searchAfterDescending(@Param("keyword") String keyword, @Param("tags") String tags,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId,
+            Pageable pageable);
 
     /**
      * Retrieve a list of news entities filtered by their news status and ordered by
@@ -55,4 +152,66 @@ public interface NewsRepository extends JpaRepository<NewsEntity, UUID> {
      *         ordered by creation date descending
      */
     List<NewsEntity> findTop3ByNewsStatusOrderByCreatedAtDesc(AppUtils.NewsStatus newsStatus);
+
+    /**
+     * Finds the news rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param status
+     *            the status of the news to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT n FROM NewsEntity n WHERE (:status IS NULL OR n.newsStatus = :status) AND "
+            + "(:since IS NULL OR n.updatedAt > :since) AND n.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "n.updatedAt > :afterAt OR (n.updatedAt = :afterAt AND n.newsId > :afterId))")
+    List<NewsEntity> findChanged(@Param("status") AppUtils.NewsStatus status, @Param("since") LocalDateTime since,
+            @Param("upTo") LocalDateTime upTo, @Param("afterAt") LocalDateTime afterAt,
+            @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the newest news with the given status, for the in-memory search
+     * index.
+     *
+     * @param status
+     *            the status of the news
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the news,
+     *         newest first
+     */
+    @Query("SELECT n.newsId AS id, n.newsName AS name, n.tags AS tags, n.newsDescription AS description, "
+            + "n.createdAt AS createdAt, COALESCE(n.views, 0L) AS popularity FROM NewsEntity n "
+            + "WHERE n.newsStatus = :status ORDER BY n.createdAt DESC")
+    List<SearchableContent> findSearchable(@Param("status") AppUtils.NewsStatus status, Pageable pageable);
+
+    /**
+     * Counts the tags of the news, most used first, for the tag facets and
+     * vocabulary. Served by the GIN index of the tag set when filtered by tags.
+     *
+     * @param status
+     *            the status of the news, or null to include every status
+     * @param tags
+     *            the JSON array of tags every counted row must carry, or null
+     * @param limit
+     *            the maximum number of tags
+     * @return the tags with the number of news carrying them
+     */
+    @Query(value = "SELECT t.tag AS tag, COUNT(*) AS count FROM news x "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(x.tag_set) AS t(tag) "
+            + "WHERE (CAST(:status AS TEXT) IS NULL OR x.news_status = CAST(:status AS TEXT)) "
+            + "AND (CAST(:tags AS JSONB) IS NULL OR x.tag_set @> CAST(:tags AS JSONB)) "
+            + "GROUP BY t.tag ORDER BY 2 DESC, 1 LIMIT :limit", nativeQuery = true)
+    List<TagCount> countTags(@Param("status") String status, @Param("tags") String tags, @Param("limit") int limit);
 }
@@ -1,36 +1,52 @@
 package yoga.irai.server.news;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
+import yoga.irai.server.app.dto.CursorDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.like.LikeService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.trending.TrendingSort;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.NewsMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 @Service
 @AllArgsConstructor
 public class NewsService {
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
-    private final SettingService settingService;
     private final NewsRepository newsRepository;
     private final NotificationService notificationService;
     private final OrganizationService organizationService;
+    private final ViewCounterService viewCounterService;
+    private final UniqueViewerService uniqueViewerService;
+    private final TrendingService trendingService;
+    private final LikeService likeService;
+    private final QueryCacheService queryCacheService;
 
     /**
      * Adds a new news entity to the repository.
@@ -52,9 +68,10 @@ public class NewsService {
         }
         if (ObjectUtils.isNotEmpty(newsRequestDto.getTags())) {
             newsEntity.setTags(AppUtils.writeValueAsString(newsRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.NEWS_TAGS, newsRequestDto.getTags());
         }
-        return newsRepository.save(newsEntity);
+        NewsEntity savedNewsEntity = newsRepository.save(newsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.NEWS, null);
+        return savedNewsEntity;
     }
 
     /**
@@ -97,9 +114,10 @@ public class NewsService {
         }
         if (ObjectUtils.isNotEmpty(newsRequestDto.getTags())) {
             newsEntity.setTags(AppUtils.writeValueAsString(newsRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.NEWS_TAGS, newsRequestDto.getTags());
         }
-        return newsRepository.save(newsEntity);
+        NewsEntity savedNewsEntity = newsRepository.save(newsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.NEWS, null);
+        return savedNewsEntity;
     }
 
     /**
@@ -121,17 +139,89 @@ public class NewsService {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the direction of sorting (ASC or DESC)
      * @param keyword
      *            a keyword to filter news by name or description
+     * @param tags
+     *            optional tags the news must all carry
      * @return a Page containing NewsEntity objects
      */
     public Page<NewsEntity> getNews(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
-            String keyword) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
-        return newsRepository.search(keyword, pageable);
+            String keyword, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "newsId"));
+        return ranked
+                ? newsRepository.searchRanked(keyword, tagFilter, pageable)
+                : newsRepository.search(keyword, tagFilter, pageable);
+    }
+
+    /**
+     * Retrieves a page of news as mobile responses. For mobile users, the page
+     * is served from the query cache, shared by all of them since news is not
+     * bound to an organization.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
+     * @param direction
+     *            the direction of sorting (ASC or DESC)
+     * @param keyword
+     *            a keyword to filter news by name or description
+     * @param tags
+     *            optional tags the news must all carry
+     * @return a Page containing NewsMobileResponseDto objects
+     */
+    public Page<NewsMobileResponseDto> getNewsMobileResponseDtos(int pageNumber, int pageSize, String sortBy,
+            Sort.Direction direction, String keyword, Set<String> tags) {
+        Supplier<Page<NewsMobileResponseDto>> loader = () -> {
+            Page<NewsEntity> newsPage = getNews(pageNumber, pageSize, sortBy, direction, keyword, tags);
+            return new PageImpl<>(toNewsMobileResponseDto(newsPage.getContent()), newsPage.getPageable(),
+                    newsPage.getTotalElements());
+        };
+        if (!AppUtils.UserType.MOBILE_USER.equals(AppUtils.getPrincipalUserType())) {
+            return loader.get();
+        }
+        QueryCacheService.Key key = new QueryCacheService.Key(AppUtils.ModuleType.NEWS, QueryCacheService.MOBILE_VIEW,
+                null, null, keyword, Arrays.asList(AppUtils.toTagFilter(tags)),
+                PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "newsId")));
+        return queryCacheService.get(key, loader).map(dto -> dto.toBuilder().build());
+    }
+
+    /**
+     * Retrieves a slice of news after the given cursor, sorted by creation time.
+     * Unlike {@link #getNews(int, int, String, Sort.Direction, String, Set)}, no
+     * count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            a keyword to filter news by name or description
+     * @param tags
+     *            optional tags the news must all carry
+     * @return a Slice containing NewsEntity objects
+     */
+    public Slice<NewsEntity> getNews(String cursor, int pageSize, Sort.Direction direction, String keyword,
+            Set<String> tags) {
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "newsId"));
+        return newsRepository.searchAfter(keyword, AppUtils.toTagFilter(tags),
+                Objects.isNull(cursorDto) ? null : cursorDto.createdAt(),
+                Objects.isNull(cursorDto) ? null : cursorDto.id(), direction.isAscending(), pageable);
     }
 
     /**
@@ -148,6 +238,8 @@ public class NewsService {
             storageService.deleteStorageByIds(storageIds);
         }
         newsRepository.deleteById(newsId);
+        tombstoneService.record(AppUtils.SyncEntityType.NEWS, newsId, null);
+        contentVersionService.bump(AppUtils.ModuleType.NEWS, null);
     }
 
     /**
@@ -162,6 +254,7 @@ public class NewsService {
         NewsEntity newsEntity = getNewsById(newsId);
         newsEntity.setNewsStatus(status);
         newsRepository.save(newsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.NEWS, null);
         if (AppUtils.NewsStatus.ACTIVE.equals(status)) {
             sendNewsNotification(toNewsResponseDto(newsEntity));
         }
@@ -209,8 +302,7 @@ public class NewsService {
             newsResponseDto.setUpdatedByName(userNamesByIds.get(newsEntity.getUpdatedBy()));
             newsResponseDto.setNewsIconStorageUrl(signedStorageUrlByIds.get(newsEntity.getNewsIconStorageId()));
             newsResponseDto.setNewsBannerStorageUrl(signedStorageUrlByIds.get(newsEntity.getNewsBannerStorageId()));
-            newsResponseDto.setTags(AppUtils.readValue(newsEntity.getTags(), new TypeReference<>() {
-            }));
+            newsResponseDto.setTags(AppUtils.readTags(newsEntity.getTags()));
             return newsResponseDto;
         }).toList();
     }
@@ -232,8 +324,7 @@ public class NewsService {
             newsMobileResponseDto.setNewsIconStorageUrl(signedStorageUrlByIds.get(newsEntity.getNewsIconStorageId()));
             newsMobileResponseDto
                     .setNewsBannerStorageUrl(signedStorageUrlByIds.get(newsEntity.getNewsBannerStorageId()));
-            newsMobileResponseDto.setTags(AppUtils.readValue(newsEntity.getTags(), new TypeReference<>() {
-            }));
+            newsMobileResponseDto.setTags(AppUtils.readTags(newsEntity.getTags()));
             return newsMobileResponseDto;
         }).toList();
     }
@@ -257,27 +348,44 @@ public class NewsService {
     }
 
     /**
-     * Increments the view count of a news entity by 1.
+     * Records a view of a news entity by the current user. The view count, the
+     * distinct viewers and the trending score are updated in the background.
      *
      * @param newsId
      *            the ID of the news entity
      */
     public void updateViewCount(UUID newsId) {
-        NewsEntity newsEntity = getNewsById(newsId);
-        newsEntity.setViews(newsEntity.getViews() + 1);
-        newsRepository.save(newsEntity);
+        viewCounterService.increment(AppUtils.ModuleType.NEWS, newsId);
+        uniqueViewerService.record(AppUtils.ModuleType.NEWS, newsId, AppUtils.getPrincipalUserId());
+        trendingService.record(AppUtils.ModuleType.NEWS, newsId, TrendingService.Signal.VIEW);
     }
 
     /**
-     * Increments the like count of a news entity by 1.
+     * Likes a news entity for the current user. Liking a news entity the user
+     * already likes changes nothing, so retried requests do not inflate the
+     * like count.
      *
      * @param newsId
      *            the ID of the news entity
      */
     public void updateLikeCount(UUID newsId) {
-        NewsEntity newsEntity = getNewsById(newsId);
-        newsEntity.setLikes(newsEntity.getLikes() + 1);
-        newsRepository.save(newsEntity);
+        if (!newsRepository.existsById(newsId)) {
+            throw AppUtils.Messages.NEWS_NOT_FOUND.getException();
+        }
+        likeService.like(AppUtils.ModuleType.NEWS, newsId, AppUtils.getPrincipalUserId());
+    }
+
+    /**
+     * Removes the like of the current user from a news entity, if any.
+     *
+     * @param newsId
+     *            the ID of the news entity
+     */
+    public void removeLike(UUID newsId) {
+        if (!newsRepository.existsById(newsId)) {
+            throw AppUtils.Messages.NEWS_NOT_FOUND.getException();
+        }
+        likeService.unlike(AppUtils.ModuleType.NEWS, newsId, AppUtils.getPrincipalUserId());
     }
 
     /**
@@ -293,8 +401,7 @@ public class NewsService {
         newsResponseDto.setNewsIconStorageUrl(storageService.getStorageUrl(newsEntity.getNewsIconStorageId()));
         newsResponseDto.setCreatedByName(userService.getUserNameById(newsEntity.getCreatedBy()));
         newsResponseDto.setUpdatedByName(userService.getUserNameById(newsEntity.getUpdatedBy()));
-        newsResponseDto.setTags(AppUtils.readValue(newsEntity.getTags(), new TypeReference<>() {
-        }));
+        newsResponseDto.setTags(AppUtils.readTags(newsEntity.getTags()));
         return newsResponseDto;
     }
 }
@@ -15,7 +15,8 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_created_at", columnList = "created_at")})
 public class NotificationEntity extends Auditable implements Serializable {
 
     @Serial
@@ -1,7 +1,27 @@
 package yoga.irai.server.notification;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface NotificationRepository extends JpaRepository<NotificationEntity, UUID> {
+
+    /**
+     * Deletes up to {@code batchSize} notifications created before the cutoff.
+     *
+     * @param cutoff
+     *            notifications created before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notification WHERE notification_id IN (SELECT notification_id FROM notification "
+            + "WHERE created_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteStaleBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,40 @@
+package yoga.irai.server.poem;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Columns of a poem needed by list cards. Leaves out the description, the text
+ * and the tags, which are the large columns of the table.
+ */
+public interface PoemCard {
+
+    /**
+     * Fields of the mobile response that can be built from the card.
+     */
+    Set<String> FIELDS = Set.of("poemId", "poemName", "poemAuthor", "poemDuration", "poemViews", "poemStorageUrl",
+            "poemExternalUrl", "poemIconStorageUrl", "poemIconExternalUrl", "poemBannerStorageUrl",
+            "poemBannerExternalUrl");
+
+    UUID getPoemId();
+
+    String getPoemName();
+
+    String getPoemAuthor();
+
+    Long getPoemDuration();
+
+    Long getPoemViews();
+
+    UUID getPoemStorageId();
+
+    String getPoemExternalUrl();
+
+    UUID getPoemIconStorageId();
+
+    String getPoemIconExternalUrl();
+
+    UUID getPoemBannerStorageId();
+
+    String getPoemBannerExternalUrl();
+}
@@ -3,16 +3,20 @@ package yoga.irai.server.poem;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.*;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
 import yoga.irai.server.app.dto.AppResponseDto;
 import yoga.irai.server.app.dto.TotalDto;
+import yoga.irai.server.app.dto.UniqueViewersDto;
 
 /**
  * Controller for managing poems. Provides endpoints for adding, updating,
@@ -26,6 +30,7 @@ import yoga.irai.server.app.dto.TotalDto;
 public class PoemController {
 
     private final PoemService poemService;
+    private final UniqueViewerService uniqueViewerService;
 
     /**
      * Adds a new poem.
@@ -94,6 +99,8 @@ public class PoemController {
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter poems by title or content
+     * @param tags
+     *            optional tags the poems must all carry
      * @return ResponseEntity containing a list of poems and pagination details
      */
     @GetMapping
@@ -102,8 +109,8 @@ public class PoemController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<PoemEntity> poemPage = poemService.getPoems(pageNumber, pageSize, sortBy, direction, keyword);
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags) {
+        Page<PoemEntity> poemPage = poemService.getPoems(pageNumber, pageSize, sortBy, direction, keyword, tags);
         List<PoemEntity> poems = poemPage.getContent();
         return ResponseEntity.ok(AppResponseDto.<List<PoemResponseDto>>builder()
                 .data(poemService.toPoemResponseDto(poems)).message(AppUtils.Messages.SEARCH_FOUND.getMessage())
@@ -155,4 +162,27 @@ public class PoemController {
         return ResponseEntity.ok(builder.data(TotalDto.builder().total(poemService.getTotalPoems()).build())
                 .message(AppUtils.Messages.POEM_FOUND.getMessage()).build());
     }
+
+    /**
+     * Retrieves the approximate number of distinct users who viewed a poem
+     * over a date range.
+     *
+     * @param poemId
+     *            the ID of the poem
+     * @param from
+     *            the first UTC day, inclusive
+     * @param to
+     *            the last UTC day, inclusive
+     * @return a response audit containing the estimated number of viewers
+     */
+    @GetMapping("/{poemId}/viewers")
+    @Operation(summary = "Get unique viewers", description = "Estimates the distinct viewers of the poem over a "
+            + "date range.")
+    public ResponseEntity<AppResponseDto<UniqueViewersDto>> getUniqueViewers(@PathVariable UUID poemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(AppResponseDto.<UniqueViewersDto>builder()
+                .data(uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.POEM, poemId, from, to))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
 }
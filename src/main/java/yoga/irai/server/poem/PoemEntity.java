@@ -15,7 +15,10 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "poem")
+@Table(name = "poem", indexes = {
+        @Index(name = "idx_poem_created_at_id", columnList = "created_at, poem_id"),
+        @Index(name = "idx_poem_updated_at_id", columnList = "updated_at, poem_id"),
+        @Index(name = "idx_poem_trending_score", columnList = "trending_score")})
 public class PoemEntity extends Auditable implements Serializable {
 
     @Serial
@@ -73,6 +76,13 @@ public class PoemEntity extends Auditable implements Serializable {
     @Column(name = "poem_tags")
     private String poemTags;
 
+    /**
+     * Trending score, written only by the trending service.
+     */
+    @Column(name = "trending_score", insertable = false, updatable = false,
+            columnDefinition = "DOUBLE PRECISION DEFAULT 0 NOT NULL")
+    private Double trending;
+
     @PrePersist
     protected void onCreate() {
         this.poemStatus = AppUtils.PoemStatus.INACTIVE;
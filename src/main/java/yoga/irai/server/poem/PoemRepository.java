@@ -1,24 +1,61 @@
 package yoga.irai.server.poem;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.TaggedContent;
+import yoga.irai.server.app.search.SearchableContent;
+import yoga.irai.server.app.search.TagCount;
 
 @Repository
 public interface PoemRepository extends JpaRepository<PoemEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR p.poemId IN ("
+            + "SELECT x.poemId FROM PoemSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR p.poemName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM PoemSearchEntity x "
+            + "WHERE x.poemId = p.poemId) DESC, p.createdAt DESC";
+
+    /**
+     * Tag filter: the rows carrying every tag of a JSON array, served by the
+     * GIN index of the tag set.
+     */
+    String TAG_CONDITION = "(:tags IS NULL OR p.poemId IN ("
+            + "SELECT x.poemId FROM PoemSearchEntity x WHERE tags_contain(x.tagSet, :tags) = true))";
+
+    /**
+     * Filter shared by the keyword searches of the repository.
+     */
+    String SEARCH_CONDITION = "(:orgIds IS NULL OR p.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR p.poemStatus = :status) AND"
+            + KEYWORD_CONDITION + " AND " + TAG_CONDITION;
+
     /**
      * Search for poems based on keyword, organization IDs, and status.
      *
      * @param keyword
      *            the keyword to search for in poem name, description, text, or
      *            author
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
      * @param orgIds
      *            the set of organization IDs to filter poems by
      * @param status
@@ -27,14 +64,114 @@ public interface PoemRepository extends JpaRepository<PoemEntity, UUID> {
      *            the pagination information
      * @return a page of poems matching the search criteria
      */
-    @Query("SELECT p FROM PoemEntity p WHERE (:orgIds IS NULL OR p.orgId IN :orgIds) AND "
-            + "(:status IS NULL OR p.poemStatus = :status) AND"
-            + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE( "
-            + "LOWER(p.poemName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(p.poemDescription) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(p.poemText) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(p.poemAuthor) LIKE LOWER(CONCAT('%', :keyword, '%'))) END)")
-    Page<PoemEntity> search(String keyword, Set<UUID> orgIds, AppUtils.PoemStatus status, Pageable pageable);
+    @Query("SELECT p FROM PoemEntity p WHERE " + SEARCH_CONDITION)
+    Page<PoemEntity> search(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PoemStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, ordered by full-text rank on the keyword
+     * instead of the sort of the pageable.
+     *
+     * @param keyword
+     *            the keyword to search for
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter poems
+     * @param status
+     *            the status of the poem to filter
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT p FROM PoemEntity p WHERE " + SEARCH_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(p) FROM PoemEntity p WHERE " + SEARCH_CONDITION)
+    Page<PoemEntity> searchRanked(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PoemStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, reading only the columns of a list card.
+     *
+     * @param keyword
+     *            the keyword to search for in poem name, description, text or
+     *            author
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter poems
+     * @param status
+     *            the status of the poem to filter
+     * @param pageable
+     *            the pagination information
+     * @return a page of poem cards
+     */
+    @Query(value = "SELECT p.poemId AS poemId, p.poemName AS poemName, p.poemAuthor AS poemAuthor, "
+            + "p.poemDuration AS poemDuration, p.poemViews AS poemViews, p.poemStorageId AS poemStorageId, "
+            + "p.poemExternalUrl AS poemExternalUrl, p.poemIconStorageId AS poemIconStorageId, "
+            + "p.poemIconExternalUrl AS poemIconExternalUrl, p.poemBannerStorageId AS poemBannerStorageId, "
+            + "p.poemBannerExternalUrl AS poemBannerExternalUrl FROM PoemEntity p WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(p) FROM PoemEntity p WHERE " + SEARCH_CONDITION)
+    Page<PoemCard> searchCards(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PoemStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param keyword
+     *            the keyword to search for in poem name, description, text, or
+     *            author
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter poems by
+     * @param status
+     *            the status of the poems to filter by
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<PoemEntity> searchAfter(String keyword, String tags, Set<UUID> orgIds, AppUtils.PoemStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, boolean ascending, Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(keyword, tags, orgIds, status, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT p FROM PoemEntity p WHERE " + SEARCH_CONDITION)
+    Slice<PoemEntity> searchFirst(String keyword, String tags, Set<UUID> orgIds, AppUtils.PoemStatus status,
+            Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT p FROM PoemEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.poemId) > (:cursorCreatedAt, :cursorId)")
+    Slice<PoemEntity> searchAfterAscending(String keyword, String tags, Set<UUID> orgIds, AppUtils.PoemStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT p FROM PoemEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.poemId) < (:cursorCreatedAt, :cursorId)")
+    Slice<PoemEntity> searchAfterDescending(String keyword, String tags, Set<UUID> orgIds, AppUtils.PoemStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
 
     /**
      * Retrieves a paginated list of poems for a specific organization.
@@ -67,4 +204,88 @@ public interface PoemRepository extends JpaRepository<PoemEntity, UUID> {
      */
     List<PoemEntity> getTop3ByOrgIdAndPoemStatusOrderByCreatedAtDesc(UUID principalOrgId,
             AppUtils.PoemStatus poemStatus);
+
+    /**
+     * Finds the poem rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the poem to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT p FROM PoemEntity p WHERE (:orgIds IS NULL OR p.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR p.poemStatus = :status) AND "
+            + "(:since IS NULL OR p.updatedAt > :since) AND p.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "p.updatedAt > :afterAt OR (p.updatedAt = :afterAt AND p.poemId > :afterId))")
+    List<PoemEntity> findChanged(Set<UUID> orgIds, AppUtils.PoemStatus status, LocalDateTime since,
+            LocalDateTime upTo, LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the tags of the rows of an organization with the given status, for
+     * the candidate lists of the personalized feed.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @return the ID, tags and creation time of the tagged rows
+     */
+    @Query("SELECT p.poemId AS id, p.poemTags AS tags, p.createdAt AS createdAt FROM PoemEntity p "
+            + "WHERE p.orgId = :orgId AND p.poemStatus = :status AND p.poemTags IS NOT NULL")
+    List<TaggedContent> findTagged(UUID orgId, AppUtils.PoemStatus status);
+
+    /**
+     * Returns the newest rows of an organization with the given status, for the
+     * in-memory search index.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the rows,
+     *         newest first
+     */
+    @Query("SELECT p.poemId AS id, p.poemName AS name, p.poemTags AS tags, p.poemDescription AS description, "
+            + "p.createdAt AS createdAt, COALESCE(p.poemViews, 0L) AS popularity FROM PoemEntity p "
+            + "WHERE p.orgId = :orgId AND p.poemStatus = :status ORDER BY p.createdAt DESC")
+    List<SearchableContent> findSearchable(UUID orgId, AppUtils.PoemStatus status, Pageable pageable);
+
+    /**
+     * Counts the tags of the rows of the given organizations, most used first,
+     * for the tag facets and vocabulary. Served by the GIN index of the tag set
+     * when filtered by tags.
+     *
+     * @param orgIds
+     *            the organization IDs
+     * @param status
+     *            the status of the rows, or null to include every status
+     * @param tags
+     *            the JSON array of tags every counted row must carry, or null
+     * @param limit
+     *            the maximum number of tags
+     * @return the tags with the number of rows carrying them
+     */
+    @Query(value = "SELECT t.tag AS tag, COUNT(*) AS count FROM poem x "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(x.tag_set) AS t(tag) WHERE x.org_id IN (:orgIds) "
+            + "AND (CAST(:status AS TEXT) IS NULL OR x.poem_status = CAST(:status AS TEXT)) "
+            + "AND (CAST(:tags AS JSONB) IS NULL OR x.tag_set @> CAST(:tags AS JSONB)) "
+            + "GROUP BY t.tag ORDER BY 2 DESC, 1 LIMIT :limit", nativeQuery = true)
+    List<TagCount> countTags(@Param("orgIds") Set<UUID> orgIds, @Param("status") String status,
+            @Param("tags") String tags, @Param("limit") int limit);
 }
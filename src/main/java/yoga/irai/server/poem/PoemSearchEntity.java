@@ -0,0 +1,49 @@
+package yoga.irai.server.poem;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the search columns of a poem, computed by the database.
+ * They are kept out of {@link PoemEntity} so that reading poems does not
+ * load them; the keyword and tag searches of {@link PoemRepository} filter
+ * and rank through this view instead.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "poem")
+public class PoemSearchEntity {
+
+    @Id
+    @Column(name = "poem_id", nullable = false)
+    private UUID poemId;
+
+    /**
+     * Tags as a JSON array, computed by the database from {@code poem_tags} and
+     * GIN-indexed for tag filters and facets.
+     */
+    @Column(name = "tag_set", insertable = false, updatable = false,
+            columnDefinition = "JSONB GENERATED ALWAYS AS (CAST(NULLIF(poem_tags, '') AS JSONB)) STORED")
+    private String tagSet;
+
+    /**
+     * Weighted full-text search vector of the name, tags, author, description
+     * and text, computed by the database.
+     */
+    @Column(name = "search_vector", insertable = false, updatable = false,
+            columnDefinition = "TSVECTOR GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('simple', COALESCE(poem_name, '')), 'A')"
+                    + " || setweight(to_tsvector('simple', COALESCE(poem_tags, '')), 'B')"
+                    + " || setweight(to_tsvector('simple', COALESCE(poem_author, '')), 'B')"
+                    + " || setweight(to_tsvector('simple', COALESCE(poem_description, '')), 'C')"
+                    + " || setweight(to_tsvector('simple', COALESCE(poem_text, '')), 'D')) STORED")
+    private String searchVector;
+}
@@ -1,25 +1,36 @@
 package yoga.irai.server.poem;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.trending.TrendingSort;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 /**
@@ -28,12 +39,17 @@ import yoga.irai.server.storage.StorageService;
 @Service
 @AllArgsConstructor
 public class PoemService {
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
-    private final SettingService settingService;
     private final PoemRepository poemRepository;
     private final OrganizationService organizationService;
     private final NotificationService notificationService;
+    private final ViewCounterService viewCounterService;
+    private final UniqueViewerService uniqueViewerService;
+    private final TrendingService trendingService;
+    private final QueryCacheService queryCacheService;
 
     /**
      * Adds a new poem.
@@ -49,9 +65,10 @@ public class PoemService {
         PoemEntity poemEntity = AppUtils.map(poemRequestDto, PoemEntity.class);
         if (ObjectUtils.isNotEmpty(poemEntity.getPoemTags())) {
             poemEntity.setPoemTags(AppUtils.writeValueAsString(poemRequestDto.getPoemTags()));
-            settingService.updateSetting(AppUtils.SettingName.POEM_TAGS, poemRequestDto.getPoemTags());
         }
-        return poemRepository.save(poemEntity);
+        PoemEntity savedPoemEntity = poemRepository.save(poemEntity);
+        contentVersionService.bump(AppUtils.ModuleType.POEM, poemEntity.getOrgId());
+        return savedPoemEntity;
     }
 
     /**
@@ -106,9 +123,10 @@ public class PoemService {
         }
         if (ObjectUtils.isNotEmpty(poemEntity.getPoemTags())) {
             poemEntity.setPoemTags(AppUtils.writeValueAsString(poemRequestDto.getPoemTags()));
-            settingService.updateSetting(AppUtils.SettingName.POEM_TAGS, poemRequestDto.getPoemTags());
         }
-        return poemRepository.save(poemEntity);
+        PoemEntity savedPoemEntity = poemRepository.save(poemEntity);
+        contentVersionService.bump(AppUtils.ModuleType.POEM, poemEntity.getOrgId());
+        return savedPoemEntity;
     }
 
     /**
@@ -130,23 +148,141 @@ public class PoemService {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the direction of sorting (ascending or descending)
      * @param keyword
      *            an optional keyword to filter poems by title or content
+     * @param tags
+     *            optional tags the poems must all carry
      * @return a Page containing PoemEntity objects
      */
     public Page<PoemEntity> getPoems(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
-            String keyword) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+            String keyword, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "poemId"));
         Set<UUID> orgIds = new HashSet<>();
         orgIds.add(AppUtils.getPrincipalOrgId());
         return switch (AppUtils.getPrincipalUserType()) {
-            case MOBILE_USER -> poemRepository.search(keyword, organizationService.getOrgIdsForMobile(),
+            case MOBILE_USER -> search(ranked, keyword, tagFilter, organizationService.getOrgIdsForMobile(),
                     AppUtils.PoemStatus.ACTIVE, pageable);
-            case PORTAL_USER -> poemRepository.search(keyword, orgIds, null, pageable);
-            case KEYCLOAK_USER -> poemRepository.search(keyword, null, null, pageable);
+            case PORTAL_USER -> search(ranked, keyword, tagFilter, orgIds, null, pageable);
+            case KEYCLOAK_USER -> search(ranked, keyword, tagFilter, null, null, pageable);
+        };
+    }
+
+    private Page<PoemEntity> search(boolean ranked, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PoemStatus status, Pageable pageable) {
+        return ranked
+                ? poemRepository.searchRanked(keyword, tags, orgIds, status, pageable)
+                : poemRepository.search(keyword, tags, orgIds, status, pageable);
+    }
+
+    /**
+     * Retrieves a page of poems as mobile responses. For mobile users, the page
+     * is served from the query cache, shared by the users of the same
+     * organizations.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            an optional keyword to filter poems by title or content
+     * @param tags
+     *            optional tags the poems must all carry
+     * @return a Page containing PoemMobileResponseDto objects
+     */
+    public Page<PoemMobileResponseDto> getPoemMobileResponseDtos(int pageNumber, int pageSize, String sortBy,
+            Sort.Direction direction, String keyword, Set<String> tags) {
+        Supplier<Page<PoemMobileResponseDto>> loader = () -> {
+            Page<PoemEntity> poemPage = getPoems(pageNumber, pageSize, sortBy, direction, keyword, tags);
+            return new PageImpl<>(toPoemMobileResponseDto(poemPage.getContent()), poemPage.getPageable(),
+                    poemPage.getTotalElements());
+        };
+        if (!AppUtils.UserType.MOBILE_USER.equals(AppUtils.getPrincipalUserType())) {
+            return loader.get();
+        }
+        QueryCacheService.Key key = new QueryCacheService.Key(AppUtils.ModuleType.POEM, QueryCacheService.MOBILE_VIEW,
+                organizationService.getOrgIdsForMobile(), AppUtils.PoemStatus.ACTIVE, keyword,
+                Arrays.asList(AppUtils.toTagFilter(tags)),
+                PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "poemId")));
+        return queryCacheService.get(key, loader).map(dto -> dto.toBuilder().build());
+    }
+
+    /**
+     * Retrieves a page of active poem cards for the mobile feed. Reads only the
+     * columns of {@link PoemCard}.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            a keyword to search poems
+     * @param tags
+     *            optional tags the poems must all carry
+     * @return a Page containing PoemCard objects
+     */
+    public Page<PoemCard> getPoemCards(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
+            String keyword, Set<String> tags) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "poemId"));
+        String tagFilter = AppUtils.toTagFilter(tags);
+        Set<UUID> orgIds = organizationService.getOrgIdsForMobile();
+        return queryCacheService.get(new QueryCacheService.Key(AppUtils.ModuleType.POEM,
+                QueryCacheService.CARD_VIEW, orgIds, AppUtils.PoemStatus.ACTIVE, keyword,
+                Arrays.asList(tagFilter), pageable),
+                () -> poemRepository.searchCards(keyword, tagFilter, orgIds, AppUtils.PoemStatus.ACTIVE, pageable));
+    }
+
+    /**
+     * Retrieves a slice of poems after the given cursor, sorted by creation time.
+     * Unlike {@link #getPoems(int, int, String, Sort.Direction, String, Set)},
+     * no count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            an optional keyword to filter poems by title or content
+     * @param tags
+     *            optional tags the poems must all carry
+     * @return a Slice containing PoemEntity objects
+     */
+    public Slice<PoemEntity> getPoems(String cursor, int pageSize, Sort.Direction direction, String keyword,
+            Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        LocalDateTime cursorCreatedAt = Objects.isNull(cursorDto) ? null : cursorDto.createdAt();
+        UUID cursorId = Objects.isNull(cursorDto) ? null : cursorDto.id();
+        boolean ascending = direction.isAscending();
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "poemId"));
+        Set<UUID> orgIds = new HashSet<>();
+        orgIds.add(AppUtils.getPrincipalOrgId());
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> poemRepository.searchAfter(keyword, tagFilter, organizationService.getOrgIdsForMobile(),
+                    AppUtils.PoemStatus.ACTIVE, cursorCreatedAt, cursorId, ascending, pageable);
+            case PORTAL_USER -> poemRepository.searchAfter(keyword, tagFilter, orgIds, null, cursorCreatedAt, cursorId,
+                    ascending, pageable);
+            case KEYCLOAK_USER -> poemRepository.searchAfter(keyword, tagFilter, null, null, cursorCreatedAt, cursorId,
+                    ascending, pageable);
         };
     }
 
@@ -164,6 +300,8 @@ public class PoemService {
             storageService.deleteStorageByIds(storageIds);
         }
         poemRepository.deleteById(poemId);
+        tombstoneService.record(AppUtils.SyncEntityType.POEM, poemId, poemEntity.getOrgId());
+        contentVersionService.bump(AppUtils.ModuleType.POEM, poemEntity.getOrgId());
     }
 
     /**
@@ -178,21 +316,23 @@ public class PoemService {
         PoemEntity poemEntity = getPoemById(poemId);
         poemEntity.setPoemStatus(status);
         poemRepository.save(poemEntity);
+        contentVersionService.bump(AppUtils.ModuleType.POEM, poemEntity.getOrgId());
         if (AppUtils.PoemStatus.ACTIVE.equals(status)) {
             sendPoemNotification(getPoemResponseDto(poemEntity));
         }
     }
 
     /**
-     * Updates the view count of a poem.
+     * Records a view of a poem by the current user. The view count, the
+     * distinct viewers and the trending score are updated in the background.
      *
      * @param poemId
      *            the ID of the poem to update
      */
     public void updateViewCount(UUID poemId) {
-        PoemEntity poemEntity = getPoemById(poemId);
-        poemEntity.setPoemViews(poemEntity.getPoemViews() + 1);
-        poemRepository.save(poemEntity);
+        viewCounterService.increment(AppUtils.ModuleType.POEM, poemId);
+        uniqueViewerService.record(AppUtils.ModuleType.POEM, poemId, AppUtils.getPrincipalUserId());
+        trendingService.record(AppUtils.ModuleType.POEM, poemId, TrendingService.Signal.VIEW);
     }
 
     /**
@@ -256,8 +396,7 @@ public class PoemService {
         poemResponseDto.setPoemBannerStorageUrl(storageService.getStorageUrl(poemEntity.getPoemBannerStorageId()));
         poemResponseDto.setCreatedByName(userService.getUserNameById(poemEntity.getCreatedBy()));
         poemResponseDto.setUpdatedByName(userService.getUserNameById(poemEntity.getUpdatedBy()));
-        poemResponseDto.setPoemTags(AppUtils.readValue(poemEntity.getPoemTags(), new TypeReference<>() {
-        }));
+        poemResponseDto.setPoemTags(AppUtils.readTags(poemEntity.getPoemTags()));
         return poemResponseDto;
     }
 
@@ -283,8 +422,7 @@ public class PoemService {
             poemResponseDto.setPoemStorageUrl(signedStorageUrlByIds.get(poemEntity.getPoemStorageId()));
             poemResponseDto.setPoemIconStorageUrl(signedStorageUrlByIds.get(poemEntity.getPoemIconStorageId()));
             poemResponseDto.setPoemBannerStorageUrl(signedStorageUrlByIds.get(poemEntity.getPoemBannerStorageId()));
-            poemResponseDto.setPoemTags(AppUtils.readValue(poemEntity.getPoemTags(), new TypeReference<>() {
-            }));
+            poemResponseDto.setPoemTags(AppUtils.readTags(poemEntity.getPoemTags()));
             return poemResponseDto;
         }).toList();
     }
@@ -308,9 +446,42 @@ public class PoemService {
             poemMobileResponseDto.setPoemStorageUrl(signedStorageUrlByIds.get(poemEntity.getPoemStorageId()));
             poemMobileResponseDto
                     .setPoemBannerStorageUrl(signedStorageUrlByIds.get(poemEntity.getPoemBannerStorageId()));
-            poemMobileResponseDto.setPoemTags(AppUtils.readValue(poemEntity.getPoemTags(), new TypeReference<>() {
-            }));
+            poemMobileResponseDto.setPoemTags(AppUtils.readTags(poemEntity.getPoemTags()));
             return poemMobileResponseDto;
         }).toList();
     }
+
+    /**
+     * Converts poem cards to PoemMobileResponseDto objects holding only the
+     * requested fields. Storage URLs are signed only when their fields are
+     * requested.
+     *
+     * @param poemCards
+     *            the poem cards to convert
+     * @param fields
+     *            the requested fields
+     * @return a list of PoemMobileResponseDto objects
+     */
+    public List<PoemMobileResponseDto> toPoemMobileResponseDto(List<PoemCard> poemCards, FieldsDto fields) {
+        List<UUID> storageIds = poemCards.stream()
+                .flatMap(poemCard -> Stream.of(fields.pick("poemStorageUrl", poemCard::getPoemStorageId),
+                        fields.pick("poemIconStorageUrl", poemCard::getPoemIconStorageId),
+                        fields.pick("poemBannerStorageUrl", poemCard::getPoemBannerStorageId)))
+                .filter(Objects::nonNull).distinct().toList();
+        Map<UUID, String> signedStorageUrlByIds = storageIds.isEmpty()
+                ? Collections.emptyMap()
+                : storageService.getSignedStorageUrlByIds(storageIds);
+        return poemCards.stream().map(poemCard -> PoemMobileResponseDto.builder().poemId(poemCard.getPoemId())
+                .poemName(fields.pick("poemName", poemCard::getPoemName))
+                .poemAuthor(fields.pick("poemAuthor", poemCard::getPoemAuthor))
+                .poemDuration(fields.pick("poemDuration", poemCard::getPoemDuration))
+                .poemViews(fields.pick("poemViews", poemCard::getPoemViews))
+                .poemStorageUrl(signedStorageUrlByIds.get(poemCard.getPoemStorageId()))
+                .poemExternalUrl(fields.pick("poemExternalUrl", poemCard::getPoemExternalUrl))
+                .poemIconStorageUrl(signedStorageUrlByIds.get(poemCard.getPoemIconStorageId()))
+                .poemIconExternalUrl(fields.pick("poemIconExternalUrl", poemCard::getPoemIconExternalUrl))
+                .poemBannerStorageUrl(signedStorageUrlByIds.get(poemCard.getPoemBannerStorageId()))
+                .poemBannerExternalUrl(fields.pick("poemBannerExternalUrl", poemCard::getPoemBannerExternalUrl))
+                .build()).toList();
+    }
 }
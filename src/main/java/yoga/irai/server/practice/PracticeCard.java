@@ -0,0 +1,42 @@
+package yoga.irai.server.practice;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Columns of a practice needed by list cards. Leaves out the description and
+ * the tags, which are the large columns of the table.
+ */
+public interface PracticeCard {
+
+    /**
+     * Fields of the mobile response that can be built from the card.
+     */
+    Set<String> FIELDS = Set.of("practiceId", "practiceName", "practiceCategoryName", "practiceIconStorageUrl",
+            "practiceIconExternalUrl", "practiceBannerStorageUrl", "practiceBannerExternalUrl", "practiceStorageUrl",
+            "practiceExternalUrl", "duration", "rating", "ratingCount", "practiceUserId", "practiceUserStatus");
+
+    UUID getPracticeId();
+
+    String getPracticeName();
+
+    UUID getPracticeCategoryId();
+
+    UUID getPracticeIconStorageId();
+
+    String getPracticeIconExternalUrl();
+
+    UUID getPracticeBannerStorageId();
+
+    String getPracticeBannerExternalUrl();
+
+    UUID getPracticeStorageId();
+
+    String getPracticeExternalUrl();
+
+    Long getDuration();
+
+    Float getRating();
+
+    Long getRatingCount();
+}
@@ -3,16 +3,20 @@ package yoga.irai.server.practice;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.*;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
 import yoga.irai.server.app.dto.AppResponseDto;
 import yoga.irai.server.app.dto.TotalDto;
+import yoga.irai.server.app.dto.UniqueViewersDto;
 
 /**
  * Controller for managing practices.
@@ -24,6 +28,7 @@ import yoga.irai.server.app.dto.TotalDto;
 @Tag(name = "Practice Management", description = "APIs for managing practices, including creation, retrieval, update and delete")
 public class PracticeController {
     private final PracticeService practiceService;
+    private final UniqueViewerService uniqueViewerService;
 
     /**
      * @param practiceRequestDto
@@ -92,6 +97,8 @@ public class PracticeController {
      *            - the sort direction (ASC or DESC)
      * @param categoryId
      *            - the category ID to filter practices by
+     * @param tags
+     *            - the tags the practices must all carry
      * @return ResponseEntity with a list of PracticeResponseDto
      */
     @GetMapping
@@ -100,10 +107,11 @@ public class PracticeController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword, @RequestParam(required = false) UUID categoryId) {
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) Set<String> tags) {
 
         Page<PracticeEntity> practicePage = practiceService.getPractices(pageNumber, pageSize, sortBy, direction,
-                keyword, categoryId);
+                keyword, categoryId, tags);
         List<PracticeEntity> practices = practicePage.getContent();
         return ResponseEntity.ok(AppResponseDto.<List<PracticeResponseDto>>builder()
                 .data(practiceService.toPracticeResponseDto(practices))
@@ -158,4 +166,26 @@ public class PracticeController {
                 .message(AppUtils.Messages.PRACTICE_FOUND.getMessage()).build());
     }
 
+    /**
+     * Retrieves the approximate number of distinct users who viewed a practice
+     * over a date range.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param from
+     *            the first UTC day, inclusive
+     * @param to
+     *            the last UTC day, inclusive
+     * @return a response audit containing the estimated number of viewers
+     */
+    @GetMapping("/{practiceId}/viewers")
+    @Operation(summary = "Get unique viewers", description = "Estimates the distinct viewers of the practice over a "
+            + "date range.")
+    public ResponseEntity<AppResponseDto<UniqueViewersDto>> getUniqueViewers(@PathVariable UUID practiceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(AppResponseDto.<UniqueViewersDto>builder()
+                .data(uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.PRACTICE, practiceId, from, to))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
 }
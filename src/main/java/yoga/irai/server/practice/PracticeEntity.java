@@ -15,7 +15,10 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "practice")
+@Table(name = "practice", indexes = {
+        @Index(name = "idx_practice_created_at_id", columnList = "created_at, practice_id"),
+        @Index(name = "idx_practice_updated_at_id", columnList = "updated_at, practice_id"),
+        @Index(name = "idx_practice_trending_score", columnList = "trending_score")})
 public class PracticeEntity extends Auditable implements Serializable {
 
     @Serial
@@ -66,12 +69,40 @@ public class PracticeEntity extends Auditable implements Serializable {
     @Column(name = "tags")
     private String tags;
 
-    @Column(name = "rating")
+    /**
+     * Rating aggregates, written only by the atomic updates of the repository.
+     */
+    @Column(name = "rating", insertable = false, updatable = false)
     private Float rating;
 
-    @Column(name = "rating_count")
+    @Column(name = "rating_count", insertable = false, updatable = false)
     private Long ratingCount;
 
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Double ratingSum;
+
+    @Column(name = "rating_star_1", insertable = false, updatable = false)
+    private Long ratingStar1;
+
+    @Column(name = "rating_star_2", insertable = false, updatable = false)
+    private Long ratingStar2;
+
+    @Column(name = "rating_star_3", insertable = false, updatable = false)
+    private Long ratingStar3;
+
+    @Column(name = "rating_star_4", insertable = false, updatable = false)
+    private Long ratingStar4;
+
+    @Column(name = "rating_star_5", insertable = false, updatable = false)
+    private Long ratingStar5;
+
+    /**
+     * Trending score, written only by the trending service.
+     */
+    @Column(name = "trending_score", insertable = false, updatable = false,
+            columnDefinition = "DOUBLE PRECISION DEFAULT 0 NOT NULL")
+    private Double trending;
+
     @PrePersist
     protected void onCreate() {
         this.practiceStatus = AppUtils.PracticeStatus.INACTIVE;
@@ -1,18 +1,99 @@
 package yoga.irai.server.practice;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.TaggedContent;
+import yoga.irai.server.app.search.SearchableContent;
+import yoga.irai.server.app.search.TagCount;
 
 @Repository
 public interface PracticeRepository extends JpaRepository<PracticeEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR p.practiceId IN ("
+            + "SELECT x.practiceId FROM PracticeSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR p.practiceName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM PracticeSearchEntity x "
+            + "WHERE x.practiceId = p.practiceId) DESC, p.createdAt DESC";
+
+    /**
+     * Tag filter: the rows carrying every tag of a JSON array, served by the
+     * GIN index of the tag set.
+     */
+    String TAG_CONDITION = "(:tags IS NULL OR p.practiceId IN ("
+            + "SELECT x.practiceId FROM PracticeSearchEntity x WHERE tags_contain(x.tagSet, :tags) = true))";
+
+    /**
+     * Filter shared by the keyword searches of the repository.
+     */
+    String SEARCH_CONDITION = "(:categoryId IS NULL OR p.practiceCategoryId = :categoryId) AND "
+            + KEYWORD_CONDITION + " AND "
+            + "(:orgIds IS NULL OR p.orgId IN :orgIds) AND (:status IS NULL OR p.practiceStatus = :status) AND "
+            + TAG_CONDITION;
+
+    /**
+     * Star bucket of a user rating {@code u.rating}, the rating rounded half up
+     * and kept within 1 and 5, as in {@link AppUtils#toRatingStar(Float)}.
+     */
+    String RATING_STAR = "LEAST(GREATEST(ROUND(CAST(u.rating AS NUMERIC)), 1), 5)";
+
+    /**
+     * Recomputes the rating aggregates and star buckets of practices from the
+     * ratings of their users, completed by a filter on {@code r} and
+     * {@link #RATING_CHANGED}.
+     */
+    String RATING_REPAIR = "UPDATE practice x SET rating_sum = a.rating_sum, rating_count = a.rating_count, "
+            + "rating = CASE WHEN a.rating_count > 0 THEN a.rating_sum / a.rating_count ELSE 0 END, "
+            + "rating_star_1 = a.s1, rating_star_2 = a.s2, rating_star_3 = a.s3, rating_star_4 = a.s4, "
+            + "rating_star_5 = a.s5 FROM (SELECT r.practice_id, "
+            + "COALESCE(SUM(CAST(u.rating AS DOUBLE PRECISION)), 0) AS rating_sum, COUNT(u.rating) AS rating_count, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 1) AS s1, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 2) AS s2, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 3) AS s3, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 4) AS s4, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 5) AS s5 FROM practice r "
+            + "LEFT JOIN practice_user u ON u.practice_id = r.practice_id ";
+
+    /**
+     * End of {@link #RATING_REPAIR}, keeping only the rows whose aggregates
+     * changed.
+     */
+    String RATING_CHANGED = "GROUP BY r.practice_id) a WHERE x.practice_id = a.practice_id "
+            + "AND (x.rating_sum, x.rating_count, x.rating_star_1, x.rating_star_2, x.rating_star_3, x.rating_star_4, "
+            + "x.rating_star_5) IS DISTINCT FROM (a.rating_sum, a.rating_count, a.s1, a.s2, a.s3, a.s4, a.s5)";
+
+    /**
+     * Moves one rating between the star buckets of {@link #addRating}, where
+     * star 0 stands for no rating.
+     */
+    String RATING_STARS = "rating_star_1 = rating_star_1 + CAST(:addedStar = 1 AS INTEGER) "
+            + "- CAST(:removedStar = 1 AS INTEGER), rating_star_2 = rating_star_2 + CAST(:addedStar = 2 AS INTEGER) "
+            + "- CAST(:removedStar = 2 AS INTEGER), rating_star_3 = rating_star_3 + CAST(:addedStar = 3 AS INTEGER) "
+            + "- CAST(:removedStar = 3 AS INTEGER), rating_star_4 = rating_star_4 + CAST(:addedStar = 4 AS INTEGER) "
+            + "- CAST(:removedStar = 4 AS INTEGER), rating_star_5 = rating_star_5 + CAST(:addedStar = 5 AS INTEGER) "
+            + "- CAST(:removedStar = 5 AS INTEGER) ";
+
     /**
      * Finds a practice by its ID.
      *
@@ -21,6 +102,8 @@ public interface PracticeRepository extends JpaRepository<PracticeEntity, UUID>
      *
      * @param keyword
      *            the keyword to search for in practice name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
      * @param orgIds
      *            the set of organization IDs to filter practices
      * @param status
@@ -30,14 +113,123 @@ public interface PracticeRepository extends JpaRepository<PracticeEntity, UUID>
      *
      * @return the found PracticeEntity, or null if not found
      */
-    @Query("SELECT p FROM PracticeEntity p WHERE " + "(:categoryId IS NULL OR p.practiceCategoryId = :categoryId) AND "
-            + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE "
-            + "(LOWER(p.practiceName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(p.practiceDescription) LIKE LOWER(CONCAT('%', :keyword, '%'))) END) AND "
-            + "(:orgIds IS NULL OR p.orgId IN :orgIds) AND " + "(:status IS NULL OR p.practiceStatus = :status)")
-    Page<PracticeEntity> searchDynamic(UUID categoryId, String keyword, Set<UUID> orgIds,
+    @Query("SELECT p FROM PracticeEntity p WHERE " + SEARCH_CONDITION)
+    Page<PracticeEntity> searchDynamic(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #searchDynamic}, ordered by full-text rank on the
+     * keyword instead of the sort of the pageable.
+     *
+     * @param categoryId
+     *            the ID of the practiceCategory to filter by
+     * @param keyword
+     *            the keyword to search for
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter practices
+     * @param status
+     *            the status of the practice to filter
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT p FROM PracticeEntity p WHERE " + SEARCH_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(p) FROM PracticeEntity p WHERE " + SEARCH_CONDITION)
+    Page<PracticeEntity> searchRanked(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #searchDynamic}, reading only the columns of a list
+     * card.
+     *
+     * @param categoryId
+     *            the ID of the practiceCategory to filter by
+     * @param keyword
+     *            the keyword to search for in practice name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter practices
+     * @param status
+     *            the status of the practice to filter
+     * @param pageable
+     *            the pagination information
+     * @return a page of practice cards
+     */
+    @Query(value = "SELECT p.practiceId AS practiceId, p.practiceName AS practiceName, "
+            + "p.practiceCategoryId AS practiceCategoryId, p.practiceIconStorageId AS practiceIconStorageId, "
+            + "p.practiceIconExternalUrl AS practiceIconExternalUrl, "
+            + "p.practiceBannerStorageId AS practiceBannerStorageId, "
+            + "p.practiceBannerExternalUrl AS practiceBannerExternalUrl, p.practiceStorageId AS practiceStorageId, "
+            + "p.practiceExternalUrl AS practiceExternalUrl, p.duration AS duration, p.rating AS rating, "
+            + "p.ratingCount AS ratingCount FROM PracticeEntity p WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(p) FROM PracticeEntity p WHERE " + SEARCH_CONDITION)
+    Page<PracticeCard> searchCards(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #searchDynamic}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param categoryId
+     *            the ID of the practiceCategory to filter by
+     * @param keyword
+     *            the keyword to search for in practice name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter practices
+     * @param status
+     *            the status of the practice to filter
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<PracticeEntity> searchAfter(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, boolean ascending,
+            Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(categoryId, keyword, tags, orgIds, status, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(categoryId, keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(categoryId, keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT p FROM PracticeEntity p WHERE " + SEARCH_CONDITION)
+    Slice<PracticeEntity> searchFirst(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
             AppUtils.PracticeStatus status, Pageable pageable);
 
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT p FROM PracticeEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.practiceId) > (:cursorCreatedAt, :cursorId)")
+    Slice<PracticeEntity> searchAfterAscending(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT p FROM PracticeEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.practiceId) < (:cursorCreatedAt, :cursorId)")
+    Slice<PracticeEntity> searchAfterDescending(UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
     /**
      * Checks if a practice with the given name exists.
      *
@@ -56,6 +248,16 @@ public interface PracticeRepository extends JpaRepository<PracticeEntity, UUID>
      */
     Long countByOrgId(UUID orgId);
 
+    /**
+     * Returns the organization of a practice.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @return the organization ID, or empty if the practice does not exist
+     */
+    @Query("SELECT p.orgId FROM PracticeEntity p WHERE p.practiceId = :practiceId")
+    Optional<UUID> findOrgIdByPracticeId(@Param("practiceId") UUID practiceId);
+
     /**
      * Finds the top 3 practices by organization ID and practice status, ordered by
      * creation date in descending order.
@@ -68,4 +270,140 @@ public interface PracticeRepository extends JpaRepository<PracticeEntity, UUID>
      */
     List<PracticeEntity> getTop3ByOrgIdAndPracticeStatusOrderByCreatedAtDesc(UUID principalOrgId,
             AppUtils.PracticeStatus status);
+
+    /**
+     * Finds the practice rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the practice to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT p FROM PracticeEntity p WHERE (:orgIds IS NULL OR p.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR p.practiceStatus = :status) AND "
+            + "(:since IS NULL OR p.updatedAt > :since) AND p.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "p.updatedAt > :afterAt OR (p.updatedAt = :afterAt AND p.practiceId > :afterId))")
+    List<PracticeEntity> findChanged(Set<UUID> orgIds, AppUtils.PracticeStatus status, LocalDateTime since,
+            LocalDateTime upTo, LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the tags of the rows of an organization with the given status, for
+     * the candidate lists of the personalized feed.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @return the ID, tags and creation time of the tagged rows
+     */
+    @Query("SELECT p.practiceId AS id, p.tags AS tags, p.createdAt AS createdAt FROM PracticeEntity p "
+            + "WHERE p.orgId = :orgId AND p.practiceStatus = :status AND p.tags IS NOT NULL")
+    List<TaggedContent> findTagged(UUID orgId, AppUtils.PracticeStatus status);
+
+    /**
+     * Adds a rating change to the aggregates and star buckets of a practice in one
+     * statement, so concurrent ratings are never lost. Does nothing while the
+     * aggregates were never computed.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param sumDelta
+     *            the change of the sum of the ratings
+     * @param countDelta
+     *            the change of the number of ratings
+     * @param removedStar
+     *            the star bucket of the previous rating, 0 if none
+     * @param addedStar
+     *            the star bucket of the new rating, 0 if none
+     * @return 1 if the aggregates were updated, 0 if they must be recomputed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE practice SET rating_sum = rating_sum + :sumDelta, "
+            + "rating_count = rating_count + :countDelta, rating = CASE WHEN rating_count + :countDelta > 0 "
+            + "THEN (rating_sum + :sumDelta) / (rating_count + :countDelta) ELSE 0 END, " + RATING_STARS
+            + "WHERE practice_id = :practiceId AND rating_sum IS NOT NULL AND rating_count IS NOT NULL "
+            + "AND rating_star_1 IS NOT NULL", nativeQuery = true)
+    int addRating(@Param("practiceId") UUID practiceId, @Param("sumDelta") double sumDelta,
+            @Param("countDelta") long countDelta, @Param("removedStar") int removedStar,
+            @Param("addedStar") int addedStar);
+
+    /**
+     * Recomputes the rating aggregates of a practice from the ratings of its
+     * users.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @return the number of rows corrected
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = RATING_REPAIR + "WHERE r.practice_id = :practiceId " + RATING_CHANGED, nativeQuery = true)
+    int recomputeRating(@Param("practiceId") UUID practiceId);
+
+    /**
+     * Recomputes the rating aggregates of every practice that drifted from the
+     * ratings of its users.
+     *
+     * @return the number of rows corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = RATING_REPAIR + RATING_CHANGED, nativeQuery = true)
+    int recomputeRatings();
+
+    /**
+     * Returns the newest rows of an organization with the given status, for the
+     * in-memory search index.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the rows,
+     *         newest first
+     */
+    @Query("SELECT p.practiceId AS id, p.practiceName AS name, p.tags AS tags, p.practiceDescription AS description, "
+            + "p.createdAt AS createdAt, COALESCE(p.ratingCount, 0L) AS popularity FROM PracticeEntity p "
+            + "WHERE p.orgId = :orgId AND p.practiceStatus = :status ORDER BY p.createdAt DESC")
+    List<SearchableContent> findSearchable(UUID orgId, AppUtils.PracticeStatus status, Pageable pageable);
+
+    /**
+     * Counts the tags of the rows of the given organizations, most used first,
+     * for the tag facets and vocabulary. Served by the GIN index of the tag set
+     * when filtered by tags.
+     *
+     * @param orgIds
+     *            the organization IDs
+     * @param status
+     *            the status of the rows, or null to include every status
+     * @param tags
+     *            the JSON array of tags every counted row must carry, or null
+     * @param limit
+     *            the maximum number of tags
+     * @return the tags with the number of rows carrying them
+     */
+    @Query(value = "SELECT t.tag AS tag, COUNT(*) AS count FROM practice x "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(x.tag_set) AS t(tag) WHERE x.org_id IN (:orgIds) "
+            + "AND (CAST(:status AS TEXT) IS NULL OR x.practice_status = CAST(:status AS TEXT)) "
+            + "AND (CAST(:tags AS JSONB) IS NULL OR x.tag_set @> CAST(:tags AS JSONB)) "
+            + "GROUP BY t.tag ORDER BY 2 DESC, 1 LIMIT :limit", nativeQuery = true)
+    List<TagCount> countTags(@Param("orgIds") Set<UUID> orgIds, @Param("status") String status,
+            @Param("tags") String tags, @Param("limit") int limit);
 }
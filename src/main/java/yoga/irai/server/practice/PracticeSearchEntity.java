@@ -0,0 +1,47 @@
+package yoga.irai.server.practice;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the search columns of a practice, computed by the database.
+ * They are kept out of {@link PracticeEntity} so that reading practices does not
+ * load them; the keyword and tag searches of {@link PracticeRepository} filter
+ * and rank through this view instead.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "practice")
+public class PracticeSearchEntity {
+
+    @Id
+    @Column(name = "practice_id", nullable = false)
+    private UUID practiceId;
+
+    /**
+     * Tags as a JSON array, computed by the database from {@code tags} and
+     * GIN-indexed for tag filters and facets.
+     */
+    @Column(name = "tag_set", insertable = false, updatable = false,
+            columnDefinition = "JSONB GENERATED ALWAYS AS (CAST(NULLIF(tags, '') AS JSONB)) STORED")
+    private String tagSet;
+
+    /**
+     * Weighted full-text search vector of the name, tags and description,
+     * computed by the database.
+     */
+    @Column(name = "search_vector", insertable = false, updatable = false,
+            columnDefinition = "TSVECTOR GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('simple', COALESCE(practice_name, '')), 'A')"
+                    + " || setweight(to_tsvector('simple', COALESCE(tags, '')), 'B')"
+                    + " || setweight(to_tsvector('simple', COALESCE(practice_description, '')), 'C')) STORED")
+    private String searchVector;
+}
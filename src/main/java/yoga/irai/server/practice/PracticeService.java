@@ -1,20 +1,36 @@
 package yoga.irai.server.practice;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
+import yoga.irai.server.app.dto.RatingHistogramDto;
+import yoga.irai.server.app.dto.ReviewDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.trending.TrendingSort;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -24,7 +40,6 @@ import yoga.irai.server.practice.user.PracticeUserEntity;
 import yoga.irai.server.practice.user.PracticeUserRatingUpdateDto;
 import yoga.irai.server.practice.user.PracticeUserRepository;
 import yoga.irai.server.practice.user.PracticeUserRequestDto;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 /**
@@ -34,14 +49,22 @@ import yoga.irai.server.storage.StorageService;
 @Service
 @AllArgsConstructor
 public class PracticeService {
+    private static final Set<AppUtils.PracticeUserStatus> VIEWED_STATUSES = EnumSet
+            .of(AppUtils.PracticeUserStatus.IN_PROGRESS, AppUtils.PracticeUserStatus.STARTED);
+
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
-    private final SettingService settingService;
     private final PracticeRepository practiceRepository;
     private final OrganizationService organizationService;
     private final PracticeUserRepository practiceUserRepository;
     private final PracticeCategoryService practiceCategoryService;
+    private final RecentViewService recentViewService;
+    private final UniqueViewerService uniqueViewerService;
+    private final TrendingService trendingService;
     private final NotificationService notificationService;
+    private final QueryCacheService queryCacheService;
 
     /**
      * Adds a new practice.
@@ -67,9 +90,10 @@ public class PracticeService {
         practiceEntity.setPracticeId(null);
         if (ObjectUtils.isNotEmpty(practiceEntity.getTags())) {
             practiceEntity.setTags(AppUtils.writeValueAsString(practiceRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.PRACTICE_TAGS, practiceRequestDto.getTags());
         }
-        return practiceRepository.save(practiceEntity);
+        PracticeEntity savedPracticeEntity = practiceRepository.save(practiceEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PRACTICE, practiceEntity.getOrgId());
+        return savedPracticeEntity;
     }
 
     /**
@@ -124,9 +148,10 @@ public class PracticeService {
         }
         if (ObjectUtils.isNotEmpty(practiceEntity.getTags())) {
             practiceEntity.setTags(AppUtils.writeValueAsString(practiceRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.PRACTICE_TAGS, practiceRequestDto.getTags());
         }
-        return practiceRepository.save(practiceEntity);
+        PracticeEntity savedPracticeEntity = practiceRepository.save(practiceEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PRACTICE, practiceEntity.getOrgId());
+        return savedPracticeEntity;
     }
 
     /**
@@ -151,25 +176,156 @@ public class PracticeService {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the direction of sorting (ascending or descending)
      * @param keyword
      *            a keyword to search practices by name or description
      * @param categoryId
      *            the ID of the category to filter practices by (optional)
+     * @param tags
+     *            optional tags the practices must all carry
      * @return a Page containing PracticeEntity objects
      */
     public Page<PracticeEntity> getPractices(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
-            String keyword, UUID categoryId) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+            String keyword, UUID categoryId, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "practiceId"));
         Set<UUID> orgIds = new HashSet<>();
         orgIds.add(AppUtils.getPrincipalOrgId());
         return switch (AppUtils.getPrincipalUserType()) {
-            case MOBILE_USER -> practiceRepository.searchDynamic(categoryId, keyword,
+            case MOBILE_USER -> search(ranked, categoryId, keyword, tagFilter,
                     organizationService.getOrgIdsForMobile(), AppUtils.PracticeStatus.ACTIVE, pageable);
-            case PORTAL_USER -> practiceRepository.searchDynamic(categoryId, keyword, orgIds, null, pageable);
-            case KEYCLOAK_USER -> practiceRepository.searchDynamic(categoryId, keyword, null, null, pageable);
+            case PORTAL_USER -> search(ranked, categoryId, keyword, tagFilter, orgIds, null, pageable);
+            case KEYCLOAK_USER -> search(ranked, categoryId, keyword, tagFilter, null, null, pageable);
+        };
+    }
+
+    private Page<PracticeEntity> search(boolean ranked, UUID categoryId, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.PracticeStatus status, Pageable pageable) {
+        return ranked
+                ? practiceRepository.searchRanked(categoryId, keyword, tags, orgIds, status, pageable)
+                : practiceRepository.searchDynamic(categoryId, keyword, tags, orgIds, status, pageable);
+    }
+
+    /**
+     * Retrieves a page of practices as mobile responses, with the progress of
+     * the current user. For mobile users, the page without progress is served
+     * from the query cache, shared by the users of the same organizations.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            a keyword to search practices by name or description
+     * @param categoryId
+     *            the ID of the category to filter practices by (optional)
+     * @param tags
+     *            optional tags the practices must all carry
+     * @return a Page containing PracticeMobileResponseDto objects
+     */
+    public Page<PracticeMobileResponseDto> getPracticeMobileResponseDtos(int pageNumber, int pageSize, String sortBy,
+            Sort.Direction direction, String keyword, UUID categoryId, Set<String> tags) {
+        Supplier<Page<PracticeMobileResponseDto>> loader = () -> {
+            Page<PracticeEntity> practicePage = getPractices(pageNumber, pageSize, sortBy, direction, keyword,
+                    categoryId, tags);
+            return new PageImpl<>(toSharedPracticeMobileResponseDto(practicePage.getContent()),
+                    practicePage.getPageable(), practicePage.getTotalElements());
+        };
+        Page<PracticeMobileResponseDto> practicePage;
+        if (AppUtils.UserType.MOBILE_USER.equals(AppUtils.getPrincipalUserType())) {
+            QueryCacheService.Key key = new QueryCacheService.Key(AppUtils.ModuleType.PRACTICE,
+                    QueryCacheService.MOBILE_VIEW, organizationService.getOrgIdsForMobile(),
+                    AppUtils.PracticeStatus.ACTIVE, keyword, Arrays.asList(categoryId, AppUtils.toTagFilter(tags)),
+                    PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "practiceId")));
+            practicePage = queryCacheService.get(key, loader).map(dto -> dto.toBuilder().build());
+        } else {
+            practicePage = loader.get();
+        }
+        setPracticeProgress(practicePage.getContent());
+        return practicePage;
+    }
+
+    /**
+     * Retrieves a page of active practice cards for the mobile feed. Reads only
+     * the columns of {@link PracticeCard}.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            a keyword to search practices by name or description
+     * @param categoryId
+     *            the ID of the category to filter practices by (optional)
+     * @param tags
+     *            optional tags the practices must all carry
+     * @return a Page containing PracticeCard objects
+     */
+    public Page<PracticeCard> getPracticeCards(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
+            String keyword, UUID categoryId, Set<String> tags) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "practiceId"));
+        String tagFilter = AppUtils.toTagFilter(tags);
+        Set<UUID> orgIds = organizationService.getOrgIdsForMobile();
+        return queryCacheService.get(new QueryCacheService.Key(AppUtils.ModuleType.PRACTICE,
+                QueryCacheService.CARD_VIEW, orgIds, AppUtils.PracticeStatus.ACTIVE, keyword,
+                Arrays.asList(categoryId, tagFilter), pageable),
+                () -> practiceRepository.searchCards(categoryId, keyword, tagFilter, orgIds,
+                        AppUtils.PracticeStatus.ACTIVE, pageable));
+    }
+
+    /**
+     * Retrieves a slice of practices after the given cursor, sorted by creation time.
+     * Unlike {@link #getPractices(int, int, String, Sort.Direction, String,
+     * UUID, Set)}, no count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            a keyword to search practices by name or description
+     * @param categoryId
+     *            the ID of the category to filter practices by (optional)
+     * @param tags
+     *            optional tags the practices must all carry
+     * @return a Slice containing PracticeEntity objects
+     */
+    public Slice<PracticeEntity> getPractices(String cursor, int pageSize, Sort.Direction direction, String keyword,
+            UUID categoryId, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        LocalDateTime cursorCreatedAt = Objects.isNull(cursorDto) ? null : cursorDto.createdAt();
+        UUID cursorId = Objects.isNull(cursorDto) ? null : cursorDto.id();
+        boolean ascending = direction.isAscending();
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "practiceId"));
+        Set<UUID> orgIds = new HashSet<>();
+        orgIds.add(AppUtils.getPrincipalOrgId());
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> practiceRepository.searchAfter(categoryId, keyword, tagFilter,
+                    organizationService.getOrgIdsForMobile(), AppUtils.PracticeStatus.ACTIVE, cursorCreatedAt, cursorId,
+                    ascending, pageable);
+            case PORTAL_USER -> practiceRepository.searchAfter(categoryId, keyword, tagFilter, orgIds, null,
+                    cursorCreatedAt, cursorId, ascending, pageable);
+            case KEYCLOAK_USER -> practiceRepository.searchAfter(categoryId, keyword, tagFilter, null, null,
+                    cursorCreatedAt, cursorId, ascending, pageable);
         };
     }
 
@@ -187,6 +343,8 @@ public class PracticeService {
             storageService.deleteStorageByIds(storageIds);
         }
         practiceRepository.deleteById(practiceId);
+        tombstoneService.record(AppUtils.SyncEntityType.PRACTICE, practiceId, practiceEntity.getOrgId());
+        contentVersionService.bump(AppUtils.ModuleType.PRACTICE, practiceEntity.getOrgId());
     }
 
     /**
@@ -201,6 +359,7 @@ public class PracticeService {
         PracticeEntity practiceEntity = getPracticeById(practiceId);
         practiceEntity.setPracticeStatus(status);
         practiceRepository.save(practiceEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PRACTICE, practiceEntity.getOrgId());
         if (AppUtils.PracticeStatus.ACTIVE.equals(status)) {
             sendPracticeNotification(getPracticeResponseDto(practiceEntity));
         }
@@ -224,7 +383,11 @@ public class PracticeService {
         practiceUserEntity.setPracticeId(practiceUserRequestDto.getPracticeId());
         practiceUserEntity.setUserId(practiceUserRequestDto.getUserId());
         practiceUserEntity.setResumeTime(practiceUserRequestDto.getResumeTime());
-        return practiceUserRepository.save(practiceUserEntity);
+        PracticeUserEntity savedPracticeUserEntity = practiceUserRepository.save(practiceUserEntity);
+        recordView(practiceUserEntity);
+        trendingService.record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getPracticeId(),
+                TrendingService.Signal.VIEW);
+        return savedPracticeUserEntity;
     }
 
     /**
@@ -238,42 +401,140 @@ public class PracticeService {
      */
     public void changePracticeUserStatus(UUID practiceUserId, AppUtils.PracticeUserStatus status) {
         PracticeUserEntity practiceUserEntity = getPracticeUserById(practiceUserId);
+        boolean completed = AppUtils.PracticeUserStatus.COMPLETE.equals(status)
+                && !status.equals(practiceUserEntity.getPracticeUserStatus());
         practiceUserEntity.setPracticeUserStatus(status);
         practiceUserRepository.save(practiceUserEntity);
+        recordView(practiceUserEntity);
+        if (completed) {
+            trendingService.record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getPracticeId(),
+                    TrendingService.Signal.COMPLETION);
+        }
     }
 
     /**
-     * Changes the rating and comment for a practice user.
+     * Changes the rating and comment for a practice user. The user row is locked
+     * so that concurrent changes of the same rating apply their deltas in turn.
      *
      * @param practiceUserId
      *            the ID of the practice user to update
      * @param practiceUserRatingUpdateDto
      *            the DTO containing the new rating and comment
      */
+    @Transactional
     public void changeRatingAndComment(UUID practiceUserId, PracticeUserRatingUpdateDto practiceUserRatingUpdateDto) {
-        PracticeUserEntity practiceUserEntity = getPracticeUserById(practiceUserId);
-        boolean isRated = practiceUserEntity.getRating() != null;
+        PracticeUserEntity practiceUserEntity = practiceUserRepository.findByIdForUpdate(practiceUserId)
+                .orElseThrow(AppUtils.Messages.PRACTICE_USER_NOT_FOUND::getException);
+        Float previousRating = practiceUserEntity.getRating();
         practiceUserEntity.setRating(practiceUserRatingUpdateDto.getRating());
         practiceUserEntity.setComments(practiceUserRatingUpdateDto.getComment());
         practiceUserRepository.save(practiceUserEntity);
-        updatePracticeRating(practiceUserEntity.getPracticeId(), isRated);
+        recordView(practiceUserEntity);
+        if (Objects.isNull(previousRating) && Objects.nonNull(practiceUserRatingUpdateDto.getRating())) {
+            trendingService.record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getPracticeId(),
+                    TrendingService.Signal.RATING, practiceUserRatingUpdateDto.getRating() / 5.0);
+        }
+        updatePracticeRating(practiceUserEntity.getPracticeId(), previousRating,
+                practiceUserRatingUpdateDto.getRating());
     }
 
     /**
-     * Retrieves a practice user by practice ID and user ID.
+     * Returns the rating breakdown of a practice, read from the aggregates kept
+     * with the rating writes.
      *
      * @param practiceId
      *            the ID of the practice
-     * @param isRated
-     *            whether the practice user has been rated
+     * @return the average rating, the number of ratings and the ratings per
+     *         star
      */
-    private void updatePracticeRating(UUID practiceId, boolean isRated) {
-        PracticeEntity practiceEntity = getPracticeById(practiceId);
-        List<Float> ratings = practiceUserRepository.findNonZeroRatingsByPracticeId(practiceId);
-        long ratingCount = isRated ? ratings.size() : ratings.size() + 1;
-        practiceEntity.setRatingCount(ratingCount);
-        practiceEntity.setRating(AppUtils.calculateRating(ratings, ratingCount));
-        practiceRepository.save(practiceEntity);
+    public RatingHistogramDto getRatingHistogram(UUID practiceId) {
+        PracticeEntity practice = getPracticeById(practiceId);
+        List<Long> stars = Stream.of(practice.getRatingStar1(), practice.getRatingStar2(), practice.getRatingStar3(),
+                practice.getRatingStar4(), practice.getRatingStar5())
+                .map(count -> Objects.requireNonNullElse(count, 0L)).toList();
+        return RatingHistogramDto.builder().contentId(practiceId).rating(practice.getRating())
+                .ratingCount(Objects.requireNonNullElse(practice.getRatingCount(), 0L)).stars(stars).build();
+    }
+
+    /**
+     * Retrieves the ratings and comments of a practice, newest first, using keyset
+     * pagination.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of reviews per slice
+     * @return a Slice containing the reviews
+     */
+    public Slice<PracticeUserEntity> getReviews(UUID practiceId, String cursor, int pageSize) {
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        return practiceUserRepository.findReviews(practiceId,
+                Objects.isNull(cursorDto) ? null : cursorDto.createdAt().atZone(ZoneOffset.UTC),
+                Objects.isNull(cursorDto) ? null : cursorDto.id(),
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt", "practiceUserId")));
+    }
+
+    /**
+     * Converts reviews to DTOs, loading the names of all reviewers with one
+     * query.
+     *
+     * @param reviews
+     *            the practice users holding the ratings and comments
+     * @return the review DTOs, in the same order
+     */
+    public List<ReviewDto> toReviewDto(List<PracticeUserEntity> reviews) {
+        Map<UUID, String> userNamesByIds = userService
+                .getUserNamesByIds(reviews.stream().map(PracticeUserEntity::getUserId).distinct().toList());
+        return reviews.stream()
+                .map(review -> ReviewDto.builder().reviewId(review.getPracticeUserId()).userId(review.getUserId())
+                        .userName(userNamesByIds.get(review.getUserId())).rating(review.getRating())
+                        .comment(review.getComments()).createdAt(review.getCreatedAt()).build())
+                .toList();
+    }
+
+    /**
+     * Moves a practice to the front of the recents of its user, or drops it from
+     * them once it is no longer in progress, and counts the user as a viewer of
+     * the practice.
+     *
+     * @param practiceUserEntity
+     *            the progress row that was written
+     */
+    private void recordView(PracticeUserEntity practiceUserEntity) {
+        recentViewService.record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getUserId(),
+                practiceUserEntity.getPracticeId(),
+                VIEWED_STATUSES.contains(practiceUserEntity.getPracticeUserStatus()));
+        uniqueViewerService.record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getPracticeId(),
+                practiceUserEntity.getUserId());
+    }
+
+    /**
+     * Applies the change of a user rating to the aggregates and star buckets of
+     * its practice, recomputing them if they were never computed, and records the
+     * change of the practice so that cached listings show the new rating.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param previousRating
+     *            the previous rating of the user, null if not rated
+     * @param rating
+     *            the new rating of the user, null if removed
+     */
+    private void updatePracticeRating(UUID practiceId, Float previousRating, Float rating) {
+        long countDelta = (Objects.isNull(rating) ? 0 : 1) - (Objects.isNull(previousRating) ? 0 : 1);
+        double sumDelta = (Objects.isNull(rating) ? 0 : rating) - (Objects.isNull(previousRating) ? 0 : previousRating);
+        if (countDelta == 0 && sumDelta == 0) {
+            return;
+        }
+        if (practiceRepository.addRating(practiceId, sumDelta, countDelta, AppUtils.toRatingStar(previousRating),
+                AppUtils.toRatingStar(rating)) == 0) {
+            practiceRepository.recomputeRating(practiceId);
+        }
+        practiceRepository.findOrgIdByPracticeId(practiceId)
+                .ifPresent(orgId -> contentVersionService.bump(AppUtils.ModuleType.PRACTICE, orgId));
     }
 
     /**
@@ -300,12 +561,12 @@ public class PracticeService {
      *         PracticeUserEntity
      */
     private Map<UUID, PracticeUserEntity> getPracticeUsersByPracticeIds(List<UUID> programUserIds) {
-        UUID principalUserId = AppUtils.getPrincipalUserId();
-
-        return programUserIds.stream()
-                .map(practiceId -> practiceUserRepository.findByPracticeIdAndUserId(practiceId, principalUserId) // returns
-                        .map(entity -> Map.entry(practiceId, entity)))
-                .flatMap(Optional::stream).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (programUserIds.isEmpty()) {
+            return Map.of();
+        }
+        return practiceUserRepository.findAllByUserIdAndPracticeIdIn(AppUtils.getPrincipalUserId(), programUserIds)
+                .stream().collect(Collectors.toMap(PracticeUserEntity::getPracticeId, Function.identity(),
+                        (first, second) -> first));
     }
 
     /**
@@ -345,11 +606,18 @@ public class PracticeService {
                 AppUtils.PracticeStatus.ACTIVE);
     }
 
+    /**
+     * Retrieves the practices the current user worked on most recently, most
+     * recent first and bounded by the recents limit.
+     *
+     * @return a list of PracticeEntity objects in interaction order
+     */
     public List<PracticeEntity> getViewedPractices() {
-        List<AppUtils.PracticeUserStatus> practiceUserStatus = List.of(AppUtils.PracticeUserStatus.IN_PROGRESS, AppUtils.PracticeUserStatus.STARTED);
-        List<UUID> practiceIds = practiceUserRepository.getPracticeUserEntityByUserIdAndPracticeUserStatusIn(
-                AppUtils.getPrincipalUserId(), practiceUserStatus).stream().map(PracticeUserEntity::getPracticeId).toList();
-        return practiceRepository.findAllById(practiceIds);
+        UUID userId = AppUtils.getPrincipalUserId();
+        List<UUID> practiceIds = recentViewService.getRecentIds(AppUtils.ModuleType.PRACTICE, userId,
+                top -> practiceUserRepository.findRecentPracticeIds(userId, VIEWED_STATUSES, top));
+        return RecentViewService.inOrder(practiceIds, practiceRepository.findAllById(practiceIds),
+                PracticeEntity::getPracticeId);
     }
 
     /**
@@ -371,8 +639,7 @@ public class PracticeService {
         practiceResponseDto
                 .setPracticeBannerStorageUrl(storageService.getStorageUrl(practiceEntity.getPracticeBannerStorageId()));
         practiceResponseDto.setPracticeStorageUrl(storageService.getStorageUrl(practiceEntity.getPracticeStorageId()));
-        practiceResponseDto.setTags(AppUtils.readValue(practiceEntity.getTags(), new TypeReference<>() {
-        }));
+        practiceResponseDto.setTags(AppUtils.readTags(practiceEntity.getTags()));
         return practiceResponseDto;
     }
 
@@ -407,8 +674,7 @@ public class PracticeService {
             dto.setPracticeIconStorageUrl(signedStorageUrlByIds.get(practice.getPracticeIconStorageId()));
             dto.setPracticeStorageUrl(signedStorageUrlByIds.get(practice.getPracticeStorageId()));
             dto.setPracticeBannerStorageUrl(signedStorageUrlByIds.get(practice.getPracticeBannerStorageId()));
-            dto.setTags(AppUtils.readValue(practice.getTags(), new TypeReference<>() {
-            }));
+            dto.setTags(AppUtils.readTags(practice.getTags()));
             return dto;
         }).toList();
     }
@@ -422,6 +688,18 @@ public class PracticeService {
      * @return a list of PracticeResponseDto objects
      */
     public List<PracticeMobileResponseDto> toPracticeMobileResponseDto(List<PracticeEntity> practiceEntities) {
+        List<PracticeMobileResponseDto> practiceMobileResponseDtos = toSharedPracticeMobileResponseDto(
+                practiceEntities);
+        setPracticeProgress(practiceMobileResponseDtos);
+        return practiceMobileResponseDtos;
+    }
+
+    /**
+     * Converts practices to PracticeMobileResponseDto objects without the
+     * progress of the current user, so that they can be shared between users.
+     */
+    private List<PracticeMobileResponseDto> toSharedPracticeMobileResponseDto(
+            List<PracticeEntity> practiceEntities) {
         Map<UUID, String> signedStorageUrlByIds = storageService.getSignedStorageUrlByIds(practiceEntities.stream()
                 .flatMap(practiceEntity -> Stream.of(practiceEntity.getPracticeIconStorageId(),
                         practiceEntity.getPracticeBannerStorageId(), practiceEntity.getPracticeStorageId()))
@@ -429,25 +707,88 @@ public class PracticeService {
         Map<UUID, String> categoryNamesByIds = practiceCategoryService.getCategoryNameIdByIds(
                 practiceEntities.stream().flatMap(practiceEntity -> Stream.of(practiceEntity.getPracticeCategoryId()))
                         .filter(Objects::nonNull).distinct().toList());
-        Map<UUID, PracticeUserEntity> practiceUserMap = getPracticeUsersByPracticeIds(
-                practiceEntities.stream().flatMap(practiceEntity -> Stream.of(practiceEntity.getPracticeId()))
-                        .filter(Objects::nonNull).distinct().toList());
         return practiceEntities.stream().map(practice -> {
             PracticeMobileResponseDto dto = AppUtils.map(practice, PracticeMobileResponseDto.class);
             dto.setPracticeCategoryName(categoryNamesByIds.get(practice.getPracticeCategoryId()));
             dto.setPracticeIconStorageUrl(signedStorageUrlByIds.get(practice.getPracticeIconStorageId()));
             dto.setPracticeBannerStorageUrl(signedStorageUrlByIds.get(practice.getPracticeBannerStorageId()));
             dto.setPracticeStorageUrl(signedStorageUrlByIds.get(practice.getPracticeStorageId()));
-            if (practiceUserMap.containsKey(practice.getPracticeId())) {
-                dto.setPracticeUserId(practiceUserMap.get(practice.getPracticeId()).getPracticeUserId());
-                dto.setPracticeUserStatus(practiceUserMap.get(practice.getPracticeId()).getPracticeUserStatus());
-            }
-            dto.setTags(AppUtils.readValue(practice.getTags(), new TypeReference<>() {
-            }));
+            dto.setTags(AppUtils.readTags(practice.getTags()));
             return dto;
         }).toList();
     }
 
+    /**
+     * Sets the progress of the current user on the given practices.
+     */
+    private void setPracticeProgress(List<PracticeMobileResponseDto> practiceMobileResponseDtos) {
+        Map<UUID, PracticeUserEntity> practiceUserMap = getPracticeUsersByPracticeIds(practiceMobileResponseDtos
+                .stream().map(PracticeMobileResponseDto::getPracticeId).filter(Objects::nonNull).distinct().toList());
+        practiceMobileResponseDtos.forEach(dto -> {
+            PracticeUserEntity practiceUserEntity = practiceUserMap.get(dto.getPracticeId());
+            if (Objects.nonNull(practiceUserEntity)) {
+                dto.setPracticeUserId(practiceUserEntity.getPracticeUserId());
+                dto.setPracticeUserStatus(practiceUserEntity.getPracticeUserStatus());
+            }
+        });
+    }
+
+    /**
+     * Converts practice cards to PracticeMobileResponseDto objects holding only
+     * the requested fields. Storage URLs are signed, category names are looked
+     * up and progress is loaded only when their fields are requested.
+     *
+     * @param practiceCards
+     *            the practice cards to convert
+     * @param fields
+     *            the requested fields
+     * @return a list of PracticeMobileResponseDto objects
+     */
+    public List<PracticeMobileResponseDto> toPracticeMobileResponseDto(List<PracticeCard> practiceCards,
+            FieldsDto fields) {
+        List<UUID> storageIds = practiceCards.stream()
+                .flatMap(practiceCard -> Stream.of(
+                        fields.pick("practiceIconStorageUrl", practiceCard::getPracticeIconStorageId),
+                        fields.pick("practiceBannerStorageUrl", practiceCard::getPracticeBannerStorageId),
+                        fields.pick("practiceStorageUrl", practiceCard::getPracticeStorageId)))
+                .filter(Objects::nonNull).distinct().toList();
+        Map<UUID, String> signedStorageUrlByIds = storageIds.isEmpty()
+                ? Collections.emptyMap()
+                : storageService.getSignedStorageUrlByIds(storageIds);
+        Map<UUID, String> categoryNamesByIds = fields.has("practiceCategoryName")
+                ? practiceCategoryService.getCategoryNameIdByIds(practiceCards.stream()
+                        .map(PracticeCard::getPracticeCategoryId).filter(Objects::nonNull).distinct().toList())
+                : Collections.emptyMap();
+        Map<UUID, PracticeUserEntity> practiceUserMap = fields.hasAny("practiceUserId", "practiceUserStatus")
+                ? getPracticeUsersByPracticeIds(practiceCards.stream().map(PracticeCard::getPracticeId).toList())
+                : Collections.emptyMap();
+        return practiceCards.stream().map(practiceCard -> {
+            Optional<PracticeUserEntity> practiceUser = Optional
+                    .ofNullable(practiceUserMap.get(practiceCard.getPracticeId()));
+            return PracticeMobileResponseDto.builder().practiceId(practiceCard.getPracticeId())
+                    .practiceName(fields.pick("practiceName", practiceCard::getPracticeName))
+                    .practiceCategoryName(categoryNamesByIds.get(practiceCard.getPracticeCategoryId()))
+                    .practiceIconStorageUrl(signedStorageUrlByIds.get(practiceCard.getPracticeIconStorageId()))
+                    .practiceIconExternalUrl(
+                            fields.pick("practiceIconExternalUrl", practiceCard::getPracticeIconExternalUrl))
+                    .practiceBannerStorageUrl(signedStorageUrlByIds.get(practiceCard.getPracticeBannerStorageId()))
+                    .practiceBannerExternalUrl(
+                            fields.pick("practiceBannerExternalUrl", practiceCard::getPracticeBannerExternalUrl))
+                    .practiceStorageUrl(signedStorageUrlByIds.get(practiceCard.getPracticeStorageId()))
+                    .practiceExternalUrl(fields.pick("practiceExternalUrl", practiceCard::getPracticeExternalUrl))
+                    .duration(fields.pick("duration", practiceCard::getDuration))
+                    .rating(fields.pick("rating", practiceCard::getRating))
+                    .ratingCount(fields.pick("ratingCount", practiceCard::getRatingCount))
+                    .practiceUserId(fields.has("practiceUserId")
+                            ? practiceUser.map(PracticeUserEntity::getPracticeUserId).orElse(null)
+                            : null)
+                    .practiceUserStatus(fields.has("practiceUserStatus")
+                            ? practiceUser.map(PracticeUserEntity::getPracticeUserStatus).orElse(null)
+                            : null)
+                    .build();
+        }).toList();
+    }
+
     /**
      * Sends a notification for the given practice.
      *
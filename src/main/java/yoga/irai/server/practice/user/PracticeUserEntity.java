@@ -17,7 +17,10 @@ import yoga.irai.server.app.AppUtils;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "practice_user")
+@Table(name = "practice_user", indexes = {
+        @Index(name = "idx_practice_user_user_id_practice_id", columnList = "user_id, practice_id"),
+        @Index(name = "idx_practice_user_user_id_updated_at", columnList = "user_id, updated_at"),
+        @Index(name = "idx_practice_user_practice_id_created_at", columnList = "practice_id, created_at")})
 public class PracticeUserEntity implements Serializable {
 
     @Serial
@@ -1,28 +1,35 @@
 package yoga.irai.server.practice.user;
 
+import jakarta.persistence.LockModeType;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.version.VersionMarker;
 
 @Repository
 public interface PracticeUserRepository extends JpaRepository<PracticeUserEntity, UUID> {
 
     /**
-     * Finds all PracticeUserEntity records by userId.
+     * Finds and locks a practice user, so that concurrent changes of the same
+     * rating are applied one after the other.
      *
-     * @param practiceId
-     *            the ID of the practice
-     * @return a list of PracticeUserEntity records associated with the given
-     *         practiceId
+     * @param practiceUserId
+     *            the ID of the practice user
+     * @return the practice user, if found
      */
-    @Query("SELECT pu.rating FROM PracticeUserEntity pu WHERE pu.practiceId = :practiceId AND pu.rating IS NOT NULL")
-    List<Float> findNonZeroRatingsByPracticeId(@Param("practiceId") UUID practiceId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pu FROM PracticeUserEntity pu WHERE pu.practiceUserId = :practiceUserId")
+    Optional<PracticeUserEntity> findByIdForUpdate(@Param("practiceUserId") UUID practiceUserId);
 
     /**
      * Finds all PracticeUserEntity records by practiceId.
@@ -38,5 +45,86 @@ public interface PracticeUserRepository extends JpaRepository<PracticeUserEntity
 
     Optional<PracticeUserEntity> findByPracticeIdAndUserId(UUID practiceId, UUID userId);
 
-    List<PracticeUserEntity> getPracticeUserEntityByUserIdAndPracticeUserStatusIn(UUID userId, Collection<AppUtils.PracticeUserStatus> practiceUserStatuses);
+    /**
+     * Finds the practices a user interacted with most recently, most recent first.
+     * Served by the index on user and last update.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param statuses
+     *            the progress statuses that count as viewed
+     * @param pageable
+     *            the number of IDs to return
+     * @return the IDs of the practices, most recent first
+     */
+    @Query("SELECT pu.practiceId FROM PracticeUserEntity pu WHERE pu.userId = :userId "
+            + "AND pu.practiceUserStatus IN :statuses ORDER BY pu.updatedAt DESC, pu.practiceUserId DESC")
+    List<UUID> findRecentPracticeIds(@Param("userId") UUID userId,
+            @Param("statuses") Collection<AppUtils.PracticeUserStatus> statuses, Pageable pageable);
+
+    /**
+     * Finds the progress rows of a user that are still in progress on practices
+     * with the given status, most recent first. Served by the index on user and
+     * last update, each row joined to its practice by primary key.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param statuses
+     *            the progress statuses that count as in progress
+     * @param practiceStatus
+     *            the status the practices must have
+     * @param pageable
+     *            the number of rows to return
+     * @return the progress rows, most recent first
+     */
+    @Query("SELECT pu FROM PracticeUserEntity pu JOIN PracticeEntity p ON p.practiceId = pu.practiceId "
+            + "WHERE pu.userId = :userId AND pu.practiceUserStatus IN :statuses "
+            + "AND p.practiceStatus = :practiceStatus ORDER BY pu.updatedAt DESC, pu.practiceUserId DESC")
+    List<PracticeUserEntity> findInProgress(@Param("userId") UUID userId,
+            @Param("statuses") Collection<AppUtils.PracticeUserStatus> statuses,
+            @Param("practiceStatus") AppUtils.PracticeStatus practiceStatus, Pageable pageable);
+
+    /**
+     * Finds the progress rows of a user for the given practices in a single query.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param practiceIds
+     *            the IDs of the practices
+     * @return the progress rows found, at most one per practice
+     */
+    List<PracticeUserEntity> findAllByUserIdAndPracticeIdIn(UUID userId, Collection<UUID> practiceIds);
+
+    /**
+     * Returns the version marker of the practices progress of a user.
+     *
+     * @param userId
+     *            the ID of the user
+     * @return the row count and last update time of the progress rows
+     */
+    @Query("SELECT COUNT(pu) AS rowCount, MAX(pu.updatedAt) AS lastUpdatedAt "
+            + "FROM PracticeUserEntity pu WHERE pu.userId = :userId")
+    VersionMarker getVersionMarker(@Param("userId") UUID userId);
+
+    /**
+     * Finds the ratings and comments of a practice, newest first, continuing after
+     * the given keyset position. Returns a slice, so no count query is run.
+     *
+     * @param practiceId
+     *            the ID of the practice
+     * @param cursorCreatedAt
+     *            the creation time of the last review already returned, or null
+     *            for the first page
+     * @param cursorId
+     *            the ID of the last review already returned
+     * @param pageable
+     *            the page size and a descending sort on creation time and ID
+     * @return a slice of reviews after the cursor
+     */
+    @Query("SELECT pu FROM PracticeUserEntity pu WHERE pu.practiceId = :practiceId "
+            + "AND (pu.rating IS NOT NULL OR pu.comments IS NOT NULL) AND (:cursorCreatedAt IS NULL OR "
+            + "pu.createdAt < :cursorCreatedAt OR (pu.createdAt = :cursorCreatedAt AND pu.practiceUserId < :cursorId))")
+    Slice<PracticeUserEntity> findReviews(@Param("practiceId") UUID practiceId,
+            @Param("cursorCreatedAt") ZonedDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId,
+            Pageable pageable);
 }
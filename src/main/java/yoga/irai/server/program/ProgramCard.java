@@ -0,0 +1,41 @@
+package yoga.irai.server.program;
+
+import java.util.Set;
+import java.util.UUID;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Columns of a program needed by list cards. Leaves out the description, the
+ * comments and the tags, which are the large columns of the table.
+ */
+public interface ProgramCard {
+
+    /**
+     * Fields of the mobile response that can be built from the card.
+     */
+    Set<String> FIELDS = Set.of("programId", "programName", "programAuthor", "programBannerStorageUrl",
+            "programBannerExternalUrl", "duration", "numberOfLessons", "rating", "ratingCount", "views", "flag",
+            "programUserId", "programUserStatus");
+
+    UUID getProgramId();
+
+    String getProgramName();
+
+    String getProgramAuthor();
+
+    UUID getProgramBannerStorageId();
+
+    String getProgramBannerExternalUrl();
+
+    Long getDuration();
+
+    Integer getNumberOfLessons();
+
+    Float getRating();
+
+    Long getRatingCount();
+
+    Long getViews();
+
+    AppUtils.ProgramFlag getFlag();
+}
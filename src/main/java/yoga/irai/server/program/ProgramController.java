@@ -108,6 +108,8 @@ public class ProgramController {
      *            the direction of sorting (ASC or DESC)
      * @param keyword
      *            an optional keyword to filter programs by name or description
+     * @param tags
+     *            optional tags the programs must all carry
      * @return ResponseEntity containing a list of program details
      */
     @GetMapping
@@ -116,8 +118,9 @@ public class ProgramController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<ProgramEntity> programPage = programService.getPrograms(pageNumber, pageSize, sortBy, direction, keyword);
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags) {
+        Page<ProgramEntity> programPage = programService.getPrograms(pageNumber, pageSize, sortBy, direction, keyword,
+                tags);
         List<ProgramEntity> programs = programPage.getContent();
         return ResponseEntity.ok(
                 AppResponseDto.<List<ProgramResponseDto>>builder().data(programService.toProgramResponseDto(programs))
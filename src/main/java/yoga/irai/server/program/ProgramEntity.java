@@ -15,7 +15,9 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "program")
+@Table(name = "program", indexes = {
+        @Index(name = "idx_program_created_at_id", columnList = "created_at, program_id"),
+        @Index(name = "idx_program_updated_at_id", columnList = "updated_at, program_id")})
 public class ProgramEntity extends Auditable implements Serializable {
 
     @Serial
@@ -56,12 +58,33 @@ public class ProgramEntity extends Auditable implements Serializable {
     @Column(name = "number_of_lessons", nullable = false)
     private Integer numberOfLessons = 0;
 
-    @Column(name = "rating")
+    /**
+     * Rating aggregates, written only by the atomic updates of the repository.
+     */
+    @Column(name = "rating", insertable = false, updatable = false)
     private Float rating;
 
-    @Column(name = "rating_count")
+    @Column(name = "rating_count", insertable = false, updatable = false)
     private Long ratingCount;
 
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Double ratingSum;
+
+    @Column(name = "rating_star_1", insertable = false, updatable = false)
+    private Long ratingStar1;
+
+    @Column(name = "rating_star_2", insertable = false, updatable = false)
+    private Long ratingStar2;
+
+    @Column(name = "rating_star_3", insertable = false, updatable = false)
+    private Long ratingStar3;
+
+    @Column(name = "rating_star_4", insertable = false, updatable = false)
+    private Long ratingStar4;
+
+    @Column(name = "rating_star_5", insertable = false, updatable = false)
+    private Long ratingStar5;
+
     @Column(name = "comments")
     private String comments;
 
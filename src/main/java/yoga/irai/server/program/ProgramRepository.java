@@ -1,16 +1,97 @@
 package yoga.irai.server.program;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.TaggedContent;
+import yoga.irai.server.app.search.SearchableContent;
+import yoga.irai.server.app.search.TagCount;
 
 public interface ProgramRepository extends JpaRepository<ProgramEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR p.programId IN ("
+            + "SELECT x.programId FROM ProgramSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR p.programName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM ProgramSearchEntity x "
+            + "WHERE x.programId = p.programId) DESC, p.createdAt DESC";
+
+    /**
+     * Tag filter: the rows carrying every tag of a JSON array, served by the
+     * GIN index of the tag set.
+     */
+    String TAG_CONDITION = "(:tags IS NULL OR p.programId IN ("
+            + "SELECT x.programId FROM ProgramSearchEntity x WHERE tags_contain(x.tagSet, :tags) = true))";
+
+    /**
+     * Filter shared by the keyword searches of the repository.
+     */
+    String SEARCH_CONDITION = "(:orgIds IS NULL OR p.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR p.programStatus = :status) AND "
+            + KEYWORD_CONDITION + " AND " + TAG_CONDITION;
+
+    /**
+     * Star bucket of a user rating {@code u.rating}, the rating rounded half up
+     * and kept within 1 and 5, as in {@link AppUtils#toRatingStar(Float)}.
+     */
+    String RATING_STAR = "LEAST(GREATEST(ROUND(CAST(u.rating AS NUMERIC)), 1), 5)";
+
+    /**
+     * Recomputes the rating aggregates and star buckets of programs from the
+     * ratings of their users, completed by a filter on {@code r} and
+     * {@link #RATING_CHANGED}.
+     */
+    String RATING_REPAIR = "UPDATE program x SET rating_sum = a.rating_sum, rating_count = a.rating_count, "
+            + "rating = CASE WHEN a.rating_count > 0 THEN a.rating_sum / a.rating_count ELSE 0 END, "
+            + "rating_star_1 = a.s1, rating_star_2 = a.s2, rating_star_3 = a.s3, rating_star_4 = a.s4, "
+            + "rating_star_5 = a.s5 FROM (SELECT r.program_id, "
+            + "COALESCE(SUM(CAST(u.rating AS DOUBLE PRECISION)), 0) AS rating_sum, COUNT(u.rating) AS rating_count, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 1) AS s1, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 2) AS s2, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 3) AS s3, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 4) AS s4, "
+            + "COUNT(u.rating) FILTER (WHERE " + RATING_STAR + " = 5) AS s5 FROM program r "
+            + "LEFT JOIN program_user u ON u.program_id = r.program_id ";
+
+    /**
+     * End of {@link #RATING_REPAIR}, keeping only the rows whose aggregates
+     * changed.
+     */
+    String RATING_CHANGED = "GROUP BY r.program_id) a WHERE x.program_id = a.program_id "
+            + "AND (x.rating_sum, x.rating_count, x.rating_star_1, x.rating_star_2, x.rating_star_3, x.rating_star_4, "
+            + "x.rating_star_5) IS DISTINCT FROM (a.rating_sum, a.rating_count, a.s1, a.s2, a.s3, a.s4, a.s5)";
+
+    /**
+     * Moves one rating between the star buckets of {@link #addRating}, where
+     * star 0 stands for no rating.
+     */
+    String RATING_STARS = "rating_star_1 = rating_star_1 + CAST(:addedStar = 1 AS INTEGER) "
+            + "- CAST(:removedStar = 1 AS INTEGER), rating_star_2 = rating_star_2 + CAST(:addedStar = 2 AS INTEGER) "
+            + "- CAST(:removedStar = 2 AS INTEGER), rating_star_3 = rating_star_3 + CAST(:addedStar = 3 AS INTEGER) "
+            + "- CAST(:removedStar = 3 AS INTEGER), rating_star_4 = rating_star_4 + CAST(:addedStar = 4 AS INTEGER) "
+            + "- CAST(:removedStar = 4 AS INTEGER), rating_star_5 = rating_star_5 + CAST(:addedStar = 5 AS INTEGER) "
+            + "- CAST(:removedStar = 5 AS INTEGER) ";
+
     /**
      * Check if a program exists by its name.
      *
@@ -25,6 +106,8 @@ public interface ProgramRepository extends JpaRepository<ProgramEntity, UUID> {
      *
      * @param keyword
      *            the keyword to search in program name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
      * @param orgIds
      *            the set of organization IDs to filter programs
      * @param status
@@ -33,12 +116,113 @@ public interface ProgramRepository extends JpaRepository<ProgramEntity, UUID> {
      *            the pagination information
      * @return a page of ProgramEntity matching the criteria
      */
-    @Query("SELECT p FROM ProgramEntity p WHERE " + "(:orgIds IS NULL OR p.orgId IN :orgIds) AND "
-            + "(:status IS NULL OR p.programStatus = :status) AND "
-            + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE( "
-            + "LOWER(p.programName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(p.programDescription) LIKE LOWER(CONCAT('%', :keyword, '%'))) END)")
-    Page<ProgramEntity> search(String keyword, Set<UUID> orgIds, AppUtils.ProgramStatus status, Pageable pageable);
+    @Query("SELECT p FROM ProgramEntity p WHERE " + SEARCH_CONDITION)
+    Page<ProgramEntity> search(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, ordered by full-text rank on the keyword
+     * instead of the sort of the pageable.
+     *
+     * @param keyword
+     *            the keyword to search for
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter programs
+     * @param status
+     *            the status of the program to filter
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT p FROM ProgramEntity p WHERE " + SEARCH_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(p) FROM ProgramEntity p WHERE " + SEARCH_CONDITION)
+    Page<ProgramEntity> searchRanked(String keyword, String tags, Set<UUID> orgIds, AppUtils.ProgramStatus status,
+            Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, reading only the columns of a list card.
+     *
+     * @param keyword
+     *            the keyword to search for in program name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter programs
+     * @param status
+     *            the status of the program to filter
+     * @param pageable
+     *            the pagination information
+     * @return a page of program cards
+     */
+    @Query(value = "SELECT p.programId AS programId, p.programName AS programName, p.programAuthor AS programAuthor, "
+            + "p.programBannerStorageId AS programBannerStorageId, "
+            + "p.programBannerExternalUrl AS programBannerExternalUrl, p.duration AS duration, "
+            + "p.numberOfLessons AS numberOfLessons, p.rating AS rating, p.ratingCount AS ratingCount, "
+            + "p.views AS views, p.flag AS flag FROM ProgramEntity p WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(p) FROM ProgramEntity p WHERE " + SEARCH_CONDITION)
+    Page<ProgramCard> searchCards(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param keyword
+     *            the keyword to search in program name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter programs
+     * @param status
+     *            the status of the program to filter by
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<ProgramEntity> searchAfter(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, boolean ascending,
+            Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(keyword, tags, orgIds, status, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT p FROM ProgramEntity p WHERE " + SEARCH_CONDITION)
+    Slice<ProgramEntity> searchFirst(String keyword, String tags, Set<UUID> orgIds, AppUtils.ProgramStatus status,
+            Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT p FROM ProgramEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.programId) > (:cursorCreatedAt, :cursorId)")
+    Slice<ProgramEntity> searchAfterAscending(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT p FROM ProgramEntity p WHERE " + SEARCH_CONDITION
+            + " AND (p.createdAt, p.programId) < (:cursorCreatedAt, :cursorId)")
+    Slice<ProgramEntity> searchAfterDescending(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
 
     /**
      * Count the number of programs by organization ID.
@@ -49,6 +233,16 @@ public interface ProgramRepository extends JpaRepository<ProgramEntity, UUID> {
      */
     Long countByOrgId(UUID orgId);
 
+    /**
+     * Returns the organization of a program.
+     *
+     * @param programId
+     *            the ID of the program
+     * @return the organization ID, or empty if the program does not exist
+     */
+    @Query("SELECT p.orgId FROM ProgramEntity p WHERE p.programId = :programId")
+    Optional<UUID> findOrgIdByProgramId(@Param("programId") UUID programId);
+
     /**
      * Retrieve the top 3 programs by organization ID and status, ordered by
      * creation date in descending order.
@@ -61,4 +255,153 @@ public interface ProgramRepository extends JpaRepository<ProgramEntity, UUID> {
      */
     List<ProgramEntity> getTop3ByOrgIdAndProgramStatusOrderByCreatedAtDesc(UUID principalOrgId,
             AppUtils.ProgramStatus programStatus);
+
+    /**
+     * Finds the program rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the program to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT p FROM ProgramEntity p WHERE (:orgIds IS NULL OR p.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR p.programStatus = :status) AND "
+            + "(:since IS NULL OR p.updatedAt > :since) AND p.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "p.updatedAt > :afterAt OR (p.updatedAt = :afterAt AND p.programId > :afterId))")
+    List<ProgramEntity> findChanged(Set<UUID> orgIds, AppUtils.ProgramStatus status, LocalDateTime since,
+            LocalDateTime upTo, LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the tags of the rows of an organization with the given status, for
+     * the candidate lists of the personalized feed.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @return the ID, tags and creation time of the tagged rows
+     */
+    @Query("SELECT p.programId AS id, p.tags AS tags, p.createdAt AS createdAt FROM ProgramEntity p "
+            + "WHERE p.orgId = :orgId AND p.programStatus = :status AND p.tags IS NOT NULL")
+    List<TaggedContent> findTagged(UUID orgId, AppUtils.ProgramStatus status);
+
+    /**
+     * Adds a rating change to the aggregates and star buckets of a program in one
+     * statement, so concurrent ratings are never lost. Does nothing while the
+     * aggregates were never computed.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param sumDelta
+     *            the change of the sum of the ratings
+     * @param countDelta
+     *            the change of the number of ratings
+     * @param removedStar
+     *            the star bucket of the previous rating, 0 if none
+     * @param addedStar
+     *            the star bucket of the new rating, 0 if none
+     * @return 1 if the aggregates were updated, 0 if they must be recomputed
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE program SET rating_sum = rating_sum + :sumDelta, "
+            + "rating_count = rating_count + :countDelta, rating = CASE WHEN rating_count + :countDelta > 0 "
+            + "THEN (rating_sum + :sumDelta) / (rating_count + :countDelta) ELSE 0 END, " + RATING_STARS
+            + "WHERE program_id = :programId AND rating_sum IS NOT NULL AND rating_count IS NOT NULL "
+            + "AND rating_star_1 IS NOT NULL", nativeQuery = true)
+    int addRating(@Param("programId") UUID programId, @Param("sumDelta") double sumDelta,
+            @Param("countDelta") long countDelta, @Param("removedStar") int removedStar,
+            @Param("addedStar") int addedStar);
+
+    /**
+     * Recomputes the rating aggregates of a program from the ratings of its
+     * users.
+     *
+     * @param programId
+     *            the ID of the program
+     * @return the number of rows corrected
+     */
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = RATING_REPAIR + "WHERE r.program_id = :programId " + RATING_CHANGED, nativeQuery = true)
+    int recomputeRating(@Param("programId") UUID programId);
+
+    /**
+     * Recomputes the rating aggregates of every program that drifted from the
+     * ratings of its users.
+     *
+     * @return the number of rows corrected
+     */
+    @Modifying
+    @Transactional
+    @Query(value = RATING_REPAIR + RATING_CHANGED, nativeQuery = true)
+    int recomputeRatings();
+
+    /**
+     * Returns the newest rows of an organization with the given status, for the
+     * in-memory search index.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the rows,
+     *         newest first
+     */
+    @Query("SELECT p.programId AS id, p.programName AS name, p.tags AS tags, p.programDescription AS description, "
+            + "p.createdAt AS createdAt, COALESCE(p.views, 0L) AS popularity FROM ProgramEntity p "
+            + "WHERE p.orgId = :orgId AND p.programStatus = :status ORDER BY p.createdAt DESC")
+    List<SearchableContent> findSearchable(UUID orgId, AppUtils.ProgramStatus status, Pageable pageable);
+
+    /**
+     * Counts the tags of the rows of the given organizations, most used first,
+     * for the tag facets and vocabulary. Served by the GIN index of the tag set
+     * when filtered by tags.
+     *
+     * @param orgIds
+     *            the organization IDs
+     * @param status
+     *            the status of the rows, or null to include every status
+     * @param tags
+     *            the JSON array of tags every counted row must carry, or null
+     * @param limit
+     *            the maximum number of tags
+     * @return the tags with the number of rows carrying them
+     */
+    @Query(value = "SELECT t.tag AS tag, COUNT(*) AS count FROM program x "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(x.tag_set) AS t(tag) WHERE x.org_id IN (:orgIds) "
+            + "AND (CAST(:status AS TEXT) IS NULL OR x.program_status = CAST(:status AS TEXT)) "
+            + "AND (CAST(:tags AS JSONB) IS NULL OR x.tag_set @> CAST(:tags AS JSONB)) "
+            + "GROUP BY t.tag ORDER BY 2 DESC, 1 LIMIT :limit", nativeQuery = true)
+    List<TagCount> countTags(@Param("orgIds") Set<UUID> orgIds, @Param("status") String status,
+            @Param("tags") String tags, @Param("limit") int limit);
+
+    /**
+     * Returns which of the given programs have the given status.
+     *
+     * @param programIds
+     *            the IDs of the programs to check
+     * @param status
+     *            the status to match
+     * @return the IDs of the programs with the status
+     */
+    @Query("SELECT p.programId FROM ProgramEntity p WHERE p.programId IN :programIds AND p.programStatus = :status")
+    Set<UUID> findProgramIdsByStatus(@Param("programIds") Collection<UUID> programIds,
+            @Param("status") AppUtils.ProgramStatus status);
 }
@@ -0,0 +1,48 @@
+package yoga.irai.server.program;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of the search columns of a program, computed by the database.
+ * They are kept out of {@link ProgramEntity} so that reading programs does not
+ * load them; the keyword and tag searches of {@link ProgramRepository} filter
+ * and rank through this view instead.
+ */
+@Getter
+@Entity
+@Immutable
+@NoArgsConstructor
+@Table(name = "program")
+public class ProgramSearchEntity {
+
+    @Id
+    @Column(name = "program_id", nullable = false)
+    private UUID programId;
+
+    /**
+     * Tags as a JSON array, computed by the database from {@code tags} and
+     * GIN-indexed for tag filters and facets.
+     */
+    @Column(name = "tag_set", insertable = false, updatable = false,
+            columnDefinition = "JSONB GENERATED ALWAYS AS (CAST(NULLIF(tags, '') AS JSONB)) STORED")
+    private String tagSet;
+
+    /**
+     * Weighted full-text search vector of the name, tags, author and
+     * description, computed by the database.
+     */
+    @Column(name = "search_vector", insertable = false, updatable = false,
+            columnDefinition = "TSVECTOR GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('simple', COALESCE(program_name, '')), 'A')"
+                    + " || setweight(to_tsvector('simple', COALESCE(tags, '')), 'B')"
+                    + " || setweight(to_tsvector('simple', COALESCE(program_author, '')), 'B')"
+                    + " || setweight(to_tsvector('simple', COALESCE(program_description, '')), 'C')) STORED")
+    private String searchVector;
+}
@@ -1,20 +1,33 @@
 package yoga.irai.server.program;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
+import yoga.irai.server.app.dto.RatingHistogramDto;
+import yoga.irai.server.app.dto.ReviewDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -27,7 +40,6 @@ import yoga.irai.server.program.user.ProgramUserEntity;
 import yoga.irai.server.program.user.ProgramUserRatingUpdateDto;
 import yoga.irai.server.program.user.ProgramUserRepository;
 import yoga.irai.server.program.user.ProgramUserRequestDto;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 /**
@@ -37,15 +49,21 @@ import yoga.irai.server.storage.StorageService;
 @Service
 @AllArgsConstructor
 public class ProgramService {
+    private static final Set<AppUtils.ProgramUserStatus> VIEWED_STATUSES = EnumSet
+            .of(AppUtils.ProgramUserStatus.IN_PROGRESS, AppUtils.ProgramUserStatus.STARTED);
+
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
-    private final SettingService settingService;
     private final LessonRepository lessonRepository;
     private final ProgramRepository programRepository;
     private final SectionRepository sectionRepository;
     private final OrganizationService organizationService;
     private final ProgramUserRepository programUserRepository;
+    private final RecentViewService recentViewService;
     private final NotificationService notificationService;
+    private final QueryCacheService queryCacheService;
 
     /**
      * Adds a new program.
@@ -63,9 +81,10 @@ public class ProgramService {
         ProgramEntity programEntity = AppUtils.map(programRequestDto, ProgramEntity.class);
         if (ObjectUtils.isNotEmpty(programRequestDto.getTags())) {
             programEntity.setTags(AppUtils.writeValueAsString(programRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.PROGRAM_TAGS, programRequestDto.getTags());
         }
-        return programRepository.save(programEntity);
+        ProgramEntity savedProgramEntity = programRepository.save(programEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PROGRAM, programEntity.getOrgId());
+        return savedProgramEntity;
     }
 
     /**
@@ -98,9 +117,10 @@ public class ProgramService {
         }
         if (ObjectUtils.isNotEmpty(programEntity.getTags())) {
             programEntity.setTags(AppUtils.writeValueAsString(programRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.PROGRAM_TAGS, programRequestDto.getTags());
         }
-        return programRepository.save(programEntity);
+        ProgramEntity savedProgramEntity = programRepository.save(programEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PROGRAM, programEntity.getOrgId());
+        return savedProgramEntity;
     }
 
     /**
@@ -124,24 +144,148 @@ public class ProgramService {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional search keyword
+     * @param tags
+     *            optional tags the programs must all carry
      * @return a Page containing ProgramEntity objects
      */
     public Page<ProgramEntity> getPrograms(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
-            String keyword) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+            String keyword, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
         Set<UUID> orgIds = new HashSet<>();
         orgIds.add(AppUtils.getPrincipalOrgId());
 
         return switch (AppUtils.getPrincipalUserType()) {
-            case MOBILE_USER -> programRepository.search(keyword, organizationService.getOrgIdsForMobile(),
+            case MOBILE_USER -> search(ranked, keyword, tagFilter, organizationService.getOrgIdsForMobile(),
                     AppUtils.ProgramStatus.ACTIVE, pageable);
-            case PORTAL_USER -> programRepository.search(keyword, orgIds, null, pageable);
-            case KEYCLOAK_USER -> programRepository.search(keyword, null, null, pageable);
+            case PORTAL_USER -> search(ranked, keyword, tagFilter, orgIds, null, pageable);
+            case KEYCLOAK_USER -> search(ranked, keyword, tagFilter, null, null, pageable);
+        };
+    }
+
+    private Page<ProgramEntity> search(boolean ranked, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ProgramStatus status, Pageable pageable) {
+        return ranked
+                ? programRepository.searchRanked(keyword, tags, orgIds, status, pageable)
+                : programRepository.search(keyword, tags, orgIds, status, pageable);
+    }
+
+    /**
+     * Retrieves a page of programs as mobile responses, with the progress of
+     * the current user. For mobile users, the page without progress is served
+     * from the query cache, shared by the users of the same organizations.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
+     * @param direction
+     *            the sort direction (ASC or DESC)
+     * @param keyword
+     *            an optional search keyword
+     * @param tags
+     *            optional tags the programs must all carry
+     * @return a Page containing ProgramMobileResponseDto objects
+     */
+    public Page<ProgramMobileResponseDto> getProgramMobileResponseDtos(int pageNumber, int pageSize, String sortBy,
+            Sort.Direction direction, String keyword, Set<String> tags) {
+        Supplier<Page<ProgramMobileResponseDto>> loader = () -> {
+            Page<ProgramEntity> programPage = getPrograms(pageNumber, pageSize, sortBy, direction, keyword, tags);
+            return new PageImpl<>(toSharedProgramMobileResponseDto(programPage.getContent()),
+                    programPage.getPageable(), programPage.getTotalElements());
+        };
+        Page<ProgramMobileResponseDto> programPage;
+        if (AppUtils.UserType.MOBILE_USER.equals(AppUtils.getPrincipalUserType())) {
+            QueryCacheService.Key key = new QueryCacheService.Key(AppUtils.ModuleType.PROGRAM,
+                    QueryCacheService.MOBILE_VIEW, organizationService.getOrgIdsForMobile(),
+                    AppUtils.ProgramStatus.ACTIVE, keyword, Arrays.asList(AppUtils.toTagFilter(tags)),
+                    PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy)));
+            programPage = queryCacheService.get(key, loader).map(dto -> dto.toBuilder().build());
+        } else {
+            programPage = loader.get();
+        }
+        setProgramProgress(programPage.getContent());
+        return programPage;
+    }
+
+    /**
+     * Retrieves a page of active program cards for the mobile feed. Reads only
+     * the columns of {@link ProgramCard}.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            a keyword to search programs by name or description
+     * @param tags
+     *            optional tags the programs must all carry
+     * @return a Page containing ProgramCard objects
+     */
+    public Page<ProgramCard> getProgramCards(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
+            String keyword, Set<String> tags) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+        String tagFilter = AppUtils.toTagFilter(tags);
+        Set<UUID> orgIds = organizationService.getOrgIdsForMobile();
+        return queryCacheService.get(new QueryCacheService.Key(AppUtils.ModuleType.PROGRAM,
+                QueryCacheService.CARD_VIEW, orgIds, AppUtils.ProgramStatus.ACTIVE, keyword,
+                Arrays.asList(tagFilter), pageable),
+                () -> programRepository.searchCards(keyword, tagFilter, orgIds, AppUtils.ProgramStatus.ACTIVE,
+                        pageable));
+    }
+
+    /**
+     * Retrieves a slice of programs after the given cursor, sorted by creation time.
+     * Unlike {@link #getPrograms(int, int, String, Sort.Direction, String, Set)},
+     * no count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            an optional keyword to filter programs by name or description
+     * @param tags
+     *            optional tags the programs must all carry
+     * @return a Slice containing ProgramEntity objects
+     */
+    public Slice<ProgramEntity> getPrograms(String cursor, int pageSize, Sort.Direction direction, String keyword,
+            Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        LocalDateTime cursorCreatedAt = Objects.isNull(cursorDto) ? null : cursorDto.createdAt();
+        UUID cursorId = Objects.isNull(cursorDto) ? null : cursorDto.id();
+        boolean ascending = direction.isAscending();
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "programId"));
+        Set<UUID> orgIds = new HashSet<>();
+        orgIds.add(AppUtils.getPrincipalOrgId());
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> programRepository.searchAfter(keyword, tagFilter,
+                    organizationService.getOrgIdsForMobile(), AppUtils.ProgramStatus.ACTIVE, cursorCreatedAt, cursorId,
+                    ascending, pageable);
+            case PORTAL_USER -> programRepository.searchAfter(keyword, tagFilter, orgIds, null, cursorCreatedAt,
+                    cursorId, ascending, pageable);
+            case KEYCLOAK_USER -> programRepository.searchAfter(keyword, tagFilter, null, null, cursorCreatedAt,
+                    cursorId, ascending, pageable);
         };
     }
 
@@ -162,6 +306,7 @@ public class ProgramService {
 
         Set<UUID> lessonIds = new HashSet<>();
         programRepository.deleteById(programId);
+        contentVersionService.bump(AppUtils.ModuleType.PROGRAM, programEntity.getOrgId());
         List<SectionEntity> sections = sectionRepository.getAllByProgramId(programId);
         for (SectionEntity sectionEntity : sections) {
             List<LessonEntity> lessons = lessonRepository.getAllBySectionId(sectionEntity.getSectionId());
@@ -175,10 +320,15 @@ public class ProgramService {
         }
         lessonRepository.deleteAllById(lessonIds);
         sectionRepository.deleteAll(sections);
+        tombstoneService.record(AppUtils.SyncEntityType.PROGRAM, programId, programEntity.getOrgId());
+        tombstoneService.recordAll(AppUtils.SyncEntityType.SECTION,
+                sections.stream().map(SectionEntity::getSectionId).toList(), programEntity.getOrgId());
+        tombstoneService.recordAll(AppUtils.SyncEntityType.LESSON, lessonIds, programEntity.getOrgId());
     }
 
     /**
-     * Updates the status of a program.
+     * Updates the status of a program. Sections and lessons follow the status of
+     * their program in sync, so a change also touches their update time.
      *
      * @param programId
      *            the ID of the program to update
@@ -187,10 +337,18 @@ public class ProgramService {
      * @throws AppException
      *             if the program does not exist
      */
+    @Transactional
     public void updateProgramStatus(UUID programId, AppUtils.ProgramStatus status) {
         ProgramEntity programEntity = getProgramById(programId);
+        boolean changed = !status.equals(programEntity.getProgramStatus());
         programEntity.setProgramStatus(status);
         programRepository.save(programEntity);
+        if (changed) {
+            LocalDateTime now = LocalDateTime.now();
+            sectionRepository.touchByProgramId(programId, now);
+            lessonRepository.touchByProgramId(programId, now);
+        }
+        contentVersionService.bump(AppUtils.ModuleType.PROGRAM, programEntity.getOrgId());
         if (AppUtils.ProgramStatus.ACTIVE.equals(status)) {
             sendProgramNotification(getProgramResponseDto(programEntity));
         }
@@ -210,6 +368,7 @@ public class ProgramService {
         ProgramEntity programEntity = getProgramById(programId);
         programEntity.setFlag(flag);
         programRepository.save(programEntity);
+        contentVersionService.bump(AppUtils.ModuleType.PROGRAM, programEntity.getOrgId());
     }
 
     /**
@@ -235,11 +394,18 @@ public class ProgramService {
                 AppUtils.ProgramStatus.ACTIVE);
     }
 
+    /**
+     * Retrieves the programs the current user worked on most recently, most
+     * recent first and bounded by the recents limit.
+     *
+     * @return a list of ProgramEntity objects in interaction order
+     */
     public List<ProgramEntity> getViewedPrograms() {
-        List<AppUtils.ProgramUserStatus> programStatus = List.of(AppUtils.ProgramUserStatus.IN_PROGRESS, AppUtils.ProgramUserStatus.STARTED);
-        List<UUID> programIds = programUserRepository.getProgramUserEntityByUserIdAndProgramUserStatusIn(
-                AppUtils.getPrincipalUserId(), programStatus).stream().map(ProgramUserEntity::getProgramId).toList();
-        return programRepository.findAllById(programIds);
+        UUID userId = AppUtils.getPrincipalUserId();
+        List<UUID> programIds = recentViewService.getRecentIds(AppUtils.ModuleType.PROGRAM, userId,
+                top -> programUserRepository.findRecentProgramIds(userId, VIEWED_STATUSES, top));
+        return RecentViewService.inOrder(programIds, programRepository.findAllById(programIds),
+                ProgramEntity::getProgramId);
     }
 
     /**
@@ -257,7 +423,9 @@ public class ProgramService {
         }
         programUserEntity.setProgramId(programUserRequestDto.getProgramId());
         programUserEntity.setUserId(programUserRequestDto.getUserId());
-        return programUserRepository.save(programUserEntity);
+        ProgramUserEntity savedProgramUserEntity = programUserRepository.save(programUserEntity);
+        recordView(programUserEntity);
+        return savedProgramUserEntity;
     }
 
     /**
@@ -272,40 +440,123 @@ public class ProgramService {
         ProgramUserEntity programUserEntity = getProgramUserById(programUserId);
         programUserEntity.setProgramUserStatus(status);
         programUserRepository.save(programUserEntity);
+        recordView(programUserEntity);
     }
 
     /**
-     * Changes the rating and comment of a program user.
+     * Changes the rating and comment of a program user. The user row is locked
+     * so that concurrent changes of the same rating apply their deltas in turn.
      *
      * @param programUserId
      *            the ID of the program user to update
      * @param programUserRatingUpdateDto
      *            the DTO containing the new rating and comment
      */
+    @Transactional
     public void changeRatingAndComment(UUID programUserId, ProgramUserRatingUpdateDto programUserRatingUpdateDto) {
-        ProgramUserEntity programUserEntity = getProgramUserById(programUserId);
-        boolean isRated = programUserEntity.getRating() != null;
+        ProgramUserEntity programUserEntity = programUserRepository.findByIdForUpdate(programUserId)
+                .orElseThrow(AppUtils.Messages.PROGRAM_USER_NOT_FOUND::getException);
+        Float previousRating = programUserEntity.getRating();
         programUserEntity.setRating(programUserRatingUpdateDto.getRating());
         programUserEntity.setComments(programUserRatingUpdateDto.getComment());
         programUserRepository.save(programUserEntity);
-        updateProgramRating(programUserEntity.getProgramId(), isRated);
+        recordView(programUserEntity);
+        updateProgramRating(programUserEntity.getProgramId(), previousRating, programUserRatingUpdateDto.getRating());
     }
 
     /**
-     * Updates the program rating based on the ratings of all users.
+     * Returns the rating breakdown of a program, read from the aggregates kept
+     * with the rating writes.
      *
      * @param programId
-     *            the ID of the program to update
-     * @param isRated
-     *            whether the program was previously rated
+     *            the ID of the program
+     * @return the average rating, the number of ratings and the ratings per
+     *         star
      */
-    private void updateProgramRating(UUID programId, boolean isRated) {
-        ProgramEntity programEntity = getProgramById(programId);
-        List<Float> ratings = programUserRepository.findNonZeroRatingsByProgramId(programId);
-        long ratingCount = isRated ? ratings.size() : ratings.size() + 1;
-        programEntity.setRatingCount(ratingCount);
-        programEntity.setRating(AppUtils.calculateRating(ratings, ratingCount));
-        programRepository.save(programEntity);
+    public RatingHistogramDto getRatingHistogram(UUID programId) {
+        ProgramEntity program = getProgramById(programId);
+        List<Long> stars = Stream.of(program.getRatingStar1(), program.getRatingStar2(), program.getRatingStar3(),
+                program.getRatingStar4(), program.getRatingStar5())
+                .map(count -> Objects.requireNonNullElse(count, 0L)).toList();
+        return RatingHistogramDto.builder().contentId(programId).rating(program.getRating())
+                .ratingCount(Objects.requireNonNullElse(program.getRatingCount(), 0L)).stars(stars).build();
+    }
+
+    /**
+     * Retrieves the ratings and comments of a program, newest first, using keyset
+     * pagination.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of reviews per slice
+     * @return a Slice containing the reviews
+     */
+    public Slice<ProgramUserEntity> getReviews(UUID programId, String cursor, int pageSize) {
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        return programUserRepository.findReviews(programId,
+                Objects.isNull(cursorDto) ? null : cursorDto.createdAt().atZone(ZoneOffset.UTC),
+                Objects.isNull(cursorDto) ? null : cursorDto.id(),
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt", "programUserId")));
+    }
+
+    /**
+     * Converts reviews to DTOs, loading the names of all reviewers with one
+     * query.
+     *
+     * @param reviews
+     *            the program users holding the ratings and comments
+     * @return the review DTOs, in the same order
+     */
+    public List<ReviewDto> toReviewDto(List<ProgramUserEntity> reviews) {
+        Map<UUID, String> userNamesByIds = userService
+                .getUserNamesByIds(reviews.stream().map(ProgramUserEntity::getUserId).distinct().toList());
+        return reviews.stream()
+                .map(review -> ReviewDto.builder().reviewId(review.getProgramUserId()).userId(review.getUserId())
+                        .userName(userNamesByIds.get(review.getUserId())).rating(review.getRating())
+                        .comment(review.getComments()).createdAt(review.getCreatedAt()).build())
+                .toList();
+    }
+
+    /**
+     * Moves a program to the front of the recents of its user, or drops it from
+     * them once it is no longer in progress.
+     *
+     * @param programUserEntity
+     *            the progress row that was written
+     */
+    private void recordView(ProgramUserEntity programUserEntity) {
+        recentViewService.record(AppUtils.ModuleType.PROGRAM, programUserEntity.getUserId(),
+                programUserEntity.getProgramId(), VIEWED_STATUSES.contains(programUserEntity.getProgramUserStatus()));
+    }
+
+    /**
+     * Applies the change of a user rating to the aggregates and star buckets of
+     * its program, recomputing them if they were never computed, and records the
+     * change of the program so that cached listings show the new rating.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param previousRating
+     *            the previous rating of the user, null if not rated
+     * @param rating
+     *            the new rating of the user, null if removed
+     */
+    private void updateProgramRating(UUID programId, Float previousRating, Float rating) {
+        long countDelta = (Objects.isNull(rating) ? 0 : 1) - (Objects.isNull(previousRating) ? 0 : 1);
+        double sumDelta = (Objects.isNull(rating) ? 0 : rating) - (Objects.isNull(previousRating) ? 0 : previousRating);
+        if (countDelta == 0 && sumDelta == 0) {
+            return;
+        }
+        if (programRepository.addRating(programId, sumDelta, countDelta, AppUtils.toRatingStar(previousRating),
+                AppUtils.toRatingStar(rating)) == 0) {
+            programRepository.recomputeRating(programId);
+        }
+        programRepository.findOrgIdByProgramId(programId)
+                .ifPresent(orgId -> contentVersionService.bump(AppUtils.ModuleType.PROGRAM, orgId));
     }
 
     /**
@@ -323,13 +574,12 @@ public class ProgramService {
     }
 
     private Map<UUID, ProgramUserEntity> getProgramUsersByProgramIds(List<UUID> programUserIds) {
-        UUID principalUserId = AppUtils.getPrincipalUserId();
-
-        return programUserIds.stream()
-                .map(programId -> programUserRepository.findByProgramIdAndUserId(programId, principalUserId) // returns
-                        .map(entity -> Map.entry(programId, entity)))
-                .flatMap(Optional::stream) // keep only present
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (programUserIds.isEmpty()) {
+            return Map.of();
+        }
+        return programUserRepository.findAllByUserIdAndProgramIdIn(AppUtils.getPrincipalUserId(), programUserIds)
+                .stream().collect(Collectors.toMap(ProgramUserEntity::getProgramId, Function.identity(),
+                        (first, second) -> first));
     }
 
     /**
@@ -376,8 +626,7 @@ public class ProgramService {
                 programResponseDto.setFlag(programEntity.getFlag().getValue());
             }
             if (ObjectUtils.isNotEmpty(programEntity.getTags())) {
-                programResponseDto.setTags(AppUtils.readValue(programEntity.getTags(), new TypeReference<>() {
-                }));
+                programResponseDto.setTags(AppUtils.readTags(programEntity.getTags()));
             }
             return programResponseDto;
         }).toList();
@@ -392,34 +641,96 @@ public class ProgramService {
      * @return a list of ProgramResponseDto objects
      */
     public List<ProgramMobileResponseDto> toProgramMobileResponseDto(List<ProgramEntity> programEntities) {
+        List<ProgramMobileResponseDto> programMobileResponseDtos = toSharedProgramMobileResponseDto(programEntities);
+        setProgramProgress(programMobileResponseDtos);
+        return programMobileResponseDtos;
+    }
+
+    /**
+     * Converts programs to ProgramMobileResponseDto objects without the progress
+     * of the current user, so that they can be shared between users.
+     */
+    private List<ProgramMobileResponseDto> toSharedProgramMobileResponseDto(List<ProgramEntity> programEntities) {
         Map<UUID, String> signedStorageUrlByIds = storageService.getSignedStorageUrlByIds(
                 programEntities.stream().flatMap(programEntity -> Stream.of(programEntity.getProgramBannerStorageId()))
                         .filter(Objects::nonNull).distinct().toList());
-        Map<UUID, ProgramUserEntity> programUserMap = getProgramUsersByProgramIds(
-                programEntities.stream().flatMap(programEntity -> Stream.of(programEntity.getProgramId()))
-                        .filter(Objects::nonNull).distinct().toList());
         return programEntities.stream().map(programEntity -> {
             ProgramMobileResponseDto programMobileResponseDto = AppUtils.map(programEntity,
                     ProgramMobileResponseDto.class);
             programMobileResponseDto
                     .setProgramBannerStorageUrl(signedStorageUrlByIds.get(programEntity.getProgramBannerStorageId()));
-            if (programUserMap.containsKey(programEntity.getProgramId())) {
-                programMobileResponseDto
-                        .setProgramUserId(programUserMap.get(programEntity.getProgramId()).getProgramUserId());
-                programMobileResponseDto
-                        .setProgramUserStatus(programUserMap.get(programEntity.getProgramId()).getProgramUserStatus());
-            }
             if (ObjectUtils.isNotEmpty(programEntity.getFlag())) {
                 programMobileResponseDto.setFlag(programEntity.getFlag().getValue());
             }
             if (ObjectUtils.isNotEmpty(programEntity.getTags())) {
-                programMobileResponseDto.setTags(AppUtils.readValue(programEntity.getTags(), new TypeReference<>() {
-                }));
+                programMobileResponseDto.setTags(AppUtils.readTags(programEntity.getTags()));
             }
             return programMobileResponseDto;
         }).toList();
     }
 
+    /**
+     * Sets the progress of the current user on the given programs.
+     */
+    private void setProgramProgress(List<ProgramMobileResponseDto> programMobileResponseDtos) {
+        Map<UUID, ProgramUserEntity> programUserMap = getProgramUsersByProgramIds(programMobileResponseDtos.stream()
+                .map(ProgramMobileResponseDto::getProgramId).filter(Objects::nonNull).distinct().toList());
+        programMobileResponseDtos.forEach(dto -> {
+            ProgramUserEntity programUserEntity = programUserMap.get(dto.getProgramId());
+            if (Objects.nonNull(programUserEntity)) {
+                dto.setProgramUserId(programUserEntity.getProgramUserId());
+                dto.setProgramUserStatus(programUserEntity.getProgramUserStatus());
+            }
+        });
+    }
+
+    /**
+     * Converts program cards to ProgramMobileResponseDto objects holding only the
+     * requested fields. Banners are signed and progress is loaded only when their
+     * fields are requested.
+     *
+     * @param programCards
+     *            the program cards to convert
+     * @param fields
+     *            the requested fields
+     * @return a list of ProgramMobileResponseDto objects
+     */
+    public List<ProgramMobileResponseDto> toProgramMobileResponseDto(List<ProgramCard> programCards,
+            FieldsDto fields) {
+        List<UUID> storageIds = programCards.stream()
+                .map(programCard -> fields.pick("programBannerStorageUrl", programCard::getProgramBannerStorageId))
+                .filter(Objects::nonNull).distinct().toList();
+        Map<UUID, String> signedStorageUrlByIds = storageIds.isEmpty()
+                ? Collections.emptyMap()
+                : storageService.getSignedStorageUrlByIds(storageIds);
+        Map<UUID, ProgramUserEntity> programUserMap = fields.hasAny("programUserId", "programUserStatus")
+                ? getProgramUsersByProgramIds(programCards.stream().map(ProgramCard::getProgramId).toList())
+                : Collections.emptyMap();
+        return programCards.stream().map(programCard -> {
+            Optional<ProgramUserEntity> programUser = Optional
+                    .ofNullable(programUserMap.get(programCard.getProgramId()));
+            return ProgramMobileResponseDto.builder().programId(programCard.getProgramId())
+                    .programName(fields.pick("programName", programCard::getProgramName))
+                    .programAuthor(fields.pick("programAuthor", programCard::getProgramAuthor))
+                    .programBannerStorageUrl(signedStorageUrlByIds.get(programCard.getProgramBannerStorageId()))
+                    .programBannerExternalUrl(
+                            fields.pick("programBannerExternalUrl", programCard::getProgramBannerExternalUrl))
+                    .duration(fields.pick("duration", programCard::getDuration))
+                    .numberOfLessons(fields.pick("numberOfLessons", programCard::getNumberOfLessons))
+                    .rating(fields.pick("rating", programCard::getRating))
+                    .ratingCount(fields.pick("ratingCount", programCard::getRatingCount))
+                    .views(fields.pick("views", programCard::getViews))
+                    .flag(fields.pick("flag", () -> Optional.ofNullable(programCard.getFlag())
+                            .map(AppUtils.ProgramFlag::getValue).orElse(null)))
+                    .programUserId(
+                            fields.pick("programUserId", () -> programUser.map(ProgramUserEntity::getProgramUserId)
+                                    .orElse(null)))
+                    .programUserStatus(fields.pick("programUserStatus",
+                            () -> programUser.map(ProgramUserEntity::getProgramUserStatus).orElse(null)))
+                    .build();
+        }).toList();
+    }
+
     /**
      * Maps a ProgramEntity to a ProgramResponseDto with additional details.
      *
@@ -439,8 +750,7 @@ public class ProgramService {
         if (ObjectUtils.isNotEmpty(programEntity.getFlag())) {
             programResponseDto.setFlag(programEntity.getFlag().getValue());
         }
-        programResponseDto.setTags(AppUtils.readValue(programEntity.getTags(), new TypeReference<>() {
-        }));
+        programResponseDto.setTags(AppUtils.readTags(programEntity.getTags()));
         return programResponseDto;
     }
 
@@ -13,7 +13,8 @@ import yoga.irai.server.app.audit.Auditable;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "program_section")
+@Table(name = "program_section", indexes = {
+        @Index(name = "idx_program_section_updated_at_id", columnList = "updated_at, section_id")})
 @EqualsAndHashCode(callSuper = true)
 public class SectionEntity extends Auditable implements Serializable {
 
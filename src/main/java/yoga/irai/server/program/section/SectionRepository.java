@@ -1,10 +1,17 @@
 package yoga.irai.server.program.section;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils;
 
 public interface SectionRepository extends JpaRepository<SectionEntity, UUID> {
 
@@ -36,4 +43,65 @@ public interface SectionRepository extends JpaRepository<SectionEntity, UUID> {
      */
     @Query("SELECT MAX(s.sectionOrder) FROM SectionEntity s WHERE s.programId = :programId")
     Integer findMaxSectionOrderByProgramId(@Param("programId") UUID programId);
+
+    /**
+     * Finds the sections updated within a sync window, continuing after the given
+     * keyset position. Sections are scoped through their program, so only sections
+     * of programs visible to the client are returned.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the parent program to filter, or null to include
+     *            every status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated sections
+     */
+    @Query("SELECT s FROM SectionEntity s WHERE s.programId IN (SELECT p.programId FROM ProgramEntity p WHERE "
+            + "p.orgId IN :orgIds AND (:status IS NULL OR p.programStatus = :status)) AND "
+            + "(:since IS NULL OR s.updatedAt > :since) AND s.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "s.updatedAt > :afterAt OR (s.updatedAt = :afterAt AND s.sectionId > :afterId))")
+    List<SectionEntity> findChanged(@Param("orgIds") Set<UUID> orgIds, @Param("status") AppUtils.ProgramStatus status,
+            @Param("since") LocalDateTime since, @Param("upTo") LocalDateTime upTo,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Returns which of the given sections belong to a program with the given
+     * status.
+     *
+     * @param sectionIds
+     *            the IDs of the sections to check
+     * @param status
+     *            the status of the parent program
+     * @return the IDs of the sections whose program has the status
+     */
+    @Query("SELECT s.sectionId FROM SectionEntity s WHERE s.sectionId IN :sectionIds AND s.programId IN "
+            + "(SELECT p.programId FROM ProgramEntity p WHERE p.programStatus = :status)")
+    Set<UUID> findSectionIdsByProgramStatus(@Param("sectionIds") Collection<UUID> sectionIds,
+            @Param("status") AppUtils.ProgramStatus status);
+
+    /**
+     * Sets the update time of every section of a program, so that a change of the
+     * program status reaches the sections in the next delta sync.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param updatedAt
+     *            the new update time
+     * @return the number of sections updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SectionEntity s SET s.updatedAt = :updatedAt WHERE s.programId = :programId")
+    int touchByProgramId(@Param("programId") UUID programId, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -7,8 +7,11 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.stereotype.Service;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.SectionMobileResponseDto;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramRepository;
 import yoga.irai.server.program.section.lesson.LessonEntity;
 import yoga.irai.server.program.section.lesson.LessonRepository;
 import yoga.irai.server.storage.StorageService;
@@ -24,6 +27,8 @@ public class SectionService {
     private final LessonRepository lessonRepository;
     private final SectionRepository sectionRepository;
     private final StorageService storageService;
+    private final TombstoneService tombstoneService;
+    private final ProgramRepository programRepository;
 
     /**
      * Adds a new section to a program.
@@ -108,6 +113,10 @@ public class SectionService {
         }
         sectionRepository.deleteById(sectionId);
         lessonRepository.deleteAllById(lessonIds);
+        UUID orgId = programRepository.findById(sectionEntity.getProgramId()).map(ProgramEntity::getOrgId)
+                .orElse(null);
+        tombstoneService.record(AppUtils.SyncEntityType.SECTION, sectionId, orgId);
+        tombstoneService.recordAll(AppUtils.SyncEntityType.LESSON, lessonIds, orgId);
     }
 
     /**
@@ -14,7 +14,8 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "program_lesson")
+@Table(name = "program_lesson", indexes = {
+        @Index(name = "idx_program_lesson_updated_at_id", columnList = "updated_at, lesson_id")})
 public class LessonEntity extends Auditable implements Serializable {
 
     @Serial
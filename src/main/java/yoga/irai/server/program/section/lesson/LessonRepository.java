@@ -1,10 +1,16 @@
 package yoga.irai.server.program.section.lesson;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils;
 
 public interface LessonRepository extends JpaRepository<LessonEntity, UUID> {
 
@@ -35,4 +41,52 @@ public interface LessonRepository extends JpaRepository<LessonEntity, UUID> {
      */
     @Query("SELECT MAX(l.lessonOrder) FROM LessonEntity l WHERE l.sectionId = :sectionId")
     Integer findMaxLessonOrderBySectionId(@Param("sectionId") UUID sectionId);
+
+    /**
+     * Finds the lessons updated within a sync window, continuing after the given
+     * keyset position. Lessons are scoped through their program, so only lessons
+     * of programs visible to the client are returned.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the parent program to filter, or null to include
+     *            every status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated lessons
+     */
+    @Query("SELECT l FROM LessonEntity l WHERE l.sectionId IN (SELECT s.sectionId FROM SectionEntity s WHERE "
+            + "s.programId IN (SELECT p.programId FROM ProgramEntity p WHERE p.orgId IN :orgIds AND "
+            + "(:status IS NULL OR p.programStatus = :status))) AND (:since IS NULL OR l.updatedAt > :since) AND "
+            + "l.updatedAt <= :upTo AND (:afterAt IS NULL OR l.updatedAt > :afterAt OR "
+            + "(l.updatedAt = :afterAt AND l.lessonId > :afterId))")
+    List<LessonEntity> findChanged(@Param("orgIds") Set<UUID> orgIds, @Param("status") AppUtils.ProgramStatus status,
+            @Param("since") LocalDateTime since, @Param("upTo") LocalDateTime upTo,
+            @Param("afterAt") LocalDateTime afterAt, @Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Sets the update time of every lesson of a program, so that a change of the
+     * program status reaches the lessons in the next delta sync.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param updatedAt
+     *            the new update time
+     * @return the number of lessons updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE LessonEntity l SET l.updatedAt = :updatedAt WHERE l.sectionId IN "
+            + "(SELECT s.sectionId FROM SectionEntity s WHERE s.programId = :programId)")
+    int touchByProgramId(@Param("programId") UUID programId, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -2,6 +2,7 @@ package yoga.irai.server.program.section.lesson;
 
 import jakarta.validation.Valid;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
@@ -9,6 +10,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.stereotype.Service;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.LessonMobileResponseDto;
 import yoga.irai.server.program.ProgramEntity;
@@ -33,6 +35,7 @@ public class LessonService {
     private final ProgramService programService;
     private final ProgramRepository programRepository;
     private final LessonUserRepository lessonUserRepository;
+    private final TombstoneService tombstoneService;
 
     /**
      * Adds a new lesson to the system.
@@ -138,6 +141,7 @@ public class LessonService {
         programRepository.save(programEntity);
         sectionRepository.save(sectionEntity);
         lessonRepository.delete(lessonEntity);
+        tombstoneService.record(AppUtils.SyncEntityType.LESSON, lessonId, programEntity.getOrgId());
     }
 
     /**
@@ -201,14 +205,12 @@ public class LessonService {
     }
 
     private Map<UUID, LessonUserEntity> getLessonUsersByLessonIds(List<UUID> programUserIds) {
-        UUID principalUserId = AppUtils.getPrincipalUserId();
-
-        return programUserIds.stream()
-                .map(programId -> lessonUserRepository.findByLessonIdAndUserId(programId, principalUserId) // returns
-                                                                                                            // Optional
-                        .map(entity -> Map.entry(programId, entity)))
-                .flatMap(Optional::stream) // keep only present
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (programUserIds.isEmpty()) {
+            return Map.of();
+        }
+        return lessonUserRepository.findAllByUserIdAndLessonIdIn(AppUtils.getPrincipalUserId(), programUserIds)
+                .stream().collect(Collectors.toMap(LessonUserEntity::getLessonId, Function.identity(),
+                        (first, second) -> first));
     }
 
     /**
@@ -242,6 +244,8 @@ public class LessonService {
         Map<UUID, LessonUserEntity> programUserMap = getLessonUsersByLessonIds(
                 lessonEntities.stream().flatMap(lessonEntity -> Stream.of(lessonEntity.getLessonId()))
                         .filter(Objects::nonNull).distinct().toList());
+        Map<UUID, String> signedStorageUrlByIds = storageService.getSignedStorageUrlByIds(lessonEntities.stream()
+                .map(LessonEntity::getLessonStorageId).filter(Objects::nonNull).distinct().toList());
         return lessonEntities.stream().map(lessonEntity -> {
             LessonMobileResponseDto lessonMobileResponseDto = AppUtils.map(lessonEntity, LessonMobileResponseDto.class);
             if (programUserMap.containsKey(lessonEntity.getLessonId())) {
@@ -251,8 +255,7 @@ public class LessonService {
                         .setLessonUserStatus(programUserMap.get(lessonEntity.getLessonId()).getLessonUserStatus());
                 lessonMobileResponseDto.setResumeTime(programUserMap.get(lessonEntity.getLessonId()).getResumeTime());
             }
-            lessonMobileResponseDto
-                    .setLessonStorageUrl(storageService.getStorageUrl(lessonEntity.getLessonStorageId()));
+            lessonMobileResponseDto.setLessonStorageUrl(signedStorageUrlByIds.get(lessonEntity.getLessonStorageId()));
             return lessonMobileResponseDto;
         }).toList();
     }
@@ -17,7 +17,9 @@ import yoga.irai.server.app.AppUtils;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "program_lesson_user")
+@Table(name = "program_lesson_user", indexes = {
+        @Index(name = "idx_program_lesson_user_user_id_lesson_id", columnList = "user_id, lesson_id"),
+        @Index(name = "idx_program_lesson_user_user_id_updated_at", columnList = "user_id, updated_at")})
 public class LessonUserEntity implements Serializable {
     @Serial
     private static final long serialVersionUID = -3711535317040630312L;
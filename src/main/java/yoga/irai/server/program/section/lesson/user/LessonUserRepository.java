@@ -1,11 +1,52 @@
 package yoga.irai.server.program.section.lesson.user;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import yoga.irai.server.app.AppUtils;
 
 public interface LessonUserRepository extends JpaRepository<LessonUserEntity, UUID> {
     LessonUserEntity getByLessonIdAndUserId(UUID lessonId, UUID userId);
 
     Optional<LessonUserEntity> findByLessonIdAndUserId(UUID lessonId, UUID userId);
+
+    /**
+     * Finds the progress rows of a user for the given lessons in a single query.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param lessonIds
+     *            the IDs of the lessons
+     * @return the progress rows found, at most one per lesson
+     */
+    List<LessonUserEntity> findAllByUserIdAndLessonIdIn(UUID userId, Collection<UUID> lessonIds);
+
+    /**
+     * Finds the progress rows of a user that are still in progress on lessons
+     * of programs with the given status, most recent first. Served by the index
+     * on user and last update, each row joined to its lesson, section and
+     * program by primary key.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param statuses
+     *            the progress statuses that count as in progress
+     * @param programStatus
+     *            the status the programs must have
+     * @param pageable
+     *            the number of rows to return
+     * @return the progress rows, most recent first
+     */
+    @Query("SELECT lu FROM LessonUserEntity lu JOIN LessonEntity l ON l.lessonId = lu.lessonId "
+            + "JOIN SectionEntity s ON s.sectionId = l.sectionId JOIN ProgramEntity p ON p.programId = s.programId "
+            + "WHERE lu.userId = :userId AND lu.lessonUserStatus IN :statuses "
+            + "AND p.programStatus = :programStatus ORDER BY lu.updatedAt DESC, lu.lessonUserId DESC")
+    List<LessonUserEntity> findInProgress(@Param("userId") UUID userId,
+            @Param("statuses") Collection<AppUtils.LessonUserStatus> statuses,
+            @Param("programStatus") AppUtils.ProgramStatus programStatus, Pageable pageable);
 }
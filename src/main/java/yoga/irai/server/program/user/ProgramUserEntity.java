@@ -17,7 +17,10 @@ import yoga.irai.server.app.AppUtils;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "program_user")
+@Table(name = "program_user", indexes = {
+        @Index(name = "idx_program_user_user_id_program_id", columnList = "user_id, program_id"),
+        @Index(name = "idx_program_user_user_id_updated_at", columnList = "user_id, updated_at"),
+        @Index(name = "idx_program_user_program_id_created_at", columnList = "program_id, created_at")})
 public class ProgramUserEntity implements Serializable {
 
     @Serial
@@ -1,24 +1,97 @@
 package yoga.irai.server.program.user;
 
+import jakarta.persistence.LockModeType;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.version.VersionMarker;
 
 @Repository
 public interface    ProgramUserRepository extends JpaRepository<ProgramUserEntity, UUID> {
     ProgramUserEntity getByProgramIdAndUserId(UUID programId, UUID userId);
 
-    @Query("SELECT pu.rating FROM ProgramUserEntity pu WHERE pu.programId = :programId AND pu.rating IS NOT NULL")
-    List<Float> findNonZeroRatingsByProgramId(@Param("programId") UUID programId);
+    /**
+     * Finds and locks a program user, so that concurrent changes of the same
+     * rating are applied one after the other.
+     *
+     * @param programUserId
+     *            the ID of the program user
+     * @return the program user, if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT pu FROM ProgramUserEntity pu WHERE pu.programUserId = :programUserId")
+    Optional<ProgramUserEntity> findByIdForUpdate(@Param("programUserId") UUID programUserId);
 
     Optional<ProgramUserEntity> findByProgramIdAndUserId(UUID programId, UUID userId);
 
+    /**
+     * Finds the programs a user interacted with most recently, most recent first.
+     * Served by the index on user and last update.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param statuses
+     *            the progress statuses that count as viewed
+     * @param pageable
+     *            the number of IDs to return
+     * @return the IDs of the programs, most recent first
+     */
+    @Query("SELECT pu.programId FROM ProgramUserEntity pu WHERE pu.userId = :userId "
+            + "AND pu.programUserStatus IN :statuses ORDER BY pu.updatedAt DESC, pu.programUserId DESC")
+    List<UUID> findRecentProgramIds(@Param("userId") UUID userId,
+            @Param("statuses") Collection<AppUtils.ProgramUserStatus> statuses, Pageable pageable);
 
-    List<ProgramUserEntity> getProgramUserEntityByUserIdAndProgramUserStatusIn(UUID userId, Collection<AppUtils.ProgramUserStatus> programUserStatuses);
+    /**
+     * Finds the progress rows of a user for the given programs in a single query.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param programIds
+     *            the IDs of the programs
+     * @return the progress rows found, at most one per program
+     */
+    List<ProgramUserEntity> findAllByUserIdAndProgramIdIn(UUID userId, Collection<UUID> programIds);
+
+    /**
+     * Returns the version marker of the programs progress of a user.
+     *
+     * @param userId
+     *            the ID of the user
+     * @return the row count and last update time of the progress rows
+     */
+    @Query("SELECT COUNT(pu) AS rowCount, MAX(pu.updatedAt) AS lastUpdatedAt "
+            + "FROM ProgramUserEntity pu WHERE pu.userId = :userId")
+    VersionMarker getVersionMarker(@Param("userId") UUID userId);
+
+    /**
+     * Finds the ratings and comments of a program, newest first, continuing after
+     * the given keyset position. Returns a slice, so no count query is run.
+     *
+     * @param programId
+     *            the ID of the program
+     * @param cursorCreatedAt
+     *            the creation time of the last review already returned, or null
+     *            for the first page
+     * @param cursorId
+     *            the ID of the last review already returned
+     * @param pageable
+     *            the page size and a descending sort on creation time and ID
+     * @return a slice of reviews after the cursor
+     */
+    @Query("SELECT pu FROM ProgramUserEntity pu WHERE pu.programId = :programId "
+            + "AND (pu.rating IS NOT NULL OR pu.comments IS NOT NULL) AND (:cursorCreatedAt IS NULL OR "
+            + "pu.createdAt < :cursorCreatedAt OR (pu.createdAt = :cursorCreatedAt AND pu.programUserId < :cursorId))")
+    Slice<ProgramUserEntity> findReviews(@Param("programId") UUID programId,
+            @Param("cursorCreatedAt") ZonedDateTime cursorCreatedAt, @Param("cursorId") UUID cursorId,
+            Pageable pageable);
 }
@@ -1,20 +1,21 @@
 package yoga.irai.server.provider;
 
 import lombok.AllArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import yoga.irai.server.app.AppUtils;
 
-/** Service for sending emails. */
+/**
+ * Service for sending emails. Mails are written to the outbox in the caller's
+ * transaction and delivered in the background by {@link MailOutboxSender}.
+ */
 @Service
 @AllArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository mailOutboxRepository;
 
     /**
-     * Sends an OTP email to the specified recipient.
+     * Queues an OTP email to the specified recipient.
      *
      * @param to
      *            the recipient's email address
@@ -24,17 +25,12 @@ public class EmailService {
      *            the time in minutes after which the OTP expires
      */
     public void sendOtpEmail(String to, String otp, int expiryTime) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(AppUtils.Constants.EMAIL_FROM_ADDRESS);
-        message.setTo(to);
-        message.setSubject(AppUtils.Constants.OTP_EMAIL_SUBJECT);
-        String body = String.format(AppUtils.Constants.OTP_EMAIL_BODY, to, otp, expiryTime);
-        message.setText(body);
-        mailSender.send(message);
+        sendMail(to, AppUtils.Constants.OTP_EMAIL_SUBJECT,
+                String.format(AppUtils.Constants.OTP_EMAIL_BODY, to, otp, expiryTime));
     }
 
     /**
-     * Sends a generic email with the specified subject and body.
+     * Queues a generic email with the specified subject and body.
      *
      * @param to
      *            the recipient's email address
@@ -44,11 +40,7 @@ public class EmailService {
      *            the body of the email
      */
     public void sendMail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(AppUtils.Constants.EMAIL_FROM_ADDRESS);
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        mailSender.send(message);
+        mailOutboxRepository.save(MailOutboxEntity.builder().mailFrom(AppUtils.Constants.EMAIL_FROM_ADDRESS)
+                .mailTo(to).subject(subject).body(body).build());
     }
 }
@@ -0,0 +1,79 @@
+package yoga.irai.server.provider;
+
+import jakarta.persistence.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Outbox row for an email waiting to be delivered by {@link MailOutboxSender}.
+ * Rows are written in the caller's transaction so that a mail is queued if and
+ * only if the business change that triggered it is committed.
+ */
+@Data
+@Entity
+@Builder
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt_at", columnList = "mail_outbox_status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_created_at", columnList = "created_at")})
+public class MailOutboxEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2915468190371582614L;
+
+    @Id
+    @GeneratedValue
+    @Column(name = "mail_outbox_id", columnDefinition = "UUID", updatable = false, nullable = false)
+    private UUID mailOutboxId;
+
+    @Column(name = "mail_from", nullable = false)
+    private String mailFrom;
+
+    @Column(name = "mail_to", nullable = false)
+    private String mailTo;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mail_outbox_status", length = 20, nullable = false)
+    private AppUtils.MailOutboxStatus mailOutboxStatus;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", columnDefinition = "TIMESTAMPTZ", nullable = false)
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "sent_at", columnDefinition = "TIMESTAMPTZ")
+    private ZonedDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", columnDefinition = "TIMESTAMPTZ", updatable = false)
+    private ZonedDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.mailOutboxStatus == null) {
+            this.mailOutboxStatus = AppUtils.MailOutboxStatus.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = ZonedDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package yoga.irai.server.provider;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxEntity, UUID> {
+
+    /**
+     * Claims the next batch of pending mails that are due for delivery. Rows locked
+     * by another node are skipped, so concurrent senders never pick up the same
+     * mail.
+     *
+     * @param batchSize
+     *            the maximum number of mails to claim
+     * @return the claimed mails, oldest first
+     */
+    @Query(value = "SELECT * FROM mail_outbox WHERE mail_outbox_status = 'PENDING' AND next_attempt_at <= now() "
+            + "ORDER BY created_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailOutboxEntity> claimDueBatch(@Param("batchSize") int batchSize);
+
+    /**
+     * Counts the mails in the given status.
+     *
+     * @param mailOutboxStatus
+     *            the status to count
+     * @return the number of mails in the given status
+     */
+    long countByMailOutboxStatus(AppUtils.MailOutboxStatus mailOutboxStatus);
+
+    /**
+     * Deletes up to {@code batchSize} sent or dead-lettered mails created before
+     * the cutoff.
+     *
+     * @param cutoff
+     *            mails created before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM mail_outbox WHERE mail_outbox_id IN (SELECT mail_outbox_id FROM mail_outbox "
+            + "WHERE mail_outbox_status <> 'PENDING' AND created_at < :cutoff LIMIT :batchSize)", nativeQuery = true)
+    int deleteFinishedBatch(@Param("cutoff") ZonedDateTime cutoff, @Param("batchSize") int batchSize);
+}
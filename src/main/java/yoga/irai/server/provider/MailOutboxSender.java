@@ -0,0 +1,144 @@
+package yoga.irai.server.provider;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.ZonedDateTime;
+import java.util.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import yoga.irai.server.app.AppUtils;
+
+/**
+ * Background sender that drains the mail outbox. Each run claims a batch of due
+ * mails and hands them to the mail sender in a single call, so the whole batch
+ * goes out over one SMTP connection. Failed mails are retried with exponential
+ * backoff and dead-lettered once the attempt limit is reached.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MailOutboxSender {
+
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final MailOutboxRepository mailOutboxRepository;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    /**
+     * Registers a gauge reporting the number of mails waiting for delivery.
+     */
+    @PostConstruct
+    public void registerGauges() {
+        Gauge.builder("mail.outbox.pending", mailOutboxRepository,
+                repository -> repository.countByMailOutboxStatus(AppUtils.MailOutboxStatus.PENDING))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims the next batch of due mails and delivers them over a single SMTP
+     * connection.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-delay-ms:2000}")
+    public void drain() {
+        List<MailOutboxEntity> batch = mailOutboxRepository.claimDueBatch(batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<SimpleMailMessage, MailOutboxEntity> messages = new IdentityHashMap<>();
+        batch.forEach(mail -> messages.put(toMessage(mail), mail));
+
+        Set<MailOutboxEntity> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        String error = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            error = e.getMessage();
+            if (e.getFailedMessages().isEmpty()) {
+                failed.addAll(batch);
+            } else {
+                e.getFailedMessages().keySet().stream().map(messages::get).filter(Objects::nonNull)
+                        .forEach(failed::add);
+            }
+        } catch (MailException e) {
+            error = e.getMessage();
+            failed.addAll(batch);
+        } finally {
+            sample.stop(meterRegistry.timer("mail.outbox.batch.duration"));
+        }
+
+        ZonedDateTime now = ZonedDateTime.now();
+        for (MailOutboxEntity mail : batch) {
+            if (failed.contains(mail)) {
+                markFailed(mail, error, now);
+            } else {
+                mail.setMailOutboxStatus(AppUtils.MailOutboxStatus.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                meterRegistry.counter("mail.outbox.sent").increment();
+            }
+        }
+        mailOutboxRepository.saveAll(batch);
+    }
+
+    /**
+     * Records a failed delivery attempt, scheduling a retry or dead-lettering the
+     * mail when the attempt limit is reached.
+     *
+     * @param mail
+     *            the mail that failed
+     * @param error
+     *            the error reported by the mail sender
+     * @param now
+     *            the time of the attempt
+     */
+    private void markFailed(MailOutboxEntity mail, String error, ZonedDateTime now) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(StringUtils.abbreviate(error, 1000));
+        if (attempts >= maxAttempts) {
+            mail.setMailOutboxStatus(AppUtils.MailOutboxStatus.DEAD);
+            meterRegistry.counter("mail.outbox.dead").increment();
+            log.error("Mail {} dead-lettered after {} attempts: {}", mail.getMailOutboxId(), attempts, error);
+        } else {
+            mail.setNextAttemptAt(now.plusSeconds(backoffSeconds << (attempts - 1)));
+            meterRegistry.counter("mail.outbox.retried").increment();
+        }
+    }
+
+    /**
+     * Builds the mail message for an outbox row.
+     *
+     * @param mail
+     *            the outbox row
+     * @return the mail message
+     */
+    private SimpleMailMessage toMessage(MailOutboxEntity mail) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(mail.getMailFrom());
+        message.setTo(mail.getMailTo());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+}
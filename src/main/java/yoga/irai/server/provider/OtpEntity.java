@@ -10,7 +10,7 @@ import lombok.*;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "otp")
+@Table(name = "otp", indexes = {@Index(name = "idx_otp_expiry_time", columnList = "expiry_time")})
 public class OtpEntity {
 
     @Id
@@ -1,10 +1,15 @@
 package yoga.irai.server.provider;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface OtpRepository extends JpaRepository<OtpEntity, UUID> {
@@ -26,4 +31,19 @@ public interface OtpRepository extends JpaRepository<OtpEntity, UUID> {
      * @return a List of OtpEntity objects associated with the userId
      */
     List<OtpEntity> findAllByUserId(UUID userId);
+
+    /**
+     * Deletes up to {@code batchSize} OTPs that expired before the cutoff.
+     *
+     * @param cutoff
+     *            OTPs expiring before this time are deleted
+     * @param batchSize
+     *            the maximum number of rows to delete
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM otp WHERE otp_id IN (SELECT otp_id FROM otp WHERE expiry_time < :cutoff "
+            + "LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") ZonedDateTime cutoff, @Param("batchSize") int batchSize);
 }
@@ -2,12 +2,15 @@ package yoga.irai.server.setting;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.ArrayList;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.dto.AppResponseDto;
+import yoga.irai.server.app.search.TagService;
+import yoga.irai.server.app.version.ConditionalGet;
 
 @Validated
 @RestController
@@ -16,15 +19,19 @@ import yoga.irai.server.app.dto.AppResponseDto;
 @Tag(name = "Setting Management", description = "APIs for managing setting, including creation, retrieval, updating, and deletion.")
 public class SettingController {
 
+    private final TagService tagService;
     private final SettingService settingService;
 
     /**
-     * Retrieves a setting by its name.
+     * Retrieves a setting by its name. The value of a tag setting is its seeded
+     * tags together with the tags in use by the content of its module.
      *
      * @param settingName
      *            the name of the setting to be retrieved
      * @return the details of the requested setting
      */
+    @ConditionalGet(modules = {AppUtils.ModuleType.PRACTICE, AppUtils.ModuleType.PROGRAM, AppUtils.ModuleType.POEM,
+            AppUtils.ModuleType.SHORTS, AppUtils.ModuleType.NEWS}, settings = true, signedUrls = false)
     @GetMapping("/{settingName}")
     @Operation(summary = "Get setting by name", description = "Retrieves a setting by its name. Returns the setting details if found.")
     public ResponseEntity<AppResponseDto<SettingResponseDto>> getCountrySetting(
@@ -32,6 +39,10 @@ public class SettingController {
         AppResponseDto.AppResponseDtoBuilder<SettingResponseDto> builder = AppResponseDto.builder();
         SettingEntity settingEntity = settingService.getSettingBySettingName(settingName.getSetting());
         SettingResponseDto settingResponseDto = AppUtils.mapToResponse(settingEntity);
+        if (TagService.TAG_SETTINGS.containsValue(settingName)) {
+            settingResponseDto.setSettingValue(
+                    new ArrayList<>(tagService.getVocabulary(settingName, settingResponseDto.getSettingValue())));
+        }
         return ResponseEntity
                 .ok(builder.data(settingResponseDto).message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
     }
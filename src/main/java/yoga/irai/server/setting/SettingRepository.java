@@ -3,7 +3,9 @@ package yoga.irai.server.setting;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import yoga.irai.server.app.version.VersionMarker;
 
 @Repository
 public interface SettingRepository extends JpaRepository<SettingEntity, UUID> {
@@ -17,4 +19,12 @@ public interface SettingRepository extends JpaRepository<SettingEntity, UUID> {
      *         found
      */
     Optional<SettingEntity> findBySettingName(String settingName);
+
+    /**
+     * Returns the version marker of all settings.
+     *
+     * @return the row count and last update time of the settings
+     */
+    @Query("SELECT COUNT(s) AS rowCount, MAX(s.updatedAt) AS lastUpdatedAt FROM SettingEntity s")
+    VersionMarker getVersionMarker();
 }
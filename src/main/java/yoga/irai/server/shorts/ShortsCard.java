@@ -0,0 +1,35 @@
+package yoga.irai.server.shorts;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Columns of a short needed by list cards. Leaves out the description and the
+ * tags, which are the large columns of the table.
+ */
+public interface ShortsCard {
+
+    /**
+     * Fields of the mobile response that can be built from the card.
+     */
+    Set<String> FIELDS = Set.of("shortsId", "shortsName", "shortsStorageUrl", "shortsExternalUrl",
+            "shortsBannerStorageUrl", "shortsBannerExternalUrl", "duration", "likes", "views", "isLiked", "comments");
+
+    UUID getShortsId();
+
+    String getShortsName();
+
+    UUID getShortsStorageId();
+
+    String getShortsExternalUrl();
+
+    UUID getShortsBannerStorageId();
+
+    String getShortsBannerExternalUrl();
+
+    Long getDuration();
+
+    Long getLikes();
+
+    Long getViews();
+}
@@ -3,16 +3,20 @@ package yoga.irai.server.shorts;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.*;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
 import yoga.irai.server.app.dto.AppResponseDto;
 import yoga.irai.server.app.dto.TotalDto;
+import yoga.irai.server.app.dto.UniqueViewersDto;
 
 /**
  * This controller handles operations related to shorts in the application. It
@@ -26,6 +30,7 @@ import yoga.irai.server.app.dto.TotalDto;
 @Tag(name = "Shorts Management", description = "APIs for managing shorts, including creation, retrieval, updating, and deletion.")
 public class ShortsController {
     private final ShortsService shortsService;
+    private final UniqueViewerService uniqueViewerService;
 
     /**
      * Adds a new shorts entry.
@@ -92,6 +97,8 @@ public class ShortsController {
      *            the sort direction (ASC or DESC)
      * @param keyword
      *            an optional search keyword
+     * @param tags
+     *            optional tags the shorts must all carry
      * @return a response audit containing a list of shorts entries
      */
     @GetMapping
@@ -100,8 +107,9 @@ public class ShortsController {
             @RequestParam(defaultValue = "0") int pageNumber, @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") Sort.Direction direction,
-            @RequestParam(required = false) String keyword) {
-        Page<ShortsEntity> shortsPage = shortsService.getShorts(pageNumber, pageSize, sortBy, direction, keyword);
+            @RequestParam(required = false) String keyword, @RequestParam(required = false) Set<String> tags) {
+        Page<ShortsEntity> shortsPage = shortsService.getShorts(pageNumber, pageSize, sortBy, direction, keyword,
+                tags);
         List<ShortsEntity> shortsEntities = shortsPage.getContent();
         return ResponseEntity.ok(AppResponseDto.<List<ShortsResponseDto>>builder()
                 .data(shortsService.toShortsResponseDto(shortsEntities))
@@ -154,4 +162,27 @@ public class ShortsController {
                 .data(TotalDto.builder().total(shortsService.getTotalShorts()).build())
                 .message(AppUtils.Messages.PRACTICE_FOUND.getMessage()).build());
     }
+
+    /**
+     * Retrieves the approximate number of distinct users who viewed a shorts
+     * over a date range.
+     *
+     * @param shortsId
+     *            the ID of the shorts
+     * @param from
+     *            the first UTC day, inclusive
+     * @param to
+     *            the last UTC day, inclusive
+     * @return a response audit containing the estimated number of viewers
+     */
+    @GetMapping("/{shortsId}/viewers")
+    @Operation(summary = "Get unique viewers", description = "Estimates the distinct viewers of the shorts over a "
+            + "date range.")
+    public ResponseEntity<AppResponseDto<UniqueViewersDto>> getUniqueViewers(@PathVariable UUID shortsId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(AppResponseDto.<UniqueViewersDto>builder()
+                .data(uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS, shortsId, from, to))
+                .message(AppUtils.Messages.SEARCH_FOUND.getMessage()).build());
+    }
 }
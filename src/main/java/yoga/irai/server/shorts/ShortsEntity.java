@@ -15,7 +15,10 @@ import yoga.irai.server.app.audit.Auditable;
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "shorts")
+@Table(name = "shorts", indexes = {
+        @Index(name = "idx_shorts_created_at_id", columnList = "created_at, shorts_id"),
+        @Index(name = "idx_shorts_updated_at_id", columnList = "updated_at, shorts_id"),
+        @Index(name = "idx_shorts_trending_score", columnList = "trending_score")})
 public class ShortsEntity extends Auditable implements Serializable {
 
     @Serial
@@ -65,6 +68,13 @@ public class ShortsEntity extends Auditable implements Serializable {
     @Column(name = "tags")
     private String tags;
 
+    /**
+     * Trending score, written only by the trending service.
+     */
+    @Column(name = "trending_score", insertable = false, updatable = false,
+            columnDefinition = "DOUBLE PRECISION DEFAULT 0 NOT NULL")
+    private Double trending;
+
     @PrePersist
     protected void onCreate() {
         this.shortsStatus = AppUtils.ShortsStatus.INACTIVE;
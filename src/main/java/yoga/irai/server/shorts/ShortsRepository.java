@@ -1,23 +1,60 @@
 package yoga.irai.server.shorts;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.TaggedContent;
+import yoga.irai.server.app.search.SearchableContent;
+import yoga.irai.server.app.search.TagCount;
 
 @Repository
 public interface ShortsRepository extends JpaRepository<ShortsEntity, UUID> {
 
+    /**
+     * Keyword filter: a full-text match on the weighted search vector, or, for a
+     * single word, a partial match on the name served by its trigram index.
+     */
+    String KEYWORD_CONDITION = "(:keyword IS NULL OR :keyword = '' OR s.shortsId IN ("
+            + "SELECT x.shortsId FROM ShortsSearchEntity x WHERE fts_match(x.searchVector, :keyword) = true) "
+            + "OR s.shortsName ILIKE " + AppUtils.NAME_PATTERN + ")";
+
+    /**
+     * Orders keyword matches by full-text rank, newest first on ties.
+     */
+    String RANK_ORDER = " ORDER BY (SELECT fts_rank(x.searchVector, :keyword) FROM ShortsSearchEntity x "
+            + "WHERE x.shortsId = s.shortsId) DESC, s.createdAt DESC";
+
+    /**
+     * Tag filter: the rows carrying every tag of a JSON array, served by the
+     * GIN index of the tag set.
+     */
+    String TAG_CONDITION = "(:tags IS NULL OR s.shortsId IN ("
+            + "SELECT x.shortsId FROM ShortsSearchEntity x WHERE tags_contain(x.tagSet, :tags) = true))";
+
+    /**
+     * Filter shared by the keyword searches of the repository.
+     */
+    String SEARCH_CONDITION = "(:orgIds IS NULL OR s.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR s.shortsStatus = :status) AND"
+            + KEYWORD_CONDITION + " AND " + TAG_CONDITION;
+
     /**
      * Search for shorts based on keyword, organization IDs, and status.
      *
      * @param keyword
      *            the keyword to search for in shorts name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
      * @param orgIds
      *            the set of organization IDs to filter shorts by
      * @param status
@@ -26,12 +63,111 @@ public interface ShortsRepository extends JpaRepository<ShortsEntity, UUID> {
      *            the pagination information
      * @return a page of shorts matching the search criteria
      */
-    @Query("SELECT s FROM ShortsEntity s WHERE (:orgIds IS NULL OR s.orgId IN :orgIds) AND "
-            + "(:status IS NULL OR s.shortsStatus = :status) AND"
-            + "(CASE WHEN :keyword IS NULL OR :keyword = '' THEN true ELSE( "
-            + "LOWER(s.shortsName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR "
-            + "LOWER(s.shortsDescription) LIKE LOWER(CONCAT('%', :keyword, '%'))) END)")
-    Page<ShortsEntity> search(String keyword, Set<UUID> orgIds, AppUtils.ShortsStatus status, Pageable pageable);
+    @Query("SELECT s FROM ShortsEntity s WHERE " + SEARCH_CONDITION)
+    Page<ShortsEntity> search(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ShortsStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, ordered by full-text rank on the keyword
+     * instead of the sort of the pageable.
+     *
+     * @param keyword
+     *            the keyword to search for
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter shorts
+     * @param status
+     *            the status of the shorts to filter
+     * @param pageable
+     *            the page to return, without sort
+     * @return a page of matching rows, best match first
+     */
+    @Query(value = "SELECT s FROM ShortsEntity s WHERE " + SEARCH_CONDITION + RANK_ORDER,
+            countQuery = "SELECT COUNT(s) FROM ShortsEntity s WHERE " + SEARCH_CONDITION)
+    Page<ShortsEntity> searchRanked(String keyword, String tags, Set<UUID> orgIds, AppUtils.ShortsStatus status,
+            Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, reading only the columns of a list card.
+     *
+     * @param keyword
+     *            the keyword to search for in shorts name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter shorts
+     * @param status
+     *            the status of the shorts to filter
+     * @param pageable
+     *            the pagination information
+     * @return a page of shorts cards
+     */
+    @Query(value = "SELECT s.shortsId AS shortsId, s.shortsName AS shortsName, s.shortsStorageId AS shortsStorageId, "
+            + "s.shortsExternalUrl AS shortsExternalUrl, s.shortsBannerStorageId AS shortsBannerStorageId, "
+            + "s.shortsBannerExternalUrl AS shortsBannerExternalUrl, s.duration AS duration, s.likes AS likes, "
+            + "s.views AS views FROM ShortsEntity s WHERE " + SEARCH_CONDITION,
+            countQuery = "SELECT COUNT(s) FROM ShortsEntity s WHERE " + SEARCH_CONDITION)
+    Page<ShortsCard> searchCards(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ShortsStatus status, Pageable pageable);
+
+    /**
+     * Same search as {@link #search}, continuing after the given keyset
+     * position instead of an offset. Returns a slice, so no count query is run.
+     *
+     * @param keyword
+     *            the keyword to search for in shorts name or description
+     * @param tags
+     *            the JSON array of tags every row must carry, or null
+     * @param orgIds
+     *            the set of organization IDs to filter shorts by
+     * @param status
+     *            the status of the shorts to filter by
+     * @param cursorCreatedAt
+     *            the creation time of the last row already returned, or null for
+     *            the first page
+     * @param cursorId
+     *            the ID of the last row already returned
+     * @param ascending
+     *            whether the feed is sorted oldest first
+     * @param pageable
+     *            the page size and a sort on creation time and ID
+     * @return a slice of matching rows after the cursor
+     */
+    default Slice<ShortsEntity> searchAfter(String keyword, String tags, Set<UUID> orgIds, AppUtils.ShortsStatus status,
+            LocalDateTime cursorCreatedAt, UUID cursorId, boolean ascending, Pageable pageable) {
+        if (Objects.isNull(cursorCreatedAt)) {
+            return searchFirst(keyword, tags, orgIds, status, pageable);
+        }
+        return ascending
+                ? searchAfterAscending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable)
+                : searchAfterDescending(keyword, tags, orgIds, status, cursorCreatedAt, cursorId, pageable);
+    }
+
+    /**
+     * First page of {@link #searchAfter}.
+     */
+    @Query("SELECT s FROM ShortsEntity s WHERE " + SEARCH_CONDITION)
+    Slice<ShortsEntity> searchFirst(String keyword, String tags, Set<UUID> orgIds, AppUtils.ShortsStatus status,
+            Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} oldest first, after the cursor row. The row
+     * value comparison is a single range condition on the creation time and ID
+     * index.
+     */
+    @Query("SELECT s FROM ShortsEntity s WHERE " + SEARCH_CONDITION
+            + " AND (s.createdAt, s.shortsId) > (:cursorCreatedAt, :cursorId)")
+    Slice<ShortsEntity> searchAfterAscending(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ShortsStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
+
+    /**
+     * Page of {@link #searchAfter} newest first, before the cursor row.
+     */
+    @Query("SELECT s FROM ShortsEntity s WHERE " + SEARCH_CONDITION
+            + " AND (s.createdAt, s.shortsId) < (:cursorCreatedAt, :cursorId)")
+    Slice<ShortsEntity> searchAfterDescending(String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ShortsStatus status, LocalDateTime cursorCreatedAt, UUID cursorId, Pageable pageable);
 
     /**
      * Check if a shorts with the given name exists.
@@ -65,4 +201,88 @@ public interface ShortsRepository extends JpaRepository<ShortsEntity, UUID> {
      */
     List<ShortsEntity> getTop3ByOrgIdAndShortsStatusOrderByCreatedAtDesc(UUID principalOrgId,
             AppUtils.ShortsStatus shortsStatus);
+
+    /**
+     * Finds the shorts rows updated within a sync window, continuing after the
+     * given keyset position.
+     *
+     * @param orgIds
+     *            the organizations visible to the client
+     * @param status
+     *            the status of the shorts to filter, or null to include every
+     *            status
+     * @param since
+     *            the exclusive lower bound of the window, or null for all rows
+     * @param upTo
+     *            the inclusive upper bound of the window
+     * @param afterAt
+     *            the update time of the last row already returned, or null for
+     *            the first chunk
+     * @param afterId
+     *            the ID of the last row already returned
+     * @param pageable
+     *            the chunk size and a sort on update time and ID
+     * @return the next chunk of updated rows
+     */
+    @Query("SELECT s FROM ShortsEntity s WHERE (:orgIds IS NULL OR s.orgId IN :orgIds) AND "
+            + "(:status IS NULL OR s.shortsStatus = :status) AND "
+            + "(:since IS NULL OR s.updatedAt > :since) AND s.updatedAt <= :upTo AND (:afterAt IS NULL OR "
+            + "s.updatedAt > :afterAt OR (s.updatedAt = :afterAt AND s.shortsId > :afterId))")
+    List<ShortsEntity> findChanged(Set<UUID> orgIds, AppUtils.ShortsStatus status, LocalDateTime since,
+            LocalDateTime upTo, LocalDateTime afterAt, UUID afterId, Pageable pageable);
+
+    /**
+     * Returns the tags of the rows of an organization with the given status, for
+     * the candidate lists of the personalized feed.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @return the ID, tags and creation time of the tagged rows
+     */
+    @Query("SELECT s.shortsId AS id, s.tags AS tags, s.createdAt AS createdAt FROM ShortsEntity s "
+            + "WHERE s.orgId = :orgId AND s.shortsStatus = :status AND s.tags IS NOT NULL")
+    List<TaggedContent> findTagged(UUID orgId, AppUtils.ShortsStatus status);
+
+    /**
+     * Returns the newest rows of an organization with the given status, for the
+     * in-memory search index.
+     *
+     * @param orgId
+     *            the organization ID
+     * @param status
+     *            the status of the rows
+     * @param pageable
+     *            the maximum number of rows, without sort
+     * @return the ID, searchable text, creation time and popularity of the rows,
+     *         newest first
+     */
+    @Query("SELECT s.shortsId AS id, s.shortsName AS name, s.tags AS tags, s.shortsDescription AS description, "
+            + "s.createdAt AS createdAt, COALESCE(s.views, 0L) AS popularity FROM ShortsEntity s "
+            + "WHERE s.orgId = :orgId AND s.shortsStatus = :status ORDER BY s.createdAt DESC")
+    List<SearchableContent> findSearchable(UUID orgId, AppUtils.ShortsStatus status, Pageable pageable);
+
+    /**
+     * Counts the tags of the rows of the given organizations, most used first,
+     * for the tag facets and vocabulary. Served by the GIN index of the tag set
+     * when filtered by tags.
+     *
+     * @param orgIds
+     *            the organization IDs
+     * @param status
+     *            the status of the rows, or null to include every status
+     * @param tags
+     *            the JSON array of tags every counted row must carry, or null
+     * @param limit
+     *            the maximum number of tags
+     * @return the tags with the number of rows carrying them
+     */
+    @Query(value = "SELECT t.tag AS tag, COUNT(*) AS count FROM shorts x "
+            + "CROSS JOIN LATERAL jsonb_array_elements_text(x.tag_set) AS t(tag) WHERE x.org_id IN (:orgIds) "
+            + "AND (CAST(:status AS TEXT) IS NULL OR x.shorts_status = CAST(:status AS TEXT)) "
+            + "AND (CAST(:tags AS JSONB) IS NULL OR x.tag_set @> CAST(:tags AS JSONB)) "
+            + "GROUP BY t.tag ORDER BY 2 DESC, 1 LIMIT :limit", nativeQuery = true)
+    List<TagCount> countTags(@Param("orgIds") Set<UUID> orgIds, @Param("status") String status,
+            @Param("tags") String tags, @Param("limit") int limit);
 }
@@ -1,25 +1,39 @@
 package yoga.irai.server.shorts;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.like.LikeService;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.trending.TrendingSort;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.ShortsMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.shorts.user.ShortsUserEntity;
 import yoga.irai.server.shorts.user.ShortsUserRepository;
 import yoga.irai.server.storage.StorageService;
@@ -31,13 +45,23 @@ import yoga.irai.server.storage.StorageService;
 @AllArgsConstructor
 public class ShortsService {
 
+    private static final Set<AppUtils.ShortsUserStatus> VIEWED_STATUSES = EnumSet
+            .of(AppUtils.ShortsUserStatus.NEW, AppUtils.ShortsUserStatus.SEEN);
+
+    private final ContentVersionService contentVersionService;
+    private final TombstoneService tombstoneService;
     private final UserService userService;
     private final StorageService storageService;
-    private final SettingService settingService;
     private final ShortsRepository shortsRepository;
     private final OrganizationService organizationService;
     private final NotificationService notificationService;
     private final ShortsUserRepository shortsUserRepository;
+    private final RecentViewService recentViewService;
+    private final ViewCounterService viewCounterService;
+    private final UniqueViewerService uniqueViewerService;
+    private final TrendingService trendingService;
+    private final LikeService likeService;
+    private final QueryCacheService queryCacheService;
 
     /**
      * Adds anew shorts
@@ -60,9 +84,10 @@ public class ShortsService {
         }
         if (ObjectUtils.isNotEmpty(shortsRequestDto.getTags())) {
             shortsEntity.setTags(AppUtils.writeValueAsString(shortsRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.SHORTS_TAGS, shortsRequestDto.getTags());
         }
-        return shortsRepository.save(shortsEntity);
+        ShortsEntity savedShortsEntity = shortsRepository.save(shortsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.SHORTS, shortsEntity.getOrgId());
+        return savedShortsEntity;
     }
 
     /**
@@ -105,9 +130,10 @@ public class ShortsService {
         }
         if (ObjectUtils.isNotEmpty(shortsRequestDto.getTags())) {
             shortsEntity.setTags(AppUtils.writeValueAsString(shortsRequestDto.getTags()));
-            settingService.updateSetting(AppUtils.SettingName.SHORTS_TAGS, shortsRequestDto.getTags());
         }
-        return shortsRepository.save(shortsEntity);
+        ShortsEntity savedShortsEntity = shortsRepository.save(shortsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.SHORTS, shortsEntity.getOrgId());
+        return savedShortsEntity;
     }
 
     /**
@@ -129,24 +155,149 @@ public class ShortsService {
      * @param pageSize
      *            the number of items per page
      * @param sortBy
-     *            the field to sort by
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
      * @param direction
      *            the direction of sorting (ascending or descending)
      * @param keyword
      *            an optional keyword to filter shorts by name or description
+     * @param tags
+     *            optional tags the shorts must all carry
      * @return a paginated list of shorts entities
      */
     public Page<ShortsEntity> getShorts(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
-            String keyword) {
-        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+            String keyword, Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        boolean ranked = AppUtils.RELEVANCE.equals(sortBy);
+        Pageable pageable = ranked
+                ? PageRequest.of(pageNumber, pageSize)
+                : PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "shortsId"));
         Set<UUID> orgIds = new HashSet<>();
         orgIds.add(AppUtils.getPrincipalOrgId());
 
         return switch (AppUtils.getPrincipalUserType()) {
-            case MOBILE_USER -> shortsRepository.search(keyword, organizationService.getOrgIdsForMobile(),
+            case MOBILE_USER -> search(ranked, keyword, tagFilter, organizationService.getOrgIdsForMobile(),
                     AppUtils.ShortsStatus.ACTIVE, pageable);
-            case PORTAL_USER -> shortsRepository.search(keyword, orgIds, null, pageable);
-            case KEYCLOAK_USER -> shortsRepository.search(keyword, null, null, pageable);
+            case PORTAL_USER -> search(ranked, keyword, tagFilter, orgIds, null, pageable);
+            case KEYCLOAK_USER -> search(ranked, keyword, tagFilter, null, null, pageable);
+        };
+    }
+
+    private Page<ShortsEntity> search(boolean ranked, String keyword, String tags, Set<UUID> orgIds,
+            AppUtils.ShortsStatus status, Pageable pageable) {
+        return ranked
+                ? shortsRepository.searchRanked(keyword, tags, orgIds, status, pageable)
+                : shortsRepository.search(keyword, tags, orgIds, status, pageable);
+    }
+
+    /**
+     * Retrieves a page of shorts as mobile responses, with the likes and
+     * comments of the current user. For mobile users, the page without them is
+     * served from the query cache, shared by the users of the same
+     * organizations.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by, or {@link AppUtils#RELEVANCE} to order
+     *            keyword matches by full-text rank
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            an optional keyword to filter shorts by name or description
+     * @param tags
+     *            optional tags the shorts must all carry
+     * @return a Page containing ShortsMobileResponseDto objects
+     */
+    public Page<ShortsMobileResponseDto> getShortsMobileResponseDtos(int pageNumber, int pageSize, String sortBy,
+            Sort.Direction direction, String keyword, Set<String> tags) {
+        Supplier<Page<ShortsMobileResponseDto>> loader = () -> {
+            Page<ShortsEntity> shortsPage = getShorts(pageNumber, pageSize, sortBy, direction, keyword, tags);
+            return new PageImpl<>(toSharedShortsMobileResponseDto(shortsPage.getContent()),
+                    shortsPage.getPageable(), shortsPage.getTotalElements());
+        };
+        Page<ShortsMobileResponseDto> shortsPage;
+        if (AppUtils.UserType.MOBILE_USER.equals(AppUtils.getPrincipalUserType())) {
+            QueryCacheService.Key key = new QueryCacheService.Key(AppUtils.ModuleType.SHORTS,
+                    QueryCacheService.MOBILE_VIEW, organizationService.getOrgIdsForMobile(),
+                    AppUtils.ShortsStatus.ACTIVE, keyword, Arrays.asList(AppUtils.toTagFilter(tags)),
+                    PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "shortsId")));
+            shortsPage = queryCacheService.get(key, loader).map(dto -> dto.toBuilder().build());
+        } else {
+            shortsPage = loader.get();
+        }
+        setShortsReactions(shortsPage.getContent());
+        return shortsPage;
+    }
+
+    /**
+     * Retrieves a page of active shorts cards for the mobile feed. Reads only the
+     * columns of {@link ShortsCard}.
+     *
+     * @param pageNumber
+     *            the page number to retrieve
+     * @param pageSize
+     *            the number of items per page
+     * @param sortBy
+     *            the field to sort by
+     * @param direction
+     *            the direction of sorting (ascending or descending)
+     * @param keyword
+     *            a keyword to search shorts by name or description
+     * @param tags
+     *            optional tags the shorts must all carry
+     * @return a Page containing ShortsCard objects
+     */
+    public Page<ShortsCard> getShortsCards(int pageNumber, int pageSize, String sortBy, Sort.Direction direction,
+            String keyword, Set<String> tags) {
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, TrendingSort.of(direction, sortBy, "shortsId"));
+        String tagFilter = AppUtils.toTagFilter(tags);
+        Set<UUID> orgIds = organizationService.getOrgIdsForMobile();
+        return queryCacheService.get(new QueryCacheService.Key(AppUtils.ModuleType.SHORTS,
+                QueryCacheService.CARD_VIEW, orgIds, AppUtils.ShortsStatus.ACTIVE, keyword,
+                Arrays.asList(tagFilter), pageable),
+                () -> shortsRepository.searchCards(keyword, tagFilter, orgIds, AppUtils.ShortsStatus.ACTIVE,
+                        pageable));
+    }
+
+    /**
+     * Retrieves a slice of shortss after the given cursor, sorted by creation time.
+     * Unlike {@link #getShorts(int, int, String, Sort.Direction, String, Set)},
+     * no count query is run.
+     *
+     * @param cursor
+     *            the opaque cursor returned with the previous slice, blank for
+     *            the first slice
+     * @param pageSize
+     *            the number of items per slice
+     * @param direction
+     *            the direction of sorting on creation time
+     * @param keyword
+     *            an optional keyword to filter shorts by name or description
+     * @param tags
+     *            optional tags the shorts must all carry
+     * @return a Slice containing ShortsEntity objects
+     */
+    public Slice<ShortsEntity> getShorts(String cursor, int pageSize, Sort.Direction direction, String keyword,
+            Set<String> tags) {
+        String tagFilter = AppUtils.toTagFilter(tags);
+        CursorDto cursorDto = CursorDto.decode(cursor);
+        LocalDateTime cursorCreatedAt = Objects.isNull(cursorDto) ? null : cursorDto.createdAt();
+        UUID cursorId = Objects.isNull(cursorDto) ? null : cursorDto.id();
+        boolean ascending = direction.isAscending();
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(direction, "createdAt", "shortsId"));
+        Set<UUID> orgIds = new HashSet<>();
+        orgIds.add(AppUtils.getPrincipalOrgId());
+        return switch (AppUtils.getPrincipalUserType()) {
+            case MOBILE_USER -> shortsRepository.searchAfter(keyword, tagFilter,
+                    organizationService.getOrgIdsForMobile(), AppUtils.ShortsStatus.ACTIVE, cursorCreatedAt, cursorId,
+                    ascending, pageable);
+            case PORTAL_USER -> shortsRepository.searchAfter(keyword, tagFilter, orgIds, null, cursorCreatedAt,
+                    cursorId, ascending, pageable);
+            case KEYCLOAK_USER -> shortsRepository.searchAfter(keyword, tagFilter, null, null, cursorCreatedAt,
+                    cursorId, ascending, pageable);
         };
     }
 
@@ -164,6 +315,8 @@ public class ShortsService {
             storageService.deleteStorageByIds(storageIds);
         }
         shortsRepository.deleteById(shortsId);
+        tombstoneService.record(AppUtils.SyncEntityType.SHORTS, shortsId, shortsEntity.getOrgId());
+        contentVersionService.bump(AppUtils.ModuleType.SHORTS, shortsEntity.getOrgId());
     }
 
     /**
@@ -178,43 +331,46 @@ public class ShortsService {
         ShortsEntity shortsEntity = getShortsById(shortsId);
         shortsEntity.setShortsStatus(status);
         shortsRepository.save(shortsEntity);
+        contentVersionService.bump(AppUtils.ModuleType.SHORTS, shortsEntity.getOrgId());
         if (status == AppUtils.ShortsStatus.ACTIVE) {
             sendShortsNotification(getShortsResponseDto(shortsEntity));
         }
     }
 
     /**
-     * Updates the view count of a shorts.
+     * Records a view of a shorts by the current user. The view count, the
+     * distinct viewers and the trending score are updated in the background.
      *
      * @param shortsId
      *            the ID of the shorts to update
      */
     public void updateViewCount(UUID shortsId) {
-        ShortsEntity shortsEntity = getShortsById(shortsId);
-        shortsEntity.setViews(shortsEntity.getViews() + 1);
-        shortsRepository.save(shortsEntity);
+        viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId);
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, AppUtils.getPrincipalUserId());
+        trendingService.record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.VIEW);
     }
 
     /**
-     * Updates the like count of a shorts.
+     * Likes a shorts for the current user. Liking a shorts the user already
+     * likes changes nothing, so retried requests do not inflate the like count.
      *
      * @param shortsId
-     *            the ID of the shorts to update
+     *            the ID of the shorts to like
      */
     @Transactional
     public void updateLikeCount(UUID shortsId) {
-        ShortsUserEntity shortsUser = shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId,
-                AppUtils.getPrincipalUserId());
-        if (ObjectUtils.isEmpty(shortsUser)) {
-            shortsUser = new ShortsUserEntity();
-            shortsUser.setShortsId(shortsId);
-            shortsUser.setUserId(AppUtils.getPrincipalUserId());
-        }
-        shortsUser.setLikes(true);
-        ShortsEntity shortsEntity = getShortsById(shortsId);
-        shortsEntity.setLikes(shortsEntity.getLikes() + 1);
-        shortsUserRepository.save(shortsUser);
-        shortsRepository.save(shortsEntity);
+        setLiked(shortsId, true);
+    }
+
+    /**
+     * Removes the like of the current user from a shorts, if any.
+     *
+     * @param shortsId
+     *            the ID of the shorts to unlike
+     */
+    @Transactional
+    public void removeLike(UUID shortsId) {
+        setLiked(shortsId, false);
     }
 
     /**
@@ -225,6 +381,9 @@ public class ShortsService {
      */
     @Transactional
     public void updateComment(UUID shortsId, String comment) {
+        if (!shortsRepository.existsById(shortsId)) {
+            throw AppUtils.Messages.SHORTS_NOT_FOUND.getException();
+        }
         ShortsUserEntity shortsUser = shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId,
                 AppUtils.getPrincipalUserId());
         if (ObjectUtils.isEmpty(shortsUser)) {
@@ -234,9 +393,7 @@ public class ShortsService {
         }
         shortsUser.setComments(comment);
         shortsUserRepository.save(shortsUser);
-        ShortsEntity shortsEntity = getShortsById(shortsId);
-        shortsEntity.setLikes(shortsEntity.getLikes() + 1);
-        shortsRepository.save(shortsEntity);
+        recordView(shortsUser);
     }
 
     /**
@@ -262,11 +419,60 @@ public class ShortsService {
                 AppUtils.ShortsStatus.ACTIVE);
     }
 
+    /**
+     * Retrieves the shorts the current user interacted with most recently, most
+     * recent first and bounded by the recents limit.
+     *
+     * @return a list of ShortsEntity objects in interaction order
+     */
     public List<ShortsEntity> getViewedShorts() {
-        List<AppUtils.ShortsUserStatus> shortsUserStatus = List.of(AppUtils.ShortsUserStatus.NEW, AppUtils.ShortsUserStatus.SEEN);
-        List<UUID> shortsIds = shortsUserRepository.getShortsIdsByUserIdAndShortsUserStatusIn(AppUtils.getPrincipalUserId(), shortsUserStatus)
-                .stream().map(ShortsUserEntity::getShortsId).toList();
-        return shortsRepository.findAllById(shortsIds);
+        UUID userId = AppUtils.getPrincipalUserId();
+        List<UUID> shortsIds = recentViewService.getRecentIds(AppUtils.ModuleType.SHORTS, userId,
+                top -> shortsUserRepository.findRecentShortsIds(userId, VIEWED_STATUSES, top));
+        return RecentViewService.inOrder(shortsIds, shortsRepository.findAllById(shortsIds),
+                ShortsEntity::getShortsId);
+    }
+
+    /**
+     * Moves a shorts to the front of the recents of its user.
+     *
+     * @param shortsUserEntity
+     *            the progress row that was written
+     */
+    private void recordView(ShortsUserEntity shortsUserEntity) {
+        recentViewService.record(AppUtils.ModuleType.SHORTS, shortsUserEntity.getUserId(),
+                shortsUserEntity.getShortsId(), VIEWED_STATUSES.contains(shortsUserEntity.getShortsUserStatus()));
+    }
+
+    /**
+     * Sets whether the current user likes a shorts. The like count moves only
+     * when the like is actually added or removed, and the flag on the progress
+     * row of the user is kept in step for the mobile feed.
+     */
+    private void setLiked(UUID shortsId, boolean liked) {
+        if (!shortsRepository.existsById(shortsId)) {
+            throw AppUtils.Messages.SHORTS_NOT_FOUND.getException();
+        }
+        UUID userId = AppUtils.getPrincipalUserId();
+        if (liked) {
+            likeService.like(AppUtils.ModuleType.SHORTS, shortsId, userId);
+        } else {
+            likeService.unlike(AppUtils.ModuleType.SHORTS, shortsId, userId);
+        }
+        ShortsUserEntity shortsUser = shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId);
+        if (ObjectUtils.isEmpty(shortsUser)) {
+            if (!liked) {
+                return;
+            }
+            shortsUser = new ShortsUserEntity();
+            shortsUser.setShortsId(shortsId);
+            shortsUser.setUserId(userId);
+        } else if (Objects.equals(shortsUser.getLikes(), liked)) {
+            return;
+        }
+        shortsUser.setLikes(liked);
+        shortsUserRepository.save(shortsUser);
+        recordView(shortsUser);
     }
 
     /**
@@ -311,8 +517,7 @@ public class ShortsService {
                 .setOrgIconStorageUrl(organizationService.getOrgIconStorageIdToSignedIconUrl(shortsEntity.getOrgId()));
         shortsResponseDto.setCreatedByName(userService.getUserNameById(shortsEntity.getCreatedBy()));
         shortsResponseDto.setUpdatedByName(userService.getUserNameById(shortsEntity.getUpdatedBy()));
-        shortsResponseDto.setTags(AppUtils.readValue(shortsEntity.getTags(), new TypeReference<>() {
-        }));
+        shortsResponseDto.setTags(AppUtils.readTags(shortsEntity.getTags()));
         return shortsResponseDto;
     }
 
@@ -324,13 +529,12 @@ public class ShortsService {
      * @return a map of shorts IDs to their corresponding ShortsUserEntity
      */
     private Map<UUID, ShortsUserEntity> getShortsUserByShortsId(List<UUID> shortsUserIds) {
-        UUID principalUserId = AppUtils.getPrincipalUserId();
-
-        return shortsUserIds.stream().map(shortsId -> {
-            ShortsUserEntity entity = shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId,
-                    principalUserId);
-            return entity != null ? Map.entry(shortsId, entity) : null;
-        }).filter(Objects::nonNull).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        if (shortsUserIds.isEmpty()) {
+            return Map.of();
+        }
+        return shortsUserRepository.findAllByUserIdAndShortsIdIn(AppUtils.getPrincipalUserId(), shortsUserIds)
+                .stream().collect(Collectors.toMap(ShortsUserEntity::getShortsId, Function.identity(),
+                        (first, second) -> first));
     }
 
     /**
@@ -355,8 +559,7 @@ public class ShortsService {
             shortsResponseDto.setShortsStorageUrl(signedStorageUrlByIds.get(shortsEntity.getShortsStorageId()));
             shortsResponseDto
                     .setShortsBannerStorageUrl(signedStorageUrlByIds.get(shortsEntity.getShortsBannerStorageId()));
-            shortsResponseDto.setTags(AppUtils.readValue(shortsEntity.getTags(), new TypeReference<>() {
-            }));
+            shortsResponseDto.setTags(AppUtils.readTags(shortsEntity.getTags()));
             return shortsResponseDto;
         }).toList();
     }
@@ -369,31 +572,88 @@ public class ShortsService {
      * @return a list of ShortsMobileResponseDto
      */
     public List<ShortsMobileResponseDto> toShortsMobileResponseDto(List<ShortsEntity> shortsEntities) {
+        List<ShortsMobileResponseDto> shortsMobileResponseDtos = toSharedShortsMobileResponseDto(shortsEntities);
+        setShortsReactions(shortsMobileResponseDtos);
+        return shortsMobileResponseDtos;
+    }
 
+    /**
+     * Converts shorts to ShortsMobileResponseDto objects without the likes and
+     * comments of the current user, so that they can be shared between users.
+     */
+    private List<ShortsMobileResponseDto> toSharedShortsMobileResponseDto(List<ShortsEntity> shortsEntities) {
         Map<UUID, String> signedStorageUrlByIds = storageService
                 .getSignedStorageUrlByIds(
                         shortsEntities.stream()
                                 .flatMap(shortsEntity -> Stream.of(shortsEntity.getShortsStorageId(),
                                         shortsEntity.getShortsBannerStorageId()))
                                 .filter(Objects::nonNull).distinct().toList());
-        Map<UUID, ShortsUserEntity> shortsUserEntityMap = getShortsUserByShortsId(
-                shortsEntities.stream().flatMap(shortsEntity -> Stream.of(shortsEntity.getShortsId()))
-                        .filter(Objects::nonNull).distinct().toList());
         return shortsEntities.stream().map(shortsEntity -> {
             ShortsMobileResponseDto shortsMobileResponseDto = AppUtils.map(shortsEntity, ShortsMobileResponseDto.class);
             shortsMobileResponseDto.setShortsStorageUrl(signedStorageUrlByIds.get(shortsEntity.getShortsStorageId()));
             shortsMobileResponseDto
                     .setShortsBannerStorageUrl(signedStorageUrlByIds.get(shortsEntity.getShortsBannerStorageId()));
-            if(ObjectUtils.isNotEmpty(shortsUserEntityMap.get(shortsEntity.getShortsId()))) {
-                shortsMobileResponseDto.setIsLiked(shortsUserEntityMap.get(shortsEntity.getShortsId()).getLikes());
-                shortsMobileResponseDto.setComments(shortsUserEntityMap.get(shortsEntity.getShortsId()).getComments());
+            shortsMobileResponseDto.setTags(AppUtils.readTags(shortsEntity.getTags()));
+            return shortsMobileResponseDto;
+        }).toList();
+    }
+
+    /**
+     * Sets the likes and comments of the current user on the given shorts.
+     */
+    private void setShortsReactions(List<ShortsMobileResponseDto> shortsMobileResponseDtos) {
+        Map<UUID, ShortsUserEntity> shortsUserEntityMap = getShortsUserByShortsId(shortsMobileResponseDtos.stream()
+                .map(ShortsMobileResponseDto::getShortsId).filter(Objects::nonNull).distinct().toList());
+        shortsMobileResponseDtos.forEach(dto -> {
+            ShortsUserEntity shortsUserEntity = shortsUserEntityMap.get(dto.getShortsId());
+            if (ObjectUtils.isNotEmpty(shortsUserEntity)) {
+                dto.setIsLiked(shortsUserEntity.getLikes());
+                dto.setComments(shortsUserEntity.getComments());
             } else {
-                shortsMobileResponseDto.setIsLiked(false);
-                shortsMobileResponseDto.setComments("");
+                dto.setIsLiked(false);
+                dto.setComments("");
             }
-            shortsMobileResponseDto.setTags(AppUtils.readValue(shortsEntity.getTags(), new TypeReference<>() {
-            }));
-            return shortsMobileResponseDto;
+        });
+    }
+
+    /**
+     * Converts shorts cards to ShortsMobileResponseDto objects holding only the
+     * requested fields. Storage URLs are signed and likes and comments of the
+     * user are loaded only when their fields are requested.
+     *
+     * @param shortsCards
+     *            the shorts cards to convert
+     * @param fields
+     *            the requested fields
+     * @return a list of ShortsMobileResponseDto objects
+     */
+    public List<ShortsMobileResponseDto> toShortsMobileResponseDto(List<ShortsCard> shortsCards, FieldsDto fields) {
+        List<UUID> storageIds = shortsCards.stream()
+                .flatMap(shortsCard -> Stream.of(fields.pick("shortsStorageUrl", shortsCard::getShortsStorageId),
+                        fields.pick("shortsBannerStorageUrl", shortsCard::getShortsBannerStorageId)))
+                .filter(Objects::nonNull).distinct().toList();
+        Map<UUID, String> signedStorageUrlByIds = storageIds.isEmpty()
+                ? Collections.emptyMap()
+                : storageService.getSignedStorageUrlByIds(storageIds);
+        Map<UUID, ShortsUserEntity> shortsUserEntityMap = fields.hasAny("isLiked", "comments")
+                ? getShortsUserByShortsId(shortsCards.stream().map(ShortsCard::getShortsId).toList())
+                : Collections.emptyMap();
+        return shortsCards.stream().map(shortsCard -> {
+            Optional<ShortsUserEntity> shortsUser = Optional
+                    .ofNullable(shortsUserEntityMap.get(shortsCard.getShortsId()));
+            return ShortsMobileResponseDto.builder().shortsId(shortsCard.getShortsId())
+                    .shortsName(fields.pick("shortsName", shortsCard::getShortsName))
+                    .shortsStorageUrl(signedStorageUrlByIds.get(shortsCard.getShortsStorageId()))
+                    .shortsExternalUrl(fields.pick("shortsExternalUrl", shortsCard::getShortsExternalUrl))
+                    .shortsBannerStorageUrl(signedStorageUrlByIds.get(shortsCard.getShortsBannerStorageId()))
+                    .shortsBannerExternalUrl(
+                            fields.pick("shortsBannerExternalUrl", shortsCard::getShortsBannerExternalUrl))
+                    .duration(fields.pick("duration", shortsCard::getDuration))
+                    .likes(fields.pick("likes", shortsCard::getLikes))
+                    .views(fields.pick("views", shortsCard::getViews))
+                    .isLiked(fields.pick("isLiked", () -> shortsUser.map(ShortsUserEntity::getLikes).orElse(false)))
+                    .comments(fields.pick("comments", () -> shortsUser.map(ShortsUserEntity::getComments).orElse(null)))
+                    .build();
         }).toList();
     }
 }
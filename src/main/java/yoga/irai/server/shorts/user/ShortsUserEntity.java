@@ -17,7 +17,9 @@ import yoga.irai.server.app.AppUtils;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "shorts_user")
+@Table(name = "shorts_user", indexes = {
+        @Index(name = "idx_shorts_user_user_id_shorts_id", columnList = "user_id, shorts_id"),
+        @Index(name = "idx_shorts_user_user_id_updated_at", columnList = "user_id, updated_at")})
 public class ShortsUserEntity implements Serializable {
 
     @Serial
@@ -1,14 +1,55 @@
 package yoga.irai.server.shorts.user;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.version.VersionMarker;
 
 public interface ShortsUserRepository extends JpaRepository<yoga.irai.server.shorts.user.ShortsUserEntity, UUID> {
 
     ShortsUserEntity findShortsUserEntityByShortsIdAndUserId(UUID shortsId, UUID userId);
 
-    List<ShortsUserEntity> getShortsIdsByUserIdAndShortsUserStatusIn(UUID principalUserId, List<AppUtils.ShortsUserStatus> shortsUserStatus);
-    
+    /**
+     * Finds the shorts a user interacted with most recently, most recent first.
+     * Served by the index on user and last update.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param statuses
+     *            the progress statuses that count as viewed
+     * @param pageable
+     *            the number of IDs to return
+     * @return the IDs of the shorts, most recent first
+     */
+    @Query("SELECT su.shortsId FROM ShortsUserEntity su WHERE su.userId = :userId AND su.shortsUserStatus IN :statuses "
+            + "ORDER BY su.updatedAt DESC, su.shortsUserId DESC")
+    List<UUID> findRecentShortsIds(@Param("userId") UUID userId,
+            @Param("statuses") Collection<AppUtils.ShortsUserStatus> statuses, Pageable pageable);
+
+    /**
+     * Finds the progress rows of a user for the given shorts in a single query.
+     *
+     * @param userId
+     *            the ID of the user
+     * @param shortsIds
+     *            the IDs of the shorts
+     * @return the progress rows found, at most one per shorts
+     */
+    List<ShortsUserEntity> findAllByUserIdAndShortsIdIn(UUID userId, Collection<UUID> shortsIds);
+
+    /**
+     * Returns the version marker of the shorts progress of a user.
+     *
+     * @param userId
+     *            the ID of the user
+     * @return the row count and last update time of the progress rows
+     */
+    @Query("SELECT COUNT(su) AS rowCount, MAX(su.updatedAt) AS lastUpdatedAt "
+            + "FROM ShortsUserEntity su WHERE su.userId = :userId")
+    VersionMarker getVersionMarker(@Param("userId") UUID userId);
 }
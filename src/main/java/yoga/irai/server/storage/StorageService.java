@@ -185,19 +185,14 @@ public class StorageService {
      * @return the signed URL as a string
      */
     public String getSignedStorageUrl(String storageName) {
-        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
-        try (S3Presigner s3Presigner = S3Presigner.builder()
-                .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                .endpointOverride(java.net.URI.create(endpoint)).region(Region.of(region)).build()) {
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(Long.parseLong(signatureDurationMinutes)))
-                    .getObjectRequest(b -> b.bucket(bucket).key(directory + storageName)).build();
-            return s3Presigner.presignGetObject(presignRequest).url().toString();
+        try (S3Presigner s3Presigner = createPresigner()) {
+            return presign(s3Presigner, storageName);
         }
     }
 
     /**
-     * Retrieves a map of signed storage URLs for a list of storage IDs.
+     * Retrieves a map of signed storage URLs for a list of storage IDs. All URLs
+     * are signed with a single presigner in one pass.
      *
      * @param list
      *            the list of UUIDs representing storage IDs
@@ -205,8 +200,40 @@ public class StorageService {
      */
     public Map<UUID, String> getSignedStorageUrlByIds(List<UUID> list) {
         List<StorageEntity> storageEntities = storageRepository.findAllById(list);
-        return storageEntities.stream().collect(Collectors.toMap(StorageEntity::getStorageId,
-                storage -> getSignedStorageUrl(storage.getStorageId() + "." + storage.getExtension())));
+        if (storageEntities.isEmpty()) {
+            return new HashMap<>();
+        }
+        try (S3Presigner s3Presigner = createPresigner()) {
+            return storageEntities.stream().collect(Collectors.toMap(StorageEntity::getStorageId,
+                    storage -> presign(s3Presigner, storage.getStorageId() + "." + storage.getExtension())));
+        }
+    }
+
+    /**
+     * Creates a presigner for the storage bucket.
+     *
+     * @return a new S3Presigner, to be closed by the caller
+     */
+    private S3Presigner createPresigner() {
+        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
+        return S3Presigner.builder().credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .endpointOverride(java.net.URI.create(endpoint)).region(Region.of(region)).build();
+    }
+
+    /**
+     * Signs a GET URL for a file in the storage bucket.
+     *
+     * @param s3Presigner
+     *            the presigner to use
+     * @param storageName
+     *            the name of the file to generate the URL for
+     * @return the signed URL as a string
+     */
+    private String presign(S3Presigner s3Presigner, String storageName) {
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMinutes(Long.parseLong(signatureDurationMinutes)))
+                .getObjectRequest(b -> b.bucket(bucket).key(directory + storageName)).build();
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
     }
 
     /**
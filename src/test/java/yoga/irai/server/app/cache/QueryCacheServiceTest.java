@@ -0,0 +1,147 @@
+package yoga.irai.server.app.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.version.ContentChangedEvent;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCacheServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCacheService queryCacheService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID defaultOrgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryCacheService = new QueryCacheService(meterRegistry);
+        ReflectionTestUtils.setField(queryCacheService, "ttlMs", 30000L);
+        ReflectionTestUtils.setField(queryCacheService, "maxEntries", 100);
+        queryCacheService.registerGauges();
+    }
+
+    private QueryCacheService.Key key(AppUtils.ModuleType moduleType, Set<UUID> orgIds, String keyword) {
+        return new QueryCacheService.Key(moduleType, QueryCacheService.MOBILE_VIEW, orgIds, null, keyword,
+                List.of(), PageRequest.of(0, 10));
+    }
+
+    @Test
+    void testGetServesLoadedResultUntilContentChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        QueryCacheService.Key key = key(AppUtils.ModuleType.PRACTICE, Set.of(orgId, defaultOrgId), "sun");
+
+        assertEquals(1, load(key, loads));
+        assertEquals(1, load(key(AppUtils.ModuleType.PRACTICE, Set.of(defaultOrgId, orgId), "sun"), loads));
+        assertEquals(2, load(key(AppUtils.ModuleType.PRACTICE, Set.of(orgId), "sun"), loads));
+        assertEquals(1.0, meterRegistry.get("query.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("query.cache.entries").gauge().value());
+
+        queryCacheService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.POEM, orgId));
+        queryCacheService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, UUID.randomUUID()));
+        assertEquals(1, load(key, loads));
+
+        queryCacheService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, defaultOrgId));
+        assertEquals(3, load(key, loads));
+        assertEquals(2, queryCacheService.size());
+    }
+
+    @Test
+    void testOnContentChangedDropsGlobalResultsOfModule() {
+        queryCacheService.get(key(AppUtils.ModuleType.NEWS, null, null), () -> "news");
+        queryCacheService.get(key(AppUtils.ModuleType.SHORTS, Set.of(orgId), null), () -> "shorts");
+
+        queryCacheService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.NEWS, orgId));
+        queryCacheService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.SHORTS, null));
+
+        assertEquals(0, queryCacheService.size());
+    }
+
+    @Test
+    void testGetDoesNotCacheFailure() {
+        QueryCacheService.Key key = key(AppUtils.ModuleType.POEM, Set.of(orgId), null);
+
+        assertThrows(IllegalStateException.class, () -> queryCacheService.get(key, () -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals(0, queryCacheService.size());
+        assertEquals("poems", queryCacheService.get(key, () -> "poems"));
+    }
+
+    @Test
+    void testGetLoadsOnceForConcurrentMisses() throws Exception {
+        QueryCacheService.Key key = key(AppUtils.ModuleType.PROGRAM, Set.of(orgId), null);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = executor.submit(() -> queryCacheService.get(key, () -> {
+                loading.countDown();
+                awaitQuietly(release);
+                return loads.incrementAndGet();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Integer> second = executor.submit(() -> queryCacheService.get(key, loads::incrementAndGet));
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetDropsOldestResultsPastMaximum() {
+        ReflectionTestUtils.setField(queryCacheService, "maxEntries", 2);
+        for (String keyword : List.of("a", "b", "c")) {
+            queryCacheService.get(key(AppUtils.ModuleType.SHORTS, Set.of(orgId), keyword), () -> keyword);
+        }
+
+        assertEquals(2, queryCacheService.size());
+    }
+
+    @Test
+    void testGetBypassesCacheWhenDisabled() {
+        ReflectionTestUtils.setField(queryCacheService, "ttlMs", 0L);
+        AtomicInteger loads = new AtomicInteger();
+        QueryCacheService.Key key = key(AppUtils.ModuleType.PRACTICE, Set.of(orgId), null);
+
+        load(key, loads);
+        load(key, loads);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, queryCacheService.size());
+    }
+
+    private int load(QueryCacheService.Key key, AtomicInteger loads) {
+        return queryCacheService.get(key, loads::incrementAndGet);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
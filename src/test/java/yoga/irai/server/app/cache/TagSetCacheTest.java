@@ -0,0 +1,67 @@
+package yoga.irai.server.app.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.exception.AppException;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagSetCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        TagSetCache.clear();
+    }
+
+    @Test
+    void testReadTagsParsesEachValueOnce() {
+        Set<String> first = AppUtils.readTags("[\"Calm\",\"Sleep\"]");
+        Set<String> second = AppUtils.readTags(new String("[\"Calm\",\"Sleep\"]"));
+
+        assertEquals(Set.of("Calm", "Sleep"), first);
+        assertSame(first, second);
+        assertNotSame(first, AppUtils.readTags("[\"Sleep\",\"Calm\"]"));
+        assertEquals(2, TagSetCache.size());
+        assertThrows(UnsupportedOperationException.class, () -> first.add("Focus"));
+    }
+
+    @Test
+    void testReadTagsReturnsNullForEmptyValues() {
+        assertNull(AppUtils.readTags(null));
+        assertNull(AppUtils.readTags(""));
+        assertNull(AppUtils.readTags("null"));
+        assertEquals(Set.of(), AppUtils.readTags("[]"));
+        assertEquals(1, TagSetCache.size());
+    }
+
+    @Test
+    void testReadTagsDoesNotKeepFailures() {
+        assertThrows(AppException.class, () -> AppUtils.readTags("[\"Calm\""));
+
+        assertEquals(0, TagSetCache.size());
+    }
+
+    @Test
+    void testGetDropsTagSetsPastMaximum() {
+        AtomicInteger parses = new AtomicInteger();
+        for (int i = 0; i < TagSetCache.MAX_ENTRIES; i++) {
+            TagSetCache.get("[\"tag" + i + "\"]", value -> Set.of(value));
+        }
+
+        TagSetCache.get("[\"tag0\"]", value -> {
+            parses.incrementAndGet();
+            return Set.of(value);
+        });
+        TagSetCache.get("[\"new\"]", value -> {
+            parses.incrementAndGet();
+            return Set.of(value);
+        });
+
+        assertEquals(1, parses.get());
+        assertEquals(1, TagSetCache.size());
+    }
+}
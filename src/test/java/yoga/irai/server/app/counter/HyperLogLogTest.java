@@ -0,0 +1,62 @@
+package yoga.irai.server.app.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateIsWithinErrorBounds() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 10_000; i++) {
+            UUID value = UUID.randomUUID();
+            sketch.add(value);
+            sketch.add(value);
+        }
+        assertEquals(10_000, sketch.estimate(), 500);
+    }
+
+    @Test
+    void testSmallCountsAreNearlyExact() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertEquals(0, sketch.estimate());
+        for (int i = 0; i < 50; i++) {
+            sketch.add(UUID.randomUUID());
+        }
+        assertEquals(50, sketch.estimate(), 2);
+    }
+
+    @Test
+    void testMergeEstimatesTheUnion() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 3_000; i++) {
+            UUID shared = UUID.randomUUID();
+            first.add(shared);
+            second.add(shared);
+            first.add(UUID.randomUUID());
+            second.add(UUID.randomUUID());
+        }
+        first.merge(second);
+        assertEquals(9_000, first.estimate(), 450);
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(UUID.randomUUID());
+        }
+        byte[] bytes = sketch.toBytes();
+        assertEquals(HyperLogLog.REGISTERS, bytes.length);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+    }
+
+    @Test
+    void testFromBytesRejectsWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,119 @@
+package yoga.irai.server.app.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.dto.UniqueViewersDto;
+import yoga.irai.server.app.exception.AppException;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UniqueViewerServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ViewerSketchRepository viewerSketchRepository;
+
+    private UniqueViewerService uniqueViewerService;
+
+    private final UUID shortsId = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        uniqueViewerService = new UniqueViewerService(new SimpleMeterRegistry(),
+                new TransactionTemplate(transactionManager), viewerSketchRepository);
+        ReflectionTestUtils.setField(uniqueViewerService, "maxRangeDays", 366);
+    }
+
+    @Test
+    void testGetUniqueViewersMergesStoredAndPendingSketches() {
+        HyperLogLog stored = new HyperLogLog();
+        UUID returningUserId = new UUID(0, 1);
+        stored.add(returningUserId);
+        stored.add(new UUID(0, 2));
+        ViewerSketchEntity entity = ViewerSketchEntity.builder().moduleType(AppUtils.ModuleType.SHORTS)
+                .contentId(shortsId).viewDay(today.minusDays(1)).sketch(stored.toBytes()).build();
+        when(viewerSketchRepository.findAllByModuleTypeAndContentIdAndViewDayBetween(AppUtils.ModuleType.SHORTS,
+                shortsId, today.minusDays(7), today)).thenReturn(List.of(entity));
+
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, returningUserId);
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, returningUserId);
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, new UUID(0, 3));
+        uniqueViewerService.record(AppUtils.ModuleType.POEM, shortsId, new UUID(0, 4));
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, null);
+
+        UniqueViewersDto viewers = uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS, shortsId,
+                today.minusDays(7), today);
+
+        assertEquals(shortsId, viewers.getContentId());
+        assertEquals(3L, viewers.getUniqueViewers());
+    }
+
+    @Test
+    void testGetUniqueViewersRejectsInvalidRange() {
+        assertThrows(AppException.class, () -> uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS,
+                shortsId, today, today.minusDays(1)));
+        assertThrows(AppException.class, () -> uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS,
+                shortsId, today.minusDays(366), today));
+        verifyNoInteractions(viewerSketchRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlushMergesIntoStoredSketches() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.add(new UUID(0, 1));
+        ViewerSketchEntity entity = ViewerSketchEntity.builder().moduleType(AppUtils.ModuleType.SHORTS)
+                .contentId(shortsId).viewDay(today).sketch(stored.toBytes()).build();
+        UUID newShortsId = UUID.randomUUID();
+        when(viewerSketchRepository.findForUpdate(eq(AppUtils.ModuleType.SHORTS), eq(today), anyCollection()))
+                .thenReturn(List.of(entity));
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, new UUID(0, 2));
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, newShortsId, new UUID(0, 3));
+
+        uniqueViewerService.flush();
+
+        ArgumentCaptor<List<ViewerSketchEntity>> saved = ArgumentCaptor.forClass(List.class);
+        verify(viewerSketchRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(2, HyperLogLog.fromBytes(entity.getSketch()).estimate());
+        ViewerSketchEntity created = saved.getValue().stream()
+                .filter(sketch -> newShortsId.equals(sketch.getContentId())).findFirst().orElseThrow();
+        assertEquals(today, created.getViewDay());
+        assertEquals(1, HyperLogLog.fromBytes(created.getSketch()).estimate());
+
+        clearInvocations(viewerSketchRepository);
+        uniqueViewerService.flush();
+        verifyNoInteractions(viewerSketchRepository);
+    }
+
+    @Test
+    void testFailedFlushKeepsSketchesPending() {
+        when(viewerSketchRepository.findForUpdate(eq(AppUtils.ModuleType.SHORTS), eq(today), anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        uniqueViewerService.record(AppUtils.ModuleType.SHORTS, shortsId, UUID.randomUUID());
+
+        uniqueViewerService.flush();
+
+        assertEquals(1L, uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS, shortsId, today, today)
+                .getUniqueViewers());
+    }
+}
@@ -0,0 +1,119 @@
+package yoga.irai.server.app.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import yoga.irai.server.app.AppUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ViewCounterService viewCounterService;
+
+    private final UUID shortsId = UUID.randomUUID();
+    private final UUID poemId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        viewCounterService = new ViewCounterService(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlushWritesOneBatchPerModule() {
+        viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId);
+        viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId);
+        viewCounterService.increment(AppUtils.ModuleType.POEM, poemId);
+
+        viewCounterService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE shorts"), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertArrayEquals(new Object[]{2L, shortsId}, batch.getValue().getFirst());
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE poem"), anyList());
+        assertEquals(0, viewCounterService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+
+    @Test
+    void testFlushWithoutViewsWritesNothingAndDropsIdleCounters() {
+        viewCounterService.increment(AppUtils.ModuleType.NEWS, shortsId);
+        viewCounterService.flush();
+        clearInvocations(jdbcTemplate);
+
+        viewCounterService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+        viewCounterService.increment(AppUtils.ModuleType.NEWS, shortsId);
+        assertEquals(1, viewCounterService.getPending(AppUtils.ModuleType.NEWS, shortsId));
+    }
+
+    @Test
+    void testFailedFlushKeepsViewsForNextFlush() {
+        viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        viewCounterService.flush();
+
+        assertEquals(1, viewCounterService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+
+    @Test
+    void testConcurrentViewsAreNotLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, viewCounterService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+
+    @Test
+    void testViewsRacingWithFlushAreNotLost() throws InterruptedException {
+        AtomicLong flushed = new AtomicLong();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> batch = invocation.getArgument(1);
+            batch.forEach(row -> flushed.addAndGet((Long) row[0]));
+            return new int[batch.size()];
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.submit(() -> viewCounterService.increment(AppUtils.ModuleType.SHORTS, shortsId));
+        }
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+            viewCounterService.flush();
+        }
+        viewCounterService.flush();
+
+        assertEquals(10_000, flushed.get());
+        assertEquals(0, viewCounterService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+
+    @Test
+    void testIncrementRejectsModulesWithoutCounter() {
+        assertThrows(IllegalArgumentException.class,
+                () -> viewCounterService.increment(AppUtils.ModuleType.PRACTICE, shortsId));
+    }
+}
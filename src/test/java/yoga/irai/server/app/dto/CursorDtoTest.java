@@ -0,0 +1,44 @@
+package yoga.irai.server.app.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import yoga.irai.server.app.exception.AppException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorDtoTest {
+
+    @Test
+    void testEncodeDecode() {
+        CursorDto cursor = new CursorDto(LocalDateTime.of(2025, 5, 1, 8, 30, 15, 123456000), UUID.randomUUID());
+        String encoded = cursor.encode();
+        assertFalse(encoded.contains("|"));
+        assertEquals(cursor, CursorDto.decode(encoded));
+    }
+
+    @Test
+    void testDecode_BlankIsFirstPage() {
+        assertNull(CursorDto.decode(null));
+        assertNull(CursorDto.decode(""));
+    }
+
+    @Test
+    void testDecode_Invalid() {
+        assertThrows(AppException.class, () -> CursorDto.decode("not-a-cursor"));
+    }
+
+    @Test
+    void testNext() {
+        CursorDto last = new CursorDto(LocalDateTime.now(), UUID.randomUUID());
+        String next = CursorDto.next(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true),
+                CursorDto::createdAt, CursorDto::id);
+        assertEquals(last, CursorDto.decode(next));
+        assertNull(CursorDto.next(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), false),
+                CursorDto::createdAt, CursorDto::id));
+    }
+}
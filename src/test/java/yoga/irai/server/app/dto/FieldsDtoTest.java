@@ -0,0 +1,65 @@
+package yoga.irai.server.app.dto;
+
+import org.junit.jupiter.api.Test;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldsDtoTest {
+
+    @Test
+    void testParse_BlankIsEveryField() {
+        assertNull(FieldsDto.parse(null, PracticeMobileResponseDto.class, "practiceId"));
+        assertNull(FieldsDto.parse(" ", PracticeMobileResponseDto.class, "practiceId"));
+    }
+
+    @Test
+    void testParse_AlwaysIncludesId() {
+        FieldsDto fields = FieldsDto.parse("practiceName, rating,", PracticeMobileResponseDto.class, "practiceId");
+        assertEquals(Set.of("practiceId", "practiceName", "rating"), fields.names());
+        assertTrue(fields.hasAny("duration", "rating"));
+        assertFalse(fields.has("tags"));
+    }
+
+    @Test
+    void testParse_UnknownField() {
+        AppException exception = assertThrows(AppException.class,
+                () -> FieldsDto.parse("practiceName,serialVersionUID,secret", PracticeMobileResponseDto.class,
+                        "practiceId"));
+        assertEquals(AppUtils.Messages.INVALID_FIELDS.getMessage("serialVersionUID,secret"), exception.getMessage());
+    }
+
+    @Test
+    void testIsWithin() {
+        FieldsDto fields = FieldsDto.parse("practiceName", PracticeMobileResponseDto.class, "practiceId");
+        assertTrue(fields.isWithin(Set.of("practiceId", "practiceName", "duration")));
+        assertFalse(fields.isWithin(Set.of("practiceName")));
+    }
+
+    @Test
+    void testPick() {
+        FieldsDto fields = FieldsDto.parse("practiceName", PracticeMobileResponseDto.class, "practiceId");
+        assertEquals("Sun", fields.pick("practiceName", () -> "Sun"));
+        assertNull(fields.pick("duration", () -> fail("Unrequested values must not be computed")));
+    }
+
+    @Test
+    void testRetain() {
+        UUID practiceId = UUID.randomUUID();
+        PracticeMobileResponseDto dto = PracticeMobileResponseDto.builder().practiceId(practiceId).practiceName("Sun")
+                .practiceDescription("Long description").tags(Set.of("morning")).rating(4.5f).build();
+        FieldsDto fields = FieldsDto.parse("practiceName,rating", PracticeMobileResponseDto.class, "practiceId");
+        List<PracticeMobileResponseDto> retained = fields.retain(List.of(dto));
+        assertEquals(practiceId, retained.getFirst().getPracticeId());
+        assertEquals("Sun", retained.getFirst().getPracticeName());
+        assertEquals(4.5f, retained.getFirst().getRating());
+        assertNull(retained.getFirst().getPracticeDescription());
+        assertNull(retained.getFirst().getTags());
+    }
+}
@@ -0,0 +1,158 @@
+package yoga.irai.server.app.like;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.scheduler.SchedulerLockService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private SchedulerLockService schedulerLockService;
+    @Mock
+    private ContentLikeRepository contentLikeRepository;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private ContentVersionService contentVersionService;
+
+    private LikeService likeService;
+
+    private final UUID shortsId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        likeService = new LikeService(jdbcTemplate, new SimpleMeterRegistry(), schedulerLockService,
+                trendingService, contentLikeRepository, contentVersionService);
+    }
+
+    @Test
+    void testLikeIncrementsCountWhenAdded() {
+        UUID orgId = UUID.randomUUID();
+        when(contentLikeRepository.insertIfAbsent("SHORTS", shortsId, userId)).thenReturn(1);
+        when(jdbcTemplate.queryForList(startsWith("UPDATE shorts SET likes"), eq(UUID.class), eq(1), eq(shortsId)))
+                .thenReturn(List.of(orgId));
+
+        assertTrue(likeService.like(AppUtils.ModuleType.SHORTS, shortsId, userId));
+
+        verify(contentVersionService).bump(AppUtils.ModuleType.SHORTS, orgId);
+        verify(trendingService).record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.LIKE);
+    }
+
+    @Test
+    void testRepeatedLikeLeavesCountUnchanged() {
+        when(contentLikeRepository.insertIfAbsent("NEWS", shortsId, userId)).thenReturn(0);
+
+        assertFalse(likeService.like(AppUtils.ModuleType.NEWS, shortsId, userId));
+
+        verifyNoInteractions(jdbcTemplate, trendingService);
+    }
+
+    @Test
+    void testUnlikeDecrementsCountWhenRemoved() {
+        when(contentLikeRepository.deleteIfPresent("SHORTS", shortsId, userId)).thenReturn(1);
+
+        assertTrue(likeService.unlike(AppUtils.ModuleType.SHORTS, shortsId, userId));
+
+        verify(jdbcTemplate).queryForList(startsWith("UPDATE shorts SET likes"), eq(UUID.class), eq(-1), eq(shortsId));
+        verifyNoInteractions(contentVersionService);
+    }
+
+    @Test
+    void testNewsLikeRecordsGlobalChange() {
+        when(contentLikeRepository.insertIfAbsent("NEWS", shortsId, userId)).thenReturn(1);
+        when(jdbcTemplate.queryForList(contains("RETURNING CAST(NULL AS UUID)"), eq(UUID.class), eq(1),
+                eq(shortsId))).thenReturn(Collections.singletonList(null));
+
+        assertTrue(likeService.like(AppUtils.ModuleType.NEWS, shortsId, userId));
+
+        verify(contentVersionService).bump(AppUtils.ModuleType.NEWS, null);
+    }
+
+    @Test
+    void testUnlikeWithoutLikeLeavesCountUnchanged() {
+        when(contentLikeRepository.deleteIfPresent("SHORTS", shortsId, userId)).thenReturn(0);
+
+        assertFalse(likeService.unlike(AppUtils.ModuleType.SHORTS, shortsId, userId));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testLikeRejectsModuleWithoutLikes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> likeService.like(AppUtils.ModuleType.POEM, shortsId, userId));
+        verifyNoInteractions(contentLikeRepository);
+    }
+
+    @Test
+    void testReconcileCorrectsEveryModuleOnLeader() {
+        when(schedulerLockService.runAsLeader(eq("like-reconcile"), any(Duration.class), any(Runnable.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(2, Runnable.class).run();
+                    return true;
+                });
+        when(jdbcTemplate.update(startsWith("UPDATE shorts t"))).thenReturn(2);
+        when(jdbcTemplate.update(startsWith("UPDATE news t"))).thenReturn(0);
+
+        likeService.reconcile();
+
+        verify(contentLikeRepository).copyShortsUserLikes();
+        verify(jdbcTemplate).update(contains("ON cl.module_type = 'SHORTS'"));
+        verify(jdbcTemplate, times(2)).update(contains("ON cl.module_type = 'NEWS'"));
+    }
+
+    @Test
+    void testReconcileKeepsNewsLikesMadeBeforeLikeRows() {
+        when(jdbcTemplate.update(startsWith("UPDATE news t SET likes_offset"))).thenReturn(3);
+        when(jdbcTemplate.update(startsWith("UPDATE news t SET likes ="))).thenReturn(0);
+
+        assertEquals(0, likeService.reconcile(AppUtils.ModuleType.NEWS));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(and(contains("likes_offset = GREATEST(COALESCE(t.likes, 0) - c.likes, 0)"),
+                contains("t.likes_offset IS NULL")));
+        inOrder.verify(jdbcTemplate).update(contains("SET likes = COALESCE(t.likes_offset, 0) + c.likes"));
+    }
+
+    @Test
+    void testReconcileResetsShortsToLikeRows() {
+        when(jdbcTemplate.update(startsWith("UPDATE shorts t"))).thenReturn(1);
+
+        assertEquals(1, likeService.reconcile(AppUtils.ModuleType.SHORTS));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE shorts t SET likes = c.likes FROM"));
+        verify(jdbcTemplate, never()).update(contains("likes_offset"));
+    }
+
+    @Test
+    void testReconcileSkippedWhenNotLeader() {
+        when(schedulerLockService.runAsLeader(eq("like-reconcile"), any(Duration.class), any(Runnable.class)))
+                .thenReturn(false);
+
+        likeService.reconcile();
+
+        verifyNoInteractions(contentLikeRepository, jdbcTemplate);
+    }
+}
@@ -0,0 +1,188 @@
+package yoga.irai.server.app.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.authentication.dto.UserResponseDto;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.event.EventEntity;
+import yoga.irai.server.event.EventResponseDto;
+import yoga.irai.server.mobile.dto.EventMobileResponseDto;
+import yoga.irai.server.mobile.dto.LessonMobileResponseDto;
+import yoga.irai.server.mobile.dto.NewsMobileResponseDto;
+import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
+import yoga.irai.server.mobile.dto.SectionMobileResponseDto;
+import yoga.irai.server.mobile.dto.ShortsMobileResponseDto;
+import yoga.irai.server.news.NewsEntity;
+import yoga.irai.server.news.NewsResponseDto;
+import yoga.irai.server.organization.OrganizationEntity;
+import yoga.irai.server.organization.OrganizationResponseDto;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemResponseDto;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeResponseDto;
+import yoga.irai.server.practice.category.PracticeCategoryEntity;
+import yoga.irai.server.practice.category.PracticeCategoryResponseDto;
+import yoga.irai.server.practice.user.PracticeUserEntity;
+import yoga.irai.server.practice.user.PracticeUserResponseDto;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramResponseDto;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionResponseDto;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonResponseDto;
+import yoga.irai.server.shorts.ShortsEntity;
+import yoga.irai.server.shorts.ShortsResponseDto;
+import yoga.irai.server.storage.StorageEntity;
+import yoga.irai.server.storage.StorageResponseDto;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseMappersTest {
+
+    /**
+     * Properties the services convert after mapping, left unset so that only
+     * the copied properties are compared.
+     */
+    private static final Set<String> CONVERTED = Set.of("tags", "poemTags", "flag");
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    ResponseMappersTest() {
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+    }
+
+    @Test
+    void testMapMatchesModelMapperForEveryPair() throws Exception {
+        assertSameAsModelMapper(sample(PracticeEntity.class, CONVERTED), PracticeResponseDto.class);
+        assertSameAsModelMapper(sample(PracticeEntity.class, CONVERTED), PracticeMobileResponseDto.class);
+        assertSameAsModelMapper(sample(PracticeCategoryEntity.class, CONVERTED), PracticeCategoryResponseDto.class);
+        assertSameAsModelMapper(sample(ProgramEntity.class, CONVERTED), ProgramResponseDto.class);
+        assertSameAsModelMapper(sample(ProgramEntity.class, CONVERTED), ProgramMobileResponseDto.class);
+        assertSameAsModelMapper(sample(SectionEntity.class, CONVERTED), SectionResponseDto.class);
+        assertSameAsModelMapper(sample(SectionEntity.class, CONVERTED), SectionMobileResponseDto.class);
+        assertSameAsModelMapper(sample(LessonEntity.class, CONVERTED), LessonResponseDto.class);
+        assertSameAsModelMapper(sample(LessonEntity.class, CONVERTED), LessonMobileResponseDto.class);
+        assertSameAsModelMapper(sample(PoemEntity.class, CONVERTED), PoemResponseDto.class);
+        assertSameAsModelMapper(sample(PoemEntity.class, CONVERTED), PoemMobileResponseDto.class);
+        assertSameAsModelMapper(sample(ShortsEntity.class, CONVERTED), ShortsResponseDto.class);
+        assertSameAsModelMapper(sample(ShortsEntity.class, CONVERTED), ShortsMobileResponseDto.class);
+        assertSameAsModelMapper(sample(NewsEntity.class, CONVERTED), NewsResponseDto.class);
+        assertSameAsModelMapper(sample(NewsEntity.class, CONVERTED), NewsMobileResponseDto.class);
+        assertSameAsModelMapper(sample(EventEntity.class, CONVERTED), EventResponseDto.class);
+        assertSameAsModelMapper(sample(EventEntity.class, CONVERTED), EventMobileResponseDto.class);
+        assertSameAsModelMapper(sample(OrganizationEntity.class, CONVERTED), OrganizationResponseDto.class);
+        assertSameAsModelMapper(sample(UserEntity.class, CONVERTED), UserResponseDto.class);
+        assertSameAsModelMapper(sample(StorageEntity.class, Set.of()), StorageResponseDto.class);
+    }
+
+    @Test
+    void testMapMatchesModelMapperForEmptyEntities() {
+        assertSameAsModelMapper(new PracticeEntity(), PracticeResponseDto.class);
+        assertSameAsModelMapper(new SectionEntity(), SectionResponseDto.class);
+        assertSameAsModelMapper(new EventEntity(), EventMobileResponseDto.class);
+        assertSameAsModelMapper(new UserEntity(), UserResponseDto.class);
+    }
+
+    @Test
+    void testMapCopiesListsAndLeavesConvertedPropertiesToServices() throws Exception {
+        EventEntity eventEntity = sample(EventEntity.class, Set.of());
+        ProgramEntity programEntity = sample(ProgramEntity.class, Set.of());
+
+        EventResponseDto eventResponseDto = AppUtils.map(eventEntity, EventResponseDto.class);
+        ProgramMobileResponseDto programMobileResponseDto = AppUtils.map(programEntity,
+                ProgramMobileResponseDto.class);
+
+        assertEquals(eventEntity.getAddresses(), eventResponseDto.getAddresses());
+        assertNotSame(eventEntity.getAddresses(), eventResponseDto.getAddresses());
+        assertNull(programMobileResponseDto.getTags());
+        assertNull(programMobileResponseDto.getFlag());
+        assertEquals(programEntity.getProgramName(), programMobileResponseDto.getProgramName());
+    }
+
+    @Test
+    void testMapFallsBackToModelMapperForOtherPairs() {
+        UUID practiceUserId = UUID.randomUUID();
+        PracticeUserEntity practiceUserEntity = PracticeUserEntity.builder().practiceUserId(practiceUserId).build();
+        PracticeEntity proxy = new PracticeEntity() {
+        };
+        proxy.setPracticeName("Sun Salutation");
+
+        assertNull(ResponseMappers.find(PracticeUserEntity.class, PracticeUserResponseDto.class));
+        assertNull(ResponseMappers.find(proxy.getClass(), PracticeResponseDto.class));
+        assertEquals(practiceUserId,
+                AppUtils.map(practiceUserEntity, PracticeUserResponseDto.class).getPracticeUserId());
+        assertEquals("Sun Salutation", AppUtils.map(proxy, PracticeResponseDto.class).getPracticeName());
+    }
+
+    private <T> void assertSameAsModelMapper(Object source, Class<T> targetClass) {
+        assertNotNull(ResponseMappers.find(source.getClass(), targetClass), targetClass.getSimpleName());
+        assertEquals(modelMapper.map(source, targetClass), AppUtils.map(source, targetClass),
+                targetClass.getSimpleName());
+    }
+
+    private static <T> T sample(Class<T> type, Set<String> unset) throws Exception {
+        T sample = type.getDeclaredConstructor().newInstance();
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || unset.contains(field.getName())) {
+                    continue;
+                }
+                Object value = sampleValue(field);
+                if (value != null) {
+                    field.setAccessible(true);
+                    field.set(sample, value);
+                }
+            }
+        }
+        return sample;
+    }
+
+    private static Object sampleValue(Field field) throws Exception {
+        Class<?> type = field.getType();
+        if (type == UUID.class) {
+            return UUID.randomUUID();
+        } else if (type == String.class) {
+            return field.getName() + "-value";
+        } else if (type == Long.class || type == long.class) {
+            return 7L;
+        } else if (type == Integer.class || type == int.class) {
+            return 3;
+        } else if (type == Float.class || type == float.class) {
+            return 4.5F;
+        } else if (type == Double.class || type == double.class) {
+            return 2.5;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return true;
+        } else if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (type == ZonedDateTime.class) {
+            return ZonedDateTime.now();
+        } else if (type == Date.class) {
+            return new Date();
+        } else if (type == List.class
+                && field.getGenericType() instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            List<Object> list = new ArrayList<>();
+            list.add(sample(elementType, Set.of()));
+            return list;
+        }
+        return null;
+    }
+}
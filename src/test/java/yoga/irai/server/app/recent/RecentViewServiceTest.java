@@ -0,0 +1,82 @@
+package yoga.irai.server.app.recent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentViewServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+    private final List<Pageable> queries = new ArrayList<>();
+    private final Function<Pageable, List<UUID>> loader = pageable -> {
+        queries.add(pageable);
+        return List.of(first, second);
+    };
+
+    private RecentViewService recentViewService;
+
+    @BeforeEach
+    void setUp() {
+        recentViewService = new RecentViewService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(recentViewService, "limit", 2);
+        ReflectionTestUtils.setField(recentViewService, "maxUsers", 100);
+        ReflectionTestUtils.setField(recentViewService, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void testWithoutBufferEveryReadRunsTopNQuery() {
+        assertEquals(List.of(first, second), recentViewService.getRecentIds(AppUtils.ModuleType.PRACTICE, userId,
+                loader));
+        recentViewService.getRecentIds(AppUtils.ModuleType.PRACTICE, userId, loader);
+        assertEquals(2, queries.size());
+        assertEquals(2, queries.getFirst().getPageSize());
+    }
+
+    @Test
+    void testBufferMovesWrittenItemsToFront() {
+        ReflectionTestUtils.setField(recentViewService, "bufferEnabled", true);
+        recentViewService.getRecentIds(AppUtils.ModuleType.PRACTICE, userId, loader);
+        recentViewService.record(AppUtils.ModuleType.PRACTICE, userId, third, true);
+        recentViewService.record(AppUtils.ModuleType.PRACTICE, userId, first, true);
+        assertEquals(List.of(first, third),
+                recentViewService.getRecentIds(AppUtils.ModuleType.PRACTICE, userId, loader));
+        assertEquals(1, queries.size());
+    }
+
+    @Test
+    void testBufferIsDroppedWhenItemIsNoLongerViewed() {
+        ReflectionTestUtils.setField(recentViewService, "bufferEnabled", true);
+        recentViewService.getRecentIds(AppUtils.ModuleType.PROGRAM, userId, loader);
+        recentViewService.record(AppUtils.ModuleType.PROGRAM, userId, second, false);
+        recentViewService.getRecentIds(AppUtils.ModuleType.PROGRAM, userId, loader);
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void testExpiredBufferIsReloaded() {
+        ReflectionTestUtils.setField(recentViewService, "bufferEnabled", true);
+        ReflectionTestUtils.setField(recentViewService, "ttlSeconds", 0L);
+        recentViewService.getRecentIds(AppUtils.ModuleType.SHORTS, userId, loader);
+        recentViewService.getRecentIds(AppUtils.ModuleType.SHORTS, userId, loader);
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void testInOrder() {
+        assertEquals(List.of("b", "a"), RecentViewService.inOrder(List.of(second, third, first),
+                List.of("a", "b"), value -> "a".equals(value) ? first : second));
+    }
+}
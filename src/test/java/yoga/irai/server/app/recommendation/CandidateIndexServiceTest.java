@@ -0,0 +1,91 @@
+package yoga.irai.server.app.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.CandidateIndexService.Candidate;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CandidateIndexServiceTest {
+
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+
+    private CandidateIndexService candidateIndexService;
+
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        candidateIndexService = new CandidateIndexService(new SimpleMeterRegistry(), poemRepository,
+                shortsRepository, programRepository, practiceRepository);
+        ReflectionTestUtils.setField(candidateIndexService, "candidatesPerTag", 2);
+    }
+
+    private TaggedContent row(UUID id, String tags, LocalDateTime createdAt) {
+        TaggedContent row = mock(TaggedContent.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTags()).thenReturn(tags);
+        when(row.getCreatedAt()).thenReturn(createdAt);
+        return row;
+    }
+
+    @Test
+    void testGetCandidatesGroupsByTagNewestFirstAndBounded() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        when(practiceRepository.findTagged(orgId, AppUtils.PracticeStatus.ACTIVE)).thenReturn(List.of(
+                row(oldest, "[\"Stress\"]", now.minusDays(2)), row(newest, "[\"stress\", \"sleep\"]", now),
+                row(middle, "not json", now.minusDays(1))));
+
+        Map<String, List<Candidate>> candidates = candidateIndexService
+                .getCandidates(AppUtils.ModuleType.PRACTICE, orgId);
+
+        assertEquals(List.of(newest, oldest), candidates.get("stress").stream().map(Candidate::id).toList());
+        assertEquals(List.of(newest), candidates.get("sleep").stream().map(Candidate::id).toList());
+        candidateIndexService.getCandidates(AppUtils.ModuleType.PRACTICE, orgId);
+        verify(practiceRepository, times(1)).findTagged(orgId, AppUtils.PracticeStatus.ACTIVE);
+    }
+
+    @Test
+    void testOnContentChangedReloadsOnlyTheChangedList() {
+        when(poemRepository.findTagged(orgId, AppUtils.PoemStatus.ACTIVE)).thenReturn(List.of());
+        when(shortsRepository.findTagged(orgId, AppUtils.ShortsStatus.ACTIVE)).thenReturn(List.of());
+        candidateIndexService.getCandidates(AppUtils.ModuleType.POEM, orgId);
+        candidateIndexService.getCandidates(AppUtils.ModuleType.SHORTS, orgId);
+
+        candidateIndexService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.POEM, orgId));
+        candidateIndexService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.NEWS, null));
+        candidateIndexService.getCandidates(AppUtils.ModuleType.POEM, orgId);
+        candidateIndexService.getCandidates(AppUtils.ModuleType.SHORTS, orgId);
+
+        verify(poemRepository, times(2)).findTagged(orgId, AppUtils.PoemStatus.ACTIVE);
+        verify(shortsRepository, times(1)).findTagged(orgId, AppUtils.ShortsStatus.ACTIVE);
+    }
+}
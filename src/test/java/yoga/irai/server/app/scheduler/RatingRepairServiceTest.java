@@ -0,0 +1,57 @@
+package yoga.irai.server.app.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingRepairServiceTest {
+
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RatingRepairService ratingRepairService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ratingRepairService = new RatingRepairService(meterRegistry, programRepository, practiceRepository,
+                new SchedulerLockService(schedulerLockRepository));
+    }
+
+    @Test
+    void testRepairRecomputesBothModulesOnLeader() {
+        when(schedulerLockRepository.tryAcquire(eq("rating-repair"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(1);
+        when(practiceRepository.recomputeRatings()).thenReturn(3);
+        when(programRepository.recomputeRatings()).thenReturn(1);
+        ratingRepairService.repair();
+        assertEquals(3.0, meterRegistry.counter("ratings.repaired", "module", "PRACTICE").count());
+        assertEquals(1.0, meterRegistry.counter("ratings.repaired", "module", "PROGRAM").count());
+        verify(schedulerLockRepository).release(eq("rating-repair"), anyString());
+    }
+
+    @Test
+    void testRepairSkippedWhenAnotherNodeIsLeader() {
+        when(schedulerLockRepository.tryAcquire(eq("rating-repair"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(0);
+        ratingRepairService.repair();
+        verifyNoInteractions(practiceRepository, programRepository);
+    }
+}
@@ -0,0 +1,108 @@
+package yoga.irai.server.app.scheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.counter.ViewerSketchRepository;
+import yoga.irai.server.app.sync.TombstoneRepository;
+import yoga.irai.server.authentication.repository.DeviceRepository;
+import yoga.irai.server.authentication.repository.RefreshTokenRepository;
+import yoga.irai.server.notification.NotificationRepository;
+import yoga.irai.server.provider.MailOutboxRepository;
+import yoga.irai.server.provider.OtpRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    @Mock
+    private OtpRepository otpRepository;
+    @Mock
+    private DeviceRepository deviceRepository;
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+    @Mock
+    private ViewerSketchRepository viewerSketchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retentionService = new RetentionService(otpRepository, meterRegistry, deviceRepository, mailOutboxRepository,
+                new SchedulerLockService(schedulerLockRepository), notificationRepository, refreshTokenRepository,
+                tombstoneRepository, viewerSketchRepository);
+        ReflectionTestUtils.setField(retentionService, "batchSize", 2);
+        ReflectionTestUtils.setField(retentionService, "maxBatchesPerTable", 3);
+        ReflectionTestUtils.setField(retentionService, "deviceInactiveDays", 90);
+        ReflectionTestUtils.setField(retentionService, "notificationDays", 90);
+        ReflectionTestUtils.setField(retentionService, "mailOutboxDays", 30);
+        ReflectionTestUtils.setField(retentionService, "tombstoneRetentionDays", 30);
+        ReflectionTestUtils.setField(retentionService, "viewerSketchDays", 400);
+    }
+
+    @Test
+    void testPurgeDeletesInBatchesUntilShortBatch() {
+        when(otpRepository.deleteExpiredBatch(any(ZonedDateTime.class), eq(2))).thenReturn(2, 2, 1);
+        long purged = retentionService.purge(
+                new RetentionService.RetentionPolicy("otp", Duration.ZERO, otpRepository::deleteExpiredBatch));
+        assertEquals(5, purged);
+        verify(otpRepository, times(3)).deleteExpiredBatch(any(ZonedDateTime.class), eq(2));
+        assertEquals(5.0, meterRegistry.counter("retention.purged", "table", "otp").count());
+    }
+
+    @Test
+    void testPurgeStopsAtBatchLimit() {
+        when(otpRepository.deleteExpiredBatch(any(ZonedDateTime.class), eq(2))).thenReturn(2);
+        long purged = retentionService.purge(
+                new RetentionService.RetentionPolicy("otp", Duration.ZERO, otpRepository::deleteExpiredBatch));
+        assertEquals(6, purged);
+        verify(otpRepository, times(3)).deleteExpiredBatch(any(ZonedDateTime.class), eq(2));
+    }
+
+    @Test
+    void testPurgeRunsAllPoliciesOnLeader() {
+        when(schedulerLockRepository.tryAcquire(eq("retention"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(1);
+        retentionService.purge();
+        verify(otpRepository).deleteExpiredBatch(any(ZonedDateTime.class), eq(2));
+        verify(refreshTokenRepository).deleteExpiredBatch(any(ZonedDateTime.class), eq(2));
+        verify(deviceRepository).deleteOrphanedBatch(any(ZonedDateTime.class), eq(2));
+        verify(notificationRepository).deleteStaleBatch(any(LocalDateTime.class), eq(2));
+        verify(mailOutboxRepository).deleteFinishedBatch(any(ZonedDateTime.class), eq(2));
+        verify(tombstoneRepository).deleteExpiredBatch(any(LocalDateTime.class), eq(2));
+        verify(viewerSketchRepository).deleteExpiredBatch(any(LocalDate.class), eq(2));
+        verify(schedulerLockRepository).release(eq("retention"), anyString());
+    }
+
+    @Test
+    void testPurgeSkippedWhenAnotherNodeIsLeader() {
+        when(schedulerLockRepository.tryAcquire(eq("retention"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(0);
+        retentionService.purge();
+        verifyNoInteractions(otpRepository, refreshTokenRepository, deviceRepository, notificationRepository,
+                mailOutboxRepository, tombstoneRepository, viewerSketchRepository);
+        verify(schedulerLockRepository, never()).release(anyString(), anyString());
+    }
+}
@@ -0,0 +1,150 @@
+package yoga.irai.server.app.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.dto.SuggestionDto;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.event.EventRepository;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.setting.SettingEntity;
+import yoga.irai.server.setting.SettingService;
+import yoga.irai.server.shorts.ShortsRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private SettingService settingService;
+    @Mock
+    private OrganizationService organizationService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutocompleteService autocompleteService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID otherOrgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        autocompleteService = new AutocompleteService(new AppProperties(), meterRegistry, settingService,
+                organizationService, new SearchableContentService(poemRepository, newsRepository, eventRepository,
+                        shortsRepository, programRepository, practiceRepository));
+        ReflectionTestUtils.setField(autocompleteService, "maxDocuments", 100);
+        ReflectionTestUtils.setField(autocompleteService, "maxLimit", 10);
+        ReflectionTestUtils.setField(autocompleteService, "maxWords", 3);
+        ReflectionTestUtils.setField(autocompleteService, "maxTries", 100);
+        autocompleteService.registerGauges();
+    }
+
+    private SearchableContent row(UUID id, String name, String tags, long popularity) {
+        SearchableContent row = mock(SearchableContent.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getName()).thenReturn(name);
+        when(row.getTags()).thenReturn(tags);
+        when(row.getPopularity()).thenReturn(popularity);
+        return row;
+    }
+
+    private void stubOtherModules() {
+        when(settingService.getSettingBySettingName(anyString()))
+                .thenReturn(SettingEntity.builder().settingValue("[\"Balance\"]").build());
+        when(programRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(poemRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(shortsRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(eventRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(newsRepository.findSearchable(any(), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void testCompleteMergesTagsAcrossOrganizations() {
+        stubOtherModules();
+        UUID flowId = UUID.randomUUID();
+        UUID morningId = UUID.randomUUID();
+        List<SearchableContent> practices = List.of(row(flowId, "Balance Flow", "[\"Balance\"]", 5));
+        List<SearchableContent> otherPractices = List.of(row(morningId, "Morning Balance", "[\"balance\"]", 1));
+        when(practiceRepository.findSearchable(eq(orgId), eq(AppUtils.PracticeStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(practices);
+        when(practiceRepository.findSearchable(eq(otherOrgId), eq(AppUtils.PracticeStatus.ACTIVE),
+                any(Pageable.class))).thenReturn(otherPractices);
+
+        List<SuggestionDto> suggestions = autocompleteService.complete("bal", 3, Set.of(orgId, otherOrgId));
+
+        assertEquals(List.of("Balance Flow", "balance", "Morning Balance"),
+                suggestions.stream().map(SuggestionDto::getText).toList());
+        assertEquals(flowId, suggestions.get(0).getId());
+        assertEquals(AppUtils.SuggestionType.TAG, suggestions.get(1).getType());
+        assertEquals(AppUtils.ModuleType.PRACTICE, suggestions.get(1).getModuleType());
+        assertEquals(2L, suggestions.get(1).getPopularity());
+        assertNull(suggestions.get(1).getId());
+        assertEquals(morningId, suggestions.get(2).getId());
+    }
+
+    @Test
+    void testOnContentChangedRebuildsOnlyLoadedTrie() {
+        stubOtherModules();
+        List<SearchableContent> practices = List.of(row(UUID.randomUUID(), "Breath", null, 0));
+        when(practiceRepository.findSearchable(eq(orgId), eq(AppUtils.PracticeStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(practices);
+        autocompleteService.complete("bre", 5, Set.of(orgId));
+        assertEquals(6.0, meterRegistry.get("autocomplete.suggestions").gauge().value());
+
+        autocompleteService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        autocompleteService.onContentChanged(
+                new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, UUID.randomUUID()));
+        autocompleteService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.USERS, orgId));
+
+        verify(practiceRepository, times(2)).findSearchable(any(), any(), any(Pageable.class));
+        verify(poemRepository, times(1)).findSearchable(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testLeastRecentlyUsedTriesAreDroppedPastMaximum() {
+        ReflectionTestUtils.setField(autocompleteService, "maxTries", 6);
+        stubOtherModules();
+        when(practiceRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        autocompleteService.complete("bre", 5, Set.of(orgId));
+        autocompleteService.complete("bre", 5, Set.of(otherOrgId));
+        assertEquals(6.0, meterRegistry.get("autocomplete.tries").gauge().value());
+        autocompleteService.complete("bre", 5, Set.of(otherOrgId));
+
+        verify(practiceRepository, times(1)).findSearchable(eq(otherOrgId), any(), any(Pageable.class));
+        autocompleteService.complete("bre", 5, Set.of(orgId));
+        verify(practiceRepository, times(2)).findSearchable(eq(orgId), any(), any(Pageable.class));
+    }
+}
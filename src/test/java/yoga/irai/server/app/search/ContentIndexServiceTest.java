@@ -0,0 +1,156 @@
+package yoga.irai.server.app.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.search.ContentIndexService.Hit;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.event.EventRepository;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentIndexServiceTest {
+
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ContentIndexService contentIndexService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        contentIndexService = new ContentIndexService(new AppProperties(), meterRegistry,
+                new SearchableContentService(poemRepository, newsRepository, eventRepository, shortsRepository,
+                        programRepository, practiceRepository));
+        ReflectionTestUtils.setField(contentIndexService, "maxDocuments", 100);
+        ReflectionTestUtils.setField(contentIndexService, "maxTokens", 100);
+        ReflectionTestUtils.setField(contentIndexService, "maxPrefixTerms", 50);
+        ReflectionTestUtils.setField(contentIndexService, "maxIndexes", 100);
+        contentIndexService.registerGauges();
+    }
+
+    private SearchableContent row(UUID id, String name, String tags, String description, LocalDateTime createdAt) {
+        SearchableContent row = mock(SearchableContent.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getName()).thenReturn(name);
+        when(row.getTags()).thenReturn(tags);
+        when(row.getDescription()).thenReturn(description);
+        when(row.getCreatedAt()).thenReturn(createdAt);
+        return row;
+    }
+
+    private void stubRows(List<SearchableContent> practices, List<SearchableContent> poems) {
+        when(practiceRepository.findSearchable(eq(orgId), eq(AppUtils.PracticeStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(practices);
+        when(poemRepository.findSearchable(eq(orgId), eq(AppUtils.PoemStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(poems);
+        when(programRepository.findSearchable(eq(orgId), eq(AppUtils.ProgramStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(shortsRepository.findSearchable(eq(orgId), eq(AppUtils.ShortsStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(eventRepository.findSearchable(eq(orgId), eq(AppUtils.EventStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(newsRepository.findSearchable(eq(AppUtils.NewsStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    void testSearchRanksNameMatchesAboveDescriptionMatchesAcrossModules() {
+        UUID practiceId = UUID.randomUUID();
+        UUID poemId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        stubRows(List.of(row(practiceId, "Morning Stretch", "[\"Flexibility\"]", "Gentle moves", now),
+                row(otherId, "Evening Calm", "[\"Sleep\"]", "Wind down", now)),
+                List.of(row(poemId, "Dawn", null, "A poem for the morning light", now)));
+
+        List<Hit> hits = contentIndexService.search("Morning", Set.of(orgId));
+
+        assertEquals(List.of(practiceId, poemId), hits.stream().map(Hit::id).toList());
+        assertEquals(AppUtils.ModuleType.PRACTICE, hits.getFirst().moduleType());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void testSearchMatchesPrefixesBelowWholeWords() {
+        UUID sunId = UUID.randomUUID();
+        UUID sunriseId = UUID.randomUUID();
+        stubRows(List.of(row(sunriseId, "Sunrise Flow", null, null, now),
+                row(sunId, "Sun Salutation", null, null, now.minusDays(1))), List.of());
+
+        List<Hit> hits = contentIndexService.search("sun", Set.of(orgId));
+
+        assertEquals(List.of(sunId, sunriseId), hits.stream().map(Hit::id).toList());
+        assertTrue(contentIndexService.search("   ", Set.of(orgId)).isEmpty());
+    }
+
+    @Test
+    void testOnContentChangedRebuildsOnlyLoadedIndex() {
+        stubRows(List.of(row(UUID.randomUUID(), "Breath", null, null, now)), List.of());
+        contentIndexService.search("breath", Set.of(orgId));
+        assertEquals(1.0, meterRegistry.get("search.index.documents").gauge().value());
+
+        contentIndexService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        contentIndexService.onContentChanged(
+                new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, UUID.randomUUID()));
+        contentIndexService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.USERS, orgId));
+
+        verify(practiceRepository, times(2)).findSearchable(any(), any(), any(Pageable.class));
+        verify(poemRepository, times(1)).findSearchable(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testLeastRecentlySearchedIndexesAreDroppedPastMaximum() {
+        ReflectionTestUtils.setField(contentIndexService, "maxIndexes", 6);
+        UUID otherOrgId = UUID.randomUUID();
+        when(practiceRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(poemRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(programRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(shortsRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(eventRepository.findSearchable(any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(newsRepository.findSearchable(any(), any(Pageable.class))).thenReturn(List.of());
+
+        contentIndexService.search("breath", Set.of(orgId));
+        contentIndexService.search("breath", Set.of(otherOrgId));
+        assertEquals(6.0, meterRegistry.get("search.index.count").gauge().value());
+        contentIndexService.search("breath", Set.of(otherOrgId));
+
+        verify(practiceRepository, times(1)).findSearchable(eq(otherOrgId), any(), any(Pageable.class));
+        contentIndexService.search("breath", Set.of(orgId));
+        verify(practiceRepository, times(2)).findSearchable(eq(orgId), any(), any(Pageable.class));
+    }
+}
@@ -0,0 +1,26 @@
+package yoga.irai.server.app.search;
+
+import org.junit.jupiter.api.Test;
+import yoga.irai.server.app.AppUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamePatternTest {
+
+    @Test
+    void testSingleWordMatchesAsSubstring() {
+        assertEquals("%medit%", AppUtils.toNamePattern(" medit "));
+    }
+
+    @Test
+    void testWildcardsAndEscapeCharacterAreEscaped() {
+        assertEquals("%50\\%\\_off\\\\%", AppUtils.toNamePattern("50%_off\\"));
+    }
+
+    @Test
+    void testSeveralWordsAndBlankKeywordsHaveNoPattern() {
+        assertNull(AppUtils.toNamePattern("morning flow"));
+        assertNull(AppUtils.toNamePattern("  "));
+        assertNull(AppUtils.toNamePattern(null));
+    }
+}
@@ -0,0 +1,49 @@
+package yoga.irai.server.app.search;
+
+import org.junit.jupiter.api.Test;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.search.PrefixTrie.Suggestion;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    private static Suggestion name(String text, long popularity) {
+        return new Suggestion(text, AppUtils.SuggestionType.NAME, AppUtils.ModuleType.PRACTICE, UUID.randomUUID(),
+                popularity);
+    }
+
+    @Test
+    void testCompleteMatchesTheStartOfLeadingWords() {
+        PrefixTrie trie = PrefixTrie.build(List.of(name("Stretch", 1), name("Morning Stretch", 2),
+                name("Slow Deep Stretch", 3), name("Sunrise", 4)), 2, 10);
+
+        assertEquals(List.of("Morning Stretch", "Stretch"),
+                trie.complete("STR", 10).stream().map(Suggestion::text).toList());
+        assertEquals(List.of("Morning Stretch"),
+                trie.complete("morning st", 10).stream().map(Suggestion::text).toList());
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void testCompleteReturnsTheMostPopularFirst() {
+        PrefixTrie trie = PrefixTrie.build(List.of(name("Sun Salutation", 5), name("Sunrise Flow", 9),
+                name("Sunset", 5), name("Moon", 20)), 3, 2);
+
+        assertEquals(List.of("Sunrise Flow", "Sunset"),
+                trie.complete("su", 10).stream().map(Suggestion::text).toList());
+        assertEquals(List.of("Sunrise Flow"), trie.complete("su", 1).stream().map(Suggestion::text).toList());
+    }
+
+    @Test
+    void testCompleteWithoutMatch() {
+        PrefixTrie trie = PrefixTrie.build(List.of(name("Breath", 1)), 3, 10);
+
+        assertTrue(trie.complete("bread", 10).isEmpty());
+        assertTrue(trie.complete("x", 10).isEmpty());
+        assertTrue(PrefixTrie.build(List.of(), 3, 10).complete("b", 10).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package yoga.irai.server.app.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import yoga.irai.server.app.scheduler.SchedulerLockRepository;
+import yoga.irai.server.app.scheduler.SchedulerLockService;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexService = new SearchIndexService(jdbcTemplate, new SchedulerLockService(schedulerLockRepository));
+    }
+
+    @Test
+    void testStatementsCreateExtensionFirstAndIndexesPerTable() {
+        List<String> statements = SearchIndexService.getStatements();
+        assertEquals("CREATE EXTENSION IF NOT EXISTS pg_trgm", statements.getFirst());
+        assertEquals(18, statements.size());
+        assertTrue(statements.contains(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_practice_search_vector ON practice "
+                        + "USING GIN (search_vector)"));
+        assertTrue(statements.contains(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_name_trgm ON events "
+                        + "USING GIN (event_name gin_trgm_ops)"));
+        assertTrue(statements.contains(
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_news_tag_set ON news "
+                        + "USING GIN (tag_set jsonb_path_ops)"));
+        assertTrue(statements.stream().noneMatch(statement -> statement.contains("idx_events_tag_set")));
+    }
+
+    @Test
+    void testCreateIndexesContinuesAfterFailedStatement() {
+        when(schedulerLockRepository.tryAcquire(eq("search-index"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(1);
+        doThrow(new DataAccessResourceFailureException("permission denied")).when(jdbcTemplate)
+                .execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        searchIndexService.createIndexes();
+        verify(jdbcTemplate, times(18)).execute(anyString());
+        verify(schedulerLockRepository).release(eq("search-index"), anyString());
+    }
+
+    @Test
+    void testCreateIndexesRebuildsInvalidSearchIndexes() {
+        when(schedulerLockRepository.tryAcquire(eq("search-index"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("idx_poem_name_trgm", "idx_other_index"));
+        searchIndexService.createIndexes();
+        verify(jdbcTemplate).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_poem_name_trgm");
+        verify(jdbcTemplate, never()).execute("DROP INDEX CONCURRENTLY IF EXISTS idx_other_index");
+        verify(jdbcTemplate, times(19)).execute(anyString());
+    }
+
+    @Test
+    void testCreateIndexesSkippedWhenAnotherNodeIsLeader() {
+        when(schedulerLockRepository.tryAcquire(eq("search-index"), any(ZonedDateTime.class), anyString()))
+                .thenReturn(0);
+        searchIndexService.createIndexes();
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
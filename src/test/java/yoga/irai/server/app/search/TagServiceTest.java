@@ -0,0 +1,141 @@
+package yoga.irai.server.app.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppProperties;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.dto.TagCountDto;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TagServiceTest {
+
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private OrganizationService organizationService;
+
+    private TagService tagService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID defaultOrgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setDefaultOrganizationId(defaultOrgId.toString());
+        tagService = new TagService(appProperties, organizationService, poemRepository, newsRepository,
+                shortsRepository, programRepository, practiceRepository);
+        ReflectionTestUtils.setField(tagService, "maxFacets", 50);
+        ReflectionTestUtils.setField(tagService, "maxVocabulary", 1000);
+    }
+
+    private static TagCount tagCount(String tag, long count) {
+        TagCount tagCount = mock(TagCount.class);
+        when(tagCount.getTag()).thenReturn(tag);
+        when(tagCount.getCount()).thenReturn(count);
+        return tagCount;
+    }
+
+    @Test
+    void testGetTagCountsCountsActiveContentOfMobileOrganizations() {
+        Set<UUID> orgIds = Set.of(orgId, defaultOrgId);
+        List<TagCount> tagCounts = List.of(tagCount("Calm", 4), tagCount("Sleep", 2));
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        when(practiceRepository.countTags(orgIds, AppUtils.PracticeStatus.ACTIVE.name(), "[\"Evening\"]", 50))
+                .thenReturn(tagCounts);
+        try (MockedStatic<AppUtils> utils = mockStatic(AppUtils.class)) {
+            utils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
+            utils.when(() -> AppUtils.toTagFilter(Set.of("Evening"))).thenReturn("[\"Evening\"]");
+
+            List<TagCountDto> result = tagService.getTagCounts(AppUtils.ModuleType.PRACTICE, Set.of("Evening"), 500);
+
+            assertEquals(List.of(TagCountDto.builder().tag("Calm").count(4L).build(),
+                    TagCountDto.builder().tag("Sleep").count(2L).build()), result);
+        }
+    }
+
+    @Test
+    void testGetTagCountsCountsAllContentOfPortalOrganization() {
+        List<TagCount> tagCounts = List.of(tagCount("Dawn", 1));
+        when(newsRepository.countTags(null, null, 1)).thenReturn(List.of());
+        when(poemRepository.countTags(Set.of(orgId), null, null, 1)).thenReturn(tagCounts);
+        try (MockedStatic<AppUtils> utils = mockStatic(AppUtils.class)) {
+            utils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.PORTAL_USER);
+            utils.when(AppUtils::getPrincipalOrgId).thenReturn(orgId);
+
+            assertEquals("Dawn", tagService.getTagCounts(AppUtils.ModuleType.POEM, null, 0).getFirst().getTag());
+            assertTrue(tagService.getTagCounts(AppUtils.ModuleType.NEWS, Set.of(), 0).isEmpty());
+        }
+        verifyNoInteractions(organizationService);
+    }
+
+    @Test
+    void testGetTagCountsRejectsUntaggedModule() {
+        try (MockedStatic<AppUtils> utils = mockStatic(AppUtils.class)) {
+            utils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
+
+            assertThrows(AppException.class,
+                    () -> tagService.getTagCounts(AppUtils.ModuleType.EVENT, null, 10));
+        }
+        verifyNoInteractions(practiceRepository, programRepository, poemRepository, shortsRepository,
+                newsRepository);
+    }
+
+    @Test
+    void testGetVocabularyMergesSeededTagsWithTagsInUse() {
+        List<TagCount> tagCounts = List.of(tagCount("Sunrise", 3), tagCount("Calm", 1));
+        when(shortsRepository.countTags(Set.of(orgId), null, null, 1000)).thenReturn(tagCounts);
+        try (MockedStatic<AppUtils> utils = mockStatic(AppUtils.class)) {
+            utils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.PORTAL_USER);
+            utils.when(AppUtils::getPrincipalOrgId).thenReturn(orgId);
+
+            Set<String> vocabulary = tagService.getVocabulary(AppUtils.SettingName.SHORTS_TAGS,
+                    List.of("Calm", "Focus"));
+
+            assertEquals(List.of("Calm", "Focus", "Sunrise"), List.copyOf(vocabulary));
+        }
+        verifyNoInteractions(organizationService);
+    }
+
+    @Test
+    void testGetVocabularyReadsOnlyActiveContentForMobileUsers() {
+        Set<UUID> orgIds = Set.of(orgId, defaultOrgId);
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        when(newsRepository.countTags(AppUtils.NewsStatus.ACTIVE.name(), null, 1000))
+                .thenReturn(List.of(tagCount("Retreat", 2)));
+        try (MockedStatic<AppUtils> utils = mockStatic(AppUtils.class)) {
+            utils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
+
+            Set<String> vocabulary = tagService.getVocabulary(AppUtils.SettingName.NEWS_TAGS, null);
+
+            assertEquals(Set.of("Retreat"), vocabulary);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package yoga.irai.server.app.trending;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TrendingService trendingService;
+
+    private final UUID shortsId = UUID.randomUUID();
+    private final UUID practiceId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(jdbcTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(trendingService, "halfLifeHours", 48.0);
+    }
+
+    @Test
+    void testScoreHalvesEveryHalfLife() {
+        Instant now = Instant.parse("2026-06-01T00:00:00Z");
+        double recent = trendingService.logScore(1, now);
+        double older = trendingService.logScore(1, now.minusSeconds(48 * 3600));
+        assertEquals(Math.log(2), recent - older, 1e-9);
+        assertEquals(Math.log(5), trendingService.logScore(5, now) - recent, 1e-9);
+    }
+
+    @Test
+    void testLogSumExpAddsScoresWithoutOverflow() {
+        assertEquals(Math.log(5), TrendingService.logSumExp(Math.log(2), Math.log(3)), 1e-9);
+        assertEquals(1000 + Math.log(2), TrendingService.logSumExp(1000, 1000), 1e-9);
+        assertEquals(1000, TrendingService.logSumExp(1000, -1000), 1e-9);
+    }
+
+    @Test
+    void testRecordAccumulatesPendingScore() {
+        trendingService.record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.VIEW);
+        double single = trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId);
+        trendingService.record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.LIKE);
+        assertEquals(Math.log(4), trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId) - single, 1e-3);
+    }
+
+    @Test
+    void testRecordIgnoresNonPositiveScaleAndRejectsUnknownModule() {
+        trendingService.record(AppUtils.ModuleType.PRACTICE, practiceId, TrendingService.Signal.RATING, 0);
+        assertNull(trendingService.getPending(AppUtils.ModuleType.PRACTICE, practiceId));
+        assertThrows(IllegalArgumentException.class, () -> trendingService.record(AppUtils.ModuleType.EVENT,
+                practiceId, TrendingService.Signal.VIEW));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlushWritesOneRelativeBatchPerModule() {
+        trendingService.record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.VIEW);
+        trendingService.record(AppUtils.ModuleType.PRACTICE, practiceId, TrendingService.Signal.COMPLETION);
+        double pending = trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId);
+
+        trendingService.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE shorts SET trending_score"), batch.capture());
+        assertArrayEquals(new Object[]{pending, pending, shortsId}, batch.getValue().getFirst());
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE practice SET trending_score"), anyList());
+        assertNull(trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+
+    @Test
+    void testFailedFlushKeepsPendingScore() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+        trendingService.record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.VIEW);
+        double pending = trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId);
+
+        trendingService.flush();
+
+        assertEquals(pending, trendingService.getPending(AppUtils.ModuleType.SHORTS, shortsId));
+    }
+}
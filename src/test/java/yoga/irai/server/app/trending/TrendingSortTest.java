@@ -0,0 +1,22 @@
+package yoga.irai.server.app.trending;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingSortTest {
+
+    @Test
+    void testTrendingSortIsCompletedWithCreationTimeAndId() {
+        Sort sort = TrendingSort.of(Sort.Direction.DESC, TrendingSort.TRENDING, "shortsId");
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "trending", "createdAt", "shortsId"), sort);
+    }
+
+    @Test
+    void testOtherSortsAreKept() {
+        assertEquals(Sort.by(Sort.Direction.ASC, "poemName"),
+                TrendingSort.of(Sort.Direction.ASC, "poemName", "poemId"));
+    }
+}
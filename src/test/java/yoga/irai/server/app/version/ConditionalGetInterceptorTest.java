@@ -0,0 +1,196 @@
+package yoga.irai.server.app.version;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.authentication.entity.UserPrincipalEntity;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.user.ProgramUserRepository;
+import yoga.irai.server.setting.SettingRepository;
+import yoga.irai.server.shorts.user.ShortsUserRepository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private SettingRepository settingRepository;
+    @Mock
+    private OrganizationService organizationService;
+    @Mock
+    private ShortsUserRepository shortsUserRepository;
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private ProgramUserRepository programUserRepository;
+    @Mock
+    private PracticeUserRepository practiceUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    static class Endpoints {
+
+        @ConditionalGet(modules = AppUtils.ModuleType.PRACTICE, userProgress = AppUtils.ModuleType.PRACTICE)
+        public void practices() {
+        }
+
+        @ConditionalGet(settings = true, signedUrls = false)
+        public void setting() {
+        }
+
+        public void plain() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        conditionalGetInterceptor = new ConditionalGetInterceptor(meterRegistry, settingRepository,
+                organizationService, shortsUserRepository, contentVersionService, programUserRepository,
+                practiceUserRepository);
+        ReflectionTestUtils.setField(conditionalGetInterceptor, "signatureDurationMinutes", 60L);
+        ReflectionTestUtils.setField(conditionalGetInterceptor, "trendingFlushDelayMs", 30000L);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipalEntity(UserEntity.builder().userId(userId).orgId(orgId).build()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    private MockHttpServletRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mobile/practice");
+        request.setQueryString("pageNumber=0");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/mobile/practice");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private VersionMarker marker(long rowCount, ZonedDateTime lastUpdatedAt) {
+        return new VersionMarker() {
+            @Override
+            public Long getRowCount() {
+                return rowCount;
+            }
+
+            @Override
+            public Object getLastUpdatedAt() {
+                return lastUpdatedAt;
+            }
+        };
+    }
+
+    @Test
+    void testMatchingIfNoneMatchReturnsNotModified() throws Exception {
+        ZonedDateTime lastUpdatedAt = ZonedDateTime.now();
+        when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
+        when(contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId)).thenReturn(4L);
+        when(practiceUserRepository.getVersionMarker(userId)).thenReturn(marker(2, lastUpdatedAt));
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(request(null), first, handler("practices")));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("\""));
+        assertEquals("no-cache, private", first.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(conditionalGetInterceptor.preHandle(request(eTag), second, handler("practices")));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+        assertEquals(1, meterRegistry.counter("http.conditional.requests", "endpoint", "/mobile/practice",
+                "result", "miss").count());
+        assertEquals(1, meterRegistry.counter("http.conditional.requests", "endpoint", "/mobile/practice",
+                "result", "hit").count());
+    }
+
+    @Test
+    void testETagChangesWithContentVersionAndProgress() throws Exception {
+        ZonedDateTime lastUpdatedAt = ZonedDateTime.now();
+        when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
+        when(contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId)).thenReturn(4L, 5L, 5L);
+        when(practiceUserRepository.getVersionMarker(userId)).thenReturn(marker(2, lastUpdatedAt),
+                marker(2, lastUpdatedAt), marker(2, lastUpdatedAt.plusSeconds(1)));
+        ConditionalGet conditionalGet = Endpoints.class.getMethod("practices").getAnnotation(ConditionalGet.class);
+
+        String original = conditionalGetInterceptor.getETag(conditionalGet, request(null));
+        String contentChanged = conditionalGetInterceptor.getETag(conditionalGet, request(null));
+        String progressChanged = conditionalGetInterceptor.getETag(conditionalGet, request(null));
+        assertNotEquals(original, contentChanged);
+        assertNotEquals(contentChanged, progressChanged);
+    }
+
+    @Test
+    void testSettingETagOnlyDependsOnSettings() throws Exception {
+        ZonedDateTime lastUpdatedAt = ZonedDateTime.now();
+        when(settingRepository.getVersionMarker()).thenReturn(marker(3, lastUpdatedAt));
+        ConditionalGet conditionalGet = Endpoints.class.getMethod("setting").getAnnotation(ConditionalGet.class);
+
+        assertEquals(conditionalGetInterceptor.getETag(conditionalGet, request(null)),
+                conditionalGetInterceptor.getETag(conditionalGet, request(null)));
+        verifyNoInteractions(organizationService, contentVersionService, practiceUserRepository);
+    }
+
+    @Test
+    void testTrendingSortIsServedAfterScoresChange() throws Exception {
+        MockHttpServletRequest request = request("*");
+        request.setParameter("sortBy", "trending");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(conditionalGetInterceptor.preHandle(request, response, handler("practices")));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=30, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        verifyNoInteractions(organizationService, contentVersionService, practiceUserRepository);
+    }
+
+    @Test
+    void testHandlerWithoutAnnotationIsSkipped() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(conditionalGetInterceptor.preHandle(request("\"any\""), response, handler("plain")));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        verifyNoInteractions(organizationService, contentVersionService, settingRepository);
+    }
+
+    @Test
+    void testMatchesUsesWeakComparison() {
+        assertTrue(ConditionalGetInterceptor.matches("W/\"a\"", "\"a\""));
+        assertTrue(ConditionalGetInterceptor.matches("\"b\", \"a\"", "\"a\""));
+        assertTrue(ConditionalGetInterceptor.matches("*", "\"a\""));
+        assertFalse(ConditionalGetInterceptor.matches("\"b\"", "\"a\""));
+        assertFalse(ConditionalGetInterceptor.matches(null, "\"a\""));
+    }
+}
@@ -0,0 +1,120 @@
+package yoga.irai.server.app.version;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import yoga.irai.server.app.AppUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentVersionServiceTest {
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ContentVersionRepository contentVersionRepository;
+
+    @InjectMocks
+    private ContentVersionService contentVersionService;
+
+    private final UUID orgId = UUID.randomUUID();
+
+    private ContentVersionEntity version(long version) {
+        return ContentVersionEntity.builder().versionKey("PRACTICE:" + orgId)
+                .moduleType(AppUtils.ModuleType.PRACTICE).orgId(orgId).version(version)
+                .updatedAt(ZonedDateTime.now()).build();
+    }
+
+    @Test
+    void testBumpIncrementsAndPublishes() {
+        when(contentVersionRepository.increment("PRACTICE:" + orgId, "PRACTICE", orgId)).thenReturn(1L);
+        contentVersionService.bump(AppUtils.ModuleType.PRACTICE, orgId);
+        verify(contentVersionRepository).increment("PRACTICE:" + orgId, "PRACTICE", orgId);
+        verify(applicationEventPublisher).publishEvent(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        assertEquals(1, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+    }
+
+    @Test
+    void testBumpGlobalModule() {
+        when(contentVersionRepository.increment("NEWS:*", "NEWS", null)).thenReturn(1L);
+        contentVersionService.bump(AppUtils.ModuleType.NEWS, null);
+        verify(contentVersionRepository).increment("NEWS:*", "NEWS", null);
+        assertEquals(1, contentVersionService.getVersion(AppUtils.ModuleType.NEWS, null));
+    }
+
+    @Test
+    void testBumpAppliesAfterCommit() {
+        when(contentVersionRepository.increment("PRACTICE:" + orgId, "PRACTICE", orgId)).thenReturn(4L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentVersionService.bump(AppUtils.ModuleType.PRACTICE, orgId);
+            verifyNoInteractions(applicationEventPublisher);
+            assertEquals(0, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(applicationEventPublisher).publishEvent(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        assertEquals(4, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+    }
+
+    @Test
+    void testRolledBackBumpDoesNotHideChangeOfOtherNode() {
+        when(contentVersionRepository.findAll()).thenReturn(List.of(version(4)), List.of(version(5)));
+        when(contentVersionRepository.increment("PRACTICE:" + orgId, "PRACTICE", orgId)).thenReturn(5L);
+        contentVersionService.refresh();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            contentVersionService.bump(AppUtils.ModuleType.PRACTICE, orgId);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(4, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+
+        contentVersionService.refresh();
+
+        verify(applicationEventPublisher, times(1))
+                .publishEvent(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        assertEquals(5, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+    }
+
+    @Test
+    void testRefreshPublishesOnlyChangesAfterFirstLoad() {
+        when(contentVersionRepository.findAll()).thenReturn(List.of(version(3)), List.of(version(3)),
+                List.of(version(5)));
+        contentVersionService.refresh();
+        contentVersionService.refresh();
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        assertEquals(3, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+
+        contentVersionService.refresh();
+        verify(applicationEventPublisher, times(1))
+                .publishEvent(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        assertEquals(5, contentVersionService.getVersion(AppUtils.ModuleType.PRACTICE, orgId));
+    }
+
+    @Test
+    void testModuleVersionSumsAllOrganizations() {
+        when(contentVersionRepository.increment(anyString(), anyString(), any())).thenReturn(1L);
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, orgId);
+        contentVersionService.bump(AppUtils.ModuleType.EVENT, UUID.randomUUID());
+        contentVersionService.bump(AppUtils.ModuleType.POEM, orgId);
+        assertEquals(2, contentVersionService.getVersion(AppUtils.ModuleType.EVENT));
+    }
+}
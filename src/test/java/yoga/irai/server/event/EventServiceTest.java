@@ -19,6 +19,8 @@ import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.dto.ContactDto;
 import yoga.irai.server.app.dto.UrlDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.EventMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -43,6 +45,11 @@ class EventServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
+
     @InjectMocks
     private EventService eventService;
 
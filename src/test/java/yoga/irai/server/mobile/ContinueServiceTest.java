@@ -0,0 +1,133 @@
+package yoga.irai.server.mobile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.mobile.dto.ContinueMobileResponseDto;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.user.PracticeUserEntity;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionRepository;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonRepository;
+import yoga.irai.server.program.section.lesson.user.LessonUserEntity;
+import yoga.irai.server.program.section.lesson.user.LessonUserRepository;
+import yoga.irai.server.storage.StorageService;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContinueServiceTest {
+
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private LessonRepository lessonRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private LessonUserRepository lessonUserRepository;
+    @Mock
+    private PracticeUserRepository practiceUserRepository;
+    @InjectMocks
+    private ContinueService continueService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(continueService, "maxLimit", 20);
+    }
+
+    @Test
+    void testGetContinueItemsMergesByRecencyAndEnrichesInBatches() {
+        ZonedDateTime now = ZonedDateTime.now();
+        PracticeEntity practice = PracticeEntity.builder().practiceId(UUID.randomUUID()).practiceName("Practice")
+                .practiceStatus(AppUtils.PracticeStatus.ACTIVE).practiceStorageId(UUID.randomUUID()).build();
+        ProgramEntity program = ProgramEntity.builder().programId(UUID.randomUUID()).programName("Program")
+                .programStatus(AppUtils.ProgramStatus.ACTIVE).build();
+        SectionEntity section = SectionEntity.builder().sectionId(UUID.randomUUID()).programId(program.getProgramId())
+                .sectionName("Section").build();
+        LessonEntity lesson = LessonEntity.builder().lessonId(UUID.randomUUID()).sectionId(section.getSectionId())
+                .lessonName("Lesson").lessonStorageId(UUID.randomUUID()).build();
+        PracticeUserEntity practiceUser = PracticeUserEntity.builder().practiceUserId(UUID.randomUUID())
+                .practiceId(practice.getPracticeId()).resumeTime(30L).updatedAt(now.minusHours(1)).build();
+        LessonUserEntity lessonUser = LessonUserEntity.builder().lessonUserId(UUID.randomUUID())
+                .lessonId(lesson.getLessonId()).resumeTime(90L).updatedAt(now).build();
+        when(practiceUserRepository.findInProgress(eq(userId), any(), eq(AppUtils.PracticeStatus.ACTIVE), any()))
+                .thenReturn(List.of(practiceUser));
+        when(lessonUserRepository.findInProgress(eq(userId), any(), eq(AppUtils.ProgramStatus.ACTIVE), any()))
+                .thenReturn(List.of(lessonUser));
+        when(practiceRepository.findAllById(List.of(practice.getPracticeId()))).thenReturn(List.of(practice));
+        when(lessonRepository.findAllById(List.of(lesson.getLessonId()))).thenReturn(List.of(lesson));
+        when(sectionRepository.findAllById(List.of(section.getSectionId()))).thenReturn(List.of(section));
+        when(programRepository.findAllById(List.of(program.getProgramId()))).thenReturn(List.of(program));
+        when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(
+                Map.of(practice.getPracticeStorageId(), "practice-url", lesson.getLessonStorageId(), "lesson-url"));
+
+        List<ContinueMobileResponseDto> items;
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            items = continueService.getContinueItems(5);
+        }
+
+        assertEquals(2, items.size());
+        ContinueMobileResponseDto lessonItem = items.getFirst();
+        assertEquals(AppUtils.ResumeItemType.LESSON, lessonItem.getType());
+        assertEquals(90L, lessonItem.getResumeTime());
+        assertEquals("Program", lessonItem.getProgramName());
+        assertEquals("Section", lessonItem.getSectionName());
+        assertEquals("lesson-url", lessonItem.getStorageUrl());
+        assertEquals(AppUtils.ResumeItemType.PRACTICE, items.get(1).getType());
+        assertEquals("practice-url", items.get(1).getStorageUrl());
+        verify(storageService, times(1)).getSignedStorageUrlByIds(anyList());
+    }
+
+    @Test
+    void testGetContinueItemsSkipsInactivePrograms() {
+        ProgramEntity program = ProgramEntity.builder().programId(UUID.randomUUID())
+                .programStatus(AppUtils.ProgramStatus.INACTIVE).build();
+        SectionEntity section = SectionEntity.builder().sectionId(UUID.randomUUID()).programId(program.getProgramId())
+                .build();
+        LessonEntity lesson = LessonEntity.builder().lessonId(UUID.randomUUID()).sectionId(section.getSectionId())
+                .build();
+        LessonUserEntity lessonUser = LessonUserEntity.builder().lessonUserId(UUID.randomUUID())
+                .lessonId(lesson.getLessonId()).updatedAt(ZonedDateTime.now()).build();
+        when(practiceUserRepository.findInProgress(eq(userId), any(), eq(AppUtils.PracticeStatus.ACTIVE), any()))
+                .thenReturn(List.of());
+        when(lessonUserRepository.findInProgress(eq(userId), any(), eq(AppUtils.ProgramStatus.ACTIVE), any()))
+                .thenReturn(List.of(lessonUser));
+        when(lessonRepository.findAllById(List.of(lesson.getLessonId()))).thenReturn(List.of(lesson));
+        when(sectionRepository.findAllById(List.of(section.getSectionId()))).thenReturn(List.of(section));
+        when(programRepository.findAllById(List.of(program.getProgramId()))).thenReturn(List.of(program));
+        when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(Map.of());
+
+        List<ContinueMobileResponseDto> items;
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            items = continueService.getContinueItems(5);
+        }
+
+        assertTrue(items.isEmpty());
+    }
+}
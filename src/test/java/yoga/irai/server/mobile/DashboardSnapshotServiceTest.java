@@ -0,0 +1,135 @@
+package yoga.irai.server.mobile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.version.ContentChangedEvent;
+import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardSnapshotServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardSnapshotService dashboardSnapshotService;
+    private final UUID orgId = UUID.randomUUID();
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dashboardSnapshotService = new DashboardSnapshotService(new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(dashboardSnapshotService, "snapshotTtlMinutes", 10L);
+        ReflectionTestUtils.setField(dashboardSnapshotService, "signatureDurationMinutes", 60L);
+        dashboardSnapshotService.checkSnapshotTtl();
+        dashboardSnapshotService.registerGauges();
+    }
+
+    private DashboardSnapshot snapshot() {
+        builds.incrementAndGet();
+        return new DashboardSnapshot(List.of(PoemMobileResponseDto.builder().poemName("Poem").build()), List.of(),
+                List.of(), List.of(), List.of());
+    }
+
+    @Test
+    void testSnapshotIsBuiltOnceAndReused() {
+        DashboardSnapshot first = dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        DashboardSnapshot second = dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(1, meterRegistry.get("dashboard.snapshot.count").gauge().value());
+        assertTrue(meterRegistry.get("dashboard.snapshot.bytes").gauge().value() > 0);
+        assertEquals(1, meterRegistry.get("dashboard.snapshot.rebuild").timer().count());
+    }
+
+    @Test
+    void testOrgChangeEvictsOnlyThatOrg() {
+        UUID otherOrgId = UUID.randomUUID();
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        dashboardSnapshotService.getSnapshot(otherOrgId, this::snapshot);
+        dashboardSnapshotService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.PRACTICE, orgId));
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        dashboardSnapshotService.getSnapshot(otherOrgId, this::snapshot);
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void testGlobalChangeEvictsAllOrgs() {
+        UUID otherOrgId = UUID.randomUUID();
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        dashboardSnapshotService.getSnapshot(otherOrgId, this::snapshot);
+        dashboardSnapshotService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.NEWS, null));
+        assertEquals(0, meterRegistry.get("dashboard.snapshot.count").gauge().value());
+    }
+
+    @Test
+    void testEventChangeKeepsSnapshots() {
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        dashboardSnapshotService.onContentChanged(new ContentChangedEvent(AppUtils.ModuleType.EVENT, null));
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void testTtlNotBelowSignatureDurationFailsAtStartup() {
+        ReflectionTestUtils.setField(dashboardSnapshotService, "snapshotTtlMinutes", 60L);
+        assertThrows(IllegalStateException.class, dashboardSnapshotService::checkSnapshotTtl);
+        ReflectionTestUtils.setField(dashboardSnapshotService, "snapshotTtlMinutes", 0L);
+        assertThrows(IllegalStateException.class, dashboardSnapshotService::checkSnapshotTtl);
+    }
+
+    @Test
+    void testExpiredSnapshotIsRebuilt() {
+        ReflectionTestUtils.setField(dashboardSnapshotService, "snapshotTtlMinutes", -1L);
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void testFailedBuildIsNotCached() {
+        Supplier<DashboardSnapshot> failing = () -> {
+            throw new IllegalStateException("db down");
+        };
+        assertThrows(IllegalStateException.class, () -> dashboardSnapshotService.getSnapshot(orgId, failing));
+        dashboardSnapshotService.getSnapshot(orgId, this::snapshot);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void testConcurrentReadersShareOneRebuild() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<DashboardSnapshot> slow = () -> {
+            building.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return snapshot();
+        };
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<DashboardSnapshot> first = executor.submit(() -> dashboardSnapshotService.getSnapshot(orgId, slow));
+            assertTrue(building.await(5, TimeUnit.SECONDS));
+            List<Future<DashboardSnapshot>> waiting = List.of(
+                    executor.submit(() -> dashboardSnapshotService.getSnapshot(orgId, slow)),
+                    executor.submit(() -> dashboardSnapshotService.getSnapshot(orgId, slow)));
+            release.countDown();
+            DashboardSnapshot snapshot = first.get(5, TimeUnit.SECONDS);
+            for (Future<DashboardSnapshot> future : waiting) {
+                assertSame(snapshot, future.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, builds.get());
+    }
+}
@@ -0,0 +1,157 @@
+package yoga.irai.server.mobile;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.recommendation.CandidateIndexService;
+import yoga.irai.server.app.recommendation.CandidateIndexService.Candidate;
+import yoga.irai.server.authentication.dto.UserAoiDto;
+import yoga.irai.server.authentication.dto.UserAoiOptionDto;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.authentication.service.UserService;
+import yoga.irai.server.mobile.dto.ForYouMobileResponseDto;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.practice.user.PracticeUserEntity;
+import yoga.irai.server.practice.user.PracticeUserRepository;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.program.user.ProgramUserRepository;
+import yoga.irai.server.shorts.ShortsRepository;
+import yoga.irai.server.shorts.ShortsService;
+import yoga.irai.server.shorts.user.ShortsUserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ForYouServiceTest {
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private PoemService poemService;
+    @Mock
+    private ShortsService shortsService;
+    @Mock
+    private ProgramService programService;
+    @Mock
+    private PracticeService practiceService;
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private OrganizationService organizationService;
+    @Mock
+    private ShortsUserRepository shortsUserRepository;
+    @Mock
+    private CandidateIndexService candidateIndexService;
+    @Mock
+    private ProgramUserRepository programUserRepository;
+    @Mock
+    private PracticeUserRepository practiceUserRepository;
+    @InjectMocks
+    private ForYouService forYouService;
+
+    private final UUID orgId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(forYouService, "maxLimit", 50);
+    }
+
+    private static UserAoiDto question(AppUtils.UserAoiStatus status, String... selected) {
+        List<UserAoiOptionDto> options = new ArrayList<>();
+        for (String value : selected) {
+            options.add(UserAoiOptionDto.builder().value(value).isSelected(true).build());
+        }
+        options.add(UserAoiOptionDto.builder().value("Unselected").isSelected(false).build());
+        return UserAoiDto.builder().status(status).options(options).build();
+    }
+
+    @Test
+    void testToTagWeightsSplitsEachQuestionBetweenSelectedOptions() {
+        Map<String, Double> weights = ForYouService.toTagWeights(List.of(
+                question(AppUtils.UserAoiStatus.ACTIVE, "Stress", " Sleep "),
+                question(AppUtils.UserAoiStatus.ACTIVE, "sleep"),
+                question(AppUtils.UserAoiStatus.INACTIVE, "Balance")));
+
+        assertEquals(Map.of("stress", 0.5, "sleep", 1.5), weights);
+    }
+
+    @Test
+    void testRankSumsMatchedTagsAndBreaksTiesByAge() {
+        LocalDateTime now = LocalDateTime.now();
+        Candidate both = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now.minusDays(3));
+        Candidate newer = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now);
+        Candidate older = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now.minusDays(1));
+        Candidate unmatched = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now);
+        when(candidateIndexService.getCandidates(any(), eq(orgId))).thenReturn(Map.of());
+        when(candidateIndexService.getCandidates(AppUtils.ModuleType.PRACTICE, orgId)).thenReturn(Map.of(
+                "stress", List.of(newer, older, both), "sleep", List.of(both), "balance", List.of(unmatched)));
+
+        List<ForYouService.Ranked> ranked = forYouService.rank(Map.of("stress", 1.0, "sleep", 0.5), Set.of(orgId));
+
+        assertEquals(List.of(both, newer, older), ranked.stream().map(ForYouService.Ranked::candidate).toList());
+        assertEquals(1.5, ranked.getFirst().score());
+    }
+
+    @Test
+    void testGetFeedSkipsCompletedItems() {
+        LocalDateTime now = LocalDateTime.now();
+        Candidate completed = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now);
+        Candidate started = new Candidate(AppUtils.ModuleType.PRACTICE, UUID.randomUUID(), now.minusDays(1));
+        UserEntity userEntity = UserEntity.builder().userId(userId).userAoi("1:1").build();
+        PracticeUserEntity completedProgress = PracticeUserEntity.builder().practiceId(completed.id())
+                .practiceUserStatus(AppUtils.PracticeUserStatus.COMPLETE).build();
+        PracticeEntity practiceEntity = PracticeEntity.builder().practiceId(started.id())
+                .practiceStatus(AppUtils.PracticeStatus.ACTIVE).build();
+        PracticeMobileResponseDto practiceDto = PracticeMobileResponseDto.builder().practiceId(started.id()).build();
+        when(userService.getUserById(userId)).thenReturn(userEntity);
+        when(userService.getUserAoi(userEntity)).thenReturn(List.of(question(AppUtils.UserAoiStatus.ACTIVE, "Stress")));
+        when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
+        when(candidateIndexService.getCandidates(any(), eq(orgId))).thenReturn(Map.of());
+        when(candidateIndexService.getCandidates(AppUtils.ModuleType.PRACTICE, orgId))
+                .thenReturn(Map.of("stress", List.of(completed, started)));
+        when(practiceUserRepository.findAllByUserIdAndPracticeIdIn(userId, List.of(completed.id(), started.id())))
+                .thenReturn(List.of(completedProgress));
+        when(practiceRepository.findAllById(List.of(started.id()))).thenReturn(List.of(practiceEntity));
+        when(practiceService.toPracticeMobileResponseDto(List.of(practiceEntity))).thenReturn(List.of(practiceDto));
+
+        List<ForYouMobileResponseDto> feed;
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            feed = forYouService.getFeed(1);
+        }
+
+        assertEquals(1, feed.size());
+        assertEquals(started.id(), feed.getFirst().getId());
+        assertEquals(AppUtils.ModuleType.PRACTICE, feed.getFirst().getType());
+        assertSame(practiceDto, feed.getFirst().getData());
+        verifyNoInteractions(programUserRepository, shortsUserRepository);
+    }
+}
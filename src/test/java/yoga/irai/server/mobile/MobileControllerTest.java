@@ -9,13 +9,26 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.dto.AppResponseDto;
 import yoga.irai.server.app.dto.ContactDto;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
+import yoga.irai.server.app.dto.RatingHistogramDto;
+import yoga.irai.server.app.dto.ReviewDto;
+import yoga.irai.server.app.dto.SuggestionDto;
+import yoga.irai.server.app.dto.TagCountDto;
 import yoga.irai.server.app.dto.UrlDto;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.search.AutocompleteService;
+import yoga.irai.server.app.search.TagService;
 import yoga.irai.server.authentication.dto.UserAoiDto;
 import yoga.irai.server.authentication.dto.UserAoiOptionDto;
 import yoga.irai.server.authentication.dto.UserResponseDto;
@@ -28,6 +41,7 @@ import yoga.irai.server.news.NewsEntity;
 import yoga.irai.server.news.NewsService;
 import yoga.irai.server.poem.PoemEntity;
 import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeCard;
 import yoga.irai.server.practice.PracticeEntity;
 import yoga.irai.server.practice.PracticeService;
 import yoga.irai.server.practice.category.PracticeCategoryService;
@@ -54,10 +68,19 @@ import yoga.irai.server.shorts.ShortsEntity;
 import yoga.irai.server.shorts.ShortsService;
 import yoga.irai.server.storage.StorageService;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -98,6 +121,27 @@ class MobileControllerTest {
     @Mock
     private PracticeCategoryService practiceCategoryService;
 
+    @Mock
+    private MobileDashboardService mobileDashboardService;
+
+    @Mock
+    private SyncService syncService;
+
+    @Mock
+    private ForYouService forYouService;
+
+    @Mock
+    private ContinueService continueService;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @Mock
+    private TagService tagService;
+
     @InjectMocks
     private MobileController mobileController;
 
@@ -127,12 +171,7 @@ class MobileControllerTest {
     private ProgramMobileResponseDto programMobileResponseDto;
     private PracticeMobileResponseDto practiceMobileResponseDto;
 
-    private Page<NewsEntity> newsPage;
-    private Page<PoemEntity> poemPage;
     private Page<EventEntity> eventsPage;
-    private Page<ShortsEntity> shortsPage;
-    private Page<ProgramEntity> programPage;
-    private Page<PracticeEntity> practicePage;
 
     private LessonUserRequestDto lessonUserRequestDto;
     private PracticeUserRequestDto practiceUserRequestDto;
@@ -159,7 +198,6 @@ class MobileControllerTest {
                 .practiceStorageId(UUID.randomUUID())
                 .practiceIconStorageId(UUID.randomUUID())
                 .build();
-        practicePage = new PageImpl<>(List.of(practiceEntity));
         poemMobileResponseDto = PoemMobileResponseDto.builder()
                 .poemName("poemName").poemDescription("poemDescription").poemAuthor("poemAuthor")
                 .poemDuration(1000L).poemTags(Set.of("tag1", "tag2"))
@@ -174,7 +212,6 @@ class MobileControllerTest {
                 .poemBannerExternalUrl("poemBannerExternalUrl")
                 .poemStorageId(UUID.randomUUID())
                 .poemText("poemText").poemViews(100L).build();
-        poemPage = new PageImpl<>(List.of(poemEntity));
         shortsMobileResponseDto = ShortsMobileResponseDto.builder()
                 .shortsName("shortsName").shortsDescription("shortsDescription").shortsId(UUID.randomUUID())
                 .duration(1000L).likes(100L).orgName("orgName").tags(Set.of("tag1", "tag2"))
@@ -186,7 +223,6 @@ class MobileControllerTest {
                 .shortsBannerExternalUrl("shortsBannerExternalUrl")
                 .shortsBannerStorageId(UUID.randomUUID())
                 .shortsExternalUrl("shortsExternalUrl").build();
-        shortsPage = new PageImpl<>(List.of(shortsEntity));
         eventMobileResponseDto = EventMobileResponseDto.builder()
                 .eventName("eventName").eventDescription("eventDescription").eventId(UUID.randomUUID())
                 .contacts(List.of(ContactDto.builder().id(0).email("test@test.test").name("test")
@@ -210,7 +246,6 @@ class MobileControllerTest {
                 .newsBannerExternalUrl("newsIconExternalUrl").likes(100L).isRecommended(true)
                 .newsIconStorageId(UUID.randomUUID())
                 .tags("[\"tag1\", \"tag2\"]").build();
-        newsPage = new PageImpl<>(List.of(newsEntity));
         programMobileResponseDto = ProgramMobileResponseDto.builder()
                 .programName("programName").programAuthor("programAuthor").programDescription("programDescription")
                 .programId(UUID.randomUUID()).comments("comments").programUserId(UUID.randomUUID())
@@ -224,7 +259,6 @@ class MobileControllerTest {
                 .rating(5F).ratingCount(100L).duration(1000L)
                 .views(100L).build();
         programEntity.setCreatedBy(UUID.randomUUID());
-        programPage = new PageImpl<>(List.of(programEntity));
         sectionMobileResponseDto = SectionMobileResponseDto.builder()
                 .sectionName("sectionName").sectionDescription("sectionDescription")
                 .sectionId(UUID.randomUUID()).numberOfLessons(10)
@@ -314,31 +348,59 @@ class MobileControllerTest {
 
     @Test
     void testGetPractices() {
-        when(practiceService.getPractices(anyInt(), anyInt(), anyString(), any(), anyString(), any(UUID.class))).thenReturn(practicePage);
-        when(practiceService.toPracticeMobileResponseDto(anyList())).thenReturn(List.of(practiceMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPractices(0, 10, "", Sort.Direction.ASC, "", UUID.randomUUID());
-        verify(practiceService, times(1)).getPractices(anyInt(), anyInt(), anyString(), any(), anyString(), any(UUID.class));
-        verify(practiceService, times(1)).toPracticeMobileResponseDto(anyList());
+        when(practiceService.getPracticeMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), any(UUID.class), isNull())).thenReturn(new PageImpl<>(List.of(practiceMobileResponseDto)));
+        ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPractices(0, 10, "", Sort.Direction.ASC, "", UUID.randomUUID(), null, null, null);
+        verify(practiceService, times(1)).getPracticeMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), any(UUID.class), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
+    @Test
+    void testGetPracticesWithCardFieldsUsesProjection() {
+        Page<PracticeCard> practiceCards = new PageImpl<>(List.of(mock(PracticeCard.class)));
+        when(practiceService.getPracticeCards(0, 10, "createdAt", Sort.Direction.DESC, null, null, null))
+                .thenReturn(practiceCards);
+        when(practiceService.toPracticeMobileResponseDto(eq(practiceCards.getContent()), any(FieldsDto.class)))
+                .thenReturn(List.of(practiceMobileResponseDto));
+        ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPractices(0,
+                10, "createdAt", Sort.Direction.DESC, null, null, null, null, "practiceName,duration");
+        assertEquals(List.of(practiceMobileResponseDto), Objects.requireNonNull(response.getBody()).getData());
+        verify(practiceService, never()).getPractices(anyInt(), anyInt(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testGetPracticesWithOtherFieldsStripsFullResponse() {
+        PracticeMobileResponseDto fullDto = PracticeMobileResponseDto.builder().practiceId(UUID.randomUUID())
+                .practiceName("Sun").practiceDescription("Long description").build();
+        when(practiceService.getPracticeMobileResponseDtos(0, 10, "createdAt", Sort.Direction.DESC, null, null, null))
+                .thenReturn(new PageImpl<>(List.of(fullDto)));
+        ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPractices(0,
+                10, "createdAt", Sort.Direction.DESC, null, null, null, null, "practiceDescription");
+        PracticeMobileResponseDto dto = Objects.requireNonNull(response.getBody()).getData().getFirst();
+        assertEquals("Long description", dto.getPracticeDescription());
+        assertNull(dto.getPracticeName());
+        verify(practiceService, never()).getPracticeCards(anyInt(), anyInt(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testGetPracticesWithUnknownFields() {
+        assertThrows(AppException.class, () -> mobileController.getPractices(0, 10, "createdAt",
+                Sort.Direction.DESC, null, null, null, null, "password"));
+        verifyNoInteractions(practiceService);
+    }
+
     @Test
     void testGetPoems() {
-        when(poemService.getPoems(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(poemPage);
-        when(poemService.toPoemMobileResponseDto(anyList())).thenReturn(List.of(poemMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<PoemMobileResponseDto>>> response = mobileController.getPoems(0, 10, "", Sort.Direction.ASC, "");
-        verify(poemService, times(1)).getPoems(anyInt(), anyInt(), anyString(), any(), anyString());
-        verify(poemService, times(1)).toPoemMobileResponseDto(anyList());
+        when(poemService.getPoemMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(new PageImpl<>(List.of(poemMobileResponseDto)));
+        ResponseEntity<AppResponseDto<List<PoemMobileResponseDto>>> response = mobileController.getPoems(0, 10, "", Sort.Direction.ASC, "", null, null, null);
+        verify(poemService, times(1)).getPoemMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
     @Test
     void testGetShorts() {
-        when(shortsService.getShorts(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(shortsPage);
-        when(shortsService.toShortsMobileResponseDto(anyList())).thenReturn(List.of(shortsMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<ShortsMobileResponseDto>>> response = mobileController.getShorts(0, 10, "", Sort.Direction.ASC, "");
-        verify(shortsService, times(1)).getShorts(anyInt(), anyInt(), anyString(), any(), anyString());
-        verify(shortsService, times(1)).toShortsMobileResponseDto(anyList());
+        when(shortsService.getShortsMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(new PageImpl<>(List.of(shortsMobileResponseDto)));
+        ResponseEntity<AppResponseDto<List<ShortsMobileResponseDto>>> response = mobileController.getShorts(0, 10, "", Sort.Direction.ASC, "", null, null, null);
+        verify(shortsService, times(1)).getShortsMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
@@ -346,7 +408,7 @@ class MobileControllerTest {
     void testGetEvents() {
         when(eventService.getEvents(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(eventsPage);
         when(eventService.toEventMobileResponseDto(anyList())).thenReturn(List.of(eventMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<EventMobileResponseDto>>> response = mobileController.getEvents(0, 10, "", Sort.Direction.ASC, "");
+        ResponseEntity<AppResponseDto<List<EventMobileResponseDto>>> response = mobileController.getEvents(0, 10, "", Sort.Direction.ASC, "", null);
         verify(eventService, times(1)).getEvents(anyInt(), anyInt(), anyString(), any(), anyString());
         verify(eventService, times(1)).toEventMobileResponseDto(anyList());
         assert response.getStatusCode() == HttpStatus.OK;
@@ -354,14 +416,65 @@ class MobileControllerTest {
 
     @Test
     void testGetNews() {
-        when(newsService.getNews(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(newsPage);
-        when(newsService.toNewsMobileResponseDto(anyList())).thenReturn(List.of(newsMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<NewsMobileResponseDto>>> response = mobileController.getNewsList(0, 10, "", Sort.Direction.ASC, "");
-        verify(newsService, times(1)).getNews(anyInt(), anyInt(), anyString(), any(), anyString());
-        verify(newsService, times(1)).toNewsMobileResponseDto(anyList());
+        when(newsService.getNewsMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(new PageImpl<>(List.of(newsMobileResponseDto)));
+        ResponseEntity<AppResponseDto<List<NewsMobileResponseDto>>> response = mobileController.getNewsList(0, 10, "", Sort.Direction.ASC, "", null, null);
+        verify(newsService, times(1)).getNewsMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
+    @Test
+    void testGetNewsWithCursor() {
+        newsEntity.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        Slice<NewsEntity> newsSlice = new SliceImpl<>(List.of(newsEntity), PageRequest.of(0, 1), true);
+        when(newsService.getNews("", 1, Sort.Direction.DESC, null, null)).thenReturn(newsSlice);
+        when(newsService.toNewsMobileResponseDto(anyList())).thenReturn(List.of(newsMobileResponseDto));
+        ResponseEntity<AppResponseDto<List<NewsMobileResponseDto>>> response = mobileController.getNewsList(0, 1,
+                "createdAt", Sort.Direction.DESC, null, null, "");
+        AppResponseDto.Pageable pageable = Objects.requireNonNull(response.getBody()).getPageable();
+        assertEquals(Boolean.TRUE, pageable.getHasNext());
+        assertEquals(new CursorDto(newsEntity.getCreatedAt(), newsEntity.getNewsId()),
+                CursorDto.decode(pageable.getNextCursor()));
+        verify(newsService, never()).getNews(anyInt(), anyInt(), anyString(), any(), any());
+    }
+
+    @Test
+    void testGetPracticesWithCursorOnLastPage() {
+        Slice<PracticeEntity> practiceSlice = new SliceImpl<>(List.of(), PageRequest.of(0, 10), false);
+        when(practiceService.getPractices("abc", 10, Sort.Direction.DESC, null, null, null)).thenReturn(practiceSlice);
+        when(practiceService.toPracticeMobileResponseDto(anyList())).thenReturn(List.of());
+        ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPractices(0,
+                10, "createdAt", Sort.Direction.DESC, null, null, null, "abc", null);
+        AppResponseDto.Pageable pageable = Objects.requireNonNull(response.getBody()).getPageable();
+        assertEquals(Boolean.FALSE, pageable.getHasNext());
+        assertNull(pageable.getNextCursor());
+    }
+
+    @Test
+    void testGetPracticeReviewsWithNextCursor() {
+        practiceUserEntity.setCreatedAt(ZonedDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.ofHours(5)));
+        Slice<PracticeUserEntity> reviewSlice = new SliceImpl<>(List.of(practiceUserEntity), PageRequest.of(0, 1),
+                true);
+        UUID practiceId = practiceUserEntity.getPracticeId();
+        when(practiceService.getReviews(practiceId, null, 1)).thenReturn(reviewSlice);
+        when(practiceService.toReviewDto(List.of(practiceUserEntity))).thenReturn(List.of(ReviewDto.builder().build()));
+        ResponseEntity<AppResponseDto<List<ReviewDto>>> response = mobileController.getPracticeReviews(practiceId, 1, null);
+        AppResponseDto.Pageable pageable = Objects.requireNonNull(response.getBody()).getPageable();
+        assertEquals(Boolean.TRUE, pageable.getHasNext());
+        assertEquals(new CursorDto(LocalDateTime.of(2025, 1, 1, 5, 0), practiceUserEntity.getPracticeUserId()),
+                CursorDto.decode(pageable.getNextCursor()));
+        assertEquals(1, response.getBody().getData().size());
+    }
+
+    @Test
+    void testGetProgramRatings() {
+        RatingHistogramDto histogram = RatingHistogramDto.builder().contentId(programEntity.getProgramId())
+                .ratingCount(3L).stars(List.of(0L, 0L, 1L, 0L, 2L)).build();
+        when(programService.getRatingHistogram(programEntity.getProgramId())).thenReturn(histogram);
+        ResponseEntity<AppResponseDto<RatingHistogramDto>> response = mobileController
+                .getProgramRatings(programEntity.getProgramId());
+        assertEquals(histogram, Objects.requireNonNull(response.getBody()).getData());
+    }
+
     @Test
     void testUpdateNewsViewCount() {
         doNothing().when(newsService).updateViewCount(any(UUID.class));
@@ -382,13 +495,18 @@ class MobileControllerTest {
         assert response.getBody().getMessage().equals(AppUtils.Messages.UPDATE_SUCCESS.getMessage());
     }
 
+    @Test
+    void testRemoveNewsLike() {
+        ResponseEntity<AppResponseDto<Void>> response = mobileController.removeNewsLike(newsEntity.getNewsId());
+        verify(newsService, times(1)).removeLike(newsEntity.getNewsId());
+        assert response.getStatusCode() == HttpStatus.OK;
+    }
+
     @Test
     void testGetProgram() {
-        when(programService.getPrograms(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(programPage);
-        when(programService.toProgramMobileResponseDto(anyList())).thenReturn(List.of(programMobileResponseDto));
-        ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> response = mobileController.getProgram(0, 10, "", Sort.Direction.ASC, "");
-        verify(programService, times(1)).getPrograms(anyInt(), anyInt(), anyString(), any(), anyString());
-        verify(programService, times(1)).toProgramMobileResponseDto(anyList());
+        when(programService.getProgramMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(new PageImpl<>(List.of(programMobileResponseDto)));
+        ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> response = mobileController.getProgram(0, 10, "", Sort.Direction.ASC, "", null, null, null);
+        verify(programService, times(1)).getProgramMobileResponseDtos(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
@@ -496,6 +614,13 @@ class MobileControllerTest {
         assert response.getStatusCode() == HttpStatus.OK;
     }
 
+    @Test
+    void testRemoveShortsLike() {
+        ResponseEntity<AppResponseDto<Void>> response = mobileController.removeShortsLike(shortsEntity.getShortsId());
+        verify(shortsService, times(1)).removeLike(shortsEntity.getShortsId());
+        assert response.getStatusCode() == HttpStatus.OK;
+    }
+
     @Test
     void testUpdateProgramUser() {
         when(programService.updateProgramUser(any(ProgramUserRequestDto.class))).thenReturn(programUserEntity);
@@ -542,10 +667,9 @@ class MobileControllerTest {
 
     @Test
     void testGetPoemDashBoard() {
-        when(poemService.getTop3Poems()).thenReturn(List.of(poemEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getPoems()).thenReturn(List.of(poemMobileResponseDto));
         ResponseEntity<AppResponseDto<List<PoemMobileResponseDto>>> response = mobileController.getPoemDashboard();
-        verify(poemService, times(1)).getTop3Poems();
+        verify(mobileDashboardService, times(1)).getPoems();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
@@ -554,10 +678,9 @@ class MobileControllerTest {
 
     @Test
     void testGetPracticeDashBoard() {
-        when(practiceService.getTop3Practices()).thenReturn(List.of(practiceEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getPractices()).thenReturn(List.of(practiceMobileResponseDto));
         ResponseEntity<AppResponseDto<List<PracticeMobileResponseDto>>> response = mobileController.getPracticeDashboard();
-        verify(practiceService, times(1)).getTop3Practices();
+        verify(mobileDashboardService, times(1)).getPractices();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
@@ -566,10 +689,9 @@ class MobileControllerTest {
 
     @Test
     void testGetProgramDashBoard() {
-        when(programService.getTop3Programs()).thenReturn(List.of(programEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getPrograms()).thenReturn(List.of(programMobileResponseDto));
         ResponseEntity<AppResponseDto<List<ProgramMobileResponseDto>>> response = mobileController.getProgramDashboard();
-        verify(programService, times(1)).getTop3Programs();
+        verify(mobileDashboardService, times(1)).getPrograms();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
@@ -578,10 +700,9 @@ class MobileControllerTest {
 
     @Test
     void testGetShortsDashBoard() {
-        when(shortsService.getTop3Shorts()).thenReturn(List.of(shortsEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getShorts()).thenReturn(List.of(shortsMobileResponseDto));
         ResponseEntity<AppResponseDto<List<ShortsMobileResponseDto>>> response = mobileController.getShortsDashboard();
-        verify(shortsService, times(1)).getTop3Shorts();
+        verify(mobileDashboardService, times(1)).getShorts();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
@@ -590,10 +711,9 @@ class MobileControllerTest {
 
     @Test
     void testGetEventsDashBoard() {
-        when(eventService.getTop3Events()).thenReturn(List.of(eventEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getEvents()).thenReturn(List.of(eventMobileResponseDto));
         ResponseEntity<AppResponseDto<List<EventMobileResponseDto>>> response = mobileController.getEventDashboard();
-        verify(eventService, times(1)).getTop3Events();
+        verify(mobileDashboardService, times(1)).getEvents();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
@@ -602,13 +722,101 @@ class MobileControllerTest {
 
     @Test
     void testGetNewsDashBoard() {
-        when(newsService.getTop3News()).thenReturn(List.of(newsEntity));
-        when(storageService.getStorageUrl(any(UUID.class))).thenReturn("https://test.test/file");
+        when(mobileDashboardService.getNews()).thenReturn(List.of(newsMobileResponseDto));
         ResponseEntity<AppResponseDto<List<NewsMobileResponseDto>>> response = mobileController.getNewsDashboard();
-        verify(newsService, times(1)).getTop3News();
+        verify(mobileDashboardService, times(1)).getNews();
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData() != null;
         assert response.getBody().getData().size() == 1;
     }
+
+    @Test
+    void testGetHome() {
+        HomeMobileResponseDto home = HomeMobileResponseDto.builder().poems(List.of(poemMobileResponseDto))
+                .unavailableSections(List.of("news")).build();
+        when(mobileDashboardService.getHome()).thenReturn(home);
+        ResponseEntity<AppResponseDto<HomeMobileResponseDto>> response = mobileController.getHome();
+        verify(mobileDashboardService, times(1)).getHome();
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == home;
+    }
+
+    @Test
+    void testGetForYou() {
+        List<ForYouMobileResponseDto> feed = List.of(ForYouMobileResponseDto.builder()
+                .type(AppUtils.ModuleType.POEM).id(UUID.randomUUID()).score(1.0).data(poemMobileResponseDto).build());
+        when(forYouService.getFeed(20)).thenReturn(feed);
+        ResponseEntity<AppResponseDto<List<ForYouMobileResponseDto>>> response = mobileController.getForYou(20);
+        verify(forYouService, times(1)).getFeed(20);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == feed;
+    }
+
+    @Test
+    void testGetContinueItems() {
+        List<ContinueMobileResponseDto> items = List.of(ContinueMobileResponseDto.builder()
+                .type(AppUtils.ResumeItemType.LESSON).id(UUID.randomUUID()).resumeTime(42L).build());
+        when(continueService.getContinueItems(10)).thenReturn(items);
+        ResponseEntity<AppResponseDto<List<ContinueMobileResponseDto>>> response = mobileController
+                .getContinueItems(10);
+        verify(continueService, times(1)).getContinueItems(10);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == items;
+    }
+
+    @Test
+    void testSearch() {
+        List<SearchMobileResponseDto> groups = List.of(SearchMobileResponseDto.builder()
+                .type(AppUtils.ModuleType.POEM).total(1).items(List.of(SearchHitMobileResponseDto.builder()
+                        .id(UUID.randomUUID()).name("Dawn").score(1.5).build()))
+                .build());
+        when(searchService.search("dawn", 5)).thenReturn(groups);
+        ResponseEntity<AppResponseDto<List<SearchMobileResponseDto>>> response = mobileController.search("dawn", 5);
+        verify(searchService, times(1)).search("dawn", 5);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == groups;
+    }
+
+    @Test
+    void testAutocomplete() {
+        List<SuggestionDto> suggestions = List.of(SuggestionDto.builder().text("Morning Stretch")
+                .type(AppUtils.SuggestionType.NAME).moduleType(AppUtils.ModuleType.PRACTICE).id(UUID.randomUUID())
+                .popularity(12L).build());
+        when(autocompleteService.complete("mor", 10)).thenReturn(suggestions);
+        ResponseEntity<AppResponseDto<List<SuggestionDto>>> response = mobileController.autocomplete("mor", 10);
+        verify(autocompleteService, times(1)).complete("mor", 10);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == suggestions;
+    }
+
+    @Test
+    void testGetTagCounts() {
+        List<TagCountDto> tagCounts = List.of(TagCountDto.builder().tag("Calm").count(3L).build());
+        when(tagService.getTagCounts(AppUtils.ModuleType.POEM, Set.of("Dawn"), 20)).thenReturn(tagCounts);
+        ResponseEntity<AppResponseDto<List<TagCountDto>>> response = mobileController
+                .getTagCounts(AppUtils.ModuleType.POEM, Set.of("Dawn"), 20);
+        verify(tagService, times(1)).getTagCounts(AppUtils.ModuleType.POEM, Set.of("Dawn"), 20);
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        assert response.getBody().getData() == tagCounts;
+    }
+
+    @Test
+    void testGetSync() throws IOException {
+        SyncService.SyncWindow syncWindow = new SyncService.SyncWindow(Set.of(UUID.randomUUID()), null,
+                LocalDateTime.now(), true);
+        when(syncService.openWindow("token")).thenReturn(syncWindow);
+        ResponseEntity<StreamingResponseBody> response = mobileController.getSync("token");
+        assert response.getStatusCode() == HttpStatus.OK;
+        assert response.getBody() != null;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        verify(syncService, times(1)).write(syncWindow, outputStream);
+    }
 }
@@ -0,0 +1,247 @@
+package yoga.irai.server.mobile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.authentication.entity.UserEntity;
+import yoga.irai.server.authentication.entity.UserPrincipalEntity;
+import yoga.irai.server.event.EventEntity;
+import yoga.irai.server.event.EventService;
+import yoga.irai.server.mobile.dto.HomeMobileResponseDto;
+import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
+import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
+import yoga.irai.server.news.NewsEntity;
+import yoga.irai.server.news.NewsService;
+import yoga.irai.server.poem.PoemEntity;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.program.ProgramEntity;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.shorts.ShortsService;
+import yoga.irai.server.storage.StorageService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MobileDashboardServiceTest {
+
+    @Mock
+    private NewsService newsService;
+    @Mock
+    private PoemService poemService;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private ShortsService shortsService;
+    @Mock
+    private ProgramService programService;
+    @Mock
+    private StorageService storageService;
+    @Mock
+    private PracticeService practiceService;
+    @Mock
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @InjectMocks
+    private MobileDashboardService mobileDashboardService;
+
+    private PoemEntity poemEntity;
+    private PracticeEntity practiceEntity;
+    private NewsEntity newsEntity;
+    private final UUID orgId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipalEntity principal = new UserPrincipalEntity(UserEntity.builder().orgId(orgId).build());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        ReflectionTestUtils.setField(mobileDashboardService, "sectionTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(mobileDashboardService, "maxConcurrentLoads", 4);
+        mobileDashboardService.createLoadPermits();
+        poemEntity = PoemEntity.builder().poemId(UUID.randomUUID()).poemName("Poem")
+                .poemStorageId(UUID.randomUUID()).poemBannerStorageId(UUID.randomUUID()).build();
+        practiceEntity = PracticeEntity.builder().practiceId(UUID.randomUUID()).practiceName("Practice")
+                .practiceIconStorageId(UUID.randomUUID()).build();
+        newsEntity = NewsEntity.builder().newsId(UUID.randomUUID()).newsName("News")
+                .newsIconStorageId(poemEntity.getPoemStorageId()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void buildSnapshotOnRead() {
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<DashboardSnapshot>>getArgument(1).get());
+    }
+
+    private void stubEmptySections() {
+        when(programService.getTop3Programs()).thenReturn(List.of());
+        when(shortsService.getTop3Shorts()).thenReturn(List.of());
+    }
+
+    private void stubEmptyRecents() {
+        when(practiceService.getViewedPractices()).thenReturn(List.of());
+        when(programService.getViewedPrograms()).thenReturn(List.of());
+        when(shortsService.getViewedShorts()).thenReturn(List.of());
+    }
+
+    @Test
+    void getPoems_ShouldBuildSnapshotAndSignAllUrlsInOneBatch() {
+        buildSnapshotOnRead();
+        stubEmptySections();
+        when(poemService.getTop3Poems()).thenReturn(List.of(poemEntity));
+        when(practiceService.getTop3Practices()).thenReturn(List.of(practiceEntity));
+        when(newsService.getTop3News()).thenReturn(List.of(newsEntity));
+        when(storageService.getSignedStorageUrlByIds(anyList())).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0);
+            assertEquals(3, ids.size());
+            assertEquals(Set.copyOf(ids).size(), ids.size());
+            return Map.of(poemEntity.getPoemStorageId(), "icon", poemEntity.getPoemBannerStorageId(), "banner");
+        });
+        List<PoemMobileResponseDto> result = mobileDashboardService.getPoems();
+        assertEquals(1, result.size());
+        assertEquals("icon", result.getFirst().getPoemIconStorageUrl());
+        assertEquals("banner", result.getFirst().getPoemBannerStorageUrl());
+        verify(storageService, times(1)).getSignedStorageUrlByIds(anyList());
+        verify(storageService, never()).getStorageUrl(any());
+    }
+
+    @Test
+    void getPrograms_ShouldServeCachedSnapshot() {
+        ProgramMobileResponseDto program = ProgramMobileResponseDto.builder().programName("p").build();
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any())).thenReturn(
+                new DashboardSnapshot(List.of(), List.of(), List.of(program), List.of(), List.of()));
+        assertEquals(List.of(program), mobileDashboardService.getPrograms());
+        verifyNoInteractions(programService, storageService);
+    }
+
+    @Test
+    void getPrograms_ShouldSkipSigningWhenNoStorageIds() {
+        buildSnapshotOnRead();
+        when(poemService.getTop3Poems()).thenReturn(List.of());
+        when(practiceService.getTop3Practices()).thenReturn(List.of());
+        when(shortsService.getTop3Shorts()).thenReturn(List.of());
+        when(newsService.getTop3News()).thenReturn(List.of());
+        when(programService.getTop3Programs()).thenReturn(List.of(ProgramEntity.builder().programName("p").build()));
+        assertEquals(1, mobileDashboardService.getPrograms().size());
+        verifyNoInteractions(storageService);
+    }
+
+    @Test
+    void getEvents_ShouldLoadOutsideSnapshotOnEveryRequest() {
+        EventEntity event = EventEntity.builder().eventName("e").eventIconStorageId(UUID.randomUUID()).build();
+        when(eventService.getTop3Events()).thenReturn(List.of(event));
+        when(storageService.getSignedStorageUrlByIds(anyList()))
+                .thenReturn(Map.of(event.getEventIconStorageId(), "eventIcon"));
+        assertEquals("eventIcon", mobileDashboardService.getEvents().getFirst().getEventIconStorageUrl());
+        assertEquals(1, mobileDashboardService.getEvents().size());
+        verify(eventService, times(2)).getTop3Events();
+        verifyNoInteractions(dashboardSnapshotService);
+    }
+
+    @Test
+    void getHome_ShouldLoadAllSections() {
+        buildSnapshotOnRead();
+        stubEmptySections();
+        when(poemService.getTop3Poems()).thenReturn(List.of(poemEntity));
+        when(practiceService.getTop3Practices()).thenReturn(List.of(practiceEntity));
+        when(newsService.getTop3News()).thenReturn(List.of(newsEntity));
+        when(practiceService.getViewedPractices()).thenReturn(List.of(practiceEntity));
+        when(programService.getViewedPrograms()).thenReturn(List.of());
+        when(shortsService.getViewedShorts()).thenReturn(List.of());
+        when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(Map.of(
+                practiceEntity.getPracticeIconStorageId(), "practiceIcon", poemEntity.getPoemStorageId(), "shared"));
+        HomeMobileResponseDto home = mobileDashboardService.getHome();
+        assertEquals(1, home.getPoems().size());
+        assertEquals("practiceIcon", home.getPractices().getFirst().getPracticeIconStorageUrl());
+        assertEquals("practiceIcon", home.getRecentPractices().getFirst().getPracticeIconStorageUrl());
+        assertEquals("shared", home.getNews().getFirst().getNewsIconStorageUrl());
+        assertTrue(home.getUnavailableSections().isEmpty());
+        verify(storageService, times(2)).getSignedStorageUrlByIds(anyList());
+    }
+
+    @Test
+    void getHome_ShouldReturnPartialResultWhenRecentSectionFails() {
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any())).thenReturn(DashboardSnapshot.empty());
+        when(practiceService.getViewedPractices()).thenReturn(List.of());
+        when(programService.getViewedPrograms()).thenThrow(new IllegalStateException("db down"));
+        when(shortsService.getViewedShorts()).thenReturn(List.of());
+        HomeMobileResponseDto home = mobileDashboardService.getHome();
+        assertTrue(home.getRecentPrograms().isEmpty());
+        assertEquals(List.of("recentPrograms"), home.getUnavailableSections());
+    }
+
+    @Test
+    void getHome_ShouldMarkSnapshotSectionsUnavailableWhenSnapshotFails() {
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any())).thenThrow(new IllegalStateException("db down"));
+        stubEmptyRecents();
+        HomeMobileResponseDto home = mobileDashboardService.getHome();
+        assertTrue(home.getPoems().isEmpty());
+        assertTrue(home.getNews().isEmpty());
+        assertEquals(List.of("poems", "practices", "programs", "shorts", "news"),
+                home.getUnavailableSections());
+    }
+
+    @Test
+    void getHome_ShouldReturnPartialResultWhenSectionTimesOut() {
+        ReflectionTestUtils.setField(mobileDashboardService, "sectionTimeoutMs", 100L);
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any())).thenReturn(DashboardSnapshot.empty());
+        when(practiceService.getViewedPractices()).thenReturn(List.of(practiceEntity));
+        when(programService.getViewedPrograms()).thenReturn(List.of());
+        when(shortsService.getViewedShorts()).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(Map.of());
+        HomeMobileResponseDto home = mobileDashboardService.getHome();
+        assertEquals(1, home.getRecentPractices().size());
+        assertEquals(List.of("recentShorts"), home.getUnavailableSections());
+    }
+
+    @Test
+    void getHome_ShouldCapConcurrentLoads() {
+        ReflectionTestUtils.setField(mobileDashboardService, "maxConcurrentLoads", 1);
+        mobileDashboardService.createLoadPermits();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Answer<Object> load = invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return List.of();
+        };
+        when(dashboardSnapshotService.getSnapshot(eq(orgId), any())).thenAnswer(invocation -> {
+            load.answer(invocation);
+            return DashboardSnapshot.empty();
+        });
+        when(practiceService.getViewedPractices()).thenAnswer(load);
+        when(programService.getViewedPrograms()).thenAnswer(load);
+        when(shortsService.getViewedShorts()).thenAnswer(load);
+
+        HomeMobileResponseDto home = mobileDashboardService.getHome();
+
+        assertTrue(home.getUnavailableSections().isEmpty());
+        assertEquals(1, maxRunning.get());
+    }
+}
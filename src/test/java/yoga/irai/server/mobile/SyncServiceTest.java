@@ -0,0 +1,235 @@
+package yoga.irai.server.mobile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneEntity;
+import yoga.irai.server.app.sync.TombstoneRepository;
+import yoga.irai.server.event.EventRepository;
+import yoga.irai.server.event.EventService;
+import yoga.irai.server.mobile.dto.LessonMobileResponseDto;
+import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
+import yoga.irai.server.news.NewsRepository;
+import yoga.irai.server.news.NewsService;
+import yoga.irai.server.organization.OrganizationService;
+import yoga.irai.server.poem.PoemRepository;
+import yoga.irai.server.poem.PoemService;
+import yoga.irai.server.practice.PracticeEntity;
+import yoga.irai.server.practice.PracticeRepository;
+import yoga.irai.server.practice.PracticeService;
+import yoga.irai.server.program.ProgramRepository;
+import yoga.irai.server.program.ProgramService;
+import yoga.irai.server.program.section.SectionEntity;
+import yoga.irai.server.program.section.SectionRepository;
+import yoga.irai.server.program.section.SectionService;
+import yoga.irai.server.program.section.lesson.LessonEntity;
+import yoga.irai.server.program.section.lesson.LessonRepository;
+import yoga.irai.server.program.section.lesson.LessonService;
+import yoga.irai.server.shorts.ShortsRepository;
+import yoga.irai.server.shorts.ShortsService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    @Mock
+    private NewsService newsService;
+    @Mock
+    private PoemService poemService;
+    @Mock
+    private EventService eventService;
+    @Mock
+    private LessonService lessonService;
+    @Mock
+    private ShortsService shortsService;
+    @Mock
+    private ProgramService programService;
+    @Mock
+    private SectionService sectionService;
+    @Mock
+    private PracticeService practiceService;
+    @Mock
+    private NewsRepository newsRepository;
+    @Mock
+    private PoemRepository poemRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private LessonRepository lessonRepository;
+    @Mock
+    private ShortsRepository shortsRepository;
+    @Mock
+    private ProgramRepository programRepository;
+    @Mock
+    private SectionRepository sectionRepository;
+    @Mock
+    private PracticeRepository practiceRepository;
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+    @Mock
+    private OrganizationService organizationService;
+    @InjectMocks
+    private SyncService syncService;
+
+    private final Set<UUID> orgIds = Set.of(UUID.randomUUID());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(syncService, "chunkSize", 2);
+        ReflectionTestUtils.setField(syncService, "commitLagSeconds", 10L);
+        ReflectionTestUtils.setField(syncService, "tombstoneRetentionDays", 30);
+    }
+
+    private PracticeEntity practice(AppUtils.PracticeStatus status, LocalDateTime updatedAt) {
+        PracticeEntity practiceEntity = PracticeEntity.builder().practiceId(UUID.randomUUID()).practiceName("Practice")
+                .practiceStatus(status).build();
+        practiceEntity.setUpdatedAt(updatedAt);
+        return practiceEntity;
+    }
+
+    private JsonNode write(SyncService.SyncWindow syncWindow) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        syncService.write(syncWindow, outputStream);
+        return objectMapper.readTree(outputStream.toByteArray());
+    }
+
+    @Test
+    void testOpenWindowWithoutTokenStartsFullSync() {
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        SyncService.SyncWindow syncWindow = syncService.openWindow(null);
+        assertTrue(syncWindow.reset());
+        assertNull(syncWindow.since());
+        assertEquals(orgIds, syncWindow.orgIds());
+        assertTrue(syncWindow.upTo().isBefore(LocalDateTime.now().minusSeconds(9)));
+    }
+
+    @Test
+    void testOpenWindowWithTokenStartsDeltaSync() {
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        SyncService.SyncWindow syncWindow = syncService.openWindow(SyncService.encodeToken(since));
+        assertFalse(syncWindow.reset());
+        assertEquals(since, syncWindow.since());
+    }
+
+    @Test
+    void testOpenWindowWithExpiredTokenStartsFullSync() {
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        SyncService.SyncWindow syncWindow = syncService
+                .openWindow(SyncService.encodeToken(LocalDateTime.now().minusDays(31)));
+        assertTrue(syncWindow.reset());
+        assertNull(syncWindow.since());
+    }
+
+    @Test
+    void testOpenWindowWithInvalidTokenThrows() {
+        AppException exception = assertThrows(AppException.class, () -> syncService.openWindow("not-a-token"));
+        assertEquals(AppUtils.Messages.INVALID_SYNC_TOKEN.getMessage(), exception.getMessage());
+    }
+
+    @Test
+    void testFullSyncStreamsActiveRowsInChunks() throws IOException {
+        LocalDateTime upTo = LocalDateTime.now();
+        PracticeEntity first = practice(AppUtils.PracticeStatus.ACTIVE, upTo.minusMinutes(2));
+        PracticeEntity second = practice(AppUtils.PracticeStatus.ACTIVE, upTo.minusMinutes(1));
+        when(practiceRepository.findChanged(eq(orgIds), eq(AppUtils.PracticeStatus.ACTIVE), isNull(), eq(upTo),
+                any(), any(), any())).thenReturn(List.of(first, second), List.of());
+        when(practiceService.toPracticeMobileResponseDto(anyList())).thenReturn(List.of(
+                PracticeMobileResponseDto.builder().practiceId(first.getPracticeId()).build(),
+                PracticeMobileResponseDto.builder().practiceId(second.getPracticeId()).build()));
+
+        JsonNode response = write(new SyncService.SyncWindow(orgIds, null, upTo, true));
+
+        JsonNode data = response.get("data");
+        assertTrue(data.get("reset").asBoolean());
+        assertEquals(upTo, SyncService.decodeToken(data.get("nextSince").asText()));
+        assertEquals(2, data.get("changes").size());
+        assertEquals("UPSERT", data.get("changes").get(0).get("operation").asText());
+        assertEquals(second.getPracticeId().toString(),
+                data.get("changes").get(1).get("data").get("practiceId").asText());
+        verify(practiceRepository).findChanged(eq(orgIds), eq(AppUtils.PracticeStatus.ACTIVE), isNull(), eq(upTo),
+                eq(second.getUpdatedAt()), eq(second.getPracticeId()), any());
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void testDeltaSyncReturnsDeactivatedAndDeletedRowsAsDeletes() throws IOException {
+        LocalDateTime upTo = LocalDateTime.now();
+        LocalDateTime since = upTo.minusHours(1);
+        PracticeEntity inactive = practice(AppUtils.PracticeStatus.INACTIVE, upTo.minusMinutes(1));
+        TombstoneEntity tombstone = TombstoneEntity.builder().tombstoneId(UUID.randomUUID())
+                .entityType(AppUtils.SyncEntityType.POEM).entityId(UUID.randomUUID()).deletedAt(upTo.minusMinutes(2))
+                .build();
+        when(practiceRepository.findChanged(eq(orgIds), isNull(), eq(since), eq(upTo), any(), any(), any()))
+                .thenReturn(List.of(inactive));
+        when(tombstoneRepository.findChanged(eq(orgIds), eq(since), eq(upTo), any(), any(), any()))
+                .thenReturn(List.of(tombstone));
+
+        JsonNode response = write(new SyncService.SyncWindow(orgIds, since, upTo, false));
+
+        JsonNode changes = response.get("data").get("changes");
+        assertFalse(response.get("data").get("reset").asBoolean());
+        assertEquals(2, changes.size());
+        assertEquals("PRACTICE", changes.get(0).get("type").asText());
+        assertEquals("DELETE", changes.get(0).get("operation").asText());
+        assertNull(changes.get(0).get("data"));
+        assertEquals("POEM", changes.get(1).get("type").asText());
+        assertEquals(tombstone.getEntityId().toString(), changes.get(1).get("id").asText());
+        verify(practiceService, never()).toPracticeMobileResponseDto(anyList());
+    }
+
+    @Test
+    void testDeltaSyncFollowsProgramStatusForSectionsAndLessons() throws IOException {
+        LocalDateTime upTo = LocalDateTime.now();
+        LocalDateTime since = upTo.minusHours(1);
+        SectionEntity section = SectionEntity.builder().sectionId(UUID.randomUUID()).programId(UUID.randomUUID())
+                .build();
+        section.setUpdatedAt(upTo.minusMinutes(2));
+        LessonEntity lesson = LessonEntity.builder().lessonId(UUID.randomUUID()).sectionId(UUID.randomUUID()).build();
+        lesson.setUpdatedAt(upTo.minusMinutes(1));
+        when(sectionRepository.findChanged(eq(orgIds), isNull(), eq(since), eq(upTo), any(), any(), any()))
+                .thenReturn(List.of(section));
+        when(programRepository.findProgramIdsByStatus(Set.of(section.getProgramId()), AppUtils.ProgramStatus.ACTIVE))
+                .thenReturn(Set.of());
+        when(lessonRepository.findChanged(eq(orgIds), isNull(), eq(since), eq(upTo), any(), any(), any()))
+                .thenReturn(List.of(lesson));
+        when(sectionRepository.findSectionIdsByProgramStatus(Set.of(lesson.getSectionId()),
+                AppUtils.ProgramStatus.ACTIVE)).thenReturn(Set.of(lesson.getSectionId()));
+        when(lessonService.toLessonMobileResponseDtos(List.of(lesson)))
+                .thenReturn(List.of(LessonMobileResponseDto.builder().lessonId(lesson.getLessonId()).build()));
+
+        JsonNode changes = write(new SyncService.SyncWindow(orgIds, since, upTo, false)).get("data").get("changes");
+
+        assertEquals(2, changes.size());
+        assertEquals("SECTION", changes.get(0).get("type").asText());
+        assertEquals("DELETE", changes.get(0).get("operation").asText());
+        assertEquals("LESSON", changes.get(1).get("type").asText());
+        assertEquals("UPSERT", changes.get(1).get("operation").asText());
+        verify(sectionService, never()).toSectionMobileResponseDtos(anyList());
+    }
+}
@@ -99,7 +99,7 @@ class NewsControllerTest {
     @Test
     void testSearchNews() {
         Page<NewsEntity> newsPage = new PageImpl<>(List.of(newsEntity));
-        when(newsService.getNews(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(newsPage);
+        when(newsService.getNews(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(newsPage);
         when(newsService.toNewsResponseDtos(anyList())).thenReturn(List.of(NewsResponseDto.builder()
                 .newsId(newsId).newsName(newsEntity.getNewsName()).newsDescription(newsEntity.getNewsDescription())
                 .newsStatus(newsEntity.getNewsStatus()).newsIconStorageId(newsEntity.getNewsIconStorageId())
@@ -107,8 +107,8 @@ class NewsControllerTest {
                 .tags(AppUtils.readValue(newsEntity.getTags(), new TypeReference<>() {
                 }))
                 .build()));
-        ResponseEntity<AppResponseDto<List<NewsResponseDto>>> response = newsController.getNewsList(0, 10, "", Sort.Direction.ASC, "");
-        verify(newsService, times(1)).getNews(anyInt(), anyInt(), anyString(), any(), anyString());
+        ResponseEntity<AppResponseDto<List<NewsResponseDto>>> response = newsController.getNewsList(0, 10, "", Sort.Direction.ASC, "", null);
+        verify(newsService, times(1)).getNews(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData().size() == 1;
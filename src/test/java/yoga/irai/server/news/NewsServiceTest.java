@@ -5,18 +5,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.like.LikeService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.NewsMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 import java.util.*;
@@ -29,6 +35,19 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class NewsServiceTest {
 
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
+    @Mock
+    private ViewCounterService viewCounterService;
+    @Mock
+    private UniqueViewerService uniqueViewerService;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private LikeService likeService;
+
     @InjectMocks
     private NewsService newsService;
 
@@ -41,9 +60,6 @@ class NewsServiceTest {
     @Mock
     private StorageService storageService;
 
-    @Mock
-    private SettingService settingService;
-
     @Mock
     private OrganizationService organizationService;
 
@@ -95,7 +111,6 @@ class NewsServiceTest {
         when(newsRepository.save(any(NewsEntity.class))).thenReturn(newsEntity);
         when(newsRepository.existsByNewsName(newsRequestDto.getNewsName()))
                 .thenReturn(false);
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         NewsEntity news = newsService.addNews(newsRequestDto);
         verify(newsRepository, times(1)).save(any(NewsEntity.class));
         verify(newsRepository, times(1)).existsByNewsName(anyString());
@@ -112,7 +127,6 @@ class NewsServiceTest {
         when(newsRepository.save(any(NewsEntity.class))).thenReturn(newsEntity);
         when(newsRepository.existsByNewsName(newsRequestDto.getNewsName()))
                 .thenReturn(false);
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         NewsEntity news = newsService.addNews(newsRequestDto);
         verify(newsRepository, times(1)).save(any(NewsEntity.class));
         verify(newsRepository, times(1)).existsByNewsName(anyString());
@@ -276,9 +290,9 @@ class NewsServiceTest {
 
     @Test
     void testPoemSearch() {
-        when(newsRepository.search(anyString(), any(Pageable.class))).thenReturn(mockPage);
-        Page<NewsEntity> news = newsService.getNews(0, 10, "CreatedAt", Sort.Direction.ASC, "");
-        verify(newsRepository, times(1)).search(anyString(), any(Pageable.class));
+        when(newsRepository.search(anyString(), isNull(), any(Pageable.class))).thenReturn(mockPage);
+        Page<NewsEntity> news = newsService.getNews(0, 10, "CreatedAt", Sort.Direction.ASC, "", null);
+        verify(newsRepository, times(1)).search(anyString(), isNull(), any(Pageable.class));
         assert news != null;
         assert !news.getContent().isEmpty();
     }
@@ -368,16 +382,45 @@ class NewsServiceTest {
 
     @Test
     void testUpdateViewCount() {
-        when(newsRepository.findById(any(UUID.class))).thenReturn(Optional.of(newsEntity));
-        newsService.updateViewCount(newsId);
-        verify(newsRepository, times(1)).save(any(NewsEntity.class));
+        UUID userId = UUID.randomUUID();
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            newsService.updateViewCount(newsId);
+        }
+        verify(viewCounterService, times(1)).increment(AppUtils.ModuleType.NEWS, newsId);
+        verify(uniqueViewerService, times(1)).record(AppUtils.ModuleType.NEWS, newsId, userId);
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.NEWS, newsId, TrendingService.Signal.VIEW);
+        verifyNoInteractions(newsRepository);
     }
 
     @Test
     void testUpdateLikeCount() {
-        when(newsRepository.findById(any(UUID.class))).thenReturn(Optional.of(newsEntity));
-        newsService.updateLikeCount(newsId);
-        verify(newsRepository, times(1)).save(any(NewsEntity.class));
+        UUID userId = UUID.randomUUID();
+        when(newsRepository.existsById(newsId)).thenReturn(true);
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            newsService.updateLikeCount(newsId);
+        }
+        verify(likeService, times(1)).like(AppUtils.ModuleType.NEWS, newsId, userId);
+        verify(newsRepository, never()).save(any(NewsEntity.class));
+    }
+
+    @Test
+    void testUpdateLikeCountNewsNotFound() {
+        when(newsRepository.existsById(newsId)).thenReturn(false);
+        assertThrows(AppException.class, () -> newsService.updateLikeCount(newsId));
+        verifyNoInteractions(likeService);
+    }
+
+    @Test
+    void testRemoveLike() {
+        UUID userId = UUID.randomUUID();
+        when(newsRepository.existsById(newsId)).thenReturn(true);
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            newsService.removeLike(newsId);
+        }
+        verify(likeService, times(1)).unlike(AppUtils.ModuleType.NEWS, newsId, userId);
     }
 
     @Test
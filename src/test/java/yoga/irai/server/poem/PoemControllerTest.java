@@ -116,7 +116,7 @@ class PoemControllerTest {
     @Test
     void testSearchPoems() {
         Page<PoemEntity> poemPage = new PageImpl<>(List.of(poemEntity));
-        when(poemService.getPoems(anyInt(), anyInt(), anyString(), any(), anyString())).thenReturn(poemPage);
+        when(poemService.getPoems(anyInt(), anyInt(), anyString(), any(), anyString(), isNull())).thenReturn(poemPage);
         when(poemService.toPoemResponseDto(anyList())).thenReturn(List.of(
                         PoemResponseDto.builder().poemId(poemEntity.getPoemId()).poemStatus(AppUtils.PoemStatus.ACTIVE)
                                 .poemDescription(poemEntity.getPoemDescription())
@@ -129,8 +129,8 @@ class PoemControllerTest {
                 )
         );
 
-        ResponseEntity<AppResponseDto<List<PoemResponseDto>>> response = poemController.getAllPoems(0, 0, "", Sort.Direction.ASC, "createdAt");
-        verify(poemService, times(1)).getPoems(anyInt(), anyInt(), anyString(), any(), anyString());
+        ResponseEntity<AppResponseDto<List<PoemResponseDto>>> response = poemController.getAllPoems(0, 0, "", Sort.Direction.ASC, "createdAt", null);
+        verify(poemService, times(1)).getPoems(anyInt(), anyInt(), anyString(), any(), anyString(), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData().size() == 1;
@@ -12,12 +12,16 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.PoemMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 import java.util.*;
@@ -47,8 +51,16 @@ class PoemServiceTest {
     private NotificationService notificationService;
 
     @Mock
-    private SettingService settingService;
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
 
+    @Mock
+    private ViewCounterService viewCounterService;
+    @Mock
+    private UniqueViewerService uniqueViewerService;
+    @Mock
+    private TrendingService trendingService;
     @InjectMocks
     private PoemService poemService;
 
@@ -105,7 +117,6 @@ class PoemServiceTest {
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.existsByPoemName(poemRequestDto.getPoemName()))
                 .thenReturn(false);
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.addPoem(poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         verify(poemRepository, times(1)).existsByPoemName(anyString());
@@ -140,7 +151,6 @@ class PoemServiceTest {
     void testUpdatePoem_Success() {
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -163,7 +173,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemIconStorageId(poemIconStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -175,7 +184,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemBannerStorageId(poemBannerStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -187,7 +195,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemStorageId(poemStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -199,7 +206,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemIconStorageId(updatedPoemIconStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -211,7 +217,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemBannerStorageId(updatedPoemBannerStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -223,7 +228,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemStorageId(updatedPoemStorageId);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
         assert poem != null;
@@ -237,7 +241,6 @@ class PoemServiceTest {
         poemEntity.setPoemIconExternalUrl(updatedPoemIconExternalUrl);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -252,7 +255,6 @@ class PoemServiceTest {
         poemEntity.setPoemBannerExternalUrl(updatedPoemBannerExternalUrl);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -267,7 +269,6 @@ class PoemServiceTest {
         poemEntity.setPoemExternalUrl(updatedPoemStorageExternalUrl);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -281,7 +282,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemIconStorageId(null);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -295,7 +295,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemBannerStorageId(null);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -309,7 +308,6 @@ class PoemServiceTest {
         poemRequestDto.setPoemStorageId(null);
         when(poemRepository.save(any(PoemEntity.class))).thenReturn(poemEntity);
         when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PoemEntity poem = poemService.updatePoem(poemId, poemRequestDto);
 
         verify(poemRepository, times(1)).save(any(PoemEntity.class));
@@ -321,11 +319,11 @@ class PoemServiceTest {
     void testGetPoems_MobileUser() {
         try(MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
-            when(poemRepository.search(anyString(), anySet(), any(), any(Pageable.class)))
+            when(poemRepository.search(anyString(), any(), anySet(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
             when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
-            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "");
-            verify(poemRepository, times(1)).search(anyString(), anySet(), any(), any(Pageable.class));
+            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "", null);
+            verify(poemRepository, times(1)).search(anyString(), any(), anySet(), any(), any(Pageable.class));
             assert poems != null;
             assert !poems.getContent().isEmpty();
         }
@@ -335,9 +333,9 @@ class PoemServiceTest {
     void testGetPoems_PortalUser() {
         try(MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.PORTAL_USER);
-            when(poemRepository.search(anyString(), anySet(), any(), any(Pageable.class)))
+            when(poemRepository.search(anyString(), any(), anySet(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
-            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "");
+            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "", null);
             assertNotNull(poems);
             assertNotNull(poems.getContent());
         }
@@ -347,9 +345,9 @@ class PoemServiceTest {
     void testGetPoems_AdminUser() {
         try(MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
-            when(poemRepository.search(anyString(), any(), any(), any(Pageable.class)))
+            when(poemRepository.search(anyString(), any(), any(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
-            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "");
+            Page<PoemEntity> poems = poemService.getPoems(0, 10, "CreatedAt", Sort.Direction.ASC, "", null);
             assertNotNull(poems);
             assertNotNull(poems.getContent());
         }
@@ -491,8 +489,14 @@ class PoemServiceTest {
 
     @Test
     void testUpdateViewCount(){
-        when(poemRepository.findById(poemId)).thenReturn(Optional.of(poemEntity));
-        poemService.updateViewCount(poemId);
-        verify(poemRepository, times(1)).save(poemEntity);
+        UUID userId = UUID.randomUUID();
+        try(MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            poemService.updateViewCount(poemId);
+        }
+        verify(viewCounterService, times(1)).increment(AppUtils.ModuleType.POEM, poemId);
+        verify(uniqueViewerService, times(1)).record(AppUtils.ModuleType.POEM, poemId, userId);
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.POEM, poemId, TrendingService.Signal.VIEW);
+        verifyNoInteractions(poemRepository);
     }
 }
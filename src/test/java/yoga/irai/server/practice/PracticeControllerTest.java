@@ -105,7 +105,7 @@ class PracticeControllerTest {
     @Test
     void testSearchPractice() {
         Page<PracticeEntity> practicePage = new PageImpl<>(List.of(practiceEntity));
-        when(practiceService.getPractices(anyInt(), anyInt(), anyString(), any(), anyString(),any(UUID.class))).thenReturn(practicePage);
+        when(practiceService.getPractices(anyInt(), anyInt(), anyString(), any(), anyString(),any(UUID.class), isNull())).thenReturn(practicePage);
         when(practiceService.toPracticeResponseDto(anyList())).thenReturn(List.of(PracticeResponseDto.builder()
                 .practiceId(practiceId).practiceName(practiceEntity.getPracticeName()).practiceDescription(practiceEntity.getPracticeDescription())
                 .practiceStatus(practiceEntity.getPracticeStatus()).practiceIconStorageId(practiceEntity.getPracticeIconStorageId())
@@ -113,8 +113,8 @@ class PracticeControllerTest {
                 .tags(AppUtils.readValue(practiceEntity.getTags(), new TypeReference<>() {
                 }))
                 .build()));
-        ResponseEntity<AppResponseDto<List<PracticeResponseDto>>> response = practiceController.getPractices(0, 10, "", Sort.Direction.ASC, "",practiceCategoryId);
-        verify(practiceService, times(1)).getPractices(anyInt(), anyInt(), anyString(), any(), anyString(),any(UUID.class));
+        ResponseEntity<AppResponseDto<List<PracticeResponseDto>>> response = practiceController.getPractices(0, 10, "", Sort.Direction.ASC, "",practiceCategoryId, null);
+        verify(practiceService, times(1)).getPractices(anyInt(), anyInt(), anyString(), any(), anyString(),any(UUID.class), isNull());
         assert response.getStatusCode() == HttpStatus.OK;
         assert response.getBody() != null;
         assert response.getBody().getData().size() == 1;
@@ -9,10 +9,23 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.cache.QueryCacheService;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.dto.CursorDto;
+import yoga.irai.server.app.dto.FieldsDto;
+import yoga.irai.server.app.dto.RatingHistogramDto;
+import yoga.irai.server.app.dto.ReviewDto;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.PracticeMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -22,10 +35,13 @@ import yoga.irai.server.practice.user.PracticeUserEntity;
 import yoga.irai.server.practice.user.PracticeUserRatingUpdateDto;
 import yoga.irai.server.practice.user.PracticeUserRepository;
 import yoga.irai.server.practice.user.PracticeUserRequestDto;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -40,9 +56,6 @@ class PracticeServiceTest {
     @Mock
     private UserService userService;
 
-    @Mock
-    private SettingService settingService;
-
     @Mock
     private StorageService storageService;
 
@@ -61,6 +74,19 @@ class PracticeServiceTest {
     @Mock
     private PracticeCategoryService practiceCategoryService;
 
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
+    @Mock
+    private RecentViewService recentViewService;
+    @Mock
+    private UniqueViewerService uniqueViewerService;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private QueryCacheService queryCacheService;
+
     @InjectMocks
     private PracticeService practiceService;
 
@@ -125,7 +151,6 @@ class PracticeServiceTest {
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.existsByPracticeName(practiceRequestDto.getPracticeName()))
                 .thenReturn(false);
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.addPractice(practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         verify(practiceRepository, times(1)).existsByPracticeName(anyString());
@@ -175,7 +200,6 @@ class PracticeServiceTest {
     void testUpdatePractice_Success() {
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -198,7 +222,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeIconStorageId(practiceIconStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -210,7 +233,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeBannerStorageId(practiceBannerStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -222,7 +244,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeStorageId(practiceStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -234,7 +255,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeIconStorageId(updatedPracticeIconStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -246,7 +266,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeBannerStorageId(updatedPracticeBannerStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -258,7 +277,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeStorageId(updatedPracticeStorageId);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
         assert practice != null;
@@ -272,7 +290,6 @@ class PracticeServiceTest {
         practiceEntity.setPracticeIconExternalUrl(updatedPracticeIconExternalUrl);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -287,7 +304,6 @@ class PracticeServiceTest {
         practiceEntity.setPracticeBannerExternalUrl(updatedPracticeBannerExternalUrl);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -302,7 +318,6 @@ class PracticeServiceTest {
         practiceEntity.setPracticeExternalUrl(updatedPracticeExternalUrl);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -316,7 +331,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeIconStorageId(null);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -330,7 +344,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeBannerStorageId(null);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -344,7 +357,6 @@ class PracticeServiceTest {
         practiceRequestDto.setPracticeStorageId(null);
         when(practiceRepository.save(any(PracticeEntity.class))).thenReturn(practiceEntity);
         when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
-        doNothing().when(settingService).updateSetting(any(AppUtils.SettingName.class), anySet());
         PracticeEntity practice = practiceService.updatePractice(practiceId, practiceRequestDto);
 
         verify(practiceRepository, times(1)).save(any(PracticeEntity.class));
@@ -356,11 +368,12 @@ class PracticeServiceTest {
     void testGetPractices_MobileUser() {
         try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
-            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class)))
+            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
             when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
-            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "", practiceCategoryId);
-            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class));
+            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "",
+                    practiceCategoryId, null);
+            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class));
             assert practices != null;
             assert !practices.getContent().isEmpty();
         }
@@ -371,10 +384,11 @@ class PracticeServiceTest {
         try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.PORTAL_USER);
             mockedAppUtils.when(AppUtils::getPrincipalOrgId).thenReturn(orgId);
-            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class)))
+            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
-            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "", practiceCategoryId);
-            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class));
+            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "",
+                    practiceCategoryId, null);
+            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class));
             assertNotNull(practices);
             assertNotNull(practices.getContent());
         }
@@ -384,10 +398,11 @@ class PracticeServiceTest {
     void testGetPractices_AdminUser() {
         try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
             mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
-            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class)))
+            when(practiceRepository.searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class)))
                     .thenReturn(mockPage);
-            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "", practiceCategoryId);
-            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(Pageable.class));
+            Page<PracticeEntity> practices = practiceService.getPractices(0, 10, "CreatedAt", Sort.Direction.ASC, "",
+                    practiceCategoryId, null);
+            verify(practiceRepository, times(1)).searchDynamic(any(UUID.class), anyString(), any(), any(), any(), any(Pageable.class));
             assertNotNull(practices);
             assertNotNull(practices.getContent());
         }
@@ -492,20 +507,89 @@ class PracticeServiceTest {
     @Test
     void testChangeRatingAndComment_RatedTrue() {
         practiceUserEntity.setRating(null);
-        when(practiceUserRepository.findById(any(UUID.class))).thenReturn(Optional.ofNullable(practiceUserEntity));
-        when(practiceUserRepository.findNonZeroRatingsByPracticeId(any(UUID.class))).thenReturn(List.of(5F));
-        when(practiceRepository.findById(any(UUID.class))).thenReturn(Optional.of(practiceEntity));
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        when(practiceRepository.addRating(practiceId, 5.0, 1L, 0, 5)).thenReturn(1);
         practiceService.changeRatingAndComment(practiceUserId, PracticeUserRatingUpdateDto.builder().comment("comment").rating(5F).build());
         verify(practiceUserRepository, times(1)).save(any(PracticeUserEntity.class));
+        verify(practiceRepository, never()).recomputeRating(any(UUID.class));
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.PRACTICE, practiceId,
+                TrendingService.Signal.RATING, 1.0);
+    }
+
+    @Test
+    void testChangeRatingAndComment_BumpsPracticeVersion() {
+        UUID orgId = UUID.randomUUID();
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        when(practiceRepository.addRating(practiceId, -2.0, 0L, 5, 3)).thenReturn(1);
+        when(practiceRepository.findOrgIdByPracticeId(practiceId)).thenReturn(Optional.of(orgId));
+        practiceService.changeRatingAndComment(practiceUserId,
+                PracticeUserRatingUpdateDto.builder().rating(3F).build());
+        verify(contentVersionService).bump(AppUtils.ModuleType.PRACTICE, orgId);
     }
 
     @Test
     void testChangeRatingAndComment_RatedFalse() {
-        when(practiceUserRepository.findById(any(UUID.class))).thenReturn(Optional.ofNullable(practiceUserEntity));
-        when(practiceUserRepository.findNonZeroRatingsByPracticeId(any(UUID.class))).thenReturn(List.of(5F));
-        when(practiceRepository.findById(any(UUID.class))).thenReturn(Optional.of(practiceEntity));
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        when(practiceRepository.addRating(practiceId, -2.0, 0L, 5, 3)).thenReturn(1);
+        practiceService.changeRatingAndComment(practiceUserId, PracticeUserRatingUpdateDto.builder().comment("comment").rating(3F).build());
+        verify(practiceUserRepository, times(1)).save(any(PracticeUserEntity.class));
+        verifyNoInteractions(trendingService);
+    }
+
+    @Test
+    void testChangeRatingAndComment_SameRatingLeavesAggregates() {
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
         practiceService.changeRatingAndComment(practiceUserId, PracticeUserRatingUpdateDto.builder().comment("comment").rating(5F).build());
         verify(practiceUserRepository, times(1)).save(any(PracticeUserEntity.class));
+        verify(practiceRepository, never()).addRating(any(UUID.class), anyDouble(), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testChangeRatingAndComment_RecomputesWhenNeverComputed() {
+        practiceUserEntity.setRating(null);
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        when(practiceRepository.addRating(practiceId, 4.0, 1L, 0, 4)).thenReturn(0);
+        practiceService.changeRatingAndComment(practiceUserId, PracticeUserRatingUpdateDto.builder().comment("comment").rating(4F).build());
+        verify(practiceRepository, times(1)).recomputeRating(practiceId);
+    }
+
+    @Test
+    void testGetRatingHistogram() {
+        practiceEntity.setRatingStar2(1L);
+        practiceEntity.setRatingStar5(999L);
+        when(practiceRepository.findById(practiceId)).thenReturn(Optional.of(practiceEntity));
+        RatingHistogramDto histogram = practiceService.getRatingHistogram(practiceId);
+        assertEquals(List.of(0L, 1L, 0L, 0L, 999L), histogram.getStars());
+        assertEquals(1000L, histogram.getRatingCount());
+    }
+
+    @Test
+    void testGetReviewsAfterCursor() {
+        UUID cursorId = UUID.randomUUID();
+        String cursor = new CursorDto(LocalDateTime.of(2025, 1, 1, 10, 0), cursorId).encode();
+        Slice<PracticeUserEntity> reviews = new SliceImpl<>(List.of(practiceUserEntity));
+        when(practiceUserRepository.findReviews(eq(practiceId),
+                eq(ZonedDateTime.of(2025, 1, 1, 10, 0, 0, 0, ZoneOffset.UTC)), eq(cursorId), any(Pageable.class)))
+                .thenReturn(reviews);
+        assertEquals(reviews, practiceService.getReviews(practiceId, cursor, 10));
+    }
+
+    @Test
+    void testToReviewDto_LoadsReviewerNamesOnce() {
+        when(userService.getUserNamesByIds(List.of(practiceUserId))).thenReturn(Map.of(practiceUserId, "Jane Doe"));
+        List<ReviewDto> reviews = practiceService.toReviewDto(List.of(practiceUserEntity, practiceUserEntity));
+        assertEquals(2, reviews.size());
+        assertEquals("Jane Doe", reviews.getFirst().getUserName());
+        assertEquals(5F, reviews.getFirst().getRating());
+        verify(userService, times(1)).getUserNamesByIds(anyList());
+    }
+
+    @Test
+    void testChangeRatingAndComment_NotFound() {
+        PracticeUserRatingUpdateDto dto = PracticeUserRatingUpdateDto.builder().comment("comment").rating(4F).build();
+        when(practiceUserRepository.findByIdForUpdate(practiceUserId)).thenReturn(Optional.empty());
+        assertThrows(AppException.class, () -> practiceService.changeRatingAndComment(practiceUserId, dto));
+        verifyNoInteractions(practiceRepository);
     }
 
     @Test
@@ -576,12 +660,12 @@ class PracticeServiceTest {
                             PracticeMobileResponseDto.builder()
                                     .practiceName(practiceEntity.getPracticeName()).practiceDescription(practiceEntity.getPracticeDescription())
                                     .practiceId(practiceId).practiceUserId(practiceUserId).practiceUserStatus(practiceUserEntity.getPracticeUserStatus())
-                                    .duration(1000L).tags(Set.of("tag1", "tag2")).rating(5L).ratingCount(1L)
+                                    .duration(1000L).tags(Set.of("tag1", "tag2")).rating(5F).ratingCount(1L)
                                     .build()
                     );
             when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(Map.of(practiceStorageId, "https://test.test/file"));
             when(practiceCategoryService.getCategoryNameIdByIds(anyList())).thenReturn(Map.of(practiceCategoryId, "categoryName"));
-            when(practiceUserRepository.findByPracticeIdAndUserId(any(UUID.class), any(UUID.class))).thenReturn(Optional.ofNullable(practiceUserEntity));
+            when(practiceUserRepository.findAllByUserIdAndPracticeIdIn(any(UUID.class), anyCollection())).thenReturn(List.of(practiceUserEntity));
             List<PracticeMobileResponseDto> practiceMobileResponseDtos = practiceService.toPracticeMobileResponseDto(List.of(practiceEntity));
             assertNotNull(practiceMobileResponseDtos);
             assert practiceMobileResponseDtos.size() == 1;
@@ -597,15 +681,116 @@ class PracticeServiceTest {
                             PracticeMobileResponseDto.builder()
                                     .practiceName(practiceEntity.getPracticeName()).practiceDescription(practiceEntity.getPracticeDescription())
                                     .practiceId(practiceId).practiceUserId(practiceUserId).practiceUserStatus(practiceUserEntity.getPracticeUserStatus())
-                                    .duration(1000L).tags(Set.of("tag1", "tag2")).rating(5L).ratingCount(1L)
+                                    .duration(1000L).tags(Set.of("tag1", "tag2")).rating(5F).ratingCount(1L)
                                     .build()
                     );
             when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(Map.of(practiceStorageId, "https://test.test/file"));
             when(practiceCategoryService.getCategoryNameIdByIds(anyList())).thenReturn(Map.of(practiceCategoryId, "categoryName"));
-            when(practiceUserRepository.findByPracticeIdAndUserId(any(UUID.class), any(UUID.class))).thenReturn(Optional.empty());
+            when(practiceUserRepository.findAllByUserIdAndPracticeIdIn(any(UUID.class), anyCollection())).thenReturn(List.of());
             List<PracticeMobileResponseDto> practiceMobileResponseDtos = practiceService.toPracticeMobileResponseDto(List.of(practiceEntity));
             assertNotNull(practiceMobileResponseDtos);
             assert practiceMobileResponseDtos.size() == 1;
         }
     }
+
+    @Test
+    void testGetPracticeCards() {
+        Set<UUID> orgIds = Set.of(orgId);
+        Page<PracticeCard> cards = new PageImpl<>(List.of());
+        when(organizationService.getOrgIdsForMobile()).thenReturn(orgIds);
+        when(queryCacheService.get(any(QueryCacheService.Key.class), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        when(practiceRepository.searchCards(isNull(), eq("sun"), isNull(), eq(orgIds),
+                eq(AppUtils.PracticeStatus.ACTIVE), any(Pageable.class))).thenReturn(cards);
+        assertEquals(cards,
+                practiceService.getPracticeCards(0, 10, "createdAt", Sort.Direction.DESC, "sun", null, null));
+    }
+
+    @Test
+    void testGetPracticeMobileResponseDtosAddsProgressToCopiesOfCachedPage() {
+        PracticeMobileResponseDto shared = PracticeMobileResponseDto.builder().practiceId(practiceId)
+                .practiceName("Sun Salutation").build();
+        when(organizationService.getOrgIdsForMobile()).thenReturn(Set.of(orgId));
+        when(queryCacheService.get(eq(new QueryCacheService.Key(AppUtils.ModuleType.PRACTICE,
+                QueryCacheService.MOBILE_VIEW, Set.of(orgId), AppUtils.PracticeStatus.ACTIVE, "sun",
+                Arrays.asList(null, null), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")))), any()))
+                .thenReturn(new PageImpl<>(List.of(shared)));
+        when(practiceUserRepository.findAllByUserIdAndPracticeIdIn(practiceUserId, List.of(practiceId)))
+                .thenReturn(List.of(practiceUserEntity));
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(practiceUserId);
+
+            Page<PracticeMobileResponseDto> result = practiceService.getPracticeMobileResponseDtos(0, 10,
+                    "createdAt", Sort.Direction.DESC, "sun", null, null);
+
+            PracticeMobileResponseDto dto = result.getContent().getFirst();
+            assertEquals("Sun Salutation", dto.getPracticeName());
+            assertEquals(practiceUserId, dto.getPracticeUserId());
+            assertNotSame(shared, dto);
+            assertNull(shared.getPracticeUserId());
+        }
+        verifyNoInteractions(practiceRepository);
+    }
+
+    @Test
+    void testToPracticeMobileResponseDto_FromCards() {
+        PracticeCard practiceCard = mock(PracticeCard.class);
+        when(practiceCard.getPracticeId()).thenReturn(practiceId);
+        when(practiceCard.getPracticeName()).thenReturn("Sun Salutation");
+        when(practiceCard.getPracticeBannerStorageId()).thenReturn(practiceBannerStorageId);
+        when(storageService.getSignedStorageUrlByIds(List.of(practiceBannerStorageId)))
+                .thenReturn(new HashMap<>(Map.of(practiceBannerStorageId, "https://test.test/banner")));
+        FieldsDto fields = FieldsDto.parse("practiceName,practiceBannerStorageUrl", PracticeMobileResponseDto.class,
+                "practiceId");
+
+        List<PracticeMobileResponseDto> dtos = practiceService.toPracticeMobileResponseDto(List.of(practiceCard),
+                fields);
+
+        assertEquals(PracticeMobileResponseDto.builder().practiceId(practiceId).practiceName("Sun Salutation")
+                .practiceBannerStorageUrl("https://test.test/banner").build(), dtos.getFirst());
+        verify(practiceCard, never()).getDuration();
+        verifyNoInteractions(practiceCategoryService, practiceUserRepository);
+    }
+
+    @Test
+    void testGetViewedPractices_InInteractionOrder() {
+        PracticeEntity older = PracticeEntity.builder().practiceId(UUID.randomUUID()).build();
+        PracticeEntity newer = PracticeEntity.builder().practiceId(UUID.randomUUID()).build();
+        List<UUID> recentIds = List.of(newer.getPracticeId(), older.getPracticeId());
+        try (MockedStatic<AppUtils> mockedAppUtils = mockStatic(AppUtils.class)) {
+            mockedAppUtils.when(AppUtils::getPrincipalUserId).thenReturn(orgId);
+            when(recentViewService.getRecentIds(eq(AppUtils.ModuleType.PRACTICE), eq(orgId), any()))
+                    .thenReturn(recentIds);
+            when(practiceRepository.findAllById(recentIds)).thenReturn(List.of(older, newer));
+            assertEquals(List.of(newer, older), practiceService.getViewedPractices());
+        }
+    }
+
+    @Test
+    void testChangePracticeUserStatus_RecordsView() {
+        when(practiceUserRepository.findById(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        practiceService.changePracticeUserStatus(practiceUserId, AppUtils.PracticeUserStatus.COMPLETE);
+        verify(recentViewService).record(AppUtils.ModuleType.PRACTICE, practiceUserEntity.getUserId(),
+                practiceUserEntity.getPracticeId(), false);
+    }
+
+    @Test
+    void testChangePracticeUserStatus_CompletionCountsOnce() {
+        when(practiceUserRepository.findById(practiceUserId)).thenReturn(Optional.of(practiceUserEntity));
+        practiceService.changePracticeUserStatus(practiceUserId, AppUtils.PracticeUserStatus.COMPLETE);
+        practiceService.changePracticeUserStatus(practiceUserId, AppUtils.PracticeUserStatus.COMPLETE);
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.PRACTICE, practiceId,
+                TrendingService.Signal.COMPLETION);
+    }
+
+    @Test
+    void testUpdatePracticeUser_RecordsTrendingView() {
+        when(practiceUserRepository.getByPracticeUserByPracticeIdAndUserId(any(UUID.class), any(UUID.class)))
+                .thenReturn(practiceUserEntity);
+        when(practiceUserRepository.save(any(PracticeUserEntity.class))).thenReturn(practiceUserEntity);
+        practiceService.updatePracticeUser(practiceUserRequestDto);
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.PRACTICE, practiceId,
+                TrendingService.Signal.VIEW);
+    }
 }
@@ -238,12 +238,12 @@ class ProgramControllerTest {
     void getProgramPageTest(){
         Page<ProgramEntity> programPage = new PageImpl<>(List.of(programEntity),
                 PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")), 1);
-        when(programService.getPrograms(0, 10, "createdAt", Sort.Direction.DESC, "Test"))
+        when(programService.getPrograms(0, 10, "createdAt", Sort.Direction.DESC, "Test", null))
                 .thenReturn(programPage);
         when(programService.toProgramResponseDto(List.of(programEntity)))
                 .thenReturn(List.of(programResponseDto));
         ResponseEntity<AppResponseDto<List<ProgramResponseDto>>> response = programController
-                .getProgram(0 , 10 , "createdAt" , Sort.Direction.DESC , "Test");
+                .getProgram(0 , 10 , "createdAt" , Sort.Direction.DESC , "Test", null);
         assert response.getStatusCode() == HttpStatus.OK;
         assertNotNull(response.getBody());
     }
@@ -15,6 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.ProgramMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
@@ -27,13 +30,13 @@ import yoga.irai.server.program.user.ProgramUserEntity;
 import yoga.irai.server.program.user.ProgramUserRatingUpdateDto;
 import yoga.irai.server.program.user.ProgramUserRepository;
 import yoga.irai.server.program.user.ProgramUserRequestDto;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.storage.StorageService;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,13 +44,19 @@ class ProgramServiceTest {
     @Mock
     private UserService userService;
     @Mock private StorageService storageService;
-    @Mock private SettingService settingService;
     @Mock private LessonRepository lessonRepository;
     @Mock private ProgramRepository programRepository;
     @Mock private SectionRepository sectionRepository;
     @Mock private OrganizationService organizationService;
     @Mock private ProgramUserRepository programUserRepository;
     @Mock private NotificationService notificationService;
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
+    @Mock
+    private RecentViewService recentViewService;
+
     @InjectMocks
     private ProgramService programService;
     private ProgramEntity programEntity;
@@ -92,7 +101,6 @@ class ProgramServiceTest {
         when(programRepository.save(any())).thenReturn(programEntity);
         ProgramEntity saved = programService.addProgram(requestDto);
         assertNotNull(saved);
-        verify(settingService, never()).updateSetting(any(), any());
         verify(programRepository).save(any());
     }
     @Test
@@ -110,7 +118,6 @@ class ProgramServiceTest {
         ProgramEntity result = programService.addProgram(dto);
         assertNotNull(result);
         assertEquals("[\"Tag1\",\"Tag2\"]", result.getTags());
-        verify(settingService).updateSetting(AppUtils.SettingName.PROGRAM_TAGS, dto.getTags());
         verify(programRepository).save(mappedEntity);
     }
 
@@ -171,9 +178,10 @@ class ProgramServiceTest {
         Page<ProgramEntity> expectedPage = new PageImpl<>(List.of(programEntity));
         appUtilsStaticMock.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.MOBILE_USER);
         when(organizationService.getOrgIdsForMobile()).thenReturn(mobileOrgIds);
-        when(programRepository.search(keyword, mobileOrgIds, AppUtils.ProgramStatus.ACTIVE, pageable))
+        when(programRepository.search(keyword, null, mobileOrgIds, AppUtils.ProgramStatus.ACTIVE, pageable))
                 .thenReturn(expectedPage);
-        Page<ProgramEntity> result = programService.getPrograms(page, size, "programName", Sort.Direction.ASC, keyword);
+        Page<ProgramEntity> result = programService.getPrograms(page, size, "programName", Sort.Direction.ASC, keyword,
+                null);
         assertEquals(1, result.getContent().size());
         verify(programRepository).search(keyword, mobileOrgIds, AppUtils.ProgramStatus.ACTIVE, pageable);
     }
@@ -187,8 +195,9 @@ class ProgramServiceTest {
         Page<ProgramEntity> expectedPage = new PageImpl<>(List.of(programEntity));
         appUtilsStaticMock.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.PORTAL_USER);
         appUtilsStaticMock.when(AppUtils::getPrincipalOrgId).thenReturn(orgId);
-        when(programRepository.search(keyword, orgIds, null, pageable)).thenReturn(expectedPage);
-        Page<ProgramEntity> result = programService.getPrograms(page, size, "createdAt", Sort.Direction.DESC, keyword);
+        when(programRepository.search(keyword, null, orgIds, null, pageable)).thenReturn(expectedPage);
+        Page<ProgramEntity> result = programService.getPrograms(page, size, "createdAt", Sort.Direction.DESC, keyword,
+                null);
         assertEquals(1, result.getContent().size());
         verify(programRepository).search(keyword, orgIds, null, pageable);
     }
@@ -200,12 +209,26 @@ class ProgramServiceTest {
         String keyword = "fitness";
         Page<ProgramEntity> expectedPage = new PageImpl<>(List.of(programEntity));
         appUtilsStaticMock.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
-        when(programRepository.search(keyword, null, null, pageable)).thenReturn(expectedPage);
-        Page<ProgramEntity> result = programService.getPrograms(page, size, "programName", Sort.Direction.ASC, keyword);
+        when(programRepository.search(keyword, null, null, null, pageable)).thenReturn(expectedPage);
+        Page<ProgramEntity> result = programService.getPrograms(page, size, "programName", Sort.Direction.ASC, keyword,
+                null);
         assertEquals(1, result.getContent().size());
         verify(programRepository).search(keyword, null, null, pageable);
     }
 
+    @Test
+    void getPrograms_ShouldSearchRanked_WhenSortedByRelevance() {
+        Pageable pageable = PageRequest.of(0, 10);
+        String keyword = "breathing";
+        Page<ProgramEntity> expectedPage = new PageImpl<>(List.of(programEntity));
+        appUtilsStaticMock.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
+        when(programRepository.searchRanked(keyword, null, null, null, pageable)).thenReturn(expectedPage);
+        Page<ProgramEntity> result = programService.getPrograms(0, 10, AppUtils.RELEVANCE, Sort.Direction.DESC,
+                keyword, null);
+        assertEquals(1, result.getContent().size());
+        verify(programRepository, never()).search(any(), any(), any(), any(), any());
+    }
+
     @Test
     void deleteProgram_ShouldCascadeDeletes() {
         programEntity.setProgramBannerStorageId(UUID.randomUUID());
@@ -312,6 +335,18 @@ class ProgramServiceTest {
                 .thenReturn(mappedDto);
         programService.updateProgramStatus(programId, AppUtils.ProgramStatus.INACTIVE);
         verify(programRepository).save(programEntity);
+        verify(sectionRepository).touchByProgramId(eq(programId), any());
+        verify(lessonRepository).touchByProgramId(eq(programId), any());
+    }
+
+    @Test
+    void updateProgramStatus_ShouldNotTouchChildrenWhenStatusUnchanged() {
+        programEntity.setProgramStatus(AppUtils.ProgramStatus.INACTIVE);
+        when(programRepository.findById(programId)).thenReturn(Optional.of(programEntity));
+        programService.updateProgramStatus(programId, AppUtils.ProgramStatus.INACTIVE);
+        verify(programRepository).save(programEntity);
+        verify(sectionRepository, never()).touchByProgramId(any(), any());
+        verify(lessonRepository, never()).touchByProgramId(any(), any());
     }
 
     @Test
@@ -440,7 +475,6 @@ class ProgramServiceTest {
                 .thenReturn(new HashSet<>(List.of("Tag1", "Tag2")));
         ProgramEntity updated = programService.updateProgram(programId, dto);
         verify(storageService, times(1)).deleteStorageById(any());
-        verify(settingService, times(1)).updateSetting(AppUtils.SettingName.PROGRAM_TAGS, dto.getTags());
         assertEquals(dto.getProgramBannerStorageId(), updated.getProgramBannerStorageId());
         assertNull(updated.getProgramBannerExternalUrl());
         Set<String> updatedTags = AppUtils.readValue(updated.getTags(), new TypeReference<>() {});
@@ -476,18 +510,26 @@ class ProgramServiceTest {
         UUID programUserId = UUID.randomUUID();
         ProgramUserEntity programUser = new ProgramUserEntity();
         programUser.setProgramId(programId);
-        when(programUserRepository.findById(programUserId)).thenReturn(Optional.of(programUser));
-        when(programUserRepository.findNonZeroRatingsByProgramId(programId)).thenReturn(List.of(4.0f));
-        ProgramEntity program = new ProgramEntity();
-        program.setProgramId(programId);
-        when(programRepository.findById(programId)).thenReturn(Optional.of(program));
-        when(programRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(programUserRepository.findByIdForUpdate(programUserId)).thenReturn(Optional.of(programUser));
+        when(programRepository.addRating(programId, 5.0, 1L, 0, 5)).thenReturn(1);
         ProgramUserRatingUpdateDto dto = new ProgramUserRatingUpdateDto("Nice", 5.0f);
         programService.changeRatingAndComment(programUserId, dto);
         assertEquals(5.0f, programUser.getRating());
         assertEquals("Nice", programUser.getComments());
         verify(programUserRepository).save(programUser);
-        verify(programRepository).save(program);
+        verify(programRepository, never()).recomputeRating(any());
+    }
+
+    @Test
+    void changeRatingAndComment_ShouldBumpProgramVersion() {
+        UUID programUserId = UUID.randomUUID();
+        ProgramUserEntity programUser = new ProgramUserEntity();
+        programUser.setProgramId(programId);
+        when(programUserRepository.findByIdForUpdate(programUserId)).thenReturn(Optional.of(programUser));
+        when(programRepository.addRating(programId, 4.0, 1L, 0, 4)).thenReturn(1);
+        when(programRepository.findOrgIdByProgramId(programId)).thenReturn(Optional.of(orgId));
+        programService.changeRatingAndComment(programUserId, new ProgramUserRatingUpdateDto("Good", 4.0f));
+        verify(contentVersionService).bump(AppUtils.ModuleType.PROGRAM, orgId);
     }
     @Test
     void changeRatingAndComment_ShouldUpdateRating_BothBranches() {
@@ -495,29 +537,37 @@ class ProgramServiceTest {
         ProgramUserEntity programUserNoRating = new ProgramUserEntity();
         programUserNoRating.setProgramId(programId);
         programUserNoRating.setRating(null);
-        when(programUserRepository.findById(programUserId)).thenReturn(Optional.of(programUserNoRating));
-        when(programUserRepository.findNonZeroRatingsByProgramId(programId)).thenReturn(List.of(4.0f));
-        ProgramEntity program = new ProgramEntity();
-        program.setProgramId(programId);
-        when(programRepository.findById(programId)).thenReturn(Optional.of(program));
-        when(programRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        when(programUserRepository.findByIdForUpdate(programUserId)).thenReturn(Optional.of(programUserNoRating));
+        when(programRepository.addRating(programId, 5.0, 1L, 0, 5)).thenReturn(0);
         ProgramUserRatingUpdateDto dto = new ProgramUserRatingUpdateDto("Excellent", 5.0f);
         programService.changeRatingAndComment(programUserId, dto);
         assertEquals(5.0f, programUserNoRating.getRating());
         assertEquals("Excellent", programUserNoRating.getComments());
         verify(programUserRepository).save(programUserNoRating);
-        verify(programRepository).save(program);
+        verify(programRepository).recomputeRating(programId);
         ProgramUserEntity programUserRated = new ProgramUserEntity();
         programUserRated.setProgramId(programId);
         programUserRated.setRating(3.0f);
-        when(programUserRepository.findById(programUserId)).thenReturn(Optional.of(programUserRated));
-        when(programUserRepository.findNonZeroRatingsByProgramId(programId)).thenReturn(List.of(3.0f, 5.0f));
+        when(programUserRepository.findByIdForUpdate(programUserId)).thenReturn(Optional.of(programUserRated));
+        when(programRepository.addRating(programId, 1.0, 0L, 3, 4)).thenReturn(1);
         ProgramUserRatingUpdateDto dto2 = new ProgramUserRatingUpdateDto("Good", 4.0f);
         programService.changeRatingAndComment(programUserId, dto2);
         assertEquals(4.0f, programUserRated.getRating());
         assertEquals("Good", programUserRated.getComments());
         verify(programUserRepository, times(2)).save(any());
-        verify(programRepository, times(2)).save(program);
+        verify(programRepository, times(1)).recomputeRating(programId);
+    }
+    @Test
+    void changeRatingAndComment_RemovedRating() {
+        UUID programUserId = UUID.randomUUID();
+        ProgramUserEntity programUser = new ProgramUserEntity();
+        programUser.setProgramId(programId);
+        programUser.setRating(4.0f);
+        when(programUserRepository.findByIdForUpdate(programUserId)).thenReturn(Optional.of(programUser));
+        when(programRepository.addRating(programId, -4.0, -1L, 4, 0)).thenReturn(1);
+        programService.changeRatingAndComment(programUserId, new ProgramUserRatingUpdateDto("Changed my mind", null));
+        assertNull(programUser.getRating());
+        verify(programRepository).addRating(programId, -4.0, -1L, 4, 0);
     }
     @Test
     void testToProgramResponseDto() {
@@ -535,8 +585,8 @@ class ProgramServiceTest {
         when(storageService.getSignedStorageUrlByIds(List.of(programEntity.getProgramBannerStorageId()))).thenReturn(signedUrls);
         appUtilsStaticMock.when(() -> AppUtils.map(programEntity, ProgramResponseDto.class))
                 .thenReturn(new ProgramResponseDto());
-        appUtilsStaticMock.when(() -> AppUtils.readValue(eq("[\"tag1\",\"tag2\"]"), any(TypeReference.class)))
-                .thenReturn(List.of("tag1", "tag2"));
+        appUtilsStaticMock.when(() -> AppUtils.readTags("[\"tag1\",\"tag2\"]"))
+                .thenReturn(Set.of("tag1", "tag2"));
         List<ProgramResponseDto> result = programService.toProgramResponseDto(entities);
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -574,7 +624,7 @@ class ProgramServiceTest {
         when(storageService.getSignedStorageUrlByIds(List.of(bannerId))).thenReturn(signedUrls);
         appUtilsStaticMock.when(() -> AppUtils.map(programEntity, ProgramResponseDto.class))
                 .thenReturn(new ProgramResponseDto());
-        appUtilsStaticMock.when(() -> AppUtils.readValue(eq("[\"meditation\",\"fitness\"]"), any(TypeReference.class)))
+        appUtilsStaticMock.when(() -> AppUtils.readTags("[\"meditation\",\"fitness\"]"))
                 .thenReturn(Set.of("meditation", "fitness"));
         List<ProgramResponseDto> result = programService.toProgramResponseDto(entities);
         assertNotNull(result);
@@ -692,10 +742,9 @@ class ProgramServiceTest {
                     dto.setProgramId(entity.getProgramId());
                     return dto;
                 });
-        when(programUserRepository.findByProgramIdAndUserId(eq(programWithUserId), any()))
-                .thenReturn(Optional.of(programUserEntity));
-        when(programUserRepository.findByProgramIdAndUserId(eq(programWithoutUserId), any()))
-                .thenReturn(Optional.empty());
+        when(programUserRepository.findAllByUserIdAndProgramIdIn(any(),
+                eq(List.of(programWithUserId, programWithoutUserId))))
+                .thenReturn(List.of(programUserEntity));
         List<ProgramMobileResponseDto> result =
                 programService.toProgramMobileResponseDto(List.of(programWithUser, programWithoutUser));
         assertEquals(2, result.size());
@@ -750,11 +799,10 @@ class ProgramServiceTest {
                     dto.setProgramId(entity.getProgramId());
                     return dto;
                 });
-        when(programUserRepository.findByProgramIdAndUserId(eq(programWithUserId), any()))
-                .thenReturn(Optional.of(programUserEntity));
-        when(programUserRepository.findByProgramIdAndUserId(eq(programWithoutUserId), any()))
-                .thenReturn(Optional.empty());
-        appUtilsStaticMock.when(() -> AppUtils.readValue(eq("[\"meditation\",\"fitness\"]"), any(TypeReference.class)))
+        when(programUserRepository.findAllByUserIdAndProgramIdIn(any(),
+                eq(List.of(programWithUserId, programWithoutUserId))))
+                .thenReturn(List.of(programUserEntity));
+        appUtilsStaticMock.when(() -> AppUtils.readTags("[\"meditation\",\"fitness\"]"))
                 .thenReturn(Set.of("meditation", "fitness"));
         List<ProgramMobileResponseDto> result =
                 programService.toProgramMobileResponseDto(List.of(programWithUser, programWithoutUser));
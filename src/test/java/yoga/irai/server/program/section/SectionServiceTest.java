@@ -8,8 +8,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.SectionMobileResponseDto;
+import yoga.irai.server.program.ProgramRepository;
 import yoga.irai.server.program.section.lesson.LessonEntity;
 import yoga.irai.server.program.section.lesson.LessonRepository;
 import yoga.irai.server.storage.StorageService;
@@ -28,6 +30,8 @@ class SectionServiceTest {
     @Mock private LessonRepository lessonRepository;
     @Mock private SectionRepository sectionRepository;
     @Mock private StorageService storageService;
+    @Mock private TombstoneService tombstoneService;
+    @Mock private ProgramRepository programRepository;
     @InjectMocks private SectionService sectionService;
     private SectionRequestDto  sectionRequestDto;
     private UUID programId;
@@ -10,6 +10,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.sync.TombstoneService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.LessonMobileResponseDto;
 import yoga.irai.server.program.ProgramEntity;
@@ -47,6 +48,8 @@ class LessonServiceTest {
     private ProgramRepository programRepository;
     @Mock
     private StorageService storageService;
+    @Mock
+    private TombstoneService tombstoneService;
 
     @InjectMocks
     private LessonService lessonService;
@@ -310,8 +313,8 @@ class LessonServiceTest {
             mappedDto.setLessonName("Lesson 1");
             mockedAppUtils.when(() -> AppUtils.map(lessonEntity, LessonMobileResponseDto.class))
                     .thenReturn(mappedDto);
-            when(storageService.getStorageUrl(lessonEntity.getLessonStorageId()))
-                    .thenReturn("signedLessonUrl");
+            when(storageService.getSignedStorageUrlByIds(List.of(lessonEntity.getLessonStorageId())))
+                    .thenReturn(Map.of(lessonEntity.getLessonStorageId(), "signedLessonUrl"));
             List<LessonMobileResponseDto> lessonMobileResponseDto =
                     lessonService.toLessonMobileResponseDtos(List.of(lessonEntity));
             assertNotNull(lessonMobileResponseDto);
@@ -322,7 +325,8 @@ class LessonServiceTest {
             assertNull(dto.getLessonUserId());
             assertNull(dto.getLessonUserStatus());
             assertNull(dto.getResumeTime());
-            verify(storageService, times(1)).getStorageUrl(lessonEntity.getLessonStorageId());
+            verify(storageService, times(1)).getSignedStorageUrlByIds(List.of(lessonEntity.getLessonStorageId()));
+            verify(lessonUserRepository, never()).findByLessonIdAndUserId(any(), any());
         }
     }
 
@@ -345,10 +349,10 @@ class LessonServiceTest {
             mockedAppUtils.when(() -> AppUtils.map(lesson, LessonMobileResponseDto.class))
                     .thenReturn(mappedDto);
             LessonService spyLessonService = Mockito.spy(lessonService);
-            when(lessonUserRepository.findByLessonIdAndUserId(any(), any()))
-                    .thenReturn(Optional.of(lessonUser));
-            when(storageService.getStorageUrl(lesson.getLessonStorageId()))
-                    .thenReturn("signedLessonUrl");
+            when(lessonUserRepository.findAllByUserIdAndLessonIdIn(any(), eq(List.of(lesson.getLessonId()))))
+                    .thenReturn(List.of(lessonUser));
+            when(storageService.getSignedStorageUrlByIds(List.of(lesson.getLessonStorageId())))
+                    .thenReturn(Map.of(lesson.getLessonStorageId(), "signedLessonUrl"));
             List<LessonMobileResponseDto> result = spyLessonService.toLessonMobileResponseDtos(List.of(lesson));
             assertNotNull(result);
             assertEquals(1, result.size());
@@ -357,7 +361,7 @@ class LessonServiceTest {
             assertEquals(lessonUser.getLessonUserStatus(), dto.getLessonUserStatus());
             assertEquals(lessonUser.getResumeTime(), dto.getResumeTime());
             assertEquals("signedLessonUrl", dto.getLessonStorageUrl());
-            verify(storageService, times(1)).getStorageUrl(lesson.getLessonStorageId());
+            verify(storageService, times(1)).getSignedStorageUrlByIds(List.of(lesson.getLessonStorageId()));
         }
     }
 
@@ -2,35 +2,43 @@ package yoga.irai.server.provider;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import yoga.irai.server.app.AppUtils;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutboxRepository mailOutboxRepository;
 
     @InjectMocks
     private EmailService emailService;
 
     @Test
     void testSendMail() {
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        ArgumentCaptor<MailOutboxEntity> captor = ArgumentCaptor.forClass(MailOutboxEntity.class);
         emailService.sendMail("to@email.com","sub","body");
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(mailOutboxRepository).save(captor.capture());
+        assertEquals(AppUtils.Constants.EMAIL_FROM_ADDRESS, captor.getValue().getMailFrom());
+        assertEquals("to@email.com", captor.getValue().getMailTo());
+        assertEquals("sub", captor.getValue().getSubject());
+        assertEquals("body", captor.getValue().getBody());
     }
 
     @Test
     void testSendOtpEmail(){
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+        ArgumentCaptor<MailOutboxEntity> captor = ArgumentCaptor.forClass(MailOutboxEntity.class);
         emailService.sendOtpEmail("to@email.com","999999",5);
-        verify(mailSender).send(any(SimpleMailMessage.class));
+        verify(mailOutboxRepository).save(captor.capture());
+        assertEquals(AppUtils.Constants.OTP_EMAIL_SUBJECT, captor.getValue().getSubject());
+        assertTrue(captor.getValue().getBody().contains("999999"));
     }
 
 }
@@ -0,0 +1,116 @@
+package yoga.irai.server.provider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import yoga.irai.server.app.AppUtils;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailOutboxSenderTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    private MeterRegistry meterRegistry;
+    private MailOutboxSender mailOutboxSender;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mailOutboxSender = new MailOutboxSender(mailSender, meterRegistry, mailOutboxRepository);
+        ReflectionTestUtils.setField(mailOutboxSender, "batchSize", 50);
+        ReflectionTestUtils.setField(mailOutboxSender, "maxAttempts", 2);
+        ReflectionTestUtils.setField(mailOutboxSender, "backoffSeconds", 30L);
+    }
+
+    private MailOutboxEntity mail(String to) {
+        return MailOutboxEntity.builder().mailOutboxId(UUID.randomUUID()).mailFrom("from@email.com").mailTo(to)
+                .subject("sub").body("body").mailOutboxStatus(AppUtils.MailOutboxStatus.PENDING)
+                .nextAttemptAt(ZonedDateTime.now()).build();
+    }
+
+    @Test
+    void testDrainNothingDue() {
+        when(mailOutboxRepository.claimDueBatch(50)).thenReturn(List.of());
+        mailOutboxSender.drain();
+        verifyNoInteractions(mailSender);
+        verify(mailOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testDrainSendsBatchInOneCall() {
+        MailOutboxEntity first = mail("a@email.com");
+        MailOutboxEntity second = mail("b@email.com");
+        when(mailOutboxRepository.claimDueBatch(50)).thenReturn(List.of(first, second));
+        mailOutboxSender.drain();
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+        assertEquals(AppUtils.MailOutboxStatus.SENT, first.getMailOutboxStatus());
+        assertEquals(AppUtils.MailOutboxStatus.SENT, second.getMailOutboxStatus());
+        assertNotNull(first.getSentAt());
+        assertEquals(2.0, meterRegistry.counter("mail.outbox.sent").count());
+    }
+
+    @Test
+    void testDrainRetriesAndDeadLettersFailedMails() {
+        MailOutboxEntity retried = mail("a@email.com");
+        MailOutboxEntity dead = mail("b@email.com");
+        dead.setAttempts(1);
+        ZonedDateTime before = retried.getNextAttemptAt();
+        when(mailOutboxRepository.claimDueBatch(50)).thenReturn(List.of(retried, dead));
+        doThrow(new MailSendException("relay down")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        mailOutboxSender.drain();
+
+        assertEquals(AppUtils.MailOutboxStatus.PENDING, retried.getMailOutboxStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getNextAttemptAt().isAfter(before));
+        assertEquals(AppUtils.MailOutboxStatus.DEAD, dead.getMailOutboxStatus());
+        assertEquals("relay down", dead.getLastError());
+        assertEquals(1.0, meterRegistry.counter("mail.outbox.retried").count());
+        assertEquals(1.0, meterRegistry.counter("mail.outbox.dead").count());
+    }
+
+    @Test
+    void testDrainOnlyFailsRejectedMessages() {
+        MailOutboxEntity ok = mail("a@email.com");
+        MailOutboxEntity rejected = mail("b@email.com");
+        when(mailOutboxRepository.claimDueBatch(50)).thenReturn(List.of(ok, rejected));
+        doAnswer(invocation -> {
+            for (Object argument : invocation.getArguments()) {
+                Object[] messages = argument instanceof Object[] array ? array : new Object[]{argument};
+                for (Object message : messages) {
+                    if ("b@email.com".equals(((SimpleMailMessage) message).getTo()[0])) {
+                        throw new MailSendException(Map.<Object, Exception>of(message, new Exception("rejected")));
+                    }
+                }
+            }
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        mailOutboxSender.drain();
+
+        assertEquals(AppUtils.MailOutboxStatus.SENT, ok.getMailOutboxStatus());
+        assertEquals(AppUtils.MailOutboxStatus.PENDING, rejected.getMailOutboxStatus());
+        assertEquals(1, rejected.getAttempts());
+    }
+}
@@ -10,16 +10,24 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import yoga.irai.server.app.AppUtils;
 import yoga.irai.server.app.dto.AppResponseDto;
+import yoga.irai.server.app.search.TagService;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class SettingControllerTest {
+    @Mock
+    private TagService tagService;
     @Mock
     private SettingService settingService;
     @InjectMocks
@@ -45,5 +53,29 @@ class SettingControllerTest {
             assertEquals("COUNTRY", response.getBody().getData().getSettingName());
             assertEquals(AppUtils.Messages.SEARCH_FOUND.getMessage(), response.getBody().getMessage());
         }
+        verifyNoInteractions(tagService);
+    }
+
+    @Test
+    void getTagSettingMergesTagsInUseTest() {
+        SettingEntity settingEntity = SettingEntity.builder()
+                .settingId(UUID.randomUUID())
+                .settingName("PracticeTags")
+                .settingValue("[\"Calm\"]")
+                .build();
+        SettingResponseDto settingResponseDto = new SettingResponseDto();
+        settingResponseDto.setSettingName("PracticeTags");
+        settingResponseDto.setSettingValue(new ArrayList<>(List.of("Calm")));
+        when(settingService.getSettingBySettingName(AppUtils.SettingName.PRACTICE_TAGS.getSetting()))
+                .thenReturn(settingEntity);
+        when(tagService.getVocabulary(AppUtils.SettingName.PRACTICE_TAGS, List.of("Calm")))
+                .thenReturn(new TreeSet<>(Set.of("Calm", "Breath")));
+        try (MockedStatic<AppUtils> utilities = mockStatic(AppUtils.class)) {
+            utilities.when(() -> AppUtils.mapToResponse(settingEntity)).thenReturn(settingResponseDto);
+            ResponseEntity<AppResponseDto<SettingResponseDto>> response =
+                    settingController.getCountrySetting(AppUtils.SettingName.PRACTICE_TAGS);
+            assertNotNull(response.getBody());
+            assertEquals(List.of("Breath", "Calm"), response.getBody().getData().getSettingValue());
+        }
     }
 }
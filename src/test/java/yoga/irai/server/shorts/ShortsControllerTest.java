@@ -12,9 +12,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
 import yoga.irai.server.app.dto.AppResponseDto;
 import yoga.irai.server.app.dto.TotalDto;
+import yoga.irai.server.app.dto.UniqueViewersDto;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +31,8 @@ import static org.mockito.Mockito.*;
 class ShortsControllerTest {
     @Mock
     private ShortsService shortsService;
+    @Mock
+    private UniqueViewerService uniqueViewerService;
     @InjectMocks
     private ShortsController shortsController;
     private ShortsRequestDto  shortsRequestDto;
@@ -114,17 +119,17 @@ class ShortsControllerTest {
                         .shortsDescription(shortsEntity.getShortsDescription())
                         .build()
         );
-        when(shortsService.getShorts(pageNumber, pageSize, sortBy, direction, keyword))
+        when(shortsService.getShorts(pageNumber, pageSize, sortBy, direction, keyword, null))
                 .thenReturn(shortsPage);
         when(shortsService.toShortsResponseDto(shortsEntities)).thenReturn(responseDto);
         ResponseEntity<AppResponseDto<List<ShortsResponseDto>>> response =
-                shortsController.getShortsList(pageNumber, pageSize, sortBy, direction, keyword);
+                shortsController.getShortsList(pageNumber, pageSize, sortBy, direction, keyword, null);
         assertNotNull(response);
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().getData().size());
         assertEquals("Test1", response.getBody().getData().getFirst().getShortsName());
         assertEquals(AppUtils.Messages.SEARCH_FOUND.getMessage(), response.getBody().getMessage());
-        verify(shortsService, times(1)).getShorts(pageNumber, pageSize, sortBy, direction, keyword);
+        verify(shortsService, times(1)).getShorts(pageNumber, pageSize, sortBy, direction, keyword, null);
         verify(shortsService, times(1)).toShortsResponseDto(shortsEntities);
     }
     @Test
@@ -157,4 +162,18 @@ class ShortsControllerTest {
         assertEquals(totalShorts, body.getData().getTotal());
         verify(shortsService, times(1)).getTotalShorts();
     }
+    @Test
+    void getUniqueViewersTest() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        UniqueViewersDto viewers = UniqueViewersDto.builder().contentId(shortsId).from(from).to(to).uniqueViewers(42L)
+                .build();
+        when(uniqueViewerService.getUniqueViewers(AppUtils.ModuleType.SHORTS, shortsId, from, to)).thenReturn(viewers);
+        ResponseEntity<AppResponseDto<UniqueViewersDto>> response = shortsController.getUniqueViewers(shortsId, from,
+                to);
+        assertNotNull(response);
+        assertNotNull(response.getBody());
+        assertEquals(AppUtils.Messages.SEARCH_FOUND.getMessage(), response.getBody().getMessage());
+        assertEquals(42L, response.getBody().getData().getUniqueViewers());
+    }
 }
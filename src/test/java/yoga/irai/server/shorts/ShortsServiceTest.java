@@ -9,12 +9,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.test.util.ReflectionTestUtils;
 import yoga.irai.server.app.AppUtils;
+import yoga.irai.server.app.counter.UniqueViewerService;
+import yoga.irai.server.app.counter.ViewCounterService;
 import yoga.irai.server.app.exception.AppException;
+import yoga.irai.server.app.like.LikeService;
+import yoga.irai.server.app.recent.RecentViewService;
+import yoga.irai.server.app.sync.TombstoneService;
+import yoga.irai.server.app.trending.TrendingService;
+import yoga.irai.server.app.version.ContentVersionService;
 import yoga.irai.server.authentication.service.UserService;
 import yoga.irai.server.mobile.dto.ShortsMobileResponseDto;
 import yoga.irai.server.notification.NotificationService;
 import yoga.irai.server.organization.OrganizationService;
-import yoga.irai.server.setting.SettingService;
 import yoga.irai.server.shorts.user.ShortsUserEntity;
 import yoga.irai.server.shorts.user.ShortsUserRepository;
 import yoga.irai.server.storage.StorageService;
@@ -26,6 +32,21 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ShortsServiceTest {
+    @Mock
+    private ContentVersionService contentVersionService;
+    @Mock
+    private TombstoneService tombstoneService;
+    @Mock
+    private RecentViewService recentViewService;
+    @Mock
+    private ViewCounterService viewCounterService;
+    @Mock
+    private UniqueViewerService uniqueViewerService;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private LikeService likeService;
+
     @InjectMocks
     private ShortsService shortsService;
     @Mock
@@ -40,8 +61,6 @@ class ShortsServiceTest {
     private ShortsRepository shortsRepository;
     @Mock
     private StorageService storageService;
-    @Mock
-    private SettingService settingService;
     private ShortsRequestDto requestDto;
     private ShortsEntity shortsEntity;
     private UUID shortsId;
@@ -101,8 +120,6 @@ class ShortsServiceTest {
         ShortsEntity result = shortsService.addShorts(requestDto);
         assertNotNull(result);
         assertEquals("Test Shorts1", result.getShortsName());
-        verify(settingService, times(1))
-                .updateSetting((AppUtils.SettingName.SHORTS_TAGS), (requestDto.getTags()));
         verify(shortsRepository, times(1)).save(any(ShortsEntity.class));
     }
 
@@ -119,7 +136,6 @@ class ShortsServiceTest {
         assertNull(saved.getShortsStorageId());
         assertNull(saved.getShortsBannerStorageId());
         verify(shortsRepository).save(any(ShortsEntity.class));
-        verify(settingService, never()).updateSetting(any(), any());
     }
 
     @Test
@@ -178,8 +194,6 @@ class ShortsServiceTest {
         List<UUID> deletedIds = captor.getAllValues();
         assertTrue(deletedIds.contains(oldStorageId));
         assertTrue(deletedIds.contains(oldBannerStorageId));
-        verify(settingService, times(1))
-                .updateSetting((AppUtils.SettingName.SHORTS_TAGS), (requestDto.getTags()));
         assertEquals(requestDto.getShortsName(), result.getShortsName());
         assertEquals(requestDto.getShortsStorageId(), result.getShortsStorageId());
         assertNull(result.getShortsExternalUrl());
@@ -195,7 +209,6 @@ class ShortsServiceTest {
         when(shortsRepository.save(any(ShortsEntity.class))).thenAnswer(inv -> inv.getArgument(0));
         ShortsEntity result = shortsService.updateShorts(shortsId, requestDto);
         verify(storageService, never()).deleteStorageById(any());
-        verify(settingService).updateSetting((AppUtils.SettingName.SHORTS_TAGS), (requestDto.getTags()));
         assertEquals(requestDto.getShortsStorageId(), result.getShortsStorageId());
         assertEquals(requestDto.getShortsBannerStorageId(), result.getShortsBannerStorageId());
     }
@@ -215,7 +228,6 @@ class ShortsServiceTest {
         when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
         when(shortsRepository.save(any(ShortsEntity.class))).thenAnswer(inv -> inv.getArgument(0));
         ShortsEntity result = shortsService.updateShorts(shortsId, requestDto);
-        verify(settingService).updateSetting((AppUtils.SettingName.SHORTS_TAGS), (requestDto.getTags()));
         assertEquals(AppUtils.writeValueAsString(requestDto.getTags()), result.getTags());
     }
 
@@ -305,11 +317,13 @@ class ShortsServiceTest {
             Page<ShortsEntity> expectedPage = new PageImpl<>(List.of(new ShortsEntity()));
             when(shortsRepository.search(
                     anyString(),
+                    isNull(),
                     anySet(),
                     eq(AppUtils.ShortsStatus.ACTIVE),
                     any(Pageable.class)
             )).thenReturn(expectedPage);
-            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword");
+            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword",
+                    null);
             assertEquals(expectedPage, result);
             verify(shortsRepository).search(
                     eq("keyword"),
@@ -327,9 +341,10 @@ class ShortsServiceTest {
             utilities.when(AppUtils::getPrincipalOrgId).thenReturn(orgId);
             Set<UUID> orgIds = Set.of(orgId);
             Page<ShortsEntity> expectedPage = new PageImpl<>(List.of(new ShortsEntity()));
-            when(shortsRepository.search(anyString(), eq(orgIds), isNull(), eq(pageable)))
+            when(shortsRepository.search(anyString(), isNull(), eq(orgIds), isNull(), eq(pageable)))
                     .thenReturn(expectedPage);
-            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword");
+            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword",
+                    null);
             assertEquals(expectedPage, result);
             verify(shortsRepository).search("keyword", orgIds, null, pageable);
         }
@@ -341,9 +356,10 @@ class ShortsServiceTest {
             utilities.when(AppUtils::getPrincipalUserType).thenReturn(AppUtils.UserType.KEYCLOAK_USER);
             utilities.when(AppUtils::getPrincipalOrgId).thenReturn(UUID.randomUUID());
             Page<ShortsEntity> expectedPage = new PageImpl<>(List.of(new ShortsEntity()));
-            when(shortsRepository.search(anyString(), isNull(), isNull(), eq(pageable)))
+            when(shortsRepository.search(anyString(), isNull(), isNull(), isNull(), eq(pageable)))
                     .thenReturn(expectedPage);
-            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword");
+            Page<ShortsEntity> result = shortsService.getShorts(0, 10, "createdAt", Sort.Direction.DESC, "keyword",
+                    null);
             assertEquals(expectedPage, result);
             verify(shortsRepository).search("keyword", null, null, pageable);
         }
@@ -470,41 +486,90 @@ class ShortsServiceTest {
     }
 
     @Test
-    void updateViewCount_ShouldIncrementViewsAndSaveEntity() {
-        when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
-        when(shortsRepository.save(any(ShortsEntity.class))).thenAnswer(inv -> inv.getArgument(0));
-        shortsService.updateViewCount(shortsId);
-        assertEquals(6L, shortsEntity.getViews());
-        verify(shortsRepository, times(1)).save(shortsEntity);
+    void updateViewCount_ShouldRecordViewWithoutTouchingRepository() {
+        try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
+            utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            shortsService.updateViewCount(shortsId);
+        }
+        verify(viewCounterService, times(1)).increment(AppUtils.ModuleType.SHORTS, shortsId);
+        verify(uniqueViewerService, times(1)).record(AppUtils.ModuleType.SHORTS, shortsId, userId);
+        verify(trendingService, times(1)).record(AppUtils.ModuleType.SHORTS, shortsId, TrendingService.Signal.VIEW);
+        verifyNoInteractions(shortsRepository);
     }
 
     @Test
-    void updateLikeCount_ShouldIncrementLikes() {
+    void updateLikeCount_ShouldLikeOnceAndFlagProgress() {
+        shortsUserEntity.setLikes(false);
         try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
             utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
-            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(any(UUID.class), any(UUID.class)))
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
+            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId))
                     .thenReturn(shortsUserEntity);
-            when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
-            when(shortsRepository.save(any(ShortsEntity.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
             shortsService.updateLikeCount(shortsId);
-            assertEquals(6L, shortsEntity.getLikes());
-            verify(shortsRepository).save(shortsEntity);
+            assertTrue(shortsUserEntity.getLikes());
+            verify(likeService).like(AppUtils.ModuleType.SHORTS, shortsId, userId);
+            verify(shortsUserRepository).save(shortsUserEntity);
+            verify(shortsRepository, never()).save(any(ShortsEntity.class));
         }
     }
 
     @Test
-    void updateLikeCount_ShouldIncrementLikes_NullShortUsersEntity() {
+    void updateLikeCount_AlreadyLiked_ShouldNotSaveProgress() {
         try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
             utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
-            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(any(UUID.class), any(UUID.class)))
-                    .thenReturn(null);
-            when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
-            when(shortsRepository.save(any(ShortsEntity.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
+            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId))
+                    .thenReturn(shortsUserEntity);
+            shortsService.updateLikeCount(shortsId);
+            verify(likeService).like(AppUtils.ModuleType.SHORTS, shortsId, userId);
+            verify(shortsUserRepository, never()).save(any(ShortsUserEntity.class));
+        }
+    }
+
+    @Test
+    void updateLikeCount_NullShortUsersEntity_ShouldCreateProgress() {
+        try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
+            utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
+            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId)).thenReturn(null);
             shortsService.updateLikeCount(shortsId);
-            assertEquals(6L, shortsEntity.getLikes());
-            verify(shortsRepository).save(shortsEntity);
+            ArgumentCaptor<ShortsUserEntity> captor = ArgumentCaptor.forClass(ShortsUserEntity.class);
+            verify(shortsUserRepository).save(captor.capture());
+            assertEquals(userId, captor.getValue().getUserId());
+            assertTrue(captor.getValue().getLikes());
+        }
+    }
+
+    @Test
+    void updateLikeCount_ShortsNotFound_ShouldThrow() {
+        when(shortsRepository.existsById(shortsId)).thenReturn(false);
+        assertThrows(AppException.class, () -> shortsService.updateLikeCount(shortsId));
+        verifyNoInteractions(likeService);
+    }
+
+    @Test
+    void removeLike_ShouldUnlikeAndClearFlag() {
+        try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
+            utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
+            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId))
+                    .thenReturn(shortsUserEntity);
+            shortsService.removeLike(shortsId);
+            assertFalse(shortsUserEntity.getLikes());
+            verify(likeService).unlike(AppUtils.ModuleType.SHORTS, shortsId, userId);
+            verify(shortsUserRepository).save(shortsUserEntity);
+        }
+    }
+
+    @Test
+    void removeLike_NullShortUsersEntity_ShouldNotCreateProgress() {
+        try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
+            utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
+            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(shortsId, userId)).thenReturn(null);
+            shortsService.removeLike(shortsId);
+            verify(likeService).unlike(AppUtils.ModuleType.SHORTS, shortsId, userId);
+            verify(shortsUserRepository, never()).save(any(ShortsUserEntity.class));
         }
     }
 
@@ -512,14 +577,15 @@ class ShortsServiceTest {
     void updateComment() {
         try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
             utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
             when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(any(UUID.class), any(UUID.class)))
                     .thenReturn(shortsUserEntity);
-            when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
-            when(shortsRepository.save(any(ShortsEntity.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
             shortsService.updateComment(shortsId, "test");
-            assertEquals(6L, shortsEntity.getLikes());
-            verify(shortsRepository).save(shortsEntity);
+            assertEquals("test", shortsUserEntity.getComments());
+            assertEquals(5L, shortsEntity.getLikes());
+            verify(shortsUserRepository).save(shortsUserEntity);
+            verify(shortsRepository, never()).save(any(ShortsEntity.class));
+            verifyNoInteractions(likeService);
         }
     }
 
@@ -527,14 +593,13 @@ class ShortsServiceTest {
     void updateComment_NullShortsUserEntity() {
         try (MockedStatic<AppUtils> utilities = Mockito.mockStatic(AppUtils.class)) {
             utilities.when(AppUtils::getPrincipalUserId).thenReturn(userId);
+            when(shortsRepository.existsById(shortsId)).thenReturn(true);
             when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(any(UUID.class), any(UUID.class)))
                     .thenReturn(null);
-            when(shortsRepository.findById(shortsId)).thenReturn(Optional.of(shortsEntity));
-            when(shortsRepository.save(any(ShortsEntity.class)))
-                    .thenAnswer(invocation -> invocation.getArgument(0));
             shortsService.updateComment(shortsId, "test");
-            assertEquals(6L, shortsEntity.getLikes());
-            verify(shortsRepository).save(shortsEntity);
+            verify(shortsUserRepository).save(any(ShortsUserEntity.class));
+            verify(shortsRepository, never()).save(any(ShortsEntity.class));
+            verifyNoInteractions(likeService);
         }
     }
 
@@ -630,7 +695,7 @@ class ShortsServiceTest {
             utilities.when(() -> AppUtils.map(any(ShortsEntity.class), eq(ShortsMobileResponseDto.class)))
                     .thenReturn(shortsMobileResponseDto);
             when(storageService.getSignedStorageUrlByIds(anyList())).thenReturn(storageMap);
-            when(shortsUserRepository.findShortsUserEntityByShortsIdAndUserId(any(UUID.class), any(UUID.class))).thenReturn(shortsUserEntity);
+            when(shortsUserRepository.findAllByUserIdAndShortsIdIn(any(UUID.class), anyCollection())).thenReturn(List.of(shortsUserEntity));
             List<ShortsMobileResponseDto> resultList = shortsService.toShortsMobileResponseDto(entities);
             assertEquals(1, resultList.size());
         }